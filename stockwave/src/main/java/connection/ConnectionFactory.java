@@ -4,18 +4,23 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 
 /**
  * Classe com padrão Singleton e Factory que fornece conexão com o banco de dados.
  * 
+ * As conexões são emprestadas de um {@link ConnectionPool} configurado pelos parâmetros
+ * "datasource.pool.*" do arquivo application.properties e devem ser devolvidas com
+ * {@link #releaseConnection(Connection)} ao final de cada operação.
+ * 
  * Caso o usuário tenha definido o parâmetro "datasource.drop-delete-table-and-dados" como true,
  * a estrutura do banco de dados será recriada com valores padrão.
  * 
  * @since 1.0
- * @version 1.0
+ * @version 1.1
+ * 
+ * @see connection.ConnectionPool
  * 
  * @author Francis
  */
@@ -27,23 +32,26 @@ public final class ConnectionFactory {
 	private String user;
 	private String pass;
 	private String driver;
+	private Properties propriedades;
 
-	private volatile Connection conexao;
+	private volatile ConnectionPool pool;
 
 	/**
 	 * Construtor privado.
 	 * 
-	 * @param url    A URL de conexão com o banco de dados.
-	 * @param user   O nome de usuário para autenticação.
-	 * @param pass   A senha do usuário para autenticação.
-	 * @param driver O nome da classe do driver JDBC.
+	 * @param url          A URL de conexão com o banco de dados.
+	 * @param user         O nome de usuário para autenticação.
+	 * @param pass         A senha do usuário para autenticação.
+	 * @param driver       O nome da classe do driver JDBC.
+	 * @param propriedades As propriedades lidas do arquivo application.properties.
 	 */
-	private ConnectionFactory(String url, String user, String pass, String driver) {
+	private ConnectionFactory(String url, String user, String pass, String driver, Properties propriedades) {
 		super();
 		this.url = url;
 		this.user = user;
 		this.pass = pass;
 		this.driver = driver;
+		this.propriedades = propriedades;
 	}
 
 	/**
@@ -79,11 +87,13 @@ public final class ConnectionFactory {
 				System.out.println("USER: " + user);
 				System.out.println("PASSWORD: *******");
 				System.out.println("DRIVER: " + driver);
+				System.out.println("POOL: " + prop.getProperty("datasource.pool.min-size", "2") + " - "
+						+ prop.getProperty("datasource.pool.max-size", "10") + " conexões");
 			}
 
 			synchronized (ConnectionFactory.class) {
 				if (instance == null) {
-					instance = new ConnectionFactory(url, user, pass, driver);
+					instance = new ConnectionFactory(url, user, pass, driver, prop);
 				}
 				return instance;
 			}
@@ -102,56 +112,134 @@ public final class ConnectionFactory {
 	}
 
 	/**
-	 * Retorna a conexão com o banco de dados.
+	 * Empresta uma conexão do pool de conexões com o banco de dados.
 	 * 
-	 * @return A conexão com o banco de dados.
-	 * @throws RuntimeException se os parâmetros de conexão não estiverem definidos corretamente.
+	 * O pool é criado no primeiro empréstimo. Toda conexão obtida por este método deve ser
+	 * devolvida com {@link #releaseConnection(Connection)}.
+	 * 
+	 * @return Uma conexão com o banco de dados.
+	 * @throws RuntimeException se os parâmetros de conexão não estiverem definidos corretamente
+	 *                          ou se não houver conexão livre dentro do timeout do pool.
 	 */
 	public Connection getConnection() {
 
-		synchronized (Connection.class) {
+		try {
+			return getPool().emprestar();
+		} catch (SQLException sqle) {
+			System.out.println("Não foi possível obter uma conexão com o banco de dados: " + sqle.getMessage());
+			throw new RuntimeException(sqle.getMessage(), sqle);
+		}
 
-			try {
+	}
 
-				if (this.conexao != null && !this.conexao.isClosed()) {
-					return this.conexao;
-				}
+	/**
+	 * Devolve ao pool uma conexão obtida em {@link #getConnection()}.
+	 * 
+	 * @param conexao A conexão a ser devolvida.
+	 */
+	public void releaseConnection(Connection conexao) {
+		if (this.pool != null) {
+			this.pool.devolver(conexao);
+		}
+	}
 
-				if (this.getDriver() == null || this.getDriver().equals("")) {
-					System.out.println(
-							"\nInforme os dados de conexão no arquivo application.properties [ datasource.driver-class-name ]");
-					throw new RuntimeException(
-							"Informe os dados de conexão no arquivo application.properties [ datasource.driver-class-name ]");
-				}
+	/**
+	 * Retorna o pool de conexões, criando-o na primeira chamada.
+	 * 
+	 * @return O pool de conexões com o banco de dados.
+	 * @throws RuntimeException se os parâmetros de conexão não estiverem definidos corretamente.
+	 */
+	public ConnectionPool getPool() {
 
-				if (this.getUrl() == null || this.getUrl().equals("")) {
-					System.out.println(
-							"\nInforme os dados de conexão no arquivo application.properties [ datasource.url ]");
-					throw new RuntimeException(
-							"Informe os dados de conexão no arquivo application.properties [ datasource.url ]");
-				}
+		ConnectionPool result = this.pool;
 
-				if (this.getUser() == null || this.getUser().equals("")) {
-					System.out.println(
-							"\nInforme os dados de conexão no arquivo application.properties [ datasource.username ]");
-					throw new RuntimeException(
-							"Informe os dados de conexão no arquivo application.properties [ datasource.username ]");
-				}
+		if (result != null) {
+			return result;
+		}
 
-				Class.forName(this.getDriver());
+		synchronized (ConnectionPool.class) {
+
+			if (this.pool != null) {
+				return this.pool;
+			}
+
+			if (this.getDriver() == null || this.getDriver().equals("")) {
+				System.out.println(
+						"\nInforme os dados de conexão no arquivo application.properties [ datasource.driver-class-name ]");
+				throw new RuntimeException(
+						"Informe os dados de conexão no arquivo application.properties [ datasource.driver-class-name ]");
+			}
 
-				this.conexao = DriverManager.getConnection(this.getUrl(), this.getUser(), this.getPass());
+			if (this.getUrl() == null || this.getUrl().equals("")) {
+				System.out.println(
+						"\nInforme os dados de conexão no arquivo application.properties [ datasource.url ]");
+				throw new RuntimeException(
+						"Informe os dados de conexão no arquivo application.properties [ datasource.url ]");
+			}
 
+			if (this.getUser() == null || this.getUser().equals("")) {
+				System.out.println(
+						"\nInforme os dados de conexão no arquivo application.properties [ datasource.username ]");
+				throw new RuntimeException(
+						"Informe os dados de conexão no arquivo application.properties [ datasource.username ]");
+			}
+
+			try {
+				Class.forName(this.getDriver());
 			} catch (ClassNotFoundException e) {
 				System.out.println("Não foi possível encontrar o driver de conexão: " + e.getMessage());
 				System.exit(1);
-			} catch (SQLException sqle) {
-				System.out.println("Erro nos parâmetros da conexão com o banco de dados: " + sqle.getMessage());
-				System.exit(1);
 			}
-			return this.conexao;
+
+			this.pool = new ConnectionPool(this.getUrl(), this.getUser(), this.getPass(),
+					getPropriedadeInt("datasource.pool.min-size", 2),
+					getPropriedadeInt("datasource.pool.max-size", 10),
+					getPropriedadeInt("datasource.pool.borrow-timeout-ms", 5000),
+					getPropriedadeInt("datasource.pool.idle-timeout-ms", 600000),
+					getPropriedadeInt("datasource.pool.validation-timeout-s", 2),
+					getPropriedadeInt("datasource.pool.eviction-interval-ms", 60000),
+					getPropriedadeInt("datasource.pool.statement-cache-size", 50));
+			return this.pool;
+		}
+
+	}
+
+	/**
+	 * Retorna uma propriedade numérica do arquivo application.properties.
+	 * 
+	 * @param nome   O nome da propriedade.
+	 * @param padrao O valor utilizado quando a propriedade não está definida ou é inválida.
+	 * @return O valor da propriedade.
+	 */
+	public int getPropriedadeInt(String nome, int padrao) {
+		String valor = this.propriedades == null ? null : this.propriedades.getProperty(nome);
+
+		if (valor == null || valor.trim().equals("")) {
+			return padrao;
 		}
 
+		try {
+			return Integer.parseInt(valor.trim());
+		} catch (NumberFormatException e) {
+			System.out.println("Valor inválido para a propriedade " + nome + ": " + valor);
+			return padrao;
+		}
+	}
+
+	/**
+	 * Retorna uma propriedade textual do arquivo application.properties.
+	 *
+	 * @param nome   O nome da propriedade.
+	 * @param padrao O valor utilizado quando a propriedade não está definida.
+	 * @return O valor da propriedade, sem espaços nas extremidades.
+	 */
+	public String getPropriedade(String nome, String padrao) {
+		String valor = this.propriedades == null ? null : this.propriedades.getProperty(nome);
+
+		if (valor == null || valor.trim().equals("")) {
+			return padrao;
+		}
+		return valor.trim();
 	}
 
 	/**
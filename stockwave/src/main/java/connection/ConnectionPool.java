@@ -0,0 +1,267 @@
+package connection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de conexões JDBC utilizado pela ConnectionFactory.
+ *
+ * Mantém entre "tamanhoMinimo" e "tamanhoMaximo" conexões físicas com o banco de dados.
+ * Cada operação empresta uma conexão com {@link #emprestar()} e a devolve com {@link #devolver(Connection)}.
+ *
+ * Comportamento:
+ * - o empréstimo aguarda no máximo "timeoutEmprestimoMs" por uma conexão livre;
+ * - toda conexão ociosa é validada (Connection.isValid) antes de ser entregue;
+ * - conexões ociosas há mais de "timeoutOciosoMs" são fechadas, respeitando o tamanho mínimo;
+ * - cada conexão mantém seus Prepared Statements em um {@link StatementCache}.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see connection.ConnectionFactory
+ * @see connection.StatementCache
+ *
+ * @author Stockwave
+ */
+public final class ConnectionPool {
+
+	private final String url;
+	private final String user;
+	private final String pass;
+
+	private final int tamanhoMinimo;
+	private final int tamanhoMaximo;
+	private final long timeoutEmprestimoMs;
+	private final long timeoutOciosoMs;
+	private final int timeoutValidacaoS;
+	private final int tamanhoCacheStatements;
+
+	/**
+	 * Conexões ociosas. A cabeça contém a conexão devolvida mais recentemente.
+	 */
+	private final LinkedBlockingDeque<ConexaoOciosa> ociosas = new LinkedBlockingDeque<>();
+
+	/**
+	 * Uma permissão por conexão que ainda pode ser emprestada.
+	 */
+	private final Semaphore permissoes;
+
+	private final AtomicInteger abertas = new AtomicInteger();
+
+	private final ScheduledExecutorService removedor;
+
+	/**
+	 * Conexão ociosa e o instante em que foi devolvida ao pool.
+	 */
+	private static final class ConexaoOciosa {
+		private final Connection conexao;
+		private final long devolvidaEm;
+
+		private ConexaoOciosa(Connection conexao, long devolvidaEm) {
+			this.conexao = conexao;
+			this.devolvidaEm = devolvidaEm;
+		}
+	}
+
+	/**
+	 * Cria o pool e abre as conexões mínimas.
+	 *
+	 * @param url                  A URL de conexão com o banco de dados.
+	 * @param user                 O nome de usuário para autenticação.
+	 * @param pass                 A senha do usuário para autenticação.
+	 * @param tamanhoMinimo        Quantidade mínima de conexões mantidas abertas.
+	 * @param tamanhoMaximo        Quantidade máxima de conexões abertas.
+	 * @param timeoutEmprestimoMs  Tempo máximo de espera por uma conexão livre, em milissegundos.
+	 * @param timeoutOciosoMs      Tempo após o qual uma conexão ociosa é fechada, em milissegundos.
+	 * @param timeoutValidacaoS    Tempo máximo da validação de uma conexão, em segundos.
+	 * @param intervaloRemocaoMs   Intervalo entre as varreduras de conexões ociosas, em milissegundos.
+	 * @param tamanhoCacheStatements Quantidade de Prepared Statements mantidos em cache por conexão; 0 desativa.
+	 */
+	public ConnectionPool(String url, String user, String pass, int tamanhoMinimo, int tamanhoMaximo,
+			long timeoutEmprestimoMs, long timeoutOciosoMs, int timeoutValidacaoS, long intervaloRemocaoMs,
+			int tamanhoCacheStatements) {
+		super();
+		this.url = url;
+		this.user = user;
+		this.pass = pass;
+		this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+		this.tamanhoMinimo = Math.max(0, Math.min(tamanhoMinimo, this.tamanhoMaximo));
+		this.timeoutEmprestimoMs = timeoutEmprestimoMs;
+		this.timeoutOciosoMs = timeoutOciosoMs;
+		this.timeoutValidacaoS = timeoutValidacaoS;
+		this.tamanhoCacheStatements = tamanhoCacheStatements;
+		this.permissoes = new Semaphore(this.tamanhoMaximo, true);
+
+		for (int i = 0; i < this.tamanhoMinimo; i++) {
+			try {
+				ociosas.offerLast(new ConexaoOciosa(abrir(), System.currentTimeMillis()));
+			} catch (SQLException e) {
+				System.out.println("Não foi possível abrir as conexões mínimas do pool: " + e.getMessage());
+				break;
+			}
+		}
+
+		this.removedor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-pool-removedor");
+			t.setDaemon(true);
+			return t;
+		});
+		this.removedor.scheduleWithFixedDelay(this::removerOciosas, intervaloRemocaoMs, intervaloRemocaoMs,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Empresta uma conexão do pool.
+	 *
+	 * Reaproveita a conexão ociosa mais recente que passar na validação; caso não exista nenhuma,
+	 * abre uma nova conexão física.
+	 *
+	 * @return Uma conexão válida em modo auto-commit.
+	 * @throws SQLException se não houver conexão livre dentro do timeout ou se não for possível abrir uma nova.
+	 */
+	public Connection emprestar() throws SQLException {
+		try {
+			if (!permissoes.tryAcquire(timeoutEmprestimoMs, TimeUnit.MILLISECONDS)) {
+				throw new SQLException("Tempo esgotado aguardando uma conexão livre do pool (" + timeoutEmprestimoMs
+						+ " ms, máximo de " + tamanhoMaximo + " conexões)");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrompido aguardando uma conexão livre do pool");
+		}
+
+		try {
+			ConexaoOciosa ociosa;
+			while ((ociosa = ociosas.pollFirst()) != null) {
+				if (validar(ociosa.conexao)) {
+					return ociosa.conexao;
+				}
+				descartar(ociosa.conexao);
+			}
+			return abrir();
+		} catch (SQLException | RuntimeException e) {
+			permissoes.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Devolve uma conexão emprestada ao pool.
+	 *
+	 * Transações pendentes são desfeitas e a conexão volta ao modo auto-commit antes de ficar ociosa.
+	 *
+	 * @param conexao A conexão obtida em {@link #emprestar()}.
+	 */
+	public void devolver(Connection conexao) {
+		if (conexao == null) {
+			return;
+		}
+
+		try {
+			if (conexao.isClosed()) {
+				abertas.decrementAndGet();
+				return;
+			}
+			if (!conexao.getAutoCommit()) {
+				conexao.rollback();
+				conexao.setAutoCommit(true);
+			}
+			if (conexao.isReadOnly()) {
+				conexao.setReadOnly(false);
+			}
+			ociosas.offerFirst(new ConexaoOciosa(conexao, System.currentTimeMillis()));
+		} catch (SQLException e) {
+			System.out.println("Conexão descartada ao ser devolvida ao pool: " + e.getMessage());
+			descartar(conexao);
+		} finally {
+			permissoes.release();
+		}
+	}
+
+	/**
+	 * Fecha as conexões ociosas há mais tempo que o permitido, mantendo o tamanho mínimo do pool.
+	 */
+	private void removerOciosas() {
+		long limite = System.currentTimeMillis() - timeoutOciosoMs;
+		Iterator<ConexaoOciosa> it = ociosas.descendingIterator();
+
+		while (it.hasNext() && abertas.get() > tamanhoMinimo) {
+			ConexaoOciosa ociosa = it.next();
+			if (ociosa.devolvidaEm > limite) {
+				break;
+			}
+			if (ociosas.removeLastOccurrence(ociosa)) {
+				descartar(ociosa.conexao);
+			}
+		}
+	}
+
+	/**
+	 * Fecha todas as conexões ociosas e encerra a varredura de conexões ociosas.
+	 */
+	public void encerrar() {
+		removedor.shutdownNow();
+		ConexaoOciosa ociosa;
+		while ((ociosa = ociosas.pollFirst()) != null) {
+			descartar(ociosa.conexao);
+		}
+	}
+
+	private Connection abrir() throws SQLException {
+		Connection conexao = DriverManager.getConnection(url, user, pass);
+		abertas.incrementAndGet();
+		return StatementCache.envolver(conexao, tamanhoCacheStatements);
+	}
+
+	private boolean validar(Connection conexao) {
+		try {
+			return conexao.isValid(timeoutValidacaoS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void descartar(Connection conexao) {
+		abertas.decrementAndGet();
+		try {
+			conexao.close();
+		} catch (SQLException e) {
+			System.out.println("Erro ao encerrar conexão: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de conexões físicas abertas.
+	 *
+	 * @return A quantidade de conexões abertas, emprestadas ou ociosas.
+	 */
+	public int getAbertas() {
+		return abertas.get();
+	}
+
+	/**
+	 * Retorna a quantidade de conexões ociosas.
+	 *
+	 * @return A quantidade de conexões aguardando empréstimo.
+	 */
+	public int getOciosas() {
+		return ociosas.size();
+	}
+
+	/**
+	 * Retorna o tamanho máximo do pool.
+	 *
+	 * @return A quantidade máxima de conexões abertas.
+	 */
+	public int getTamanhoMaximo() {
+		return tamanhoMaximo;
+	}
+}
@@ -0,0 +1,284 @@
+package connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de Prepared Statements de uma conexão física do pool.
+ *
+ * A conexão entregue aos DAOs é um proxy criado por {@link #envolver(Connection, int)}. As chamadas
+ * prepareStatement(sql), prepareStatement(sql, colunas) e prepareCall(sql) consultam o cache pelo texto
+ * do SQL; o close() do statement devolvido apenas limpa os parâmetros e o libera para a próxima operação.
+ * Os statements menos usados recentemente são fechados quando o cache excede seu tamanho máximo.
+ *
+ * Os contadores de acertos, falhas e remoções são globais e podem ser consultados em /metricas.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see connection.ConnectionPool
+ * @see controller.MetricasResource
+ *
+ * @author Stockwave
+ */
+public final class StatementCache {
+
+	private static final AtomicLong acertos = new AtomicLong();
+	private static final AtomicLong falhas = new AtomicLong();
+	private static final AtomicLong remocoes = new AtomicLong();
+
+	private final Connection conexao;
+	private final int tamanhoMaximo;
+	private final LinkedHashMap<String, Entrada> statements;
+
+	/**
+	 * Statement em cache e se ele está em uso por alguma operação.
+	 */
+	private static final class Entrada {
+		private final PreparedStatement statement;
+		private boolean emUso;
+		private boolean removido;
+
+		private Entrada(PreparedStatement statement) {
+			this.statement = statement;
+		}
+	}
+
+	private StatementCache(Connection conexao, int tamanhoMaximo) {
+		super();
+		this.conexao = conexao;
+		this.tamanhoMaximo = tamanhoMaximo;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Envolve uma conexão física com um cache de statements.
+	 *
+	 * @param conexao       A conexão física.
+	 * @param tamanhoMaximo Quantidade máxima de statements mantidos abertos; 0 desativa o cache.
+	 * @return A conexão com cache, ou a própria conexão se o cache estiver desativado.
+	 */
+	public static Connection envolver(Connection conexao, int tamanhoMaximo) {
+		if (tamanhoMaximo <= 0) {
+			return conexao;
+		}
+
+		StatementCache cache = new StatementCache(conexao, tamanhoMaximo);
+		return (Connection) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, cache.new ConexaoHandler());
+	}
+
+	/**
+	 * Busca o statement no cache ou prepara um novo.
+	 */
+	private synchronized PreparedStatement preparar(String chave, Method metodo, Object[] args) throws Throwable {
+		Entrada entrada = statements.get(chave);
+
+		if (entrada != null && !entrada.emUso) {
+			acertos.incrementAndGet();
+			entrada.emUso = true;
+			return envolverStatement(entrada, metodo.getReturnType());
+		}
+
+		falhas.incrementAndGet();
+		PreparedStatement statement = (PreparedStatement) invocar(conexao, metodo, args);
+
+		if (entrada != null) {
+			// O mesmo SQL já está aberto nesta conexão: o novo statement não entra no cache
+			return statement;
+		}
+
+		Entrada nova = new Entrada(statement);
+		nova.emUso = true;
+		statements.put(chave, nova);
+		removerExcedentes();
+		return envolverStatement(nova, metodo.getReturnType());
+	}
+
+	/**
+	 * Devolve o statement ao cache, ou o fecha se ele foi removido enquanto estava em uso.
+	 */
+	private synchronized void liberar(Entrada entrada) throws SQLException {
+		entrada.emUso = false;
+
+		if (entrada.removido) {
+			entrada.statement.close();
+		} else {
+			entrada.statement.clearParameters();
+			entrada.statement.clearWarnings();
+		}
+	}
+
+	private void removerExcedentes() {
+		Iterator<Map.Entry<String, Entrada>> it = statements.entrySet().iterator();
+
+		while (statements.size() > tamanhoMaximo && it.hasNext()) {
+			Entrada antiga = it.next().getValue();
+			it.remove();
+			remocoes.incrementAndGet();
+			antiga.removido = true;
+
+			if (!antiga.emUso) {
+				try {
+					antiga.statement.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private synchronized void fecharTodos() {
+		for (Entrada entrada : statements.values()) {
+			try {
+				entrada.statement.close();
+			} catch (SQLException e) {
+				System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+			}
+		}
+		statements.clear();
+	}
+
+	private PreparedStatement envolverStatement(Entrada entrada, Class<?> tipo) {
+		Class<?> interfaceStatement = CallableStatement.class.equals(tipo) ? CallableStatement.class
+				: PreparedStatement.class;
+
+		return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+				new Class<?>[] { interfaceStatement }, new StatementHandler(entrada));
+	}
+
+	private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+		try {
+			return metodo.invoke(alvo, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Retorna a chave do cache para a chamada, ou null se a chamada não deve ser cacheada.
+	 */
+	private static String chave(Method metodo, Object[] args) {
+		if (args == null || args.length == 0 || !(args[0] instanceof String)) {
+			return null;
+		}
+
+		String sql = (String) args[0];
+
+		if (metodo.getName().equals("prepareCall") && args.length == 1) {
+			return "C:" + sql;
+		}
+		if (metodo.getName().equals("prepareStatement")) {
+			if (args.length == 1) {
+				return "S:" + sql;
+			}
+			if (args.length == 2 && args[1] instanceof String[]) {
+				return "K:" + String.join(",", (String[]) args[1]) + ":" + sql;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Intercepta a conexão física.
+	 */
+	private final class ConexaoHandler implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+			String nome = metodo.getName();
+
+			if (nome.equals("close")) {
+				fecharTodos();
+			} else if (nome.equals("equals")) {
+				return proxy == args[0];
+			} else if (nome.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			} else {
+				String chave = chave(metodo, args);
+				if (chave != null) {
+					return preparar(chave, metodo, args);
+				}
+			}
+
+			return invocar(conexao, metodo, args);
+		}
+	}
+
+	/**
+	 * Intercepta um statement em cache, transformando close() em devolução ao cache.
+	 */
+	private final class StatementHandler implements InvocationHandler {
+
+		private final Entrada entrada;
+		private boolean fechado;
+
+		private StatementHandler(Entrada entrada) {
+			this.entrada = entrada;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+			String nome = metodo.getName();
+
+			if (nome.equals("close")) {
+				if (!fechado) {
+					fechado = true;
+					liberar(entrada);
+				}
+				return null;
+			}
+			if (nome.equals("isClosed")) {
+				return fechado || entrada.statement.isClosed();
+			}
+			if (nome.equals("equals")) {
+				return proxy == args[0];
+			}
+			if (nome.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			if (fechado) {
+				throw new SQLException("Statement fechado");
+			}
+
+			return invocar(entrada.statement, metodo, args);
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de statements encontrados no cache.
+	 *
+	 * @return A quantidade de acertos desde o início da aplicação.
+	 */
+	public static long getAcertos() {
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna a quantidade de statements preparados por não estarem no cache.
+	 *
+	 * @return A quantidade de falhas desde o início da aplicação.
+	 */
+	public static long getFalhas() {
+		return falhas.get();
+	}
+
+	/**
+	 * Retorna a quantidade de statements removidos do cache por excederem o tamanho máximo.
+	 *
+	 * @return A quantidade de remoções desde o início da aplicação.
+	 */
+	public static long getRemocoes() {
+		return remocoes.get();
+	}
+}
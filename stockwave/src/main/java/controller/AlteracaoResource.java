@@ -0,0 +1,81 @@
+package controller;
+
+import java.util.ArrayList;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import model.AlteracaoMovimentacao;
+import services.OutboxMovimentacaoService;
+
+/**
+ * Classe que representa o feed de alterações de movimentação.
+ *
+ * O consumidor guarda o offset da última alteração processada e o informa no parâmetro "after" da próxima
+ * requisição, recebendo apenas as alterações novas, em ordem. O offset a usar em seguida é enviado no cabeçalho
+ * "X-Next-Cursor" e no cabeçalho "Link" com rel="next", mesmo quando não há alterações novas.
+ *
+ * Métodos:
+ * - listarAlteracoes: retorna as alterações posteriores a um offset.
+ *
+ * Exemplo de uso:
+ *
+ * GET /changes?after=0&amp;limit=500
+ * GET /changes?after=&lt;X-Next-Cursor da resposta anterior&gt;&amp;limit=500
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.OutboxMovimentacaoService
+ * @see model.AlteracaoMovimentacao
+ *
+ * @author Stockwave
+ */
+@Path("/changes")
+public class AlteracaoResource {
+
+    /**
+     * Retorna as alterações de movimentação posteriores a um offset.
+     *
+     * @param apos    O offset da última alteração processada (parâmetro "after"); 0 para o início.
+     * @param limite  A quantidade máxima de alterações (parâmetro "limit"); padrão 100.
+     * @param uriInfo As informações da URI da requisição.
+     * @return Uma Response contendo a lista de alterações como entidade,
+     *         ou uma Response de status 400 se os parâmetros forem inválidos.
+     */
+    @GET
+    @SomenteLeitura
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response listarAlteracoes(@QueryParam("after") @DefaultValue("0") long apos,
+            @QueryParam("limit") Integer limite, @Context UriInfo uriInfo) {
+        if (apos < 0) {
+            return Response.status(400).entity("O parâmetro after não pode ser negativo.").build();
+        }
+
+        int quantidade;
+        try {
+            quantidade = limite == null ? Paginacao.LIMITE_PADRAO : Paginacao.limite(limite, null);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
+
+        ArrayList<AlteracaoMovimentacao> alteracoes = OutboxMovimentacaoService.listarAlteracoes(apos, quantidade);
+
+        if (alteracoes == null) {
+            return Response.status(500).entity("Não foi possível consultar as alterações de MOVIMENTACAO.").build();
+        }
+
+        long proximo = alteracoes.isEmpty() ? apos : alteracoes.get(alteracoes.size() - 1).getId_alteracao();
+        ResponseBuilder response = Response.ok(alteracoes);
+        response.header(Paginacao.CABECALHO_CURSOR, proximo);
+        response.link(uriInfo.getRequestUriBuilder().replaceQueryParam("after", proximo).build(), "next");
+        return response.build();
+    }
+}
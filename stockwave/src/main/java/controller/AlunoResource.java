@@ -1,9 +1,9 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.AlunoDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +13,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Aluno;
 import services.AlunoService;
 
@@ -60,16 +63,25 @@ public class AlunoResource {
 	/**
 	 * Retorna a lista de todos os Alunos.
 	 *
+	 * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+	 *
+	 * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+	 * @param apos    O cursor da página anterior (parâmetro "after").
+	 * @param uriInfo As informações da URI da requisição.
 	 * @return Uma resposta HTTP contendo a lista de Alunos no formato JSON.
 	 */
 	@GET
+	@SomenteLeitura
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarAlunos() {
-		AlunoDao repositorio = new AlunoDao();
-		ArrayList<Aluno> retorno = repositorio.listarAlunos();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarAlunos(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		try {
+			AlunoDao repositorio = new AlunoDao();
+			Pagina<Aluno> retorno = repositorio.listarAlunos(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 	
 	/**
@@ -80,6 +92,7 @@ public class AlunoResource {
 	 *         Retorna um código de status 404 caso contrário.
 	 */
 	@GET
+	@SomenteLeitura
 	@Path("/{id}")
 	public Response exibirAlunoPorId(@PathParam("id") int id_usuario) {
 		Aluno aluno_buscado = AlunoDao.buscarAlunoPorId(id_usuario);
@@ -130,11 +143,15 @@ public class AlunoResource {
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response cadastrarAluno(@Valid Aluno aluno_novo) {
 		Aluno resp = AlunoService.cadastrarAluno(aluno_novo);
-		final URI alunoUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
-				.build(resp.getId_usuario());
-		ResponseBuilder response = Response.created(alunoUri);
-		response.entity(resp);
-		return response.build();
+		if (resp != null) {
+			final URI alunoUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
+					.build(resp.getId_usuario());
+			ResponseBuilder response = Response.created(alunoUri);
+			response.entity(resp);
+			return response.build();
+		} else {
+			return Response.status(500).entity("Não foi possível cadastrar o novo ALUNO").build();
+		}
 	}
 	
 	/**
@@ -166,6 +183,7 @@ public class AlunoResource {
 	 *         ou uma resposta HTTP de erro com uma mensagem em caso de falha na validação do login.
 	 */
 	@POST
+	@SomenteLeitura
 	@Path("/login")
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response validarLoginAluno(Aluno alunoLogin) {
@@ -4,6 +4,7 @@ import java.net.URI;
 import java.util.ArrayList;
 
 import dao.Aluno_CertificadoDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +14,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Aluno_Certificado;
 import services.Aluno_CertificadoService;
 
@@ -60,16 +64,25 @@ public class Aluno_CertificadoResource {
 	/**
      * Retorna a lista de todos os Aluno_Certificados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma resposta HTTP contendo a lista de Aluno_Certificados no formato JSON.
      */
 	@GET
+	@SomenteLeitura
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarAluno_Certificados() {
-		Aluno_CertificadoDao repositorio = new Aluno_CertificadoDao();
-		ArrayList<Aluno_Certificado> retorno = repositorio.listarAluno_Certificados();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarAluno_Certificados(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		try {
+			Aluno_CertificadoDao repositorio = new Aluno_CertificadoDao();
+			Pagina<Aluno_Certificado> retorno = repositorio.listarAluno_Certificados(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 	
 	/**
@@ -80,6 +93,7 @@ public class Aluno_CertificadoResource {
      *         Retorna um código de status 404 caso contrário.
      */
 	@GET
+	@SomenteLeitura
 	@Path("/{id}")
 	public Response exibirAluno_CertificadosPorId(@PathParam("id") int id_usuario) {
 		ArrayList<Aluno_Certificado> aluno_certificados_buscado = Aluno_CertificadoDao.buscarAluno_CertificadosPorId(id_usuario);
@@ -132,11 +146,15 @@ public class Aluno_CertificadoResource {
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response cadastrarAluno_Certificado(@Valid Aluno_Certificado aluno_certificado_novo) {
 		Aluno_Certificado resp = Aluno_CertificadoService.cadastrarAluno_Certificado(aluno_certificado_novo);
-		final URI aluno_certificadoUri = UriBuilder.fromResource(Aluno_CertificadoResource.class).path("/aluno_certificado/{id}")
-				.build(resp.getAluno().getId_usuario());
-		ResponseBuilder response = Response.created(aluno_certificadoUri);
-		response.entity(resp);
-		return response.build();
+		if (resp != null) {
+			final URI aluno_certificadoUri = UriBuilder.fromResource(Aluno_CertificadoResource.class).path("/aluno_certificado/{id}")
+					.build(resp.getAluno().getId_usuario());
+			ResponseBuilder response = Response.created(aluno_certificadoUri);
+			response.entity(resp);
+			return response.build();
+		} else {
+			return Response.status(500).entity("Não foi possível cadastrar o novo ALUNO_CERTIFICADO").build();
+		}
 	}
 	
 	/**
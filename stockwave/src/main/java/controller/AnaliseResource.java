@@ -0,0 +1,130 @@
+package controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import services.AnaliseMovimentacao;
+import services.RelatorioVelocidade;
+
+/**
+ * Classe que representa o recurso de análise de movimentações.
+ *
+ * As consultas são respondidas pelo motor colunar em memória, sem acessar o banco de dados; os dados
+ * podem estar atrasados em até um intervalo de atualização ("analytics.atualizacao-ms").
+ *
+ * Métodos:
+ * - agruparMovimentacoes: agrupa as movimentações por produto, usuário, dia ou dia da semana.
+ * - exibirVelocidadeProdutos: retorna os produtos com maior giro em uma janela de dias.
+ *
+ * Exemplo de uso:
+ *
+ * GET /analytics/movimentacao?by=produto&amp;metric=volume&amp;top=10
+ * GET /analytics/movimentacao/velocity?days=30&amp;top=20
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.AnaliseMovimentacao
+ * @see services.RelatorioVelocidade
+ *
+ * @author Stockwave
+ */
+@Path("/analytics/movimentacao")
+public class AnaliseResource {
+
+    /**
+     * Agrupa as movimentações e retorna os maiores grupos pela métrica escolhida.
+     *
+     * @param agrupamento A dimensão (parâmetro "by"): "produto" (padrão), "usuario", "dia" ou "dia_semana".
+     * @param metrica     A métrica de ordenação (parâmetro "metric"): "volume" (padrão), "sum" ou "count".
+     * @param id_produto  Filtra por produto (parâmetro "produto"), opcional.
+     * @param id_usuario  Filtra por usuário (parâmetro "usuario"), opcional.
+     * @param de          A data inicial no formato yyyy-MM-dd (parâmetro "from", inclusive), opcional.
+     * @param ate         A data final no formato yyyy-MM-dd (parâmetro "to", inclusive), opcional.
+     * @param top         A quantidade máxima de grupos; 0 para todos.
+     * @return Uma Response contendo a lista de grupos como entidade,
+     *         ou uma Response de status 400 se os parâmetros forem inválidos.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response agruparMovimentacoes(@QueryParam("by") @DefaultValue("produto") String agrupamento,
+            @QueryParam("metric") @DefaultValue("volume") String metrica, @QueryParam("produto") Integer id_produto,
+            @QueryParam("usuario") Integer id_usuario, @QueryParam("from") String de, @QueryParam("to") String ate,
+            @QueryParam("top") @DefaultValue("10") int top) {
+        if (top < 0) {
+            return Response.status(400).entity("O parâmetro top não pode ser negativo.").build();
+        }
+
+        try {
+            ArrayList<Map<String, Object>> grupos = AnaliseMovimentacao.agrupar(dimensao(agrupamento),
+                    metrica(metrica), id_produto, id_usuario, data(de), data(ate), top);
+            return Response.ok(grupos).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Response.status(400).entity(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Retorna os produtos com mais unidades movimentadas por dia na janela informada.
+     *
+     * @param dias A quantidade de dias da janela (parâmetro "days"), terminando na data final.
+     * @param ate  A data final no formato yyyy-MM-dd (parâmetro "to", inclusive); padrão: hoje.
+     * @param top  A quantidade de produtos, de 1 a 1000.
+     * @return Uma Response contendo a lista de produtos como entidade,
+     *         ou uma Response de status 400 se os parâmetros forem inválidos.
+     */
+    @GET
+    @Path("/velocity")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exibirVelocidadeProdutos(@QueryParam("days") @DefaultValue("30") int dias,
+            @QueryParam("to") String ate, @QueryParam("top") @DefaultValue("10") int top) {
+        if (dias < 1 || top < 1 || top > 1000) {
+            return Response.status(400).entity("O parâmetro days deve ser positivo e o parâmetro top deve estar entre 1 e 1000.").build();
+        }
+
+        try {
+            LocalDate fim = ate == null || ate.isEmpty() ? LocalDate.now() : LocalDate.parse(ate);
+            List<Map<String, Object>> produtos = RelatorioVelocidade.calcular(fim.minusDays(dias - 1L), fim, top);
+            return Response.ok(produtos).build();
+        } catch (DateTimeParseException e) {
+            return Response.status(400).entity(e.getMessage()).build();
+        }
+    }
+
+    private static AnaliseMovimentacao.Dimensao dimensao(String texto) {
+        try {
+            return AnaliseMovimentacao.Dimensao.valueOf(texto.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Agrupamento inválido: " + texto
+                    + ". Use produto, usuario, dia ou dia_semana.");
+        }
+    }
+
+    private static AnaliseMovimentacao.Metrica metrica(String texto) {
+        switch (texto) {
+        case "sum":
+            return AnaliseMovimentacao.Metrica.SOMA;
+        case "volume":
+            return AnaliseMovimentacao.Metrica.VOLUME;
+        case "count":
+            return AnaliseMovimentacao.Metrica.CONTAGEM;
+        default:
+            throw new IllegalArgumentException("Métrica inválida: " + texto + ". Use sum, volume ou count.");
+        }
+    }
+
+    private static LocalDate data(String texto) {
+        return texto == null || texto.isEmpty() ? null : LocalDate.parse(texto);
+    }
+}
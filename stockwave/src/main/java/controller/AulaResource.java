@@ -1,9 +1,10 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.AulaDao;
+import dao.Pagina;
+import dao.VersaoTabela;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +14,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Aula;
 import services.AulaService;
 
@@ -58,16 +62,26 @@ public class AulaResource {
 	/**
 	 * Retorna a lista de todas as Aulas.
 	 *
+	 * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+	 *
+	 * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+	 * @param apos    O cursor da página anterior (parâmetro "after").
+	 * @param uriInfo As informações da URI da requisição.
 	 * @return Uma resposta HTTP contendo a lista de Aulas no formato JSON.
 	 */
 	@GET
+	@SomenteLeitura
+	@Versionado(VersaoTabela.AULA)
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarAulas() {
-		AulaDao repositorio = new AulaDao();
-		ArrayList<Aula> retorno = repositorio.listarAulas();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarAulas(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		try {
+			AulaDao repositorio = new AulaDao();
+			Pagina<Aula> retorno = repositorio.listarAulas(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 	
 	/**
@@ -78,9 +92,11 @@ public class AulaResource {
 	 *         Retorna um código de status 404 caso contrário.
 	 */
 	@GET
+	@SomenteLeitura
+	@Versionado(VersaoTabela.AULA)
 	@Path("/{id}")
 	public Response exibirAulaPorId(@PathParam("id") int id) {
-		Aula aula_buscada = AulaDao.buscarAulaPorId(id);
+		Aula aula_buscada = AulaService.exibirAulaPorId(id);
 
 		if (aula_buscada != null) {
 			ResponseBuilder response = Response.ok();
@@ -104,11 +120,15 @@ public class AulaResource {
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response cadastrarAula(@Valid Aula aula) {
 		Aula resp = AulaService.cadastrarAula(aula);
-		final URI aulaUri = UriBuilder.fromResource(AulaResource.class).path("/aula/{id}")
-				.build(resp.getId_aula());
-		ResponseBuilder response = Response.created(aulaUri);
-		response.entity(resp);
-		return response.build();
+		if (resp != null) {
+			final URI aulaUri = UriBuilder.fromResource(AulaResource.class).path("/aula/{id}")
+					.build(resp.getId_aula());
+			ResponseBuilder response = Response.created(aulaUri);
+			response.entity(resp);
+			return response.build();
+		} else {
+			return Response.status(500).entity("Não foi possível cadastrar a nova AULA").build();
+		}
 	}
 	
 	/**
@@ -1,9 +1,9 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.CertificadoDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +13,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Certificado;
 import services.CertificadoService;
 
@@ -60,16 +63,25 @@ public class CertificadoResource {
 	/**
      * Retorna a lista de todos os Certificados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma resposta HTTP contendo a lista de Certificados no formato JSON.
      */
 	@GET
+	@SomenteLeitura
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarCertificados() {
-		CertificadoDao repositorio = new CertificadoDao();
-		ArrayList<Certificado> retorno = repositorio.listarCertificados();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarCertificados(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		try {
+			CertificadoDao repositorio = new CertificadoDao();
+			Pagina<Certificado> retorno = repositorio.listarCertificados(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 	
 	/**
@@ -80,6 +92,7 @@ public class CertificadoResource {
      *         Retorna um código de status 404 caso contrário.
      */
 	@GET
+	@SomenteLeitura
 	@Path("/{id}")
 	public Response exibirCertificadoPorId(@PathParam("id") int id_certificado) {
 		Certificado certificado_buscado = CertificadoDao.buscarCertificadoPorId(id_certificado);
@@ -130,11 +143,15 @@ public class CertificadoResource {
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response cadastrarCertificado(@Valid Certificado certificado_novo) {
 		Certificado resp = CertificadoService.cadastrarCertificado(certificado_novo);
-		final URI certificadoUri = UriBuilder.fromResource(CertificadoResource.class).path("/certificado/{id}")
-				.build(resp.getId_certificado());
-		ResponseBuilder response = Response.created(certificadoUri);
-		response.entity(resp);
-		return response.build();
+		if (resp != null) {
+			final URI certificadoUri = UriBuilder.fromResource(CertificadoResource.class).path("/certificado/{id}")
+					.build(resp.getId_certificado());
+			ResponseBuilder response = Response.created(certificadoUri);
+			response.entity(resp);
+			return response.build();
+		} else {
+			return Response.status(500).entity("Não foi possível cadastrar o novo CERTIFICADO").build();
+		}
 	}
 	
 	/**
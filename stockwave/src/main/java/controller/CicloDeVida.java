@@ -0,0 +1,74 @@
+package controller;
+
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+
+import jakarta.ws.rs.ext.Provider;
+import services.AlertaEstoque;
+import services.AnaliseMovimentacao;
+import services.CatalogoProduto;
+import services.CompactadorEstoque;
+import services.DadosReferencia;
+import services.LogMovimentacao;
+import services.OutboxMovimentacaoService;
+import services.ProjecaoEstoque;
+import services.RollupMovimentacaoService;
+
+/**
+ * Classe responsável por iniciar e encerrar as estruturas em memória junto com a aplicação.
+ *
+ * Ao iniciar o container, agenda a carga do catálogo de produtos, a carga dos dados de referência,
+ * a carga da projeção de estoque, a compactação dos contadores particionados de estoque, a carga da análise
+ * colunar de movimentações, a carga dos níveis de reposição, a remoção das alterações antigas do outbox, o log
+ * local de movimentações (se ativo) e, se necessário, a reconstrução dos totais diários de movimentação; ao
+ * encerrá-lo, interrompe as tarefas em segundo plano.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see ContainerLifecycleListener
+ * @see services.CatalogoProduto
+ * @see services.DadosReferencia
+ * @see services.ProjecaoEstoque
+ * @see services.CompactadorEstoque
+ * @see services.RollupMovimentacaoService
+ * @see services.AnaliseMovimentacao
+ * @see services.AlertaEstoque
+ * @see services.OutboxMovimentacaoService
+ * @see services.LogMovimentacao
+ *
+ * @author Stockwave
+ */
+@Provider
+public class CicloDeVida implements ContainerLifecycleListener {
+
+    @Override
+    public void onStartup(Container container) {
+        CatalogoProduto.iniciar();
+        DadosReferencia.iniciar();
+        ProjecaoEstoque.iniciar();
+        CompactadorEstoque.iniciar();
+        RollupMovimentacaoService.iniciar();
+        AnaliseMovimentacao.iniciar();
+        AlertaEstoque.iniciar();
+        OutboxMovimentacaoService.iniciar();
+        LogMovimentacao.iniciar();
+    }
+
+    @Override
+    public void onReload(Container container) {
+        // As estruturas em memória não dependem da configuração dos recursos
+    }
+
+    @Override
+    public void onShutdown(Container container) {
+        LogMovimentacao.encerrar();
+        OutboxMovimentacaoService.encerrar();
+        AlertaEstoque.encerrar();
+        AnaliseMovimentacao.encerrar();
+        CompactadorEstoque.encerrar();
+        ProjecaoEstoque.encerrar();
+        DadosReferencia.encerrar();
+        CatalogoProduto.encerrar();
+    }
+}
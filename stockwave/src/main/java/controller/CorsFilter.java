@@ -36,6 +36,9 @@ public class CorsFilter implements ContainerResponseFilter {
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
         responseContext.getHeaders().add("Access-Control-Allow-Origin", "*");
         responseContext.getHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE");
-        responseContext.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept");
+        responseContext.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, "
+                + IdempotenciaFilter.CABECALHO_CHAVE);
+        responseContext.getHeaders().add("Access-Control-Expose-Headers", Paginacao.CABECALHO_CURSOR + ", Link, "
+                + IdempotenciaFilter.CABECALHO_REPETIDA);
     }
 }
\ No newline at end of file
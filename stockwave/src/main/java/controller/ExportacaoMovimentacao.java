@@ -0,0 +1,185 @@
+package controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import dao.MovimentacaoDao;
+import jakarta.ws.rs.core.StreamingOutput;
+
+/**
+ * Classe responsável por escrever a exportação de movimentações diretamente na resposta HTTP.
+ *
+ * Cada linha do ResultSet é convertida em uma linha NDJSON (um objeto JSON por linha) ou CSV e escrita
+ * imediatamente, de modo que o uso de memória não depende da quantidade de movimentações exportadas.
+ *
+ * A consulta é executada em {@link #write(OutputStream)}, depois que o TransactionFilter já finalizou
+ * a transação da requisição; por isso ela usa uma conexão própria, emprestada e devolvida pelo DAO.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.MovimentacaoDao#exportarMovimentacoes(Date, Date, MovimentacaoDao.EscritorMovimentacao)
+ * @see controller.MovimentacaoResource
+ *
+ * @author Stockwave
+ */
+public class ExportacaoMovimentacao implements StreamingOutput {
+
+    /**
+     * Tipo de mídia do formato NDJSON.
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Tipo de mídia do formato CSV.
+     */
+    public static final String CSV = "text/csv; charset=UTF-8";
+
+    private static final String CABECALHO_CSV = "id_movimentacao,dt_movimentacao,usuario_movimentacao,nome_usuario,"
+            + "produto_movimentacao,nome_produto,valor_produto,qtd_movimentacao,tipo_movimentacao";
+
+    private final boolean csv;
+    private final Date de;
+    private final Date ate;
+
+    /**
+     * Construtor da classe ExportacaoMovimentacao.
+     *
+     * @param csv true para CSV, false para NDJSON.
+     * @param de  a data inicial (inclusive), ou null.
+     * @param ate a data final (inclusive), ou null.
+     */
+    public ExportacaoMovimentacao(boolean csv, Date de, Date ate) {
+        super();
+        this.csv = csv;
+        this.de = de;
+        this.ate = ate;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16384);
+
+        if (csv) {
+            writer.write(CABECALHO_CSV);
+            writer.write("\r\n");
+        }
+
+        try {
+            MovimentacaoDao.exportarMovimentacoes(de, ate, rs -> {
+                if (csv) {
+                    escreverCsv(writer, rs);
+                } else {
+                    escreverNdjson(writer, rs);
+                }
+            });
+        } catch (SQLException e) {
+            System.out.println("Não foi possível exportar a tabela MOVIMENTACAO: " + e.getMessage());
+            // Interrompe a resposta para que o cliente não receba um arquivo incompleto como se estivesse completo
+            throw new IOException("Exportação interrompida: " + e.getMessage(), e);
+        }
+
+        writer.flush();
+    }
+
+    private static void escreverNdjson(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write("{\"id_movimentacao\":");
+        writer.write(Integer.toString(rs.getInt("id_movimentacao")));
+        writer.write(",\"dt_movimentacao\":");
+        escreverTextoJson(writer, String.valueOf(rs.getDate("dt_movimentacao")));
+        writer.write(",\"usuario_movimentacao\":");
+        writer.write(Integer.toString(rs.getInt("usuario_movimentacao")));
+        writer.write(",\"nome_usuario\":");
+        escreverTextoJson(writer, rs.getString("nome_usuario"));
+        writer.write(",\"produto_movimentacao\":");
+        writer.write(Integer.toString(rs.getInt("produto_movimentacao")));
+        writer.write(",\"nome_produto\":");
+        escreverTextoJson(writer, rs.getString("nome_produto"));
+        writer.write(",\"valor_produto\":");
+        writer.write(Double.toString(rs.getDouble("valor_produto")));
+        writer.write(",\"qtd_movimentacao\":");
+        writer.write(Integer.toString(rs.getInt("qtd_movimentacao")));
+        writer.write(",\"tipo_movimentacao\":");
+        escreverTextoJson(writer, rs.getString("tipo_movimentacao"));
+        writer.write("}\n");
+    }
+
+    private static void escreverCsv(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(Integer.toString(rs.getInt("id_movimentacao")));
+        writer.write(',');
+        writer.write(String.valueOf(rs.getDate("dt_movimentacao")));
+        writer.write(',');
+        writer.write(Integer.toString(rs.getInt("usuario_movimentacao")));
+        writer.write(',');
+        escreverTextoCsv(writer, rs.getString("nome_usuario"));
+        writer.write(',');
+        writer.write(Integer.toString(rs.getInt("produto_movimentacao")));
+        writer.write(',');
+        escreverTextoCsv(writer, rs.getString("nome_produto"));
+        writer.write(',');
+        writer.write(Double.toString(rs.getDouble("valor_produto")));
+        writer.write(',');
+        writer.write(Integer.toString(rs.getInt("qtd_movimentacao")));
+        writer.write(',');
+        escreverTextoCsv(writer, rs.getString("tipo_movimentacao"));
+        writer.write("\r\n");
+    }
+
+    private static void escreverTextoJson(Writer writer, String texto) throws IOException {
+        if (texto == null) {
+            writer.write("null");
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+            case '"':
+                writer.write("\\\"");
+                break;
+            case '\\':
+                writer.write("\\\\");
+                break;
+            case '\n':
+                writer.write("\\n");
+                break;
+            case '\r':
+                writer.write("\\r");
+                break;
+            case '\t':
+                writer.write("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    writer.write(String.format("\\u%04x", (int) c));
+                } else {
+                    writer.write(c);
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static void escreverTextoCsv(Writer writer, String texto) throws IOException {
+        if (texto == null) {
+            return;
+        }
+
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            writer.write(texto);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(texto.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,9 +1,9 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.FuncionarioDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +13,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Funcionario;
 import services.FuncionarioService;
 
@@ -55,16 +58,25 @@ public class FuncionarioResource {
     /**
      * Retorna a lista de funcionários cadastrados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return A resposta HTTP contendo a lista de funcionários.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarFuncionarios() {
-        FuncionarioDao repositorio = new FuncionarioDao();
-        ArrayList<Funcionario> retorno = repositorio.listarFuncionarios();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarFuncionarios(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            FuncionarioDao repositorio = new FuncionarioDao();
+            Pagina<Funcionario> retorno = repositorio.listarFuncionarios(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -74,6 +86,7 @@ public class FuncionarioResource {
      * @return A resposta HTTP contendo as informações do funcionário ou uma mensagem de erro caso não seja encontrado.
      */
     @GET
+    @SomenteLeitura
     @Path("/{id}")
     public Response exibirFuncionarioPorId(@PathParam("id") int id_usuario) {
         Funcionario funcionario_buscado = FuncionarioDao.buscarFuncionarioPorId(id_usuario);
@@ -122,11 +135,15 @@ public class FuncionarioResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarFuncionario(@Valid Funcionario funcionario_novo) {
         Funcionario resp = FuncionarioService.cadastrarFuncionario(funcionario_novo);
-        final URI funcionarioUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
-                .build(resp.getId_usuario());
-        ResponseBuilder response = Response.created(funcionarioUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI funcionarioUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
+                    .build(resp.getId_usuario());
+            ResponseBuilder response = Response.created(funcionarioUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo FUNCIONARIO").build();
+        }
     }
 
     /**
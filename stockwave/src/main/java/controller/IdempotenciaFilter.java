@@ -0,0 +1,270 @@
+package controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe responsável por tornar seguras as repetições de requisições POST com o cabeçalho "Idempotency-Key".
+ *
+ * A primeira requisição com uma chave é executada normalmente e, se a resposta for de sucesso (2xx), o status,
+ * a entidade e os cabeçalhos Location e Content-Type são guardados. Uma repetição com a mesma chave recebe a
+ * resposta guardada, com o cabeçalho "Idempotent-Replayed: true", sem executar o recurso nem abrir transação.
+ *
+ * Regras:
+ * - a chave vale para o mesmo método, caminho, parâmetros de consulta e corpo; reutilizá-la com outra requisição
+ *   resulta em 422;
+ * - enquanto a primeira requisição está em andamento, as repetições recebem 409; após
+ *   {@link #ANDAMENTO_MAXIMO_MS} milissegundos sem resposta, a chave é liberada;
+ * - respostas de erro não são guardadas, e a requisição pode ser repetida com a mesma chave.
+ *
+ * As chaves ficam guardadas por "idempotencia.ttl-ms" (padrão 86400000). No máximo "idempotencia.chaves"
+ * (padrão 10000) chaves são mantidas; ao ultrapassar, as mais antigas são descartadas.
+ *
+ * O filtro tem prioridade maior que o TransactionFilter: a requisição é verificada antes de abrir a transação,
+ * e a resposta só é guardada depois do commit.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see ContainerRequestFilter
+ * @see ContainerResponseFilter
+ * @see controller.TransactionFilter
+ *
+ * @author Stockwave
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION)
+public class IdempotenciaFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Cabeçalho com a chave de idempotência informada pelo cliente.
+     */
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+
+    /**
+     * Cabeçalho adicionado às respostas repetidas.
+     */
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    /**
+     * Tempo máximo, em milissegundos, que uma chave fica reservada por uma requisição em andamento.
+     */
+    public static final long ANDAMENTO_MAXIMO_MS = 60000;
+
+    private static final String PROPRIEDADE_CHAVE = "idempotencia.chave";
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    /**
+     * Resposta guardada para uma chave; sem status enquanto a requisição está em andamento.
+     */
+    private static final class Registro {
+        private final byte[] impressao;
+        private final long criadoEm;
+        private int status;
+        private Object entidade;
+        private Object local;
+        private MediaType tipo;
+
+        private Registro(byte[] impressao, long criadoEm) {
+            this.impressao = impressao;
+            this.criadoEm = criadoEm;
+        }
+    }
+
+    private static final LinkedHashMap<String, Registro> registros = new LinkedHashMap<>();
+
+    private static final AtomicLong repeticoes = new AtomicLong();
+    private static final AtomicLong conflitos = new AtomicLong();
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        String chave = requestContext.getHeaderString(CABECALHO_CHAVE);
+        if (chave == null || !HttpMethod.POST.equals(requestContext.getMethod())) {
+            return;
+        }
+
+        if (chave.trim().isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            requestContext.abortWith(Response.status(400)
+                    .entity("O cabeçalho " + CABECALHO_CHAVE + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE
+                            + " caracteres.")
+                    .build());
+            return;
+        }
+
+        byte[] corpo = ler(requestContext.getEntityStream());
+        requestContext.setEntityStream(new ByteArrayInputStream(corpo));
+        byte[] impressao = impressao(requestContext.getMethod(), requestContext.getUriInfo().getRequestUri(), corpo);
+
+        Response resposta;
+        long agora = System.currentTimeMillis();
+        synchronized (registros) {
+            expurgar(agora);
+            Registro registro = registros.get(chave);
+
+            if (registro == null || (registro.status == 0 && agora - registro.criadoEm > ANDAMENTO_MAXIMO_MS)) {
+                registros.remove(chave);
+                registros.put(chave, new Registro(impressao, agora));
+                requestContext.setProperty(PROPRIEDADE_CHAVE, chave);
+                return;
+            }
+            resposta = responder(chave, registro, impressao);
+        }
+        requestContext.abortWith(resposta);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object chave = requestContext.getProperty(PROPRIEDADE_CHAVE);
+        if (chave == null) {
+            return;
+        }
+
+        synchronized (registros) {
+            Registro registro = registros.get(chave);
+            if (registro == null || registro.status != 0) {
+                return;
+            }
+
+            int status = responseContext.getStatus();
+            if (status >= 200 && status < 300) {
+                registro.status = status;
+                registro.entidade = responseContext.getEntity();
+                registro.local = responseContext.getHeaders().getFirst(HttpHeaders.LOCATION);
+                registro.tipo = responseContext.getMediaType();
+            } else {
+                registros.remove(chave);
+            }
+        }
+    }
+
+    /**
+     * Monta a resposta para uma chave já registrada. Deve ser chamado com a trava de registros.
+     */
+    private static Response responder(String chave, Registro registro, byte[] impressao) {
+        if (!Arrays.equals(registro.impressao, impressao)) {
+            conflitos.incrementAndGet();
+            return Response.status(422).entity("A chave " + chave + " já foi usada em outra requisição.").build();
+        }
+
+        if (registro.status == 0) {
+            conflitos.incrementAndGet();
+            return Response.status(409).entity("A requisição com a chave " + chave + " ainda está em andamento.")
+                    .build();
+        }
+
+        repeticoes.incrementAndGet();
+        ResponseBuilder resposta = Response.status(registro.status).entity(registro.entidade)
+                .header(CABECALHO_REPETIDA, "true");
+        if (registro.local != null) {
+            resposta.header(HttpHeaders.LOCATION, registro.local);
+        }
+        if (registro.tipo != null) {
+            resposta.type(registro.tipo);
+        }
+        return resposta.build();
+    }
+
+    /**
+     * Retorna a quantidade de chaves guardadas, incluindo as de requisições em andamento.
+     *
+     * @return A quantidade de chaves.
+     */
+    public static int getChaves() {
+        synchronized (registros) {
+            return registros.size();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de respostas repetidas a partir de uma chave.
+     *
+     * @return A quantidade de repetições desde o início da aplicação.
+     */
+    public static long getRepeticoes() {
+        return repeticoes.get();
+    }
+
+    /**
+     * Retorna a quantidade de requisições recusadas com 409 ou 422.
+     *
+     * @return A quantidade de conflitos desde o início da aplicação.
+     */
+    public static long getConflitos() {
+        return conflitos.get();
+    }
+
+    /**
+     * Remove as chaves vencidas e as excedentes. Deve ser chamado com a trava de registros.
+     */
+    private static void expurgar(long agora) {
+        ConnectionFactory configuracao = ConnectionFactory.getInstance();
+        long validade = configuracao.getPropriedadeInt("idempotencia.ttl-ms", 86400000);
+        int maximo = configuracao.getPropriedadeInt("idempotencia.chaves", 10000);
+
+        // Os registros estão em ordem de criação: os vencidos ficam no início
+        Iterator<Map.Entry<String, Registro>> iterador = registros.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Registro registro = iterador.next().getValue();
+            if (registros.size() < maximo && agora - registro.criadoEm <= validade) {
+                break;
+            }
+            iterador.remove();
+        }
+    }
+
+    private static byte[] ler(InputStream entrada) throws IOException {
+        ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int lidos;
+        while ((lidos = entrada.read(buffer)) != -1) {
+            corpo.write(buffer, 0, lidos);
+        }
+        return corpo.toByteArray();
+    }
+
+    /**
+     * Calcula o SHA-256 do método, do caminho com os parâmetros de consulta e do corpo da requisição.
+     */
+    private static byte[] impressao(String metodo, URI uri, byte[] corpo) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(metodo.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(uri.getRawPath().getBytes(StandardCharsets.UTF_8));
+            if (uri.getRawQuery() != null) {
+                sha.update((byte) '?');
+                sha.update(uri.getRawQuery().getBytes(StandardCharsets.UTF_8));
+            }
+            sha.update((byte) 0);
+            sha.update(corpo);
+            return sha.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
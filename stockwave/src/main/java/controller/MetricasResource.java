@@ -0,0 +1,169 @@
+package controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import connection.ConnectionFactory;
+import connection.ConnectionPool;
+import connection.StatementCache;
+import dao.CacheProduto;
+import dao.ProdutoDao;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import services.AlertaEstoque;
+import services.AnaliseMovimentacao;
+import services.CatalogoProduto;
+import services.CompactadorEstoque;
+import services.DadosReferencia;
+import services.FluxoEstoque;
+import services.LeituraUnica;
+import services.LogMovimentacao;
+import services.ProjecaoEstoque;
+import services.RelatorioVelocidade;
+
+/**
+ * Classe que representa o recurso de métricas internas do sistema.
+ *
+ * Expõe os contadores do pool de conexões, do cache de Prepared Statements, do catálogo e do cache de produtos,
+ * dos dados de referência, da projeção de estoque, da análise de movimentações, do relatório de velocidade,
+ * dos alertas, do fluxo de estoque, do log local de movimentações, das chaves de idempotência e das leituras
+ * agrupadas.
+ *
+ * Métodos:
+ * - exibirMetricas: retorna as métricas atuais no formato JSON.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see connection.ConnectionPool
+ * @see connection.StatementCache
+ * @see services.CatalogoProduto
+ * @see dao.CacheProduto
+ * @see services.DadosReferencia
+ * @see services.ProjecaoEstoque
+ * @see services.AnaliseMovimentacao
+ * @see services.RelatorioVelocidade
+ * @see services.AlertaEstoque
+ * @see services.FluxoEstoque
+ * @see services.LogMovimentacao
+ * @see controller.IdempotenciaFilter
+ * @see services.LeituraUnica
+ *
+ * @author Stockwave
+ */
+@Path("/metricas")
+public class MetricasResource {
+
+    /**
+     * Retorna as métricas atuais do pool de conexões, do cache de statements e da projeção de estoque.
+     *
+     * @return Uma Response contendo um mapa de métricas como entidade.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exibirMetricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+
+        ConnectionPool pool = ConnectionFactory.getInstance().getPool();
+        Map<String, Object> conexoes = new LinkedHashMap<>();
+        conexoes.put("abertas", pool.getAbertas());
+        conexoes.put("ociosas", pool.getOciosas());
+        conexoes.put("maximo", pool.getTamanhoMaximo());
+        metricas.put("pool", conexoes);
+
+        Map<String, Object> statements = new LinkedHashMap<>();
+        statements.put("acertos", StatementCache.getAcertos());
+        statements.put("falhas", StatementCache.getFalhas());
+        statements.put("remocoes", StatementCache.getRemocoes());
+        metricas.put("statement_cache", statements);
+
+        Map<String, Object> catalogo = new LinkedHashMap<>();
+        catalogo.put("carregado", CatalogoProduto.isCarregado());
+        catalogo.put("produtos", CatalogoProduto.getProdutos());
+        catalogo.put("pronto_em_ms", CatalogoProduto.getProntoEmMs());
+        catalogo.put("acertos", CatalogoProduto.getAcertos());
+        catalogo.put("recargas", CatalogoProduto.getRecargas());
+        catalogo.put("snapshots", CatalogoProduto.getSnapshots());
+        metricas.put("catalogo_produto", catalogo);
+
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("produtos", CacheProduto.getProdutos());
+        cache.put("bytes", CacheProduto.getBytes());
+        cache.put("taxa_acertos", CacheProduto.getTaxaAcertos());
+        cache.put("acertos", CacheProduto.getAcertos());
+        cache.put("falhas", CacheProduto.getFalhas());
+        cache.put("remocoes", CacheProduto.getRemocoes());
+        cache.put("expiracoes", CacheProduto.getExpiracoes());
+        cache.put("invalidacoes", CacheProduto.getInvalidacoes());
+        metricas.put("cache_produto", cache);
+
+        Map<String, Object> referencia = new LinkedHashMap<>();
+        referencia.put("carregados", DadosReferencia.getCarregados());
+        referencia.put("acertos", DadosReferencia.getAcertos());
+        referencia.put("cargas", DadosReferencia.getCargas());
+        metricas.put("dados_referencia", referencia);
+
+        Map<String, Object> estoque = new LinkedHashMap<>();
+        estoque.put("carregada", ProjecaoEstoque.isCarregada());
+        estoque.put("produtos", ProjecaoEstoque.getProdutos());
+        estoque.put("reconciliacoes", ProjecaoEstoque.getReconciliacoes());
+        estoque.put("divergencias", ProjecaoEstoque.getDivergencias());
+        metricas.put("projecao_estoque", estoque);
+
+        Map<String, Object> slots = new LinkedHashMap<>();
+        slots.put("slots_por_produto", ProdutoDao.SLOTS_ESTOQUE);
+        slots.put("compactacoes", CompactadorEstoque.getCompactacoes());
+        slots.put("slots_compactados", CompactadorEstoque.getSlotsCompactados());
+        metricas.put("slots_estoque", slots);
+
+        Map<String, Object> analise = new LinkedHashMap<>();
+        analise.put("linhas", AnaliseMovimentacao.getLinhas());
+        analise.put("atualizacoes", AnaliseMovimentacao.getAtualizacoes());
+        analise.put("recargas", AnaliseMovimentacao.getRecargas());
+        metricas.put("analise_movimentacao", analise);
+
+        Map<String, Object> velocidade = new LinkedHashMap<>();
+        velocidade.put("acertos", RelatorioVelocidade.getAcertos());
+        velocidade.put("calculos", RelatorioVelocidade.getCalculos());
+        metricas.put("relatorio_velocidade", velocidade);
+
+        Map<String, Object> alertas = new LinkedHashMap<>();
+        alertas.put("produtos_monitorados", AlertaEstoque.getProdutosMonitorados());
+        alertas.put("produtos_abaixo", AlertaEstoque.getProdutosAbaixo());
+        alertas.put("avaliacoes", AlertaEstoque.getAvaliacoes());
+        alertas.put("alertas", AlertaEstoque.getAlertas());
+        metricas.put("alertas_estoque", alertas);
+
+        Map<String, Object> fluxo = new LinkedHashMap<>();
+        fluxo.put("assinantes", FluxoEstoque.getAssinantes());
+        fluxo.put("publicados", FluxoEstoque.getPublicados());
+        fluxo.put("coalescidos", FluxoEstoque.getCoalescidos());
+        fluxo.put("descartados", FluxoEstoque.getDescartados());
+        metricas.put("fluxo_estoque", fluxo);
+
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("ativo", LogMovimentacao.isAtivo());
+        log.put("acrescentados", LogMovimentacao.getAcrescentados());
+        log.put("sincronizacoes", LogMovimentacao.getSincronizacoes());
+        log.put("aplicados", LogMovimentacao.getAplicados());
+        log.put("descartados", LogMovimentacao.getDescartados());
+        log.put("pendentes", LogMovimentacao.getPendentes());
+        metricas.put("log_movimentacao", log);
+
+        Map<String, Object> idempotencia = new LinkedHashMap<>();
+        idempotencia.put("chaves", IdempotenciaFilter.getChaves());
+        idempotencia.put("repeticoes", IdempotenciaFilter.getRepeticoes());
+        idempotencia.put("conflitos", IdempotenciaFilter.getConflitos());
+        metricas.put("idempotencia", idempotencia);
+
+        Map<String, Object> leituras = new LinkedHashMap<>();
+        leituras.put("executadas", LeituraUnica.getExecutadas());
+        leituras.put("compartilhadas", LeituraUnica.getCompartilhadas());
+        metricas.put("leitura_unica", leituras);
+
+        return Response.ok(metricas).build();
+    }
+}
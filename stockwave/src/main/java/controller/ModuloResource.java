@@ -1,11 +1,12 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import dao.ModuloDao;
+import dao.Pagina;
+import dao.VersaoTabela;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -15,11 +16,15 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Modulo;
+import services.DadosReferencia;
 import services.ModuloService;
 
 /**
@@ -59,27 +64,46 @@ public class ModuloResource {
     /**
      * Retorna a lista de todos os módulos cadastrados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma Response contendo a lista de todos os módulos cadastrados como entidade.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.MODULO)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarModulos() {
-        ModuloDao repositorio = new ModuloDao();
-        ArrayList<Modulo> retorno = repositorio.listarModulos();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarModulos(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            ModuloDao repositorio = new ModuloDao();
+            Pagina<Modulo> retorno = repositorio.listarModulos(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
      * Retorna um mapa contendo os subgrupos de módulos.
      *
+     * Quando os subgrupos estão carregados no {@link DadosReferencia}, o banco de dados não é consultado.
+     *
      * @return Uma Response contendo o mapa de subgrupos de módulos como entidade.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.MODULO)
     @Path("/subgrupos")
     @Produces(MediaType.APPLICATION_JSON)
     public Response listarModulosSubgrupos() {
+        byte[] json = DadosReferencia.getSubgruposJson();
+        if (json != null) {
+            return Response.ok(json, MediaType.APPLICATION_JSON).build();
+        }
+
         ModuloDao repositorio = new ModuloDao();
         Map<String, List<Map<String, Object>>> subgrupos = repositorio.listarModulosSubgrupos();
 
@@ -94,9 +118,11 @@ public class ModuloResource {
      *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.MODULO)
     @Path("/{id}")
     public Response exibirModuloPorId(@PathParam("id") int id_modulo) {
-        Modulo modulo_buscado = ModuloDao.buscarModuloPorId(id_modulo);
+        Modulo modulo_buscado = ModuloService.exibirModuloPorId(id_modulo);
 
         if (modulo_buscado != null) {
             ResponseBuilder response = Response.ok();
@@ -120,11 +146,15 @@ public class ModuloResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarModulo(@Valid Modulo modulo_novo) {
         Modulo resp = ModuloService.cadastrarModulo(modulo_novo);
-        final URI moduloUri = UriBuilder.fromResource(ModuloResource.class).path("/modulo/{id}")
-                .build(resp.getId_modulo());
-        ResponseBuilder response = Response.created(moduloUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI moduloUri = UriBuilder.fromResource(ModuloResource.class).path("/modulo/{id}")
+                    .build(resp.getId_modulo());
+            ResponseBuilder response = Response.created(moduloUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo MODULO").build();
+        }
     }
 
     /**
@@ -4,6 +4,7 @@ import java.net.URI;
 import java.util.ArrayList;
 
 import dao.Modulo_AulaDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,10 +14,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Modulo_Aula;
 import services.Modulo_AulaService;
 
@@ -56,16 +60,25 @@ public class Modulo_AulaResource {
     /**
      * Retorna a lista de todos os módulos-aula cadastrados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma Response contendo a lista de módulos-aula como entidade.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarModulo_Aulas() {
-        Modulo_AulaDao repositorio = new Modulo_AulaDao();
-        ArrayList<Modulo_Aula> retorno = repositorio.listarModulo_Aulas();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarModulo_Aulas(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            Modulo_AulaDao repositorio = new Modulo_AulaDao();
+            Pagina<Modulo_Aula> retorno = repositorio.listarModulo_Aulas(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -76,9 +89,10 @@ public class Modulo_AulaResource {
      *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
      */
     @GET
+    @SomenteLeitura
     @Path("/{id}")
     public Response exibirModulo_AulasPorId(@PathParam("id") int id_modulo) {
-        ArrayList<Modulo_Aula> modulo_aulas_buscado = Modulo_AulaDao.buscarModulo_AulasPorId(id_modulo);
+        ArrayList<Modulo_Aula> modulo_aulas_buscado = Modulo_AulaService.exibirModulo_AulasPorId(id_modulo);
 
         if (modulo_aulas_buscado != null) {
             ResponseBuilder response = Response.ok();
@@ -128,11 +142,15 @@ public class Modulo_AulaResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarModulo_Aula(@Valid Modulo_Aula modulo_aula_novo) {
         Modulo_Aula resp = Modulo_AulaService.cadastrarModulo_Aula(modulo_aula_novo);
-        final URI modulo_aulaUri = UriBuilder.fromResource(Modulo_AulaResource.class).path("/modulo_aula/{id}")
-                .build(resp.getModulo().getId_modulo());
-        ResponseBuilder response = Response.created(modulo_aulaUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI modulo_aulaUri = UriBuilder.fromResource(Modulo_AulaResource.class).path("/modulo_aula/{id}")
+                    .build(resp.getModulo().getId_modulo());
+            ResponseBuilder response = Response.created(modulo_aulaUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo MODULO_AULA").build();
+        }
     }
 
     /**
@@ -4,6 +4,7 @@ import java.net.URI;
 import java.util.ArrayList;
 
 import dao.Modulo_QuestaoDao;
+import dao.Pagina;
 import jakarta.json.Json;
 import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonObject;
@@ -16,10 +17,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Modulo_Questao;
 import model.Questao;
 import services.Modulo_QuestaoService;
@@ -59,16 +63,25 @@ public class Modulo_QuestaoResource {
     /**
      * Obtém a lista de todos os Módulos de Questão.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma resposta contendo a lista de Módulos de Questão no formato JSON.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarModulo_Questoes() {
-        Modulo_QuestaoDao repositorio = new Modulo_QuestaoDao();
-        ArrayList<Modulo_Questao> retorno = repositorio.listarModulo_Questoes();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarModulo_Questoes(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            Modulo_QuestaoDao repositorio = new Modulo_QuestaoDao();
+            Pagina<Modulo_Questao> retorno = repositorio.listarModulo_Questoes(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -79,9 +92,10 @@ public class Modulo_QuestaoResource {
      *         ou uma mensagem de erro, se não encontrado.
      */
     @GET
+    @SomenteLeitura
     @Path("/{id}")
     public Response exibirModulo_QuestoesPorId(@PathParam("id") int id_modulo) {
-        ArrayList<Modulo_Questao> modulo_questoes_buscado = Modulo_QuestaoDao.buscarModulo_QuestoesPorId(id_modulo);
+        ArrayList<Modulo_Questao> modulo_questoes_buscado = Modulo_QuestaoService.exibirModulo_QuestoesPorId(id_modulo);
         
         if (modulo_questoes_buscado != null) {
             JsonArrayBuilder questoesArrayBuilder = Json.createArrayBuilder();
@@ -169,11 +183,15 @@ public class Modulo_QuestaoResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarModulo_Questao(@Valid Modulo_Questao modulo_questao_novo) {
         Modulo_Questao resp = Modulo_QuestaoService.cadastrarModulo_Questao(modulo_questao_novo);
-        final URI modulo_questaoUri = UriBuilder.fromResource(Modulo_QuestaoResource.class).path("/modulo_questao/{id}")
-                .build(resp.getModulo().getId_modulo());
-        ResponseBuilder response = Response.created(modulo_questaoUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI modulo_questaoUri = UriBuilder.fromResource(Modulo_QuestaoResource.class).path("/modulo_questao/{id}")
+                    .build(resp.getModulo().getId_modulo());
+            ResponseBuilder response = Response.created(modulo_questaoUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo MODULO_QUESTAO").build();
+        }
     }
 
     /**
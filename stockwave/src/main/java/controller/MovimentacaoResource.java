@@ -1,24 +1,40 @@
 package controller;
 
 import java.net.URI;
+import java.sql.Date;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import dao.MovimentacaoDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import model.Movimentacao;
+import model.RollupMovimentacao;
+import services.LogMovimentacao;
 import services.MovimentacaoService;
+import services.RollupMovimentacaoService;
 
 /**
  * Classe que representa o recurso de movimentação do sistema.
@@ -27,10 +43,16 @@ import services.MovimentacaoService;
  * atualizar, cadastrar e deletar movimentações.
  *
  * Métodos:
- * - listarMovimentacoes: retorna a lista de todas as movimentações cadastradas.
+ * - listarMovimentacoes: retorna a lista das movimentações cadastradas, com filtros opcionais.
+ * - exportarMovimentacoes: exporta as movimentações em NDJSON ou CSV sem carregá-las em memória.
+ * - assinarFluxoEstoque: abre um fluxo de Server-Sent Events com as alterações de estoque.
+ * - exibirRollupMovimentacoes: retorna os totais de um produto por dia, semana ou mês.
+ * - reconstruirRollupMovimentacoes: reconstrói os totais diários a partir das movimentações.
  * - exibirMovimentacaoPorId: busca e retorna uma movimentação específica com base em seu ID.
  * - atualizarMovimentacao: atualiza uma movimentação existente com base em seu ID.
  * - cadastrarMovimentacao: cadastra uma nova movimentação.
+ * - cadastrarMovimentacoes: cadastra várias movimentações em lote.
+ * - registrarMovimentacaoEstoque: registra uma movimentação atualizando o estoque do produto.
  * - deletarMovimentacao: deleta uma movimentação existente com base em seu ID.
  *
  * Exemplo de uso:
@@ -45,6 +67,8 @@ import services.MovimentacaoService;
  * @see dao.MovimentacaoDao
  * @see services.MovimentacaoService
  * @see model.Movimentacao
+ * @see services.RollupMovimentacaoService
+ * @see services.FluxoEstoque
  * 
  * @author Stockwave
  */
@@ -54,18 +78,159 @@ public class MovimentacaoResource {
     /**
      * Retorna a lista de todas as movimentações cadastradas.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     * Os filtros opcionais restringem a consulta no banco de dados a um produto, a um usuário e a um período.
+     *
+     * @param id_produto O ID do produto (parâmetro "produto"), opcional.
+     * @param id_usuario O ID do usuário (parâmetro "usuario"), opcional.
+     * @param de         A data inicial no formato yyyy-MM-dd (parâmetro "from", inclusive), opcional.
+     * @param ate        A data final no formato yyyy-MM-dd (parâmetro "to", inclusive), opcional.
+     * @param limite     A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos       O cursor da página anterior (parâmetro "after").
+     * @param uriInfo    As informações da URI da requisição.
      * @return Uma Response contendo a lista de todas as movimentações cadastradas como entidade.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarMovimentacoes() {
-        MovimentacaoDao repositorio = new MovimentacaoDao();
-        ArrayList<Movimentacao> retorno = repositorio.listarMovimentacoes();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
+    public Response listarMovimentacoes(@QueryParam("produto") Integer id_produto,
+            @QueryParam("usuario") Integer id_usuario, @QueryParam("from") String de, @QueryParam("to") String ate,
+            @QueryParam("limit") Integer limite, @QueryParam("after") String apos, @Context UriInfo uriInfo) {
+        Date data_de = null;
+        Date data_ate = null;
+        try {
+            data_de = data(de);
+            data_ate = data(ate);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("As datas devem estar no formato yyyy-MM-dd.").build();
+        }
+
+        try {
+            MovimentacaoDao repositorio = new MovimentacaoDao();
+            Pagina<Movimentacao> retorno = repositorio.listarMovimentacoes(id_produto, id_usuario, data_de, data_ate,
+                    Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
+    }
+
+    /**
+     * Exporta as movimentações em NDJSON ou CSV, escrevendo as linhas na resposta à medida que são lidas do banco.
+     *
+     * @param formato O formato da exportação: "ndjson" (padrão) ou "csv".
+     * @param de      A data inicial no formato yyyy-MM-dd (inclusive), opcional.
+     * @param ate     A data final no formato yyyy-MM-dd (inclusive), opcional.
+     * @return Uma Response de status 200 com a exportação como entidade,
+     *         ou uma Response de status 400 se o formato ou as datas forem inválidos.
+     */
+    @GET
+    @SomenteLeitura
+    @Path("/export")
+    public Response exportarMovimentacoes(@QueryParam("format") @DefaultValue("ndjson") String formato,
+            @QueryParam("from") String de, @QueryParam("to") String ate) {
+        boolean csv = formato.equalsIgnoreCase("csv");
+
+        if (!csv && !formato.equalsIgnoreCase("ndjson")) {
+            return Response.status(400).entity("Formato de exportação inválido: " + formato + ". Use ndjson ou csv.")
+                    .build();
+        }
+
+        Date data_de = null;
+        Date data_ate = null;
+        try {
+            data_de = data(de);
+            data_ate = data(ate);
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity("As datas devem estar no formato yyyy-MM-dd.").build();
+        }
+
+        ResponseBuilder response = Response.ok(new ExportacaoMovimentacao(csv, data_de, data_ate),
+                csv ? ExportacaoMovimentacao.CSV : ExportacaoMovimentacao.NDJSON);
+        response.header("Content-Disposition",
+                "attachment; filename=\"movimentacoes." + (csv ? "csv" : "ndjson") + "\"");
         return response.build();
     }
 
+    /**
+     * Abre um fluxo de Server-Sent Events com um evento por movimentação de estoque confirmada (produto, variação,
+     * novo saldo e ID da movimentação).
+     *
+     * Os eventos são publicados após o commit e podem chegar fora da ordem das movimentações: o ID da movimentação
+     * é a versão do saldo, e o cliente deve ignorar um saldo com ID menor que o último recebido para o produto.
+     * Se o cliente não acompanhar o ritmo das gravações, os eventos pendentes são combinados por produto, mantendo
+     * o saldo da movimentação de maior ID de cada um.
+     *
+     * @param conexao A conexão do assinante.
+     * @param sse     O contexto SSE da requisição.
+     * @throws WebApplicationException com status 503 se o limite de assinantes foi atingido.
+     */
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void assinarFluxoEstoque(@Context SseEventSink conexao, @Context Sse sse) {
+        if (!TransmissaoEstoque.assinar(sse, conexao)) {
+            throw new WebApplicationException(Response.status(503)
+                    .entity("O limite de assinantes do fluxo de estoque foi atingido.").build());
+        }
+    }
+
+    /**
+     * Retorna os totais de movimentação de um produto por dia, semana ou mês, lidos das linhas pré-agregadas
+     * de movimentacao_rollup.
+     *
+     * @param id_produto    O ID do produto (parâmetro "produto").
+     * @param granularidade A granularidade: "day" (padrão), "week" ou "month".
+     * @param de            A data inicial no formato yyyy-MM-dd (parâmetro "from", inclusive), opcional.
+     * @param ate           A data final no formato yyyy-MM-dd (parâmetro "to", inclusive), opcional.
+     * @return Uma Response contendo a lista de totais por período como entidade,
+     *         ou uma Response de status 400 se os parâmetros forem inválidos.
+     */
+    @GET
+    @SomenteLeitura
+    @Path("/rollup")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exibirRollupMovimentacoes(@QueryParam("produto") Integer id_produto,
+            @QueryParam("granularity") @DefaultValue("day") String granularidade, @QueryParam("from") String de,
+            @QueryParam("to") String ate) {
+        if (id_produto == null) {
+            return Response.status(400).entity("O parâmetro produto é obrigatório.").build();
+        }
+
+        try {
+            ArrayList<RollupMovimentacao> periodos = RollupMovimentacaoService.consultarRollup(id_produto,
+                    granularidade, data(de), data(ate));
+
+            if (periodos == null) {
+                return Response.status(500).entity("Não foi possível consultar os totais de MOVIMENTACAO.").build();
+            }
+            return Response.ok(periodos).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Reconstrói os totais diários de movimentação a partir de toda a tabela MOVIMENTACAO.
+     *
+     * @return Uma Response contendo a quantidade de linhas diárias geradas como entidade,
+     *         ou uma Response de status 500 se a reconstrução falhar.
+     */
+    @POST
+    @Path("/rollup/backfill")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response reconstruirRollupMovimentacoes() {
+        int linhas = RollupMovimentacaoService.reconstruir();
+
+        if (linhas < 0) {
+            return Response.status(500).entity("Não foi possível reconstruir os totais de MOVIMENTACAO.").build();
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("linhas", linhas);
+        return Response.ok(resultado).build();
+    }
+
     /**
      * Busca e retorna uma movimentação específica com base em seu ID.
      *
@@ -74,6 +239,7 @@ public class MovimentacaoResource {
      *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
      */
     @GET
+    @SomenteLeitura
     @Path("/{id}")
     public Response exibirMovimentacaoPorId(@PathParam("id") int id_movimentacao) {
         Movimentacao movimentacao_buscada = MovimentacaoDao.buscarMovimentacaoPorId(id_movimentacao);
@@ -95,6 +261,7 @@ public class MovimentacaoResource {
      * @param id_movimentacao O ID da movimentação a ser atualizada.
      * @param movimentacao O objeto Movimentacao contendo os dados atualizados.
      * @return Uma Response contendo a movimentação atualizada como entidade, se a atualização for bem-sucedida,
+     *         uma Response de status 409 se a movimentação pertencer ao livro-razão de estoque,
      *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
      */
     @PUT
@@ -102,7 +269,11 @@ public class MovimentacaoResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response atualizarMovimentacao(@PathParam("id") int id_movimentacao, @Valid Movimentacao movimentacao) {
         Movimentacao movimentacao_nova = null;
-        movimentacao_nova = MovimentacaoService.atualizarMovimentacao(id_movimentacao, movimentacao);
+        try {
+            movimentacao_nova = MovimentacaoService.atualizarMovimentacao(id_movimentacao, movimentacao);
+        } catch (IllegalStateException e) {
+            return Response.status(409).entity(e.getMessage()).build();
+        }
         if (movimentacao_nova != null) {
             return Response.ok(movimentacao_nova).build();
         } else {
@@ -117,19 +288,112 @@ public class MovimentacaoResource {
     /**
      * Cadastra uma nova movimentação.
      *
+     * Com o log local de movimentações ativo ("wal.ativo"), a movimentação é gravada no log e aplicada ao banco de
+     * dados em segundo plano; a resposta é enviada assim que o registro estiver em disco.
+     *
      * @param movimentacao_nova O objeto Movimentacao a ser cadastrado.
      * @return Uma Response de status 201 (Created) contendo o URI da movimentação cadastrada
-     *         e a própria movimentação como entidade.
+     *         e a própria movimentação como entidade, ou 500 se não foi possível cadastrá-la; com o log ativo, uma
+     *         Response de status 202 (Accepted) contendo a sequência do registro no log, ou 503 se não foi possível
+     *         gravá-lo.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarMovimentacao(@Valid Movimentacao movimentacao_nova) {
+        if (LogMovimentacao.isAtivo()) {
+            long sequencia = LogMovimentacao.registrar(movimentacao_nova);
+            if (sequencia < 0) {
+                return Response.status(503).entity("Não foi possível gravar a movimentação no log local.").build();
+            }
+
+            Map<String, Object> registro = new LinkedHashMap<>();
+            registro.put("sequencia", sequencia);
+            return Response.accepted(registro).build();
+        }
+
         Movimentacao resp = MovimentacaoService.cadastrarMovimentacao(movimentacao_nova);
-        final URI movimentacaoUri = UriBuilder.fromResource(MovimentacaoResource.class).path("/movimentacao/{id}")
-                .build(resp.getId_movimentacao());
-        ResponseBuilder response = Response.created(movimentacaoUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI movimentacaoUri = UriBuilder.fromResource(MovimentacaoResource.class).path("/movimentacao/{id}")
+                    .build(resp.getId_movimentacao());
+            ResponseBuilder response = Response.created(movimentacaoUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar a nova MOVIMENTACAO").build();
+        }
+    }
+
+    /**
+     * Registra uma movimentação no livro-razão de estoque.
+     *
+     * A quantidade informada é somada (entrada) ou subtraída (saída) de qtd_produto na mesma ida ao banco que
+     * insere a movimentação, dispensando o PUT /produto/{id} separado. A movimentação retornada contém a
+     * quantidade informada, o tipo ("entrada" ou "saida") e o novo saldo em produto_movimentacao.qtd_produto.
+     * As movimentações do livro-razão não podem ser alteradas nem removidas; uma correção é registrada como uma
+     * nova movimentação no sentido oposto.
+     *
+     * @param tipo              O tipo da movimentação: "entrada" (padrão) ou "saida".
+     * @param movimentacao_nova O objeto Movimentacao a ser registrado, com quantidade positiva.
+     * @return Uma Response de status 201 (Created) contendo o URI e a movimentação registrada como entidade,
+     *         uma Response de status 400 se o tipo for inválido, 404 se o produto não existir,
+     *         409 se a saída deixar o estoque negativo, ou 500 em caso de erro no banco de dados.
+     */
+    @POST
+    @Path("/estoque")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response registrarMovimentacaoEstoque(@QueryParam("tipo") @DefaultValue("entrada") String tipo,
+            @Valid Movimentacao movimentacao_nova) {
+        boolean saida = tipo.equalsIgnoreCase("saida");
+
+        if (!saida && !tipo.equalsIgnoreCase("entrada")) {
+            return Response.status(400).entity("Tipo de movimentação inválido: " + tipo + ". Use entrada ou saida.")
+                    .build();
+        }
+
+        int id_produto = movimentacao_nova.getProduto_movimentacao().getId_produto();
+
+        switch (MovimentacaoService.registrarMovimentacaoEstoque(movimentacao_nova, saida)) {
+        case MovimentacaoDao.ESTOQUE_REGISTRADO:
+            final URI movimentacaoUri = UriBuilder.fromResource(MovimentacaoResource.class)
+                    .path("/movimentacao/{id}").build(movimentacao_nova.getId_movimentacao());
+            return Response.created(movimentacaoUri).entity(movimentacao_nova).build();
+        case MovimentacaoDao.ESTOQUE_PRODUTO_INEXISTENTE:
+            return Response.status(404).entity("Não foi possível encontrar o PRODUTO de id_produto: " + id_produto)
+                    .build();
+        case MovimentacaoDao.ESTOQUE_INSUFICIENTE:
+            return Response.status(409)
+                    .entity("Estoque insuficiente do PRODUTO de id_produto: " + id_produto + " para a saída de "
+                            + movimentacao_nova.getQtd_movimentacao() + " unidade(s).")
+                    .build();
+        default:
+            return Response.status(500).entity("Não foi possível registrar a MOVIMENTACAO no estoque.").build();
+        }
+    }
+
+    /**
+     * Cadastra várias movimentações em uma única requisição.
+     *
+     * Todas as movimentações são validadas antes do cadastro e inseridas na mesma transação:
+     * se qualquer uma falhar, nenhuma é cadastrada.
+     *
+     * @param movimentacoes A lista de objetos Movimentacao a serem cadastrados.
+     * @return Uma Response de status 201 (Created) contendo a lista dos IDs gerados, na ordem recebida,
+     *         ou uma Response de status 500 se não foi possível cadastrar as movimentações.
+     */
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response cadastrarMovimentacoes(
+            @Valid @NotEmpty(message = "A lista de movimentações não pode ser vazia.") List<Movimentacao> movimentacoes) {
+        ArrayList<Integer> ids = MovimentacaoService.cadastrarMovimentacoes(movimentacoes);
+
+        if (ids == null) {
+            return Response.status(500).entity("Não foi possível cadastrar as MOVIMENTACOES em lote.").build();
+        }
+
+        return Response.status(201).entity(ids).build();
     }
 
     /**
@@ -137,12 +401,20 @@ public class MovimentacaoResource {
      *
      * @param id_movimentacao O ID da movimentação a ser deletada.
      * @return Uma Response de status 204 se a deleção for bem-sucedida,
+     *         uma Response de status 409 se a movimentação pertencer ao livro-razão de estoque,
      *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
      */
     @DELETE
     @Path("/{id}")
     public Response deletarMovimentacao(@PathParam("id") int id_movimentacao) {
-        if (MovimentacaoService.deletarMovimentacao(id_movimentacao)) {
+        boolean deletada;
+        try {
+            deletada = MovimentacaoService.deletarMovimentacao(id_movimentacao);
+        } catch (IllegalStateException e) {
+            return Response.status(409).entity(e.getMessage()).build();
+        }
+
+        if (deletada) {
             ResponseBuilder response = Response.noContent();
             return response.build();
         } else {
@@ -152,4 +424,15 @@ public class MovimentacaoResource {
             return response.build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte um parâmetro de data no formato yyyy-MM-dd.
+     *
+     * @param texto O valor do parâmetro, ou null.
+     * @return A data, ou null se o parâmetro não foi informado.
+     * @throws IllegalArgumentException se a data for inválida.
+     */
+    private static Date data(String texto) {
+        return texto == null || texto.isEmpty() ? null : Date.valueOf(texto);
+    }
+}
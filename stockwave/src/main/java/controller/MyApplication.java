@@ -19,6 +19,11 @@ import org.glassfish.jersey.server.ResourceConfig;
  *
  * @see ResourceConfig
  * @see controller.CorsFilter
+ * @see controller.TransactionFilter
+ * @see controller.TransactionListener
+ * @see controller.IdempotenciaFilter
+ * @see controller.VersaoFilter
+ * @see controller.CicloDeVida
  * @see controller.MovimentacaoResource
  * 
  * @author Stockwave
@@ -28,10 +33,16 @@ public class MyApplication extends ResourceConfig {
     /**
      * Construtor da classe MyApplication.
      *
-     * Configura o pacote onde os recursos estão localizados e registra o CorsFilter.
+     * Configura o pacote onde os recursos estão localizados e registra o CorsFilter, o TransactionFilter,
+     * o TransactionListener, o IdempotenciaFilter, o VersaoFilter e o CicloDeVida.
      */
     public MyApplication() {
         packages("controller");
         register(CorsFilter.class);
+        register(TransactionFilter.class);
+        register(TransactionListener.class);
+        register(IdempotenciaFilter.class);
+        register(VersaoFilter.class);
+        register(CicloDeVida.class);
     }
 }
\ No newline at end of file
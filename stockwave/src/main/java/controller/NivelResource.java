@@ -1,9 +1,9 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.NivelDao;
+import dao.Pagina;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,11 +13,15 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Nivel;
+import services.DadosReferencia;
 import services.NivelService;
 
 /**
@@ -56,16 +60,33 @@ public class NivelResource {
 	/**
 	 * Retorna a lista de todos os níveis cadastrados.
 	 *
+	 * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros, a partir do
+	 * {@link DadosReferencia} quando os níveis estão carregados.
+	 *
+	 * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+	 * @param apos    O cursor da página anterior (parâmetro "after").
+	 * @param uriInfo As informações da URI da requisição.
 	 * @return uma Response contendo a lista de níveis cadastrados no formato JSON.
 	 */
 	@GET
+	@SomenteLeitura
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarNiveis() {
-		NivelDao repositorio = new NivelDao();
-		ArrayList<String> retorno = repositorio.listarNiveis();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarNiveis(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		if (limite == null && apos == null) {
+			byte[] niveis = DadosReferencia.getNiveisJson();
+			if (niveis != null) {
+				return Response.ok(niveis, MediaType.APPLICATION_JSON).build();
+			}
+		}
+
+		try {
+			NivelDao repositorio = new NivelDao();
+			Pagina<String> retorno = repositorio.listarNiveis(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 
 	/**
@@ -76,6 +97,7 @@ public class NivelResource {
 	 * Caso contrário, retorna uma Response com status 404 e uma mensagem de erro.
 	 */
 	@GET
+	@SomenteLeitura
 	@Path("/{nome_nivel}")
 	public Response exibirNivelPorNome(@PathParam("nome_nivel") String nome_nivel) {
 		Nivel nivel_buscado = NivelDao.buscarNivelPorNome(nome_nivel);
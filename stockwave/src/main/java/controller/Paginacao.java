@@ -0,0 +1,100 @@
+package controller;
+
+import dao.Pagina;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.UriInfo;
+
+/**
+ * Classe utilitária para as listagens paginadas dos recursos.
+ *
+ * As listagens aceitam os parâmetros "limit" (quantidade de itens) e "after" (cursor da página anterior).
+ * Sem nenhum dos dois, a listagem completa é retornada como antes. O corpo da resposta continua sendo
+ * a lista de itens; o cursor da próxima página é enviado no cabeçalho "X-Next-Cursor" e no cabeçalho
+ * "Link" com rel="next". A ausência desses cabeçalhos indica a última página.
+ *
+ * Exemplo de uso:
+ *
+ * GET /produto?limit=50
+ * GET /produto?limit=50&amp;after=&lt;X-Next-Cursor da resposta anterior&gt;
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.Pagina
+ *
+ * @author Stockwave
+ */
+public final class Paginacao {
+
+    /**
+     * Quantidade de itens usada quando apenas o cursor é informado.
+     */
+    public static final int LIMITE_PADRAO = 100;
+
+    /**
+     * Quantidade máxima de itens por página.
+     */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    /**
+     * Cabeçalho com o cursor da próxima página.
+     */
+    public static final String CABECALHO_CURSOR = "X-Next-Cursor";
+
+    private Paginacao() {
+        super();
+    }
+
+    /**
+     * Valida o limite informado pelo cliente.
+     *
+     * @param limite O parâmetro "limit", ou null.
+     * @param apos   O parâmetro "after", ou null.
+     * @return O limite a ser usado pelo DAO; 0 quando a listagem não é paginada.
+     * @throws IllegalArgumentException se o limite estiver fora do intervalo permitido.
+     */
+    public static int limite(Integer limite, String apos) {
+        if (limite == null) {
+            return apos == null ? 0 : LIMITE_PADRAO;
+        }
+
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        return limite;
+    }
+
+    /**
+     * Monta a resposta de uma página.
+     *
+     * @param pagina  A página retornada pelo DAO.
+     * @param uriInfo As informações da URI da requisição.
+     * @return Uma Response de status 200 contendo os itens da página como entidade.
+     */
+    public static Response responder(Pagina<?> pagina, UriInfo uriInfo) {
+        ResponseBuilder response = Response.ok();
+        response.entity(pagina.getItens());
+
+        if (pagina.getProximoCursor() != null) {
+            response.header(CABECALHO_CURSOR, pagina.getProximoCursor());
+            response.link(uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("limit", pagina.getItens().size())
+                    .replaceQueryParam("after", pagina.getProximoCursor())
+                    .build(), "next");
+        }
+
+        return response.build();
+    }
+
+    /**
+     * Monta a resposta de status 400 para parâmetros de paginação inválidos.
+     *
+     * @param e A exceção lançada na validação do limite ou do cursor.
+     * @return Uma Response de status 400 com a mensagem de erro.
+     */
+    public static Response invalida(IllegalArgumentException e) {
+        return Response.status(400).entity(e.getMessage()).build();
+    }
+}
@@ -1,9 +1,13 @@
 package controller;
 
 import java.net.URI;
+import java.sql.Date;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import dao.ProdutoDao;
+import dao.Pagina;
+import dao.VersaoTabela;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -13,12 +17,19 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import model.Produto;
+import model.ValorizacaoEstoque;
 import services.ProdutoService;
+import services.ValorizacaoService;
 
 /**
  * Classe que representa o recurso de produto do sistema.
@@ -38,6 +49,8 @@ import services.ProdutoService;
  * @see dao.ProdutoDao
  * @see services.ProdutoService
  * @see model.Produto
+ * @see services.ValorizacaoService
+ * @see services.AlertaEstoque
  * 
  * @author Stockwave
  */
@@ -47,16 +60,25 @@ public class ProdutoResource {
     /**
      * Retorna a lista de todos os produtos cadastrados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return Uma resposta HTTP contendo a lista de produtos cadastrados no formato JSON.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.PRODUTO)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarProdutos() {
-        ProdutoDao repositorio = new ProdutoDao();
-        ArrayList<Produto> retorno = repositorio.listarProdutos();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarProdutos(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            Pagina<Produto> retorno = ProdutoService.listarProdutos(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -67,9 +89,11 @@ public class ProdutoResource {
      *         Retorna uma resposta HTTP com status 404 e uma mensagem de erro, caso contrário.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.PRODUTO)
     @Path("/{id}")
     public Response exibirProdutoPorId(@PathParam("id") int id_produto) {
-        Produto produto_buscado = ProdutoDao.buscarProdutoPorId(id_produto);
+        Produto produto_buscado = ProdutoService.exibirProdutoPorId(id_produto);
 
         if (produto_buscado != null) {
             ResponseBuilder response = Response.ok();
@@ -82,21 +106,97 @@ public class ProdutoResource {
         }
     }
 
+    /**
+     * Retorna a quantidade em estoque de um produto, servida pela projeção de estoque em memória.
+     *
+     * @param id_produto O ID do produto.
+     * @return Uma Response contendo id_produto e qtd_produto como entidade, se o produto existir,
+     *         ou uma Response de status 404 com uma mensagem de erro, caso contrário.
+     */
+    @GET
+    @SomenteLeitura
+    @Path("/{id}/estoque")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exibirEstoqueProduto(@PathParam("id") int id_produto) {
+        Integer qtd_produto = ProdutoService.consultarEstoque(id_produto);
+
+        if (qtd_produto == null) {
+            return Response.status(404).entity("Não foi possível encontrar o PRODUTO de id_produto: " + id_produto)
+                    .build();
+        }
+
+        Map<String, Object> estoque = new LinkedHashMap<>();
+        estoque.put("id_produto", id_produto);
+        estoque.put("qtd_produto", qtd_produto);
+        return Response.ok(estoque).build();
+    }
+
+    /**
+     * Retorna o valor do estoque (quantidade * preço), no total e por faixa de preço.
+     *
+     * A soma é feita no banco de dados e apenas as linhas agregadas são retornadas.
+     *
+     * @param faixas Os limites das faixas de preço separados por vírgula, em ordem crescente (parâmetro "bands"),
+     *               opcional; por exemplo "10,100" gera as faixas abaixo de 10, de 10 a 100 e a partir de 100.
+     * @param data   A data de referência no formato yyyy-MM-dd (parâmetro "date"), opcional; o estoque ao fim
+     *               desse dia é reconstruído a partir das entradas e saídas do livro-razão posteriores.
+     * @return Uma Response contendo o total seguido das faixas como entidade,
+     *         ou uma Response de status 400 se os parâmetros forem inválidos.
+     */
+    @GET
+    @SomenteLeitura
+    @Path("/valuation")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exibirValorizacaoEstoque(@QueryParam("bands") String faixas, @QueryParam("date") String data) {
+        try {
+            ArrayList<ValorizacaoEstoque> valores = ValorizacaoService.valorizar(faixas,
+                    data == null || data.isEmpty() ? null : Date.valueOf(data));
+
+            if (valores == null) {
+                return Response.status(500).entity("Não foi possível calcular o valor do estoque.").build();
+            }
+            return Response.ok(valores).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(400).entity(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Abre um fluxo de Server-Sent Events com os alertas de estoque baixo.
+     *
+     * Substitui a consulta periódica do catálogo: o cliente recebe o estado inicial e, em seguida, um evento a cada
+     * vez que um produto cruza seu nível de reposição.
+     *
+     * @param conexao A conexão do assinante.
+     * @param sse     O contexto SSE da requisição.
+     */
+    @GET
+    @Path("/alerts/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void assinarAlertasEstoque(@Context SseEventSink conexao, @Context Sse sse) {
+        TransmissaoAlertas.assinar(sse, conexao);
+    }
+
     /**
      * Cadastra um novo produto.
      *
      * @param produto_novo O objeto Produto contendo as informações do produto a ser cadastrado.
      * @return Uma resposta HTTP contendo o produto cadastrado no formato JSON, caso o cadastro seja bem-sucedido.
+     *         Caso contrário, retorna uma resposta com status 500 e uma mensagem de erro.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarProduto(@Valid Produto produto_novo) {
         Produto resp = ProdutoService.cadastrarProduto(produto_novo);
-        final URI produtoUri = UriBuilder.fromResource(ProdutoResource.class).path("/produto/{id}")
-                .build(resp.getId_produto());
-        ResponseBuilder response = Response.created(produtoUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI produtoUri = UriBuilder.fromResource(ProdutoResource.class).path("/produto/{id}")
+                    .build(resp.getId_produto());
+            ResponseBuilder response = Response.created(produtoUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo PRODUTO").build();
+        }
     }
 
     /**
@@ -1,8 +1,8 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
+import dao.Pagina;
 import dao.ProfessorDao;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -13,10 +13,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Professor;
 import services.ProfessorService;
 
@@ -48,16 +51,25 @@ public class ProfessorResource {
     /**
      * Retorna a lista de todos os professores cadastrados.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return uma Response contendo a lista de professores cadastrados no formato JSON.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarProfessores() {
-        ProfessorDao repositorio = new ProfessorDao();
-        ArrayList<Professor> retorno = repositorio.listarProfessores();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarProfessores(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            ProfessorDao repositorio = new ProfessorDao();
+            Pagina<Professor> retorno = repositorio.listarProfessores(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -68,6 +80,7 @@ public class ProfessorResource {
      * Caso contrário, retorna uma Response com status 404 e uma mensagem de erro.
      */
     @GET
+    @SomenteLeitura
     @Path("/{id}")
     public Response exibirProfessorPorId(@PathParam("id") int id_usuario) {
         Professor professor_buscado = ProfessorDao.buscarProfessorPorId(id_usuario);
@@ -93,11 +106,15 @@ public class ProfessorResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarProfessor(@Valid Professor professor_novo) {
         Professor resp = ProfessorService.cadastrarProfessor(professor_novo);
-        final URI professorUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
-                .build(resp.getId_usuario());
-        ResponseBuilder response = Response.created(professorUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI professorUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
+                    .build(resp.getId_usuario());
+            ResponseBuilder response = Response.created(professorUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar o novo PROFESSOR").build();
+        }
     }
 
     /**
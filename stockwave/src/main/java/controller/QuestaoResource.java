@@ -1,9 +1,10 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
 import dao.QuestaoDao;
+import dao.Pagina;
+import dao.VersaoTabela;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import jakarta.validation.Valid;
@@ -15,10 +16,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Questao;
 import model.Resposta;
 import services.QuestaoService;
@@ -52,16 +56,26 @@ public class QuestaoResource {
     /**
      * Retorna a lista de todas as questões cadastradas.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return uma Response contendo a lista de questões cadastradas no formato JSON.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.QUESTAO)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarQuestoes() {
-        QuestaoDao repositorio = new QuestaoDao();
-        ArrayList<Questao> retorno = repositorio.listarQuestoes();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarQuestoes(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        try {
+            QuestaoDao repositorio = new QuestaoDao();
+            Pagina<Questao> retorno = repositorio.listarQuestoes(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -72,9 +86,11 @@ public class QuestaoResource {
      * Caso contrário, retorna uma Response com status 404 e uma mensagem de erro.
      */
     @GET
+    @SomenteLeitura
+    @Versionado(VersaoTabela.QUESTAO)
     @Path("/{id}")
     public Response exibirQuestaoPorId(@PathParam("id") int id_questao) {
-        Questao questao_buscada = QuestaoDao.buscarQuestaoPorId(id_questao);
+        Questao questao_buscada = QuestaoService.exibirQuestaoPorId(id_questao);
         JsonObject jsonObject = null;
         
         if (questao_buscada != null) {
@@ -129,11 +145,15 @@ public class QuestaoResource {
     @Consumes(MediaType.APPLICATION_JSON)
     public Response cadastrarQuestao(@Valid Questao questao_nova) {
         Questao resp = QuestaoService.cadastrarQuestao(questao_nova);
-        final URI questaoUri = UriBuilder.fromResource(QuestaoResource.class).path("/questao/{id}")
-                .build(resp.getId_questao());
-        ResponseBuilder response = Response.created(questaoUri);
-        response.entity(resp);
-        return response.build();
+        if (resp != null) {
+            final URI questaoUri = UriBuilder.fromResource(QuestaoResource.class).path("/questao/{id}")
+                    .build(resp.getId_questao());
+            ResponseBuilder response = Response.created(questaoUri);
+            response.entity(resp);
+            return response.build();
+        } else {
+            return Response.status(500).entity("Não foi possível cadastrar a nova QUESTAO").build();
+        }
     }
 
     /**
@@ -191,6 +211,7 @@ public class QuestaoResource {
      * Caso contrário, o campo "resposta" será false e o campo "observacao" conterá a observação associada.
      */
     @POST
+    @SomenteLeitura
     @Consumes(MediaType.APPLICATION_JSON)
     @Path("/{id}/verificar")
     public Response verificarRespostaQuestao(@PathParam("id") int id_questao, Resposta resposta) {
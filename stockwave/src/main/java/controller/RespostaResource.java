@@ -1,8 +1,8 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
+import dao.Pagina;
 import dao.RespostaDao;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -13,11 +13,15 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Resposta;
+import services.DadosReferencia;
 import services.RespostaService;
 
 /**
@@ -48,16 +52,33 @@ public class RespostaResource {
     /**
      * Retorna uma lista de respostas.
      *
+     * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros, a partir do
+     * {@link DadosReferencia} quando as respostas estão carregadas.
+     *
+     * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+     * @param apos    O cursor da página anterior (parâmetro "after").
+     * @param uriInfo As informações da URI da requisição.
      * @return uma Response contendo a lista de respostas no formato JSON.
      */
     @GET
+    @SomenteLeitura
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarRespostas() {
-        RespostaDao repositorio = new RespostaDao();
-        ArrayList<Resposta> retorno = repositorio.listarRespostas();
-        ResponseBuilder response = Response.ok();
-        response.entity(retorno);
-        return response.build();
+    public Response listarRespostas(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+            @Context UriInfo uriInfo) {
+        if (limite == null && apos == null) {
+            byte[] respostas = DadosReferencia.getRespostasJson();
+            if (respostas != null) {
+                return Response.ok(respostas, MediaType.APPLICATION_JSON).build();
+            }
+        }
+
+        try {
+            RespostaDao repositorio = new RespostaDao();
+            Pagina<Resposta> retorno = repositorio.listarRespostas(Paginacao.limite(limite, apos), apos);
+            return Paginacao.responder(retorno, uriInfo);
+        } catch (IllegalArgumentException e) {
+            return Paginacao.invalida(e);
+        }
     }
 
     /**
@@ -68,6 +89,7 @@ public class RespostaResource {
      * Caso contrário, retorna uma Response com status 404 e uma mensagem de erro.
      */
     @GET
+    @SomenteLeitura
     @Path("/{str_resposta}")
     public Response exibirRespostaPorNome(@PathParam("str_resposta") String str_resposta) {
         Resposta resposta_buscada = RespostaDao.buscarRespostaPorNome(str_resposta);
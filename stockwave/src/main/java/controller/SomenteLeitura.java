@@ -0,0 +1,32 @@
+package controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método (ou todos os métodos de um recurso) como somente leitura.
+ *
+ * A transação aberta pelo TransactionFilter para esses métodos é criada em modo somente leitura
+ * e nunca é confirmada, evitando o commit ao final da requisição.
+ *
+ * Exemplo de uso:
+ *
+ * &#64;GET
+ * &#64;SomenteLeitura
+ * public Response listarProdutos() { ... }
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.TransactionFilter
+ *
+ * @author Stockwave
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface SomenteLeitura {
+}
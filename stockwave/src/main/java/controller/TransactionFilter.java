@@ -0,0 +1,88 @@
+package controller;
+
+import java.lang.reflect.Method;
+
+import dao.Repository;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe responsável por abrir e finalizar uma transação por requisição HTTP.
+ *
+ * Ao receber a requisição, inicia uma transação na thread atual com {@link Repository#beginTransaction(boolean)}.
+ * Todas as operações dos DAOs executadas pelo recurso compartilham a mesma conexão do pool, que só é
+ * emprestada na primeira consulta. Ao enviar a resposta, a transação é confirmada uma única vez se o
+ * status for de sucesso (menor que 400) e desfeita caso contrário.
+ *
+ * Métodos ou recursos anotados com {@link SomenteLeitura} abrem a transação em modo somente leitura,
+ * que nunca é confirmada.
+ *
+ * Se o commit falhar, a resposta é substituída por uma resposta de status 500.
+ *
+ * Quando o recurso lança uma exceção não mapeada, o Jersey não executa este filtro de resposta; nesse caso a
+ * transação é desfeita pelo {@link TransactionListener} ao final da requisição.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see ContainerRequestFilter
+ * @see ContainerResponseFilter
+ * @see dao.Repository
+ * @see controller.SomenteLeitura
+ * @see controller.TransactionListener
+ *
+ * @author Stockwave
+ */
+@Provider
+public class TransactionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Propriedade da requisição com a thread em que a transação foi iniciada.
+     */
+    static final String PROPRIEDADE_THREAD = "transacao.thread";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Repository.beginTransaction(isSomenteLeitura());
+        requestContext.setProperty(PROPRIEDADE_THREAD, Thread.currentThread());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!Repository.inTransaction()) {
+            return;
+        }
+
+        boolean confirmar = responseContext.getStatus() < 400;
+
+        if (!Repository.endTransaction(confirmar)) {
+            responseContext.setStatus(500);
+            responseContext.setEntity("Não foi possível confirmar a transação no banco de dados.");
+        }
+    }
+
+    /**
+     * Verifica se o método do recurso que atenderá a requisição é somente leitura.
+     *
+     * @return true se o método ou sua classe estiver anotado com SomenteLeitura.
+     */
+    private boolean isSomenteLeitura() {
+        if (resourceInfo == null) {
+            return false;
+        }
+
+        Method metodo = resourceInfo.getResourceMethod();
+        Class<?> recurso = resourceInfo.getResourceClass();
+
+        return (metodo != null && metodo.isAnnotationPresent(SomenteLeitura.class))
+                || (recurso != null && recurso.isAnnotationPresent(SomenteLeitura.class));
+    }
+}
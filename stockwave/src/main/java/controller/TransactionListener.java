@@ -0,0 +1,50 @@
+package controller;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import dao.Repository;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe responsável por desfazer a transação de uma requisição que terminou sem passar pelo TransactionFilter.
+ *
+ * O Jersey não executa os filtros de resposta quando o recurso lança uma exceção sem ExceptionMapper. Sem este
+ * listener, a transação aberta pelo {@link TransactionFilter}, a conexão emprestada do pool e os bloqueios de
+ * linhas ainda não confirmadas ficariam presos à thread do Grizzly até a próxima requisição atendida por ela.
+ *
+ * Ao receber o evento FINISHED, se a transação iniciada por esta requisição ainda estiver aberta na thread atual,
+ * ela é desfeita. Requisições assíncronas, finalizadas em outra thread, são ignoradas.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.TransactionFilter
+ * @see dao.Repository
+ *
+ * @author Stockwave
+ */
+@Provider
+public class TransactionListener implements ApplicationEventListener {
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return event -> {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+
+            Object thread = event.getContainerRequest().getProperty(TransactionFilter.PROPRIEDADE_THREAD);
+            if (thread == Thread.currentThread() && Repository.inTransaction()) {
+                System.out.println("Transação desfeita: a requisição terminou sem finalizá-la.");
+                Repository.endTransaction(false);
+            }
+        };
+    }
+}
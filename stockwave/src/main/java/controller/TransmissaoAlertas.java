@@ -0,0 +1,72 @@
+package controller;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+import services.AlertaEstoque;
+
+/**
+ * Classe responsável por transmitir os alertas de estoque baixo aos assinantes de Server-Sent Events.
+ *
+ * Um único SseBroadcaster, criado na primeira assinatura, recebe os alertas do {@link AlertaEstoque} e os envia a
+ * todas as conexões abertas; conexões encerradas pelo cliente são removidas pelo próprio broadcaster. Cada evento
+ * tem o nome do tipo do alerta ("estoque-baixo" ou "estoque-normalizado") e o alerta em JSON como dado.
+ *
+ * Ao assinar, o cliente recebe primeiro um evento "estoque-baixo" para cada produto que já está abaixo do nível de
+ * reposição, de modo que não precisa consultar o catálogo para conhecer o estado inicial.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.AlertaEstoque
+ * @see controller.ProdutoResource
+ *
+ * @author Stockwave
+ */
+final class TransmissaoAlertas {
+
+    private static Sse sse;
+    private static SseBroadcaster broadcaster;
+
+    private TransmissaoAlertas() {
+        super();
+    }
+
+    /**
+     * Registra uma conexão para receber os alertas.
+     *
+     * @param contexto O contexto SSE da requisição.
+     * @param conexao  A conexão do assinante.
+     */
+    static void assinar(Sse contexto, SseEventSink conexao) {
+        SseBroadcaster transmissor = transmissor(contexto);
+
+        for (Map<String, Object> alerta : AlertaEstoque.listarAbaixo()) {
+            conexao.send(evento(alerta));
+        }
+        transmissor.register(conexao);
+    }
+
+    private static synchronized SseBroadcaster transmissor(Sse contexto) {
+        if (broadcaster == null) {
+            sse = contexto;
+            broadcaster = contexto.newBroadcaster();
+            broadcaster.onError((conexao, e) -> System.out
+                    .println("Não foi possível enviar o alerta de estoque ao assinante: " + e.getMessage()));
+            AlertaEstoque.assinar(alerta -> broadcaster.broadcast(evento(alerta)));
+        }
+        return broadcaster;
+    }
+
+    private static OutboundSseEvent evento(Map<String, Object> alerta) {
+        return sse.newEventBuilder()
+                .name((String) alerta.get("tipo"))
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(Map.class, alerta)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package controller;
+
+import java.util.ArrayList;
+
+import connection.ConnectionFactory;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import services.BufferEstoque;
+import services.EventoEstoque;
+import services.FluxoEstoque;
+
+/**
+ * Classe responsável por transmitir o fluxo de alterações de estoque a um assinante de Server-Sent Events.
+ *
+ * Cada conexão tem uma thread de envio, que retira os eventos do seu {@link BufferEstoque} e os escreve na conexão.
+ * Um cliente lento bloqueia apenas a própria thread: as gravações continuam publicando no buffer, que combina os
+ * eventos por produto quando enche. Sem eventos por "estoque.fluxo.heartbeat-ms" (padrão 15000), um comentário é
+ * enviado para detectar conexões encerradas.
+ *
+ * Cada evento se chama "estoque" e tem como dado o JSON compacto de {@link EventoEstoque#toJson()}.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.FluxoEstoque
+ * @see controller.MovimentacaoResource
+ *
+ * @author Stockwave
+ */
+final class TransmissaoEstoque implements Runnable {
+
+    private final Sse sse;
+    private final SseEventSink conexao;
+    private final BufferEstoque buffer;
+
+    private TransmissaoEstoque(Sse sse, SseEventSink conexao, BufferEstoque buffer) {
+        this.sse = sse;
+        this.conexao = conexao;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Registra a conexão no fluxo de estoque e inicia a sua thread de envio.
+     *
+     * @param sse     O contexto SSE da requisição.
+     * @param conexao A conexão do assinante.
+     * @return false se o limite de assinantes foi atingido; nesse caso a conexão não é usada.
+     */
+    static boolean assinar(Sse sse, SseEventSink conexao) {
+        BufferEstoque buffer = FluxoEstoque.assinar();
+
+        if (buffer == null) {
+            return false;
+        }
+
+        Thread t = new Thread(new TransmissaoEstoque(sse, conexao, buffer), "stockwave-fluxo-estoque");
+        t.setDaemon(true);
+        t.start();
+        return true;
+    }
+
+    @Override
+    public void run() {
+        long heartbeat = ConnectionFactory.getInstance().getPropriedadeInt("estoque.fluxo.heartbeat-ms", 15000);
+
+        try {
+            while (!conexao.isClosed() && !buffer.isEncerrado()) {
+                ArrayList<EventoEstoque> eventos = buffer.retirar(heartbeat);
+
+                if (eventos.isEmpty()) {
+                    if (!buffer.isEncerrado()) {
+                        conexao.send(sse.newEventBuilder().comment("heartbeat").build()).toCompletableFuture().join();
+                    }
+                    continue;
+                }
+
+                for (EventoEstoque evento : eventos) {
+                    conexao.send(sse.newEventBuilder()
+                            .name("estoque")
+                            .id(String.valueOf(evento.getId_movimentacao()))
+                            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                            .data(String.class, evento.toJson())
+                            .build()).toCompletableFuture().join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.out.println("Assinante do fluxo de estoque desconectado: " + e.getMessage());
+        } finally {
+            FluxoEstoque.cancelar(buffer);
+            conexao.close();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package controller;
 
 import java.net.URI;
-import java.util.ArrayList;
 
+import dao.Pagina;
 import dao.UsuarioDao;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -13,10 +13,13 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
 import model.Usuario;
 import services.UsuarioService;
 
@@ -48,16 +51,25 @@ public class UsuarioResource {
 	/**
 	 * Recupera a lista de usuários cadastrados no sistema.
 	 *
+	 * Aceita paginação por cursor: sem "limit" e "after", retorna todos os registros.
+	 *
+	 * @param limite  A quantidade máxima de itens da página (parâmetro "limit").
+	 * @param apos    O cursor da página anterior (parâmetro "after").
+	 * @param uriInfo As informações da URI da requisição.
 	 * @return uma resposta contendo a lista de usuários em formato JSON.
 	 */
 	@GET
+	@SomenteLeitura
 	@Produces(MediaType.APPLICATION_JSON)
-	public Response listarUsuarios() {
-		UsuarioDao repositorio = new UsuarioDao();
-		ArrayList<Usuario> retorno = repositorio.listarUsuarios();
-		ResponseBuilder response = Response.ok();
-		response.entity(retorno);
-		return response.build();
+	public Response listarUsuarios(@QueryParam("limit") Integer limite, @QueryParam("after") String apos,
+			@Context UriInfo uriInfo) {
+		try {
+			UsuarioDao repositorio = new UsuarioDao();
+			Pagina<Usuario> retorno = repositorio.listarUsuarios(Paginacao.limite(limite, apos), apos);
+			return Paginacao.responder(retorno, uriInfo);
+		} catch (IllegalArgumentException e) {
+			return Paginacao.invalida(e);
+		}
 	}
 	
 	/**
@@ -67,6 +79,7 @@ public class UsuarioResource {
 	 * @return uma resposta contendo o usuário em formato JSON.
 	 */
 	@GET
+	@SomenteLeitura
 	@Path("/{id}")
 	public Response exibirUsuarioPorId(@PathParam("id") int id_usuario) {
 		Usuario usuario_buscado = UsuarioDao.buscarUsuarioPorId(id_usuario);
@@ -92,11 +105,15 @@ public class UsuarioResource {
 	@Consumes(MediaType.APPLICATION_JSON)
 	public Response cadastrarUsuario(@Valid Usuario usuario_novo) {
 		Usuario resp = UsuarioService.cadastrarUsuario(usuario_novo);
-		final URI usuarioUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
-				.build(resp.getId_usuario());
-		ResponseBuilder response = Response.created(usuarioUri);
-		response.entity(resp);
-		return response.build();
+		if (resp != null) {
+			final URI usuarioUri = UriBuilder.fromResource(UsuarioResource.class).path("/usuario/{id}")
+					.build(resp.getId_usuario());
+			ResponseBuilder response = Response.created(usuarioUri);
+			response.entity(resp);
+			return response.build();
+		} else {
+			return Response.status(500).entity("Não foi possível cadastrar o novo USUARIO").build();
+		}
 	}
 	
 	/**
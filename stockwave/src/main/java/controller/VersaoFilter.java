@@ -0,0 +1,110 @@
+package controller;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+
+import connection.ConnectionFactory;
+import dao.VersaoTabela;
+import dao.VersaoTabela.Versao;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe responsável pelos GETs condicionais dos métodos anotados com {@link Versionado}.
+ *
+ * Antes de executar o método, a versão atual da tabela é lida de {@link VersaoTabela}. Se o cabeçalho
+ * If-None-Match contiver a ETag dessa versão, a requisição é respondida com 304 sem consultar o banco de dados
+ * nem serializar a resposta. Caso contrário, o método é executado e a resposta 200 recebe a ETag (forte), o
+ * Last-Modified da versão e o Cache-Control.
+ *
+ * A versão é lida antes da consulta: se a tabela for alterada durante a consulta, a resposta leva a ETag anterior
+ * e a próxima requisição é atendida por completo.
+ *
+ * O Cache-Control permite o armazenamento por navegadores e proxies por "versao.max-age-s" segundos (padrão 0);
+ * depois disso, a resposta deve ser revalidada com If-None-Match. If-Modified-Since é ignorado, pois o
+ * Last-Modified tem precisão de segundos e não distingue duas alterações no mesmo segundo.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.Versionado
+ * @see dao.VersaoTabela
+ *
+ * @author Stockwave
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class VersaoFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String PROPRIEDADE_VERSAO = "versao.tabela";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+
+        String tabela = tabela();
+        if (tabela == null) {
+            return;
+        }
+
+        Versao versao = VersaoTabela.atual(tabela);
+        requestContext.setProperty(PROPRIEDADE_VERSAO, versao);
+
+        ResponseBuilder naoModificado = requestContext.getRequest()
+                .evaluatePreconditions(new EntityTag(versao.getEtag()));
+        if (naoModificado != null) {
+            requestContext.abortWith(naoModificado.build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object versao = requestContext.getProperty(PROPRIEDADE_VERSAO);
+        int status = responseContext.getStatus();
+        if (!(versao instanceof Versao) || (status != 200 && status != 304)) {
+            return;
+        }
+
+        CacheControl cache = new CacheControl();
+        cache.setNoTransform(false);
+        cache.setMustRevalidate(true);
+        cache.setMaxAge(Math.max(0, ConnectionFactory.getInstance().getPropriedadeInt("versao.max-age-s", 0)));
+
+        Versao atual = (Versao) versao;
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(atual.getEtag()));
+        responseContext.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, new Date(atual.getModificadaEm()));
+        responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, cache);
+    }
+
+    /**
+     * Retorna a tabela do método do recurso que atenderá a requisição.
+     *
+     * @return O valor de {@link Versionado}, ou null se o método não estiver anotado.
+     */
+    private String tabela() {
+        if (resourceInfo == null) {
+            return null;
+        }
+
+        Method metodo = resourceInfo.getResourceMethod();
+        Versionado versionado = metodo == null ? null : metodo.getAnnotation(Versionado.class);
+        return versionado == null ? null : versionado.value();
+    }
+}
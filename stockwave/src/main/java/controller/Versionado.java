@@ -0,0 +1,41 @@
+package controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método GET cuja resposta depende apenas de uma tabela versionada.
+ *
+ * O VersaoFilter adiciona às respostas desses métodos uma ETag derivada da versão da tabela e responde 304
+ * às requisições com If-None-Match igual à versão atual, sem executar o método.
+ *
+ * Exemplo de uso:
+ *
+ * &#64;GET
+ * &#64;SomenteLeitura
+ * &#64;Versionado(VersaoTabela.PRODUTO)
+ * public Response listarProdutos() { ... }
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.VersaoFilter
+ * @see dao.VersaoTabela
+ *
+ * @author Stockwave
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Versionado {
+
+    /**
+     * O nome da tabela, uma das constantes de {@link dao.VersaoTabela}.
+     *
+     * @return O nome da tabela.
+     */
+    String value();
+}
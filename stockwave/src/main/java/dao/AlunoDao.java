@@ -57,10 +57,26 @@ public class AlunoDao extends Repository {
 	/**
 	 * Retorna uma lista de todos os alunos cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarAlunos(int, String)} sem limite e sem cursor.
+	 *
 	 * @return ArrayList contendo os objetos Aluno correspondentes aos registros encontrados, ou uma lista vazia se nenhum registro for encontrado.
 	 */
 	public ArrayList<Aluno> listarAlunos() {
-		String sql = "SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario, aluno.dt_nasc_aluno, aluno.dt_reg_aluno, aluno.senha_aluno, aluno.moedas_aluno, aluno.nivel_aluno FROM usuario INNER JOIN aluno ON usuario.id_usuario = aluno.id_usuario";
+		return listarAlunos(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela ALUNO, ordenada por usuario.id_usuario.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Aluno> listarAlunos(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario, aluno.dt_nasc_aluno, aluno.dt_reg_aluno, aluno.senha_aluno, aluno.moedas_aluno, aluno.nivel_aluno FROM usuario INNER JOIN aluno ON usuario.id_usuario = aluno.id_usuario", cursor != null, limite,
+				"usuario.id_usuario");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Aluno> listaAlunos = new ArrayList<>();
@@ -68,6 +84,7 @@ public class AlunoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -94,9 +111,28 @@ public class AlunoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela ALUNO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaAlunos;
+		return Pagina.criar(listaAlunos, limite,
+				aluno -> new Object[] { aluno.getId_usuario() });
 	}
 	
 	/**
@@ -157,6 +193,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -221,6 +258,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 	}
 	
@@ -242,7 +280,9 @@ public class AlunoDao extends Repository {
 			cs.setInt(4,  aluno.getMoedas_aluno());
 			cs.setString(5, aluno.getNivel_aluno().getNome_nivel());
 			cs.setInt(6, aluno.getId_usuario());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return aluno;
 
@@ -256,6 +296,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -305,6 +346,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 	// @formatter:off
@@ -358,6 +400,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return aluno_novo;
@@ -377,8 +420,7 @@ public class AlunoDao extends Repository {
 		try {
 			ps_aluno = getConnection().prepareStatement(sql_aluno);
 			ps_aluno.setInt(1, id_usuario);
-			ps_aluno.executeUpdate();
-			alunoDeletado = true;
+			alunoDeletado = ps_aluno.executeUpdate() > 0;
 		} catch (SQLException e) {
 			System.out.println("Não foi possível deletar o ALUNO no banco de dados: " + e.getMessage());
 		} finally {
@@ -389,6 +431,7 @@ public class AlunoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		if (alunoDeletado) {
@@ -410,6 +453,7 @@ public class AlunoDao extends Repository {
 						System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 					}
 				}
+				closeConnection();
 			}
 		}
 
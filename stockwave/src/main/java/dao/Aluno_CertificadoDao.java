@@ -60,18 +60,33 @@ public class Aluno_CertificadoDao extends Repository {
 	/**
 	 * Retorna uma lista de todos os Aluno_Certificados cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarAluno_Certificados(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de Aluno_Certificados
 	 */
 	public ArrayList<Aluno_Certificado> listarAluno_Certificados() {
-		String sql = "SELECT a.id_usuario, u.cpf_usuario, u.nome_usuario, u.email_usuario,"
+		return listarAluno_Certificados(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela ALUNO_CERTIFICADO, ordenada por ac.id_usuario, ac.id_certificado.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Aluno_Certificado> listarAluno_Certificados(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		String sql = Pagina.sql("SELECT a.id_usuario, u.cpf_usuario, u.nome_usuario, u.email_usuario,"
 				+ " a.dt_nasc_aluno, a.dt_reg_aluno, a.senha_aluno, a.moedas_aluno, a.nivel_aluno, "
 				+ " ac.id_certificado,"
 				+ " c.dt_certificado"
 				+ " FROM aluno a"
 				+ " JOIN usuario u ON a.id_usuario = u.id_usuario"
 				+ " JOIN aluno_certificado ac ON a.id_usuario = ac.id_usuario"
-				+ " LEFT JOIN certificado c ON ac.id_certificado = c.id_certificado"
-				+ " ORDER BY ac.id_usuario";
+				+ " LEFT JOIN certificado c ON ac.id_certificado = c.id_certificado", cursor != null, limite,
+				"ac.id_usuario", "ac.id_certificado");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Aluno_Certificado> listaAluno_Certificados = new ArrayList<>();
@@ -79,6 +94,7 @@ public class Aluno_CertificadoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -114,9 +130,29 @@ public class Aluno_CertificadoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela ALUNO_CERTIFICADO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaAluno_Certificados;
+		return Pagina.criar(listaAluno_Certificados, limite,
+				aluno_certificado -> new Object[] { aluno_certificado.getAluno().getId_usuario(),
+						aluno_certificado.getCertificado().getId_certificado() });
 	}
 	
 	/**
@@ -195,6 +231,7 @@ public class Aluno_CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -278,6 +315,7 @@ public class Aluno_CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -300,7 +338,9 @@ public class Aluno_CertificadoDao extends Repository {
 			cs.setInt(2, aluno_certificado.getCertificado().getId_certificado());
 			cs.setInt(3, aluno_certificado.getAluno().getId_usuario());
 			cs.setInt(4, id_certificado);
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return aluno_certificado;
 
@@ -314,6 +354,7 @@ public class Aluno_CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -368,6 +409,7 @@ public class Aluno_CertificadoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -382,20 +424,16 @@ public class Aluno_CertificadoDao extends Repository {
 	 */
 	public static boolean deletarAluno_Certificado(int id_usuario, int id_certificado) {
 
-		Aluno_Certificado aluno_certificado_deletar = null;
 		String sql = "DELETE FROM aluno_certificado WHERE id_usuario = ? AND id_certificado = ?";
 		PreparedStatement ps = null;
-		aluno_certificado_deletar = buscarAluno_CertificadoPorId(id_usuario, id_certificado);
-
-		if (aluno_certificado_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_usuario);
 			ps.setInt(2, id_certificado);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
 			return true;
 
 		} catch (SQLException e) {
@@ -408,6 +446,7 @@ public class Aluno_CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
@@ -55,10 +55,25 @@ public class AulaDao extends Repository {
 	/**
      * Lista todas as Aulas cadastradas no banco de dados.
      *
+     * Equivale a {@link #listarAulas(int, String)} sem limite e sem cursor.
+     *
      * @return uma lista de Aulas
      */
 	public ArrayList<Aula> listarAulas() {
-		String sql = "SELECT * FROM aula ORDER BY id_aula";
+		return listarAulas(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela AULA, ordenada por id_aula.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Aula> listarAulas(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM aula", cursor != null, limite, "id_aula");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Aula> listaAulas = new ArrayList<>();
@@ -66,6 +81,7 @@ public class AulaDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -86,9 +102,28 @@ public class AulaDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela USUARIO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaAulas;
+		return Pagina.criar(listaAulas, limite,
+				aula -> new Object[] { aula.getId_aula() });
 	}
 	
 	/**
@@ -143,6 +178,7 @@ public class AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -152,7 +188,7 @@ public class AulaDao extends Repository {
      * Atualiza uma Aula.
      *
      * @param aula a Aula com as informações atualizadas
-     * @return a Aula atualizada ou null se ocorrer um erro
+     * @return a Aula atualizada ou null se ela não existir ou ocorrer um erro
      */
 	public static Aula atualizarAula(@Valid Aula aula) {
 		String sql = "UPDATE aula SET nome_aula = ?, descricao_aula = ?, conteudo_aula = ?, url_video_aula = ?, url_audio_aula = ? WHERE id_aula = ?";
@@ -166,7 +202,10 @@ public class AulaDao extends Repository {
 			cs.setString(4, aula.getUrl_video_aula());
 			cs.setString(5, aula.getUrl_audio_aula());
 			cs.setInt(6, aula.getId_aula());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.AULA);
 
 			return aula;
 
@@ -180,6 +219,7 @@ public class AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -222,6 +262,7 @@ public class AulaDao extends Repository {
 		    ps.setString(4, aula_nova.getUrl_video_aula());
 		    ps.setString(5, aula_nova.getUrl_audio_aula());
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.AULA);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		    	aula_nova.setId_aula(rs.getInt(1));
@@ -245,6 +286,7 @@ public class AulaDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -257,19 +299,16 @@ public class AulaDao extends Repository {
     * @return true se a Aula foi deletada com sucesso, false caso contrário
     */
 	public static boolean deletarAula(int id_aula) {
-		Aula aula_deletar = null;
 		String sql = "DELETE FROM aula WHERE id_aula = ?";
 		PreparedStatement ps = null;
-		aula_deletar = buscarAulaPorId(id_aula);
-
-		if (aula_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_aula);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.AULA);
 			return true;
 
 		} catch (SQLException e) {
@@ -282,6 +321,7 @@ public class AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
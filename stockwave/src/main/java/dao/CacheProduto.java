@@ -0,0 +1,298 @@
+package dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+import model.Produto;
+
+/**
+ * Cache de leitura (read-through) de {@link ProdutoDao#buscarProdutoPorId(int)}.
+ *
+ * Os produtos ficam em um LinkedHashMap em ordem de acesso, limitado pelo tamanho estimado em bytes
+ * ("produto.cache.bytes", padrão 8388608): ao ultrapassar, os menos usados recentemente são removidos. Cada produto
+ * expira "produto.cache.ttl-ms" (padrão 30000) milissegundos após ser lido do banco de dados.
+ *
+ * Coerência com as escritas:
+ * - as escritas que alteram um produto (atualização, exclusão e movimentações de estoque) chamam
+ *   {@link #invalidar(int)} imediatamente e novamente após o commit, descartando valores lidos durante a transação;
+ * - um valor lido do banco só é guardado se nenhuma invalidação aconteceu desde o início da leitura;
+ * - leituras feitas dentro de uma transação de escrita não preenchem o cache, pois podem enxergar alterações
+ *   ainda não confirmadas.
+ *
+ * Os produtos são copiados na entrada e na saída. Os contadores podem ser consultados em /metricas.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ProdutoDao
+ * @see controller.MetricasResource
+ *
+ * @author Stockwave
+ */
+public final class CacheProduto {
+
+	/**
+	 * Produto em cache, com o instante de expiração e o tamanho estimado.
+	 */
+	private static final class Entrada {
+		private final Produto produto;
+		private final long expiraEm;
+		private final int bytes;
+
+		private Entrada(Produto produto, long expiraEm, int bytes) {
+			this.produto = produto;
+			this.expiraEm = expiraEm;
+			this.bytes = bytes;
+		}
+	}
+
+	private static final int BYTES_POR_ENTRADA = 160;
+
+	private static final LinkedHashMap<Integer, Entrada> produtos = new LinkedHashMap<>(256, 0.75f, true);
+	private static long bytes;
+	private static long invalidacoesGerais;
+
+	private static final AtomicLong acertos = new AtomicLong();
+	private static final AtomicLong falhas = new AtomicLong();
+	private static final AtomicLong remocoes = new AtomicLong();
+	private static final AtomicLong expiracoes = new AtomicLong();
+	private static final AtomicLong invalidacoes = new AtomicLong();
+
+	private CacheProduto() {
+		super();
+	}
+
+	/**
+	 * Busca um produto no cache.
+	 *
+	 * @param id_produto O ID do produto.
+	 * @return Uma cópia do produto, ou null se ele não está no cache ou expirou.
+	 */
+	static Produto buscar(int id_produto) {
+		synchronized (produtos) {
+			Entrada entrada = produtos.get(id_produto);
+
+			if (entrada != null && entrada.expiraEm <= System.currentTimeMillis()) {
+				remover(id_produto);
+				expiracoes.incrementAndGet();
+				entrada = null;
+			}
+
+			if (entrada == null) {
+				falhas.incrementAndGet();
+				return null;
+			}
+
+			acertos.incrementAndGet();
+			return copiar(entrada.produto);
+		}
+	}
+
+	/**
+	 * Retorna o marcador de invalidações a ser informado em {@link #guardar(Produto, long)}, obtido antes da leitura
+	 * no banco de dados.
+	 *
+	 * @return O marcador atual.
+	 */
+	static long marcador() {
+		synchronized (produtos) {
+			return invalidacoesGerais;
+		}
+	}
+
+	/**
+	 * Guarda um produto lido do banco de dados, se nenhuma invalidação aconteceu desde o marcador.
+	 *
+	 * @param produto  O produto lido.
+	 * @param marcador O valor de {@link #marcador()} obtido antes da leitura.
+	 */
+	static void guardar(Produto produto, long marcador) {
+		if (Repository.inTransaction() && !Repository.inReadOnlyTransaction()) {
+			return;
+		}
+
+		ConnectionFactory configuracao = ConnectionFactory.getInstance();
+		guardar(produto, marcador, configuracao.getPropriedadeInt("produto.cache.ttl-ms", 30000),
+				configuracao.getPropriedadeInt("produto.cache.bytes", 8388608));
+	}
+
+	/**
+	 * Guarda um produto lido do banco de dados com a validade e o limite de bytes informados, sem verificar a
+	 * transação atual.
+	 *
+	 * @param produto  O produto lido.
+	 * @param marcador O valor de {@link #marcador()} obtido antes da leitura.
+	 * @param validade O tempo de vida do produto no cache, em milissegundos; 0 desativa o cache.
+	 * @param limite   O tamanho máximo estimado do cache, em bytes; 0 desativa o cache.
+	 */
+	static void guardar(Produto produto, long marcador, long validade, long limite) {
+		if (validade <= 0 || limite <= 0) {
+			return;
+		}
+
+		Entrada entrada = new Entrada(copiar(produto), System.currentTimeMillis() + validade, tamanho(produto));
+
+		synchronized (produtos) {
+			if (marcador != invalidacoesGerais) {
+				return;
+			}
+
+			remover(produto.getId_produto());
+			produtos.put(produto.getId_produto(), entrada);
+			bytes += entrada.bytes;
+
+			Iterator<Map.Entry<Integer, Entrada>> iterador = produtos.entrySet().iterator();
+			while (bytes > limite && iterador.hasNext()) {
+				bytes -= iterador.next().getValue().bytes;
+				iterador.remove();
+				remocoes.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Descarta um produto alterado, agora e após o commit da transação atual.
+	 *
+	 * @param id_produto O ID do produto.
+	 */
+	public static void invalidar(int id_produto) {
+		descartar(id_produto);
+		Repository.aposConfirmar(() -> descartar(id_produto));
+	}
+
+	/**
+	 * Descarta todos os produtos, agora e após o commit da transação atual.
+	 */
+	public static void invalidarTodos() {
+		limpar();
+		Repository.aposConfirmar(CacheProduto::limpar);
+	}
+
+	/**
+	 * Retorna a quantidade de produtos em cache.
+	 *
+	 * @return A quantidade de produtos.
+	 */
+	public static int getProdutos() {
+		synchronized (produtos) {
+			return produtos.size();
+		}
+	}
+
+	/**
+	 * Retorna o tamanho estimado dos produtos em cache.
+	 *
+	 * @return O tamanho em bytes.
+	 */
+	public static long getBytes() {
+		synchronized (produtos) {
+			return bytes;
+		}
+	}
+
+	/**
+	 * Retorna a proporção de buscas atendidas pelo cache.
+	 *
+	 * @return A taxa de acertos, entre 0 e 1.
+	 */
+	public static double getTaxaAcertos() {
+		long a = acertos.get();
+		long total = a + falhas.get();
+		return total == 0 ? 0 : Math.round(a * 10000.0 / total) / 10000.0;
+	}
+
+	/**
+	 * Retorna a quantidade de buscas atendidas pelo cache.
+	 *
+	 * @return A quantidade de acertos desde o início da aplicação.
+	 */
+	public static long getAcertos() {
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna a quantidade de buscas não atendidas pelo cache.
+	 *
+	 * @return A quantidade de falhas desde o início da aplicação.
+	 */
+	public static long getFalhas() {
+		return falhas.get();
+	}
+
+	/**
+	 * Retorna a quantidade de produtos removidos para respeitar o limite de bytes.
+	 *
+	 * @return A quantidade de remoções desde o início da aplicação.
+	 */
+	public static long getRemocoes() {
+		return remocoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de produtos descartados por expiração.
+	 *
+	 * @return A quantidade de expirações desde o início da aplicação.
+	 */
+	public static long getExpiracoes() {
+		return expiracoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de invalidações por escritas.
+	 *
+	 * @return A quantidade de invalidações desde o início da aplicação.
+	 */
+	public static long getInvalidacoes() {
+		return invalidacoes.get();
+	}
+
+	private static void descartar(int id_produto) {
+		synchronized (produtos) {
+			invalidacoesGerais++;
+			remover(id_produto);
+		}
+		invalidacoes.incrementAndGet();
+	}
+
+	private static void limpar() {
+		synchronized (produtos) {
+			invalidacoesGerais++;
+			produtos.clear();
+			bytes = 0;
+		}
+		invalidacoes.incrementAndGet();
+	}
+
+	/**
+	 * Remove um produto. Deve ser chamado com a trava de produtos.
+	 */
+	private static void remover(int id_produto) {
+		Entrada anterior = produtos.remove(id_produto);
+		if (anterior != null) {
+			bytes -= anterior.bytes;
+		}
+	}
+
+	/**
+	 * Estima o tamanho de um produto em memória: objeto, entrada do mapa e caracteres dos textos.
+	 */
+	private static int tamanho(Produto produto) {
+		int caracteres = (produto.getNome_produto() == null ? 0 : produto.getNome_produto().length())
+				+ (produto.getImagem_produto() == null ? 0 : produto.getImagem_produto().length());
+		return BYTES_POR_ENTRADA + caracteres * 2;
+	}
+
+	private static Produto copiar(Produto produto) {
+		Produto copia = new Produto();
+		copia.setId_produto(produto.getId_produto());
+		copia.setNome_produto(produto.getNome_produto());
+		copia.setValor_produto(produto.getValor_produto());
+		copia.setQtd_produto(produto.getQtd_produto());
+		copia.setImagem_produto(produto.getImagem_produto());
+		copia.setNivel_reposicao(produto.getNivel_reposicao());
+		return copia;
+	}
+}
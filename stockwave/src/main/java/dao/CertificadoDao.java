@@ -56,10 +56,25 @@ public class CertificadoDao extends Repository {
 	/**
      * Lista todos os Certificados cadastrados no banco de dados.
      *
+     * Equivale a {@link #listarCertificados(int, String)} sem limite e sem cursor.
+     *
      * @return uma lista de Certificados
      */
 	public ArrayList<Certificado> listarCertificados() {
-		String sql = "SELECT * FROM certificado ORDER BY id_certificado";
+		return listarCertificados(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela CERTIFICADO, ordenada por id_certificado.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Certificado> listarCertificados(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM certificado", cursor != null, limite, "id_certificado");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Certificado> listaCertificados = new ArrayList<>();
@@ -67,6 +82,7 @@ public class CertificadoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -83,9 +99,28 @@ public class CertificadoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela CERTIFICADO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaCertificados;
+		return Pagina.criar(listaCertificados, limite,
+				certificado -> new Object[] { certificado.getId_certificado() });
 	}
 	
 	/**
@@ -136,6 +171,7 @@ public class CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -145,7 +181,7 @@ public class CertificadoDao extends Repository {
      * Atualiza um Certificado.
      *
      * @param certificado o Certificado com as informações atualizadas
-     * @return o Certificado atualizado ou null se ocorrer um erro
+     * @return o Certificado atualizado ou null se ele não existir ou ocorrer um erro
      */
 	public static Certificado atualizarCertificado(@Valid Certificado certificado) {
 		String sql = "UPDATE certificado SET dt_certificado = ? WHERE id_certificado = ?";
@@ -155,7 +191,9 @@ public class CertificadoDao extends Repository {
 			cs = getConnection().prepareCall(sql);
 			cs.setDate(1, certificado.getDt_certificado());
 			cs.setInt(2, certificado.getId_certificado());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return certificado;
 
@@ -169,6 +207,7 @@ public class CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -222,6 +261,7 @@ public class CertificadoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -235,19 +275,15 @@ public class CertificadoDao extends Repository {
      */
 	public static boolean deletarCertificado(int id_certificado) {
 
-		Certificado certificado_deletar = null;
 		String sql = "DELETE FROM certificado WHERE id_certificado = ?";
 		PreparedStatement ps = null;
-		certificado_deletar = buscarCertificadoPorId(id_certificado);
-
-		if (certificado_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_certificado);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
 			return true;
 
 		} catch (SQLException e) {
@@ -260,6 +296,7 @@ public class CertificadoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
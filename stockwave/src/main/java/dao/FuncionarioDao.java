@@ -55,10 +55,26 @@ public class FuncionarioDao extends Repository {
 	/**
      * Retorna uma lista de todos os funcionários cadastrados no banco de dados.
      *
+     * Equivale a {@link #listarFuncionarios(int, String)} sem limite e sem cursor.
+     *
      * @return uma lista de objetos Funcionario
      */
 	public ArrayList<Funcionario> listarFuncionarios() {
-		String sql = "SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario, funcionario.senha_funcionario, funcionario.cargo_funcionario FROM usuario INNER JOIN funcionario ON usuario.id_usuario = funcionario.id_usuario";
+		return listarFuncionarios(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela FUNCIONARIO, ordenada por usuario.id_usuario.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Funcionario> listarFuncionarios(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario, funcionario.senha_funcionario, funcionario.cargo_funcionario FROM usuario INNER JOIN funcionario ON usuario.id_usuario = funcionario.id_usuario", cursor != null, limite,
+				"usuario.id_usuario");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Funcionario> listaFuncionarios = new ArrayList<>();
@@ -66,6 +82,7 @@ public class FuncionarioDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -86,9 +103,28 @@ public class FuncionarioDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela FUNCIONARIO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaFuncionarios;
+		return Pagina.criar(listaFuncionarios, limite,
+				funcionario -> new Object[] { funcionario.getId_usuario() });
 	}
 	
 	/**
@@ -143,6 +179,7 @@ public class FuncionarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -163,7 +200,9 @@ public class FuncionarioDao extends Repository {
 			cs.setString(1, funcionario.getSenha_funcionario());
 			cs.setString(2, funcionario.getCargo_funcionario());
 			cs.setInt(3, funcionario.getId_usuario());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return funcionario;
 
@@ -177,6 +216,7 @@ public class FuncionarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -226,6 +266,7 @@ public class FuncionarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 	// @formatter:off
@@ -259,6 +300,7 @@ public class FuncionarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return funcionario_novo;
@@ -278,8 +320,7 @@ public class FuncionarioDao extends Repository {
 		try {
 			ps_funcionario = getConnection().prepareStatement(sql_funcionario);
 			ps_funcionario.setInt(1, id_usuario);
-			ps_funcionario.executeUpdate();
-			funcionarioDeletado = true;
+			funcionarioDeletado = ps_funcionario.executeUpdate() > 0;
 		} catch (SQLException e) {
 			System.out.println("Não foi possível deletar o FUNCIONARIO no banco de dados: " + e.getMessage());
 		} finally {
@@ -290,6 +331,7 @@ public class FuncionarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		if (funcionarioDeletado) {
@@ -311,6 +353,7 @@ public class FuncionarioDao extends Repository {
 						System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 					}
 				}
+				closeConnection();
 			}
 		}
 
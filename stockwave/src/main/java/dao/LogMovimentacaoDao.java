@@ -0,0 +1,112 @@
+package dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Classe de acesso a dados para o ponto de aplicação do log local de movimentações (tabela movimentacao_wal).
+ *
+ * A tabela guarda uma única linha com a maior sequência do log já aplicada à tabela MOVIMENTACAO. O ponto é gravado
+ * na mesma transação que insere as movimentações de cada lote: se a transação for desfeita, o lote e o ponto voltam
+ * juntos ao estado anterior.
+ *
+ * Exemplo de uso:
+ *
+ * // Ler o ponto de aplicação
+ * long aplicada = LogMovimentacaoDao.lerCheckpoint();
+ *
+ * // Avançar o ponto de aplicação
+ * boolean gravado = LogMovimentacaoDao.gravarCheckpoint(1500);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.LogMovimentacao
+ * @see dao.Repository
+ *
+ * @author Stockwave
+ */
+public class LogMovimentacaoDao extends Repository {
+
+	// @formatter:off
+	private static final String SQL_GRAVAR = "MERGE INTO movimentacao_wal w"
+			+ " USING (SELECT 1 AS id_log, ? AS ultima_sequencia FROM dual) n"
+			+ "    ON (w.id_log = n.id_log)"
+			+ "  WHEN MATCHED THEN UPDATE SET w.ultima_sequencia = n.ultima_sequencia"
+			+ "  WHEN NOT MATCHED THEN INSERT (id_log, ultima_sequencia) VALUES (n.id_log, n.ultima_sequencia)";
+	// @formatter:on
+
+	/**
+	 * Lê a maior sequência do log já aplicada.
+	 *
+	 * @return a sequência, 0 se nenhuma foi aplicada, ou -1 se a consulta falhar.
+	 */
+	public static long lerCheckpoint() {
+		String sql = "SELECT ultima_sequencia FROM movimentacao_wal WHERE id_log = 1";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			rs = ps.executeQuery();
+			return rs.next() ? rs.getLong("ultima_sequencia") : 0;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar a tabela MOVIMENTACAO_WAL: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Grava a maior sequência do log já aplicada.
+	 *
+	 * @param sequencia a sequência do último registro aplicado.
+	 * @return true se o ponto foi gravado, false caso contrário.
+	 */
+	public static boolean gravarCheckpoint(long sequencia) {
+		PreparedStatement ps = null;
+
+		try {
+			ps = getConnection().prepareStatement(SQL_GRAVAR);
+			ps.setLong(1, sequencia);
+			ps.executeUpdate();
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível gravar na tabela MOVIMENTACAO_WAL: " + e.getMessage());
+			registrarFalha(e);
+		} finally {
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return false;
+	}
+}
@@ -63,10 +63,25 @@ public class ModuloDao extends Repository {
 	/**
      * Lista todos os módulos cadastrados no banco de dados.
      *
+     * Equivale a {@link #listarModulos(int, String)} sem limite e sem cursor.
+     *
      * @return ArrayList contendo os módulos encontrados no banco de dados.
      */
 	public ArrayList<Modulo> listarModulos() {
-		String sql = "SELECT * FROM modulo ORDER BY id_modulo";
+		return listarModulos(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela MODULO, ordenada por id_modulo.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Modulo> listarModulos(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM modulo", cursor != null, limite, "id_modulo");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Modulo> listaModulos = new ArrayList<>();
@@ -74,6 +89,7 @@ public class ModuloDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -94,9 +110,28 @@ public class ModuloDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela MODULO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaModulos;
+		return Pagina.criar(listaModulos, limite,
+				modulo -> new Object[] { modulo.getId_modulo() });
 	}
 	
 	/**
@@ -140,6 +175,24 @@ public class ModuloDao extends Repository {
 
 	    } catch (SQLException e) {
 	        System.out.println("Não foi possível consultar a listagem da tabela MODULO: " + e.getMessage());
+	    } finally {
+	        if (rs != null) {
+	            try {
+	                rs.close();
+	            } catch (SQLException e) {
+	                System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+	            }
+	        }
+
+	        if (ps != null) {
+	            try {
+	                ps.close();
+	            } catch (SQLException e) {
+	                System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+	            }
+	        }
+
+	        closeConnection();
 	    }
 
 	    return subgrupos;
@@ -198,6 +251,7 @@ public class ModuloDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -221,7 +275,10 @@ public class ModuloDao extends Repository {
 			nivel_modulo = modulo.getNivel_modulo();
 			cs.setString(3, nivel_modulo.getNome_nivel()); 
 			cs.setInt(4, modulo.getId_modulo());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO);
 
 			return modulo;
 
@@ -235,6 +292,7 @@ public class ModuloDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -271,6 +329,7 @@ public class ModuloDao extends Repository {
 		    ps.setString(2, modulo_novo.getUrl_imagem_modulo());
 		    ps.setString(3, modulo_novo.getNivel_modulo().getNome_nivel());;
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.MODULO);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		        modulo_novo.setId_modulo(rs.getInt(1));
@@ -294,6 +353,7 @@ public class ModuloDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -307,19 +367,16 @@ public class ModuloDao extends Repository {
      */
 	public static boolean deletarModulo(int id_modulo) {
 
-		Modulo modulo_deletar = null;
 		String sql = "DELETE FROM modulo WHERE id_modulo = ?";
 		PreparedStatement ps = null;
-		modulo_deletar = buscarModuloPorId(id_modulo);
-
-		if (modulo_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_modulo);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO);
 			return true;
 
 		} catch (SQLException e) {
@@ -332,6 +389,7 @@ public class ModuloDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
@@ -63,16 +63,31 @@ public class Modulo_AulaDao extends Repository {
 	/**
 	 * Retorna uma lista de todas as instâncias de Modulo_Aula existentes no banco de dados.
 	 *
+	 * Equivale a {@link #listarModulo_Aulas(int, String)} sem limite e sem cursor.
+	 *
 	 * @return ArrayList contendo as Modulo_Aulas encontradas.
 	 */
 	public ArrayList<Modulo_Aula> listarModulo_Aulas() {
-		String sql = "SELECT m.id_modulo, m.nome_modulo, m.url_imagem_modulo, m.nivel_modulo,"
+		return listarModulo_Aulas(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela MODULO_AULA, ordenada por ma.id_modulo, ma.id_aula.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Modulo_Aula> listarModulo_Aulas(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		String sql = Pagina.sql("SELECT m.id_modulo, m.nome_modulo, m.url_imagem_modulo, m.nivel_modulo,"
 				+ " a.id_aula, a.nome_aula, a.descricao_aula, a.conteudo_aula, a.url_video_aula, a.url_audio_aula"
 				+ " FROM modulo m"
 				+ " JOIN modulo_aula ma ON m.id_modulo = ma.id_modulo"
 				+ " JOIN aula a ON a.id_aula = ma.id_aula"
-				+ " JOIN nivel n ON m.nivel_modulo = n.nome_nivel"
-				+ " ORDER BY ma.id_modulo";
+				+ " JOIN nivel n ON m.nivel_modulo = n.nome_nivel", cursor != null, limite,
+				"ma.id_modulo", "ma.id_aula");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Modulo_Aula> listaModulo_Aulas = new ArrayList<>();
@@ -80,6 +95,7 @@ public class Modulo_AulaDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -114,9 +130,29 @@ public class Modulo_AulaDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela MODULO_AULA: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaModulo_Aulas;
+		return Pagina.criar(listaModulo_Aulas, limite,
+				modulo_aula -> new Object[] { modulo_aula.getModulo().getId_modulo(),
+						modulo_aula.getAula().getId_aula() });
 	}
 	
 	/**
@@ -193,6 +229,7 @@ public class Modulo_AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -273,6 +310,7 @@ public class Modulo_AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -295,7 +333,10 @@ public class Modulo_AulaDao extends Repository {
 			cs.setInt(2, modulo_aula.getAula().getId_aula());
 			cs.setInt(3, modulo_aula.getModulo().getId_modulo());
 			cs.setInt(4, id_aula);
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO_AULA);
 
 			return modulo_aula;
 
@@ -309,6 +350,7 @@ public class Modulo_AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -340,6 +382,7 @@ public class Modulo_AulaDao extends Repository {
 		    ps.setInt(1, modulo_aula_novo.getModulo().getId_modulo());
 		    ps.setInt(2, modulo_aula_novo.getAula().getId_aula());
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.MODULO_AULA);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		        modulo_aula_novo.getModulo().setId_modulo(rs.getInt(1));
@@ -363,6 +406,7 @@ public class Modulo_AulaDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -377,20 +421,17 @@ public class Modulo_AulaDao extends Repository {
 	 */
 	public static boolean deletarModulo_Aula(int id_modulo, int id_aula) {
 
-		Modulo_Aula modulo_aula_deletar = null;
 		String sql = "DELETE FROM modulo_aula WHERE id_modulo = ? AND id_aula = ?";
 		PreparedStatement ps = null;
-		modulo_aula_deletar = buscarModulo_AulaPorId(id_modulo, id_aula);
-
-		if (modulo_aula_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_modulo);
 			ps.setInt(2, id_aula);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO_AULA);
 			return true;
 
 		} catch (SQLException e) {
@@ -403,6 +444,7 @@ public class Modulo_AulaDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
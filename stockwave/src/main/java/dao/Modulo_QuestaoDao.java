@@ -64,17 +64,32 @@ public class Modulo_QuestaoDao extends Repository {
 	/**
      * Lista todas as instâncias de Modulo_Questao do banco de dados.
      *
+     * Equivale a {@link #listarModulo_Questoes(int, String)} sem limite e sem cursor.
+     *
      * @return ArrayList contendo as instâncias de Modulo_Questao encontradas no banco de dados.
      */
 	public ArrayList<Modulo_Questao> listarModulo_Questoes() {
-		String sql = "SELECT m.id_modulo, m.nome_modulo, m.url_imagem_modulo, m.nivel_modulo,"
+		return listarModulo_Questoes(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela MODULO_QUESTAO, ordenada por mq.id_modulo, mq.id_questao.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Modulo_Questao> listarModulo_Questoes(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		String sql = Pagina.sql("SELECT m.id_modulo, m.nome_modulo, m.url_imagem_modulo, m.nivel_modulo,"
 				+ " q.id_questao, q.pergunta_questao, q.alt_a_questao, q.alt_b_questao, q.alt_c_questao, q.alt_d_questao, q.alt_e_questao, q.resposta_questao"
 				+ " FROM modulo m"
 				+ " JOIN modulo_questao mq ON m.id_modulo = mq.id_modulo"
 				+ " JOIN questao q ON q.id_questao = mq.id_questao"
 				+ " JOIN nivel n ON m.nivel_modulo = n.nome_nivel"
-				+ " JOIN resposta r ON q.resposta_questao = r.resposta"
-				+ " ORDER BY mq.id_modulo";
+				+ " JOIN resposta r ON q.resposta_questao = r.resposta", cursor != null, limite,
+				"mq.id_modulo", "mq.id_questao");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Modulo_Questao> listaModulo_Questoes = new ArrayList<>();
@@ -82,6 +97,7 @@ public class Modulo_QuestaoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -120,9 +136,29 @@ public class Modulo_QuestaoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela MODULO_QUESTAO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaModulo_Questoes;
+		return Pagina.criar(listaModulo_Questoes, limite,
+				modulo_questao -> new Object[] { modulo_questao.getModulo().getId_modulo(),
+						modulo_questao.getQuestao().getId_questao() });
 	}
 	
 	/**
@@ -205,6 +241,7 @@ public class Modulo_QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -291,6 +328,7 @@ public class Modulo_QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -313,7 +351,10 @@ public class Modulo_QuestaoDao extends Repository {
 			cs.setInt(2, modulo_questao.getQuestao().getId_questao());
 			cs.setInt(3, modulo_questao.getModulo().getId_modulo());
 			cs.setInt(4, id_questao);
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO_QUESTAO);
 
 			return modulo_questao;
 
@@ -327,6 +368,7 @@ public class Modulo_QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -358,6 +400,7 @@ public class Modulo_QuestaoDao extends Repository {
 		    ps.setInt(1, modulo_questao_novo.getModulo().getId_modulo());
 		    ps.setInt(2, modulo_questao_novo.getQuestao().getId_questao());
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.MODULO_QUESTAO);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		        modulo_questao_novo.getModulo().setId_modulo(rs.getInt(1));
@@ -381,6 +424,7 @@ public class Modulo_QuestaoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -395,20 +439,17 @@ public class Modulo_QuestaoDao extends Repository {
      */
 	public static boolean deletarModulo_Questao(int id_modulo, int id_questao) {
 
-		Modulo_Questao modulo_questao_deletar = null;
 		String sql = "DELETE FROM modulo_questao WHERE id_modulo = ? AND id_questao = ?";
 		PreparedStatement ps = null;
-		modulo_questao_deletar = buscarModulo_QuestaoPorId(id_modulo, id_questao);
-
-		if (modulo_questao_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_modulo);
 			ps.setInt(2, id_questao);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.MODULO_QUESTAO);
 			return true;
 
 		} catch (SQLException e) {
@@ -421,6 +462,7 @@ public class Modulo_QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
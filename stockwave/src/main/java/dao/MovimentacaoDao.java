@@ -1,11 +1,16 @@
 package dao;
 
+import java.io.IOException;
 import java.sql.CallableStatement;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.List;
 
+import connection.ConnectionFactory;
 import jakarta.validation.Valid;
 import model.Movimentacao;
 import model.Usuario;
@@ -25,6 +30,10 @@ import model.Produto;
  * // Listar todas as movimentações cadastradas no banco de dados
  * ArrayList&lt;Movimentacao&lt; listaMovimentacoes = movimentacaoDao.listarMovimentacoes();
  *
+ * // Listar as movimentações de um produto em um período
+ * Pagina&lt;Movimentacao&gt; pagina = movimentacaoDao.listarMovimentacoes(1, null, Date.valueOf("2024-01-01"),
+ *         Date.valueOf("2024-01-31"), 100, null);
+ *
  * // Buscar uma movimentação por ID
  * Movimentacao movimentacao = MovimentacaoDao.buscarMovimentacaoPorId(1);
  *
@@ -38,6 +47,9 @@ import model.Produto;
  * // ... configuração das informações da movimentação ...
  * Movimentacao movimentacaoCadastrada = MovimentacaoDao.cadastrarMovimentacao(novaMovimentacao);
  *
+ * // Cadastrar várias movimentações em lote, dentro de uma transação
+ * ArrayList&lt;Integer&gt; ids = MovimentacaoDao.cadastrarMovimentacoes(listaMovimentacoes);
+ *
  * // Deletar uma movimentação
  * boolean deletado = MovimentacaoDao.deletarMovimentacao(1);
  *
@@ -55,13 +67,85 @@ import model.Produto;
  */
 public class MovimentacaoDao extends Repository {
 	
+	/**
+	 * Tipo de uma entrada do livro-razão de estoque: a quantidade foi somada ao estoque do produto.
+	 */
+	public static final String TIPO_ENTRADA = "entrada";
+	
+	/**
+	 * Tipo de uma saída do livro-razão de estoque: a quantidade foi retirada do estoque do produto.
+	 */
+	public static final String TIPO_SAIDA = "saida";
+	
+	/**
+	 * Tipo das movimentações cadastradas sem alterar o estoque do produto (POST /movimentacao, lote e log local).
+	 */
+	public static final String TIPO_REGISTRO = "registro";
+	
 	/**
      * Lista todas as movimentações cadastradas.
      *
+     * Equivale a {@link #listarMovimentacoes(int, String)} sem limite e sem cursor.
+     *
      * @return uma lista de objetos Movimentacao com todas as movimentações cadastradas.
      */
 	public ArrayList<Movimentacao> listarMovimentacoes() {
-		String sql = "SELECT "
+		return listarMovimentacoes(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela MOVIMENTACAO, ordenada por mov.id_movimentacao.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Movimentacao> listarMovimentacoes(int limite, String apos) {
+		return listarMovimentacoes(null, null, null, null, limite, apos);
+	}
+	
+	/**
+	 * Lista uma página da tabela MOVIMENTACAO filtrada por produto, usuário e período, ordenada por
+	 * mov.id_movimentacao.
+	 *
+	 * Os filtros são parâmetros do SQL e combinam com os índices de sql/movimentacao_indices.sql:
+	 * (produto_movimentacao, dt_movimentacao), (usuario_movimentacao, dt_movimentacao) e, para o filtro apenas por
+	 * período, (dt_movimentacao, id_movimentacao).
+	 *
+	 * @param id_produto o ID do produto, ou null para todos.
+	 * @param id_usuario o ID do usuário, ou null para todos.
+	 * @param de         a data inicial (inclusive), ou null.
+	 * @param ate        a data final (inclusive), ou null.
+	 * @param limite     a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos       o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Movimentacao> listarMovimentacoes(Integer id_produto, Integer id_usuario, Date de, Date ate,
+			int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		ArrayList<String> condicoes = new ArrayList<>();
+		ArrayList<Object> parametros = new ArrayList<>();
+
+		if (id_produto != null) {
+			condicoes.add("mov.produto_movimentacao = ?");
+			parametros.add(id_produto);
+		}
+		if (id_usuario != null) {
+			condicoes.add("mov.usuario_movimentacao = ?");
+			parametros.add(id_usuario);
+		}
+		if (de != null) {
+			condicoes.add("mov.dt_movimentacao >= ?");
+			parametros.add(de);
+		}
+		if (ate != null) {
+			condicoes.add("mov.dt_movimentacao < ? + 1");
+			parametros.add(ate);
+		}
+
+		String sql = Pagina.sql("SELECT "
 				+ "    mov.id_movimentacao,"
 				+ "    mov.dt_movimentacao,"
 				+ "    mov.usuario_movimentacao,"
@@ -73,11 +157,14 @@ public class MovimentacaoDao extends Repository {
 				+ "    pdt.valor_produto,"
 				+ "    pdt.qtd_produto,"
 				+ "    pdt.imagem_produto,"
-				+ "    mov.qtd_movimentacao "
+				+ "    mov.qtd_movimentacao,"
+				+ "    mov.tipo_movimentacao "
 				+ "FROM "
 				+ "    movimentacao mov"
 				+ "    JOIN usuario usr ON mov.usuario_movimentacao = usr.id_usuario"
-				+ "    JOIN produto pdt ON mov.produto_movimentacao = pdt.id_produto";
+				+ "    JOIN produto pdt ON mov.produto_movimentacao = pdt.id_produto",
+				condicoes.isEmpty() ? null : String.join(" AND ", condicoes), cursor != null, limite,
+				"mov.id_movimentacao");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Movimentacao> listaMovimentacoes = new ArrayList<>();
@@ -85,6 +172,10 @@ public class MovimentacaoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			for (int i = 0; i < parametros.size(); i++) {
+				ps.setObject(i + 1, parametros.get(i));
+			}
+			Pagina.vincular(ps, parametros.size() + 1, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -109,6 +200,7 @@ public class MovimentacaoDao extends Repository {
 					movimentacao.setProduto_movimentacao(produto_movimentacao);
 					
 					movimentacao.setQtd_movimentacao(rs.getInt("qtd_movimentacao"));
+					movimentacao.setTipo_movimentacao(rs.getString("tipo_movimentacao"));
 
 					listaMovimentacoes.add(movimentacao);
 				}
@@ -118,9 +210,28 @@ public class MovimentacaoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela MOVIMENTACAO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaMovimentacoes;
+		return Pagina.criar(listaMovimentacoes, limite,
+				movimentacao -> new Object[] { movimentacao.getId_movimentacao() });
 	}
 	
 	/**
@@ -142,7 +253,8 @@ public class MovimentacaoDao extends Repository {
 				+ "    pdt.valor_produto, "
 				+ "    pdt.qtd_produto, "
 				+ "    pdt.imagem_produto, "
-				+ "    mov.qtd_movimentacao "
+				+ "    mov.qtd_movimentacao, "
+				+ "    mov.tipo_movimentacao "
 				+ "FROM "
 				+ "    movimentacao mov "
 				+ "    INNER JOIN usuario usr ON mov.usuario_movimentacao = usr.id_usuario "
@@ -179,6 +291,7 @@ public class MovimentacaoDao extends Repository {
 					movimentacao.setProduto_movimentacao(produto_movimentacao);
 					
 					movimentacao.setQtd_movimentacao(rs.getInt("qtd_movimentacao"));
+					movimentacao.setTipo_movimentacao(rs.getString("tipo_movimentacao"));
 				}
 
 				return movimentacao;
@@ -206,31 +319,80 @@ public class MovimentacaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
 	}
 	
 	/**
-     * Atualiza uma movimentação existente.
+     * Atualiza uma movimentação existente e retorna os valores que ela tinha antes da atualização.
+     *
+     * A linha é lida com FOR UPDATE e atualizada no mesmo bloco PL/SQL, em uma única ida ao banco. Os valores
+     * anteriores são necessários para desfazer a movimentação no rollup diário.
+     *
+     * Somente movimentações do tipo {@link #TIPO_REGISTRO} são atualizadas: as do livro-razão de estoque já
+     * alteraram o saldo do produto e são retornadas sem alteração, para que o chamador recuse a operação.
      *
      * @param movimentacao o objeto Movimentacao com as informações atualizadas.
-     * @return a movimentação atualizada, ou null se não foi possível atualizar.
+     * @return a movimentação como estava antes da atualização, com apenas os IDs de usuário e produto, ou null se
+     *         ela não existe ou não foi possível atualizar.
      */
 	public static Movimentacao atualizarMovimentacao(@Valid Movimentacao movimentacao) {
-		String sql = "UPDATE movimentacao SET dt_movimentacao = ?, usuario_movimentacao = ?, produto_movimentacao = ?, qtd_movimentacao = ? WHERE id_movimentacao = ?";
+		// @formatter:off
+		String sql = "DECLARE"
+				+ "    v_id      movimentacao.id_movimentacao%TYPE := ?;"
+				+ "    v_dt      movimentacao.dt_movimentacao%TYPE;"
+				+ "    v_usuario movimentacao.usuario_movimentacao%TYPE;"
+				+ "    v_produto movimentacao.produto_movimentacao%TYPE;"
+				+ "    v_qtd     movimentacao.qtd_movimentacao%TYPE;"
+				+ "    v_tipo    movimentacao.tipo_movimentacao%TYPE;"
+				+ "    v_linhas  NUMBER := 0;"
+				+ "BEGIN"
+				+ "    BEGIN"
+				+ "        SELECT dt_movimentacao, usuario_movimentacao, produto_movimentacao, qtd_movimentacao,"
+				+ "               tipo_movimentacao"
+				+ "          INTO v_dt, v_usuario, v_produto, v_qtd, v_tipo"
+				+ "          FROM movimentacao WHERE id_movimentacao = v_id FOR UPDATE;"
+				+ "        v_linhas := 1;"
+				+ "        IF v_tipo = '" + TIPO_REGISTRO + "' THEN"
+				+ "            UPDATE movimentacao"
+				+ "               SET dt_movimentacao = ?, usuario_movimentacao = ?, produto_movimentacao = ?, qtd_movimentacao = ?"
+				+ "             WHERE id_movimentacao = v_id;"
+				+ "        END IF;"
+				+ "    EXCEPTION WHEN NO_DATA_FOUND THEN"
+				+ "        NULL;"
+				+ "    END;"
+				+ "    ? := v_linhas;"
+				+ "    ? := v_dt;"
+				+ "    ? := v_usuario;"
+				+ "    ? := v_produto;"
+				+ "    ? := v_qtd;"
+				+ "    ? := v_tipo;"
+				+ "END;";
+		// @formatter:on
 		CallableStatement cs = null;
 
 		try {
 			cs = getConnection().prepareCall(sql);
-			cs.setDate(1, movimentacao.getDt_movimentacao());
-			cs.setInt(2, movimentacao.getUsuario_movimentacao().getId_usuario());
-			cs.setInt(3, movimentacao.getProduto_movimentacao().getId_produto());
-			cs.setInt(4, movimentacao.getQtd_movimentacao());
-			cs.setInt(5, movimentacao.getId_movimentacao());
-			cs.executeUpdate();
+			cs.setInt(1, movimentacao.getId_movimentacao());
+			cs.setDate(2, movimentacao.getDt_movimentacao());
+			cs.setInt(3, movimentacao.getUsuario_movimentacao().getId_usuario());
+			cs.setInt(4, movimentacao.getProduto_movimentacao().getId_produto());
+			cs.setInt(5, movimentacao.getQtd_movimentacao());
+			cs.registerOutParameter(6, Types.INTEGER);
+			cs.registerOutParameter(7, Types.DATE);
+			cs.registerOutParameter(8, Types.INTEGER);
+			cs.registerOutParameter(9, Types.INTEGER);
+			cs.registerOutParameter(10, Types.INTEGER);
+			cs.registerOutParameter(11, Types.VARCHAR);
+			cs.execute();
 
-			return movimentacao;
+			Movimentacao anterior = anterior(cs, movimentacao.getId_movimentacao(), 6);
+			if (anterior != null && TIPO_REGISTRO.equals(anterior.getTipo_movimentacao())) {
+				movimentacao.setTipo_movimentacao(TIPO_REGISTRO);
+			}
+			return anterior;
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível atualizar a MOVIMENTACAO no banco de dados: " + e.getMessage());
@@ -242,6 +404,7 @@ public class MovimentacaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -261,13 +424,15 @@ public class MovimentacaoDao extends Repository {
 		        + "    dt_movimentacao,"
 		        + "    usuario_movimentacao,"
 		        + "    produto_movimentacao,"
-		        + "    qtd_movimentacao"
+		        + "    qtd_movimentacao,"
+		        + "    tipo_movimentacao"
 		        + ") VALUES ("
 		        + "    SQ_MOVIMENTACAO.nextval,"
 		        + "    ?,"
 		        + "    ?,"
 		        + "    ?,"
-		        + "    ?"
+		        + "    ?,"
+		        + "    '" + TIPO_REGISTRO + "'"
 		        + ")";
 		// @formatter:on
 
@@ -285,6 +450,7 @@ public class MovimentacaoDao extends Repository {
 		    if (rs.next()) {
 		        movimentacao_nova.setId_movimentacao(rs.getInt(1));
 		    }
+		    movimentacao_nova.setTipo_movimentacao(TIPO_REGISTRO);
 
 		    return movimentacao_nova;
 		} catch (SQLException e) {
@@ -304,37 +470,608 @@ public class MovimentacaoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
 	}
 	
 	/**
-     * Deleta uma movimentação do banco de dados.
+	 * Situação de {@link #registrarMovimentacaoEstoque(Movimentacao, boolean)}: movimentação registrada.
+	 */
+	public static final int ESTOQUE_REGISTRADO = 0;
+	
+	/**
+	 * Situação de {@link #registrarMovimentacaoEstoque(Movimentacao, boolean)}: o produto não existe.
+	 */
+	public static final int ESTOQUE_PRODUTO_INEXISTENTE = 1;
+	
+	/**
+	 * Situação de {@link #registrarMovimentacaoEstoque(Movimentacao, boolean)}: a saída deixaria o estoque negativo.
+	 */
+	public static final int ESTOQUE_INSUFICIENTE = 2;
+	
+	/**
+	 * Situação de {@link #registrarMovimentacaoEstoque(Movimentacao, boolean)}: erro no banco de dados.
+	 */
+	public static final int ESTOQUE_ERRO = -1;
+	
+	/**
+	 * Bloco PL/SQL de {@link #registrarMovimentacaoEstoque(Movimentacao, boolean)} no modo de contadores particionados.
+	 *
+	 * Entradas somam no slot do chamador (MERGE em produto_estoque_slot) sem bloquear a linha de produto. Saídas
+	 * retiram do slot do chamador ou de qualquer slot com saldo suficiente; se nenhum tiver, todos os slots do produto
+	 * são incorporados a qtd_produto e a saída é aplicada na linha de produto, com a mesma verificação de saldo.
+	 */
+	// @formatter:off
+	private static final String SQL_ESTOQUE_SLOTS = "DECLARE"
+			+ "    v_delta    NUMBER := ?;"
+			+ "    v_produto  NUMBER := ?;"
+			+ "    v_slot     NUMBER := ?;"
+			+ "    v_soma     NUMBER := 0;"
+			+ "    v_saldo    NUMBER;"
+			+ "    v_id       movimentacao.id_movimentacao%TYPE;"
+			+ "    v_existe   NUMBER := 0;"
+			+ "    v_aplicado NUMBER := 0;"
+			+ "BEGIN"
+			+ "    SELECT COUNT(*) INTO v_existe FROM produto WHERE id_produto = v_produto;"
+			+ "    IF v_existe = 1 THEN"
+			+ "        IF v_delta >= 0 THEN"
+			+ "            BEGIN"
+			+ "                MERGE INTO produto_estoque_slot s"
+			+ "                USING (SELECT v_produto AS id_produto, v_slot AS slot FROM dual) n"
+			+ "                   ON (s.id_produto = n.id_produto AND s.slot = n.slot)"
+			+ "                 WHEN MATCHED THEN UPDATE SET s.qtd = s.qtd + v_delta"
+			+ "                 WHEN NOT MATCHED THEN INSERT (id_produto, slot, qtd) VALUES (n.id_produto, n.slot, v_delta);"
+			+ "            EXCEPTION WHEN DUP_VAL_ON_INDEX THEN"
+			+ "                UPDATE produto_estoque_slot SET qtd = qtd + v_delta"
+			+ "                 WHERE id_produto = v_produto AND slot = v_slot;"
+			+ "            END;"
+			+ "            v_aplicado := 1;"
+			+ "        ELSE"
+			+ "            UPDATE produto_estoque_slot SET qtd = qtd + v_delta"
+			+ "             WHERE id_produto = v_produto AND slot = v_slot AND qtd + v_delta >= 0;"
+			+ "            IF SQL%ROWCOUNT = 0 THEN"
+			+ "                UPDATE produto_estoque_slot SET qtd = qtd + v_delta"
+			+ "                 WHERE id_produto = v_produto AND qtd + v_delta >= 0 AND ROWNUM = 1;"
+			+ "            END IF;"
+			+ "            IF SQL%ROWCOUNT = 0 THEN"
+			+ "                FOR r IN (SELECT qtd FROM produto_estoque_slot WHERE id_produto = v_produto FOR UPDATE) LOOP"
+			+ "                    v_soma := v_soma + r.qtd;"
+			+ "                END LOOP;"
+			+ "                UPDATE produto_estoque_slot SET qtd = 0 WHERE id_produto = v_produto AND qtd <> 0;"
+			+ "                UPDATE produto SET qtd_produto = qtd_produto + v_soma WHERE id_produto = v_produto;"
+			+ "                UPDATE produto SET qtd_produto = qtd_produto + v_delta"
+			+ "                 WHERE id_produto = v_produto AND qtd_produto + v_delta >= 0;"
+			+ "            END IF;"
+			+ "            v_aplicado := SQL%ROWCOUNT;"
+			+ "        END IF;"
+			+ "        IF v_aplicado = 1 THEN"
+			+ "            INSERT INTO movimentacao ("
+			+ "                id_movimentacao, dt_movimentacao, usuario_movimentacao, produto_movimentacao, qtd_movimentacao,"
+			+ "                tipo_movimentacao"
+			+ "            ) VALUES ("
+			+ "                SQ_MOVIMENTACAO.nextval, ?, ?, v_produto, ABS(v_delta),"
+			+ "                CASE WHEN v_delta >= 0 THEN '" + TIPO_ENTRADA + "' ELSE '" + TIPO_SAIDA + "' END"
+			+ "            ) RETURNING id_movimentacao INTO v_id;"
+			+ "            SELECT p.qtd_produto + NVL((SELECT SUM(s.qtd) FROM produto_estoque_slot s"
+			+ "                                         WHERE s.id_produto = p.id_produto), 0)"
+			+ "              INTO v_saldo FROM produto p WHERE p.id_produto = v_produto;"
+			+ "        END IF;"
+			+ "    END IF;"
+			+ "    ? := v_id;"
+			+ "    ? := v_saldo;"
+			+ "    ? := v_existe;"
+			+ "END;";
+	// @formatter:on
+	
+	/**
+	 * Registra uma movimentação e aplica sua quantidade ao estoque do produto em uma única ida ao banco.
+	 *
+	 * Um bloco PL/SQL executa o UPDATE de produto.qtd_produto com RETURNING e, somente se o saldo resultante não for
+	 * negativo, insere a movimentação. Como a atualização e a verificação acontecem na mesma instrução, não há janela
+	 * entre a leitura e a escrita do estoque para movimentações concorrentes.
+	 *
+	 * A quantidade é gravada sempre positiva, com tipo_movimentacao {@link #TIPO_ENTRADA} ou {@link #TIPO_SAIDA}.
+	 * Quando registrada, a movimentação recebe o ID gerado, o tipo e o novo saldo em
+	 * produto_movimentacao.qtd_produto.
+	 *
+	 * Com a propriedade "estoque.slots" maior que 1, o estoque é atualizado nos contadores particionados de
+	 * produto_estoque_slot (veja {@link ProdutoDao#SLOTS_ESTOQUE}) e o saldo retornado é qtd_produto somado aos slots.
+	 *
+	 * @param movimentacao a movimentação a ser registrada, com quantidade positiva.
+	 * @param saida        true para retirar a quantidade do estoque, false para adicioná-la.
+	 * @return {@link #ESTOQUE_REGISTRADO}, {@link #ESTOQUE_PRODUTO_INEXISTENTE}, {@link #ESTOQUE_INSUFICIENTE}
+	 *         ou {@link #ESTOQUE_ERRO}.
+	 */
+	public static int registrarMovimentacaoEstoque(@Valid Movimentacao movimentacao, boolean saida) {
+		
+		// @formatter:off
+		String sql = ProdutoDao.SLOTS_ESTOQUE > 1 ? SQL_ESTOQUE_SLOTS : "DECLARE"
+				+ "    v_delta   NUMBER := ?;"
+				+ "    v_produto NUMBER := ?;"
+				+ "    v_saldo   produto.qtd_produto%TYPE;"
+				+ "    v_id      movimentacao.id_movimentacao%TYPE;"
+				+ "    v_existe  NUMBER := 1;"
+				+ "BEGIN"
+				+ "    UPDATE produto SET qtd_produto = qtd_produto + v_delta"
+				+ "     WHERE id_produto = v_produto AND qtd_produto + v_delta >= 0"
+				+ "    RETURNING qtd_produto INTO v_saldo;"
+				+ "    IF SQL%ROWCOUNT = 1 THEN"
+				+ "        INSERT INTO movimentacao ("
+				+ "            id_movimentacao, dt_movimentacao, usuario_movimentacao, produto_movimentacao, qtd_movimentacao,"
+				+ "            tipo_movimentacao"
+				+ "        ) VALUES ("
+				+ "            SQ_MOVIMENTACAO.nextval, ?, ?, v_produto, ABS(v_delta),"
+				+ "            CASE WHEN v_delta >= 0 THEN '" + TIPO_ENTRADA + "' ELSE '" + TIPO_SAIDA + "' END"
+				+ "        ) RETURNING id_movimentacao INTO v_id;"
+				+ "    ELSE"
+				+ "        SELECT COUNT(*) INTO v_existe FROM produto WHERE id_produto = v_produto;"
+				+ "    END IF;"
+				+ "    ? := v_id;"
+				+ "    ? := v_saldo;"
+				+ "    ? := v_existe;"
+				+ "END;";
+		// @formatter:on
+
+		int delta = saida ? -movimentacao.getQtd_movimentacao() : movimentacao.getQtd_movimentacao();
+		CallableStatement cs = null;
+
+		try {
+			cs = getConnection().prepareCall(sql);
+			int indice = 1;
+			cs.setInt(indice++, delta);
+			cs.setInt(indice++, movimentacao.getProduto_movimentacao().getId_produto());
+			if (ProdutoDao.SLOTS_ESTOQUE > 1) {
+				cs.setInt(indice++, ProdutoDao.slotEstoque(movimentacao.getUsuario_movimentacao().getId_usuario()));
+			}
+			cs.setDate(indice++, movimentacao.getDt_movimentacao());
+			cs.setInt(indice++, movimentacao.getUsuario_movimentacao().getId_usuario());
+			int indiceId = indice;
+			cs.registerOutParameter(indiceId, Types.INTEGER);
+			cs.registerOutParameter(indiceId + 1, Types.INTEGER);
+			cs.registerOutParameter(indiceId + 2, Types.INTEGER);
+			cs.execute();
+
+			if (cs.getInt(indiceId + 2) == 0) {
+				return ESTOQUE_PRODUTO_INEXISTENTE;
+			}
+
+			int id_movimentacao = cs.getInt(indiceId);
+			if (cs.wasNull()) {
+				return ESTOQUE_INSUFICIENTE;
+			}
+
+			movimentacao.setId_movimentacao(id_movimentacao);
+			movimentacao.setTipo_movimentacao(saida ? TIPO_SAIDA : TIPO_ENTRADA);
+			movimentacao.getProduto_movimentacao().setQtd_produto(cs.getInt(indiceId + 1));
+			CacheProduto.invalidar(movimentacao.getProduto_movimentacao().getId_produto());
+			VersaoTabela.incrementar(VersaoTabela.PRODUTO);
+			return ESTOQUE_REGISTRADO;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível registrar a MOVIMENTACAO no estoque do banco de dados: " + e.getMessage());
+		} finally {
+			if (cs != null) {
+				try {
+					cs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return ESTOQUE_ERRO;
+	}
+	
+	/**
+	 * Retorna o maior id_movimentacao da tabela MOVIMENTACAO.
+	 *
+	 * @return o maior ID, 0 se a tabela estiver vazia, ou -1 se a consulta falhar.
+	 */
+	public static int buscarUltimoIdMovimentacao() {
+		String sql = "SELECT NVL(MAX(id_movimentacao), 0) FROM movimentacao";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			rs = ps.executeQuery();
+			return rs.next() ? rs.getInt(1) : 0;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar o último ID da tabela MOVIMENTACAO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return -1;
+	}
+	
+	/**
+     * Deleta uma movimentação do banco de dados e retorna os valores que ela tinha.
+     *
+     * A linha é lida com FOR UPDATE e removida no mesmo bloco PL/SQL, em uma única ida ao banco. Assim como em
+     * {@link #atualizarMovimentacao(Movimentacao)}, somente movimentações do tipo {@link #TIPO_REGISTRO} são
+     * removidas; as do livro-razão de estoque são retornadas sem alteração.
      *
      * @param id_movimentacao o ID da movimentação a ser deletada.
-     * @return true se a movimentação foi deletada com sucesso, false caso contrário.
+     * @return a movimentação deletada, com apenas os IDs de usuário e produto, ou null se ela não existe ou não foi
+     *         possível deletar.
      */
-	public static boolean deletarMovimentacao(int id_movimentacao) {
+	public static Movimentacao deletarMovimentacao(int id_movimentacao) {
+		// @formatter:off
+		String sql = "DECLARE"
+				+ "    v_id      movimentacao.id_movimentacao%TYPE := ?;"
+				+ "    v_dt      movimentacao.dt_movimentacao%TYPE;"
+				+ "    v_usuario movimentacao.usuario_movimentacao%TYPE;"
+				+ "    v_produto movimentacao.produto_movimentacao%TYPE;"
+				+ "    v_qtd     movimentacao.qtd_movimentacao%TYPE;"
+				+ "    v_tipo    movimentacao.tipo_movimentacao%TYPE;"
+				+ "    v_linhas  NUMBER := 0;"
+				+ "BEGIN"
+				+ "    BEGIN"
+				+ "        SELECT dt_movimentacao, usuario_movimentacao, produto_movimentacao, qtd_movimentacao,"
+				+ "               tipo_movimentacao"
+				+ "          INTO v_dt, v_usuario, v_produto, v_qtd, v_tipo"
+				+ "          FROM movimentacao WHERE id_movimentacao = v_id FOR UPDATE;"
+				+ "        v_linhas := 1;"
+				+ "        IF v_tipo = '" + TIPO_REGISTRO + "' THEN"
+				+ "            DELETE FROM movimentacao WHERE id_movimentacao = v_id;"
+				+ "        END IF;"
+				+ "    EXCEPTION WHEN NO_DATA_FOUND THEN"
+				+ "        NULL;"
+				+ "    END;"
+				+ "    ? := v_linhas;"
+				+ "    ? := v_dt;"
+				+ "    ? := v_usuario;"
+				+ "    ? := v_produto;"
+				+ "    ? := v_qtd;"
+				+ "    ? := v_tipo;"
+				+ "END;";
+		// @formatter:on
+		CallableStatement cs = null;
+
+		try {
+			cs = getConnection().prepareCall(sql);
+			cs.setInt(1, id_movimentacao);
+			cs.registerOutParameter(2, Types.INTEGER);
+			cs.registerOutParameter(3, Types.DATE);
+			cs.registerOutParameter(4, Types.INTEGER);
+			cs.registerOutParameter(5, Types.INTEGER);
+			cs.registerOutParameter(6, Types.INTEGER);
+			cs.registerOutParameter(7, Types.VARCHAR);
+			cs.execute();
+
+			return anterior(cs, id_movimentacao, 2);
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível deletar a MOVIMENTACAO no banco de dados: " + e.getMessage());
+		} finally {
+			if (cs != null) {
+				try {
+					cs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return null;
+	}
 
-		Movimentacao movimentacao_deletar = null;
-		String sql = "DELETE FROM movimentacao WHERE id_movimentacao = ?";
+	/**
+	 * Monta a movimentação a partir dos parâmetros de saída linhas, dt, usuario, produto, qtd e tipo, nessa ordem.
+	 *
+	 * @return a movimentação, ou null se o bloco não encontrou a linha.
+	 */
+	private static Movimentacao anterior(CallableStatement cs, int id_movimentacao, int indice) throws SQLException {
+		if (cs.getInt(indice) == 0) {
+			return null;
+		}
+
+		Movimentacao movimentacao = new Movimentacao();
+		movimentacao.setId_movimentacao(id_movimentacao);
+		movimentacao.setDt_movimentacao(cs.getDate(indice + 1));
+
+		Usuario usuario_movimentacao = new Usuario();
+		usuario_movimentacao.setId_usuario(cs.getInt(indice + 2));
+		movimentacao.setUsuario_movimentacao(usuario_movimentacao);
+
+		Produto produto_movimentacao = new Produto();
+		produto_movimentacao.setId_produto(cs.getInt(indice + 3));
+		movimentacao.setProduto_movimentacao(produto_movimentacao);
+
+		movimentacao.setQtd_movimentacao(cs.getInt(indice + 4));
+		movimentacao.setTipo_movimentacao(cs.getString(indice + 5));
+		return movimentacao;
+	}
+	
+	/**
+	 * Cadastra várias movimentações usando JDBC batching.
+	 *
+	 * As movimentações são enviadas em lotes de "datasource.batch.size" linhas (padrão 500). Para cada lote, os IDs
+	 * são reservados na sequência SQ_MOVIMENTACAO com uma única consulta e os INSERTs são enviados com
+	 * addBatch/executeBatch, resultando em duas idas ao banco por lote em vez de uma por movimentação.
+	 *
+	 * O método não confirma nem desfaz nada por conta própria: deve ser chamado dentro da transação da requisição,
+	 * de modo que uma falha em qualquer lote desfaça todos os lotes anteriores.
+	 *
+	 * @param movimentacoes as movimentações a serem cadastradas; cada uma recebe o ID gerado.
+	 * @return os IDs gerados, na mesma ordem das movimentações, ou null se não foi possível cadastrar.
+	 */
+	public static ArrayList<Integer> cadastrarMovimentacoes(List<Movimentacao> movimentacoes) {
+		String sqlIds = "SELECT SQ_MOVIMENTACAO.nextval FROM dual CONNECT BY level <= ?";
+		
+		// @formatter:off
+		String sql = "INSERT INTO movimentacao ("
+		        + "    id_movimentacao,"
+		        + "    dt_movimentacao,"
+		        + "    usuario_movimentacao,"
+		        + "    produto_movimentacao,"
+		        + "    qtd_movimentacao,"
+		        + "    tipo_movimentacao"
+		        + ") VALUES ("
+		        + "    ?,"
+		        + "    ?,"
+		        + "    ?,"
+		        + "    ?,"
+		        + "    ?,"
+		        + "    '" + TIPO_REGISTRO + "'"
+		        + ")";
+		// @formatter:on
+
+		int tamanhoLote = Math.max(1, ConnectionFactory.getInstance().getPropriedadeInt("datasource.batch.size", 500));
+		ArrayList<Integer> ids = new ArrayList<>(movimentacoes.size());
+		PreparedStatement psIds = null;
 		PreparedStatement ps = null;
-		movimentacao_deletar = buscarMovimentacaoPorId(id_movimentacao);
+		ResultSet rs = null;
 
-		if (movimentacao_deletar == null) {
-			return false;
+		try {
+			psIds = getConnection().prepareStatement(sqlIds);
+			ps = getConnection().prepareStatement(sql);
+
+			for (int inicio = 0; inicio < movimentacoes.size(); inicio += tamanhoLote) {
+				List<Movimentacao> lote = movimentacoes.subList(inicio,
+						Math.min(inicio + tamanhoLote, movimentacoes.size()));
+
+				psIds.setInt(1, lote.size());
+				rs = psIds.executeQuery();
+				for (Movimentacao movimentacao : lote) {
+					if (!rs.next()) {
+						throw new SQLException("A sequência SQ_MOVIMENTACAO não retornou IDs suficientes");
+					}
+					movimentacao.setId_movimentacao(rs.getInt(1));
+				}
+				rs.close();
+				rs = null;
+
+				for (Movimentacao movimentacao : lote) {
+					ps.setInt(1, movimentacao.getId_movimentacao());
+					ps.setDate(2, movimentacao.getDt_movimentacao());
+					ps.setInt(3, movimentacao.getUsuario_movimentacao().getId_usuario());
+					ps.setInt(4, movimentacao.getProduto_movimentacao().getId_produto());
+					ps.setInt(5, movimentacao.getQtd_movimentacao());
+					ps.addBatch();
+					movimentacao.setTipo_movimentacao(TIPO_REGISTRO);
+				}
+				ps.executeBatch();
+
+				for (Movimentacao movimentacao : lote) {
+					ids.add(movimentacao.getId_movimentacao());
+				}
+			}
+
+			return ids;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível cadastrar as MOVIMENTACOES em lote no banco de dados: " + e.getMessage());
+			registrarFalha(e);
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (psIds != null) {
+				try {
+					psIds.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.clearBatch();
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
+		return null;
+	}
+	
+	/**
+	 * Recebe, uma a uma, as linhas da exportação de movimentações.
+	 *
+	 * @see MovimentacaoDao#exportarMovimentacoes(Date, Date, EscritorMovimentacao)
+	 */
+	public interface EscritorMovimentacao {
+
+		/**
+		 * Escreve a linha atual do ResultSet.
+		 *
+		 * @param rs o ResultSet posicionado na linha a ser escrita.
+		 * @throws SQLException se não for possível ler a linha.
+		 * @throws IOException  se não for possível escrever a linha.
+		 */
+		void escrever(ResultSet rs) throws SQLException, IOException;
+	}
+	
+	/**
+	 * Percorre as movimentações em ordem de id_movimentacao, entregando cada linha ao escritor sem montar objetos
+	 * Movimentacao nem listas em memória.
+	 *
+	 * As colunas disponíveis são id_movimentacao, dt_movimentacao, usuario_movimentacao, nome_usuario,
+	 * produto_movimentacao, nome_produto, valor_produto, qtd_movimentacao e tipo_movimentacao. O fetch size do JDBC é definido pela
+	 * propriedade "datasource.export.fetch-size".
+	 *
+	 * @param de       a data inicial (inclusive), ou null.
+	 * @param ate      a data final (inclusive), ou null.
+	 * @param escritor o escritor que recebe cada linha.
+	 * @return a quantidade de movimentações exportadas.
+	 * @throws SQLException se a consulta falhar.
+	 * @throws IOException  se o escritor falhar.
+	 */
+	public static long exportarMovimentacoes(Date de, Date ate, EscritorMovimentacao escritor)
+			throws SQLException, IOException {
+		String sql = "SELECT "
+				+ "    mov.id_movimentacao,"
+				+ "    mov.dt_movimentacao,"
+				+ "    mov.usuario_movimentacao,"
+				+ "    usr.nome_usuario,"
+				+ "    mov.produto_movimentacao,"
+				+ "    pdt.nome_produto,"
+				+ "    pdt.valor_produto,"
+				+ "    mov.qtd_movimentacao,"
+				+ "    mov.tipo_movimentacao "
+				+ "FROM "
+				+ "    movimentacao mov"
+				+ "    JOIN usuario usr ON mov.usuario_movimentacao = usr.id_usuario"
+				+ "    JOIN produto pdt ON mov.produto_movimentacao = pdt.id_produto"
+				+ "    WHERE 1 = 1"
+				+ (de != null ? " AND mov.dt_movimentacao >= ?" : "")
+				+ (ate != null ? " AND mov.dt_movimentacao < ? + 1" : "")
+				+ " ORDER BY mov.id_movimentacao";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		long quantidade = 0;
+
 		try {
 			ps = getConnection().prepareStatement(sql);
-			ps.setInt(1, id_movimentacao);
-			ps.executeUpdate();
+			ps.setFetchSize(ConnectionFactory.getInstance().getPropriedadeInt("datasource.export.fetch-size", 1000));
+
+			int indice = 1;
+			if (de != null) {
+				ps.setDate(indice++, de);
+			}
+			if (ate != null) {
+				ps.setDate(indice++, ate);
+			}
+
+			rs = ps.executeQuery();
+			while (rs.next()) {
+				escritor.escrever(rs);
+				quantidade++;
+			}
+
+			return quantidade;
+
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+	}
+	
+	/**
+	 * Recebe, uma a uma, as colunas das movimentações lidas por
+	 * {@link MovimentacaoDao#percorrerColunasMovimentacoes(int, LeitorMovimentacao)}.
+	 */
+	public interface LeitorMovimentacao {
+
+		/**
+		 * Recebe uma movimentação.
+		 *
+		 * @param id_movimentacao      o ID da movimentação.
+		 * @param produto_movimentacao o ID do produto.
+		 * @param usuario_movimentacao o ID do usuário.
+		 * @param qtd_movimentacao     a quantidade, negativa para as saídas do livro-razão de estoque.
+		 * @param dia                  a data da movimentação, em dias desde 1970-01-01.
+		 */
+		void ler(int id_movimentacao, int produto_movimentacao, int usuario_movimentacao, int qtd_movimentacao,
+				long dia);
+	}
+	
+	/**
+	 * Percorre as movimentações com ID maior que o informado, em ordem de id_movimentacao, entregando apenas as
+	 * colunas numéricas ao leitor, sem junção com usuario e produto e sem criar objetos Movimentacao. A quantidade
+	 * das saídas do livro-razão de estoque é entregue negativa.
+	 *
+	 * @param apos   o ID a partir do qual ler (exclusive); 0 para todas.
+	 * @param leitor o leitor que recebe cada movimentação.
+	 * @return true se todas as movimentações foram lidas, false se a consulta falhou.
+	 */
+	public static boolean percorrerColunasMovimentacoes(int apos, LeitorMovimentacao leitor) {
+		String sql = "SELECT id_movimentacao, produto_movimentacao, usuario_movimentacao,"
+				+ " CASE tipo_movimentacao WHEN '" + TIPO_SAIDA + "' THEN -qtd_movimentacao ELSE qtd_movimentacao END,"
+				+ " dt_movimentacao FROM movimentacao WHERE id_movimentacao > ? ORDER BY id_movimentacao";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setFetchSize(ConnectionFactory.getInstance().getPropriedadeInt("datasource.export.fetch-size", 1000));
+			ps.setInt(1, apos);
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				leitor.ler(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getDate(5).toLocalDate().toEpochDay());
+			}
+
 			return true;
 
 		} catch (SQLException e) {
-			System.out.println("Não foi possível deletar a MOVIMENTACAO no banco de dados: " + e.getMessage());
+			System.out.println("Não foi possível consultar as colunas da tabela MOVIMENTACAO: " + e.getMessage());
 		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
 			if (ps != null) {
 				try {
 					ps.close();
@@ -342,8 +1079,10 @@ public class MovimentacaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+
+			closeConnection();
 		}
 
 		return false;
 	}
-}
\ No newline at end of file
+}
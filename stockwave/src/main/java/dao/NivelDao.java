@@ -5,6 +5,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 import model.Nivel;
@@ -53,24 +55,43 @@ public class NivelDao extends Repository {
 	/**
 	 * Lista todos os níveis cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarNiveis(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de strings com os nomes dos níveis
 	 */
 	public ArrayList<String> listarNiveis() {
-		String sql = "SELECT * FROM nivel ORDER BY CASE nome_nivel WHEN 'Iniciante' THEN 1 WHEN 'Intermediário' THEN 2 WHEN 'Avançado' THEN 3 ELSE 4 END";
+		return listarNiveis(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela NIVEL, ordenada do nível Iniciante ao Avançado e depois por nome_nivel.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os nomes dos níveis e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<String> listarNiveis(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		String sql = Pagina.sql("SELECT * FROM (SELECT nome_nivel, CASE nome_nivel WHEN 'Iniciante' THEN 1 WHEN 'Intermediário' THEN 2 WHEN 'Avançado' THEN 3 ELSE 4 END AS ordem_nivel FROM nivel)",
+				cursor != null, limite, "ordem_nivel", "nome_nivel");
 
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<String> listaNiveis = new ArrayList<>();
+		Map<String, Integer> ordens = new HashMap<>();
 
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
 				while (rs.next()) {
 					String nivel = rs.getString("nome_nivel");
 					listaNiveis.add(nivel);
+					ordens.put(nivel, rs.getInt("ordem_nivel"));
 					
 				}
 			} else {
@@ -79,9 +100,27 @@ public class NivelDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela NIVEL: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaNiveis;
+		return Pagina.criar(listaNiveis, limite, nivel -> new Object[] { ordens.get(nivel), nivel });
 	}
 	
 	/**
@@ -130,6 +169,7 @@ public class NivelDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -170,6 +210,7 @@ public class NivelDao extends Repository {
 					System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 	}
 	
@@ -209,6 +250,7 @@ public class NivelDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -223,19 +265,15 @@ public class NivelDao extends Repository {
 	 */
 	public static boolean deletarNivel(String nome_nivel) {
 
-		Nivel nivel_deletar = null;
 		String sql = "DELETE FROM nivel WHERE nome_nivel = ?";
 		PreparedStatement ps = null;
-		nivel_deletar = buscarNivelPorNome(nome_nivel);
-
-		if (nivel_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setString(1, nome_nivel);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
 			return true;
 
 		} catch (SQLException e) {
@@ -248,6 +286,7 @@ public class NivelDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
@@ -0,0 +1,240 @@
+package dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.AlteracaoMovimentacao;
+import model.Movimentacao;
+
+/**
+ * Classe de acesso a dados para o outbox de movimentações (tabela movimentacao_outbox).
+ *
+ * Cada inclusão, atualização ou exclusão de movimentação grava uma linha no outbox, na mesma transação que altera a
+ * tabela MOVIMENTACAO, de modo que o outbox nunca contém alterações desfeitas nem deixa de conter as confirmadas.
+ * As linhas recebem um id_alteracao crescente (SQ_MOVIMENTACAO_OUTBOX), usado pelos consumidores como offset.
+ *
+ * Como os valores da sequência são obtidos antes do commit, uma transação pode confirmar um id_alteracao menor que
+ * o de outra já confirmada. Por isso a leitura só retorna alterações gravadas há pelo menos "visibilidade"
+ * milissegundos: um consumidor que avança o offset não salta alterações de transações ainda em andamento, desde que
+ * as transações durem menos que esse intervalo.
+ *
+ * Exemplo de uso:
+ *
+ * // Registrar a inclusão de uma movimentação
+ * boolean registrada = OutboxMovimentacaoDao.registrar(movimentacao, OutboxMovimentacaoDao.INSERT);
+ *
+ * // Ler as próximas 100 alterações após o offset 500
+ * ArrayList&lt;AlteracaoMovimentacao&gt; alteracoes = OutboxMovimentacaoDao.listar(500, 100, 2000);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see model.AlteracaoMovimentacao
+ * @see services.OutboxMovimentacaoService
+ * @see dao.Repository
+ *
+ * @author Stockwave
+ */
+public class OutboxMovimentacaoDao extends Repository {
+
+	/**
+	 * Operação de inclusão.
+	 */
+	public static final String INSERT = "insert";
+
+	/**
+	 * Operação de atualização.
+	 */
+	public static final String UPDATE = "update";
+
+	/**
+	 * Operação de exclusão.
+	 */
+	public static final String DELETE = "delete";
+
+	// @formatter:off
+	private static final String SQL_REGISTRAR = "INSERT INTO movimentacao_outbox ("
+			+ "    id_alteracao,"
+			+ "    operacao,"
+			+ "    id_movimentacao,"
+			+ "    id_produto,"
+			+ "    id_usuario,"
+			+ "    qtd_movimentacao,"
+			+ "    tipo_movimentacao,"
+			+ "    dt_movimentacao"
+			+ ") VALUES ("
+			+ "    SQ_MOVIMENTACAO_OUTBOX.nextval,"
+			+ "    ?,"
+			+ "    ?,"
+			+ "    ?,"
+			+ "    ?,"
+			+ "    ?,"
+			+ "    ?,"
+			+ "    ?"
+			+ ")";
+	// @formatter:on
+
+	/**
+	 * Registra a alteração de uma movimentação.
+	 *
+	 * @param movimentacao a movimentação incluída, atualizada ou removida.
+	 * @param operacao     {@link #INSERT}, {@link #UPDATE} ou {@link #DELETE}.
+	 * @return true se a alteração foi registrada, false caso contrário.
+	 */
+	public static boolean registrar(Movimentacao movimentacao, String operacao) {
+		ArrayList<Movimentacao> movimentacoes = new ArrayList<>();
+		movimentacoes.add(movimentacao);
+		return registrar(movimentacoes, operacao);
+	}
+
+	/**
+	 * Registra a alteração de várias movimentações em um único lote JDBC.
+	 *
+	 * @param movimentacoes as movimentações incluídas, atualizadas ou removidas.
+	 * @param operacao      {@link #INSERT}, {@link #UPDATE} ou {@link #DELETE}.
+	 * @return true se as alterações foram registradas, false caso contrário.
+	 */
+	public static boolean registrar(List<Movimentacao> movimentacoes, String operacao) {
+		PreparedStatement ps = null;
+
+		try {
+			ps = getConnection().prepareStatement(SQL_REGISTRAR);
+
+			for (Movimentacao movimentacao : movimentacoes) {
+				ps.setString(1, operacao);
+				ps.setInt(2, movimentacao.getId_movimentacao());
+				ps.setInt(3, movimentacao.getProduto_movimentacao().getId_produto());
+				ps.setInt(4, movimentacao.getUsuario_movimentacao().getId_usuario());
+				ps.setInt(5, movimentacao.getQtd_movimentacao());
+				ps.setString(6, movimentacao.getTipo_movimentacao());
+				ps.setDate(7, movimentacao.getDt_movimentacao());
+				ps.addBatch();
+			}
+			ps.executeBatch();
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível gravar na tabela MOVIMENTACAO_OUTBOX: " + e.getMessage());
+			registrarFalha(e);
+		} finally {
+			if (ps != null) {
+				try {
+					ps.clearBatch();
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Lista as alterações posteriores a um offset, em ordem de id_alteracao.
+	 *
+	 * @param apos        o offset da última alteração já processada pelo consumidor; 0 para o início.
+	 * @param limite      a quantidade máxima de alterações.
+	 * @param visibilidade o tempo mínimo, em milissegundos, desde a gravação de uma alteração para que ela seja lida.
+	 * @return as alterações, ou null se a consulta falhar.
+	 */
+	public static ArrayList<AlteracaoMovimentacao> listar(long apos, int limite, int visibilidade) {
+
+		// @formatter:off
+		String sql = "SELECT id_alteracao, operacao, id_movimentacao, id_produto, id_usuario, qtd_movimentacao,"
+				+ "       tipo_movimentacao, dt_movimentacao, dt_alteracao"
+				+ "  FROM movimentacao_outbox"
+				+ " WHERE id_alteracao > ?"
+				+ "   AND dt_alteracao <= SYSTIMESTAMP - NUMTODSINTERVAL(?, 'SECOND')"
+				+ " ORDER BY id_alteracao"
+				+ " FETCH FIRST ? ROWS ONLY";
+		// @formatter:on
+
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		ArrayList<AlteracaoMovimentacao> alteracoes = new ArrayList<>();
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setLong(1, apos);
+			ps.setDouble(2, visibilidade / 1000.0);
+			ps.setInt(3, limite);
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				AlteracaoMovimentacao alteracao = new AlteracaoMovimentacao();
+				alteracao.setId_alteracao(rs.getLong("id_alteracao"));
+				alteracao.setOperacao(rs.getString("operacao"));
+				alteracao.setId_movimentacao(rs.getInt("id_movimentacao"));
+				alteracao.setId_produto(rs.getInt("id_produto"));
+				alteracao.setId_usuario(rs.getInt("id_usuario"));
+				alteracao.setQtd_movimentacao(rs.getInt("qtd_movimentacao"));
+				alteracao.setTipo_movimentacao(rs.getString("tipo_movimentacao"));
+				alteracao.setDt_movimentacao(rs.getDate("dt_movimentacao"));
+				alteracao.setDt_alteracao(rs.getTimestamp("dt_alteracao"));
+				alteracoes.add(alteracao);
+			}
+
+			return alteracoes;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar a tabela MOVIMENTACAO_OUTBOX: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Remove as alterações gravadas há mais de uma quantidade de dias.
+	 *
+	 * @param dias a retenção, em dias.
+	 * @return a quantidade de alterações removidas, ou -1 se a remoção falhar.
+	 */
+	public static int expurgar(int dias) {
+		String sql = "DELETE FROM movimentacao_outbox WHERE dt_alteracao < SYSTIMESTAMP - NUMTODSINTERVAL(?, 'DAY')";
+		PreparedStatement ps = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setInt(1, dias);
+			return ps.executeUpdate();
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível expurgar a tabela MOVIMENTACAO_OUTBOX: " + e.getMessage());
+		} finally {
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return -1;
+	}
+}
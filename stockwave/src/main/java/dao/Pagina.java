@@ -0,0 +1,251 @@
+package dao;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset pagination).
+ *
+ * Em vez de OFFSET, cada página continua a partir das chaves de ordenação do último registro da página
+ * anterior. O cursor é uma string opaca (Base64 URL-safe) com essas chaves, devolvida em
+ * {@link #getProximoCursor()} e informada pelo cliente no parâmetro "after" da próxima requisição.
+ *
+ * Exemplo de uso em um DAO:
+ *
+ * Object[] cursor = Pagina.lerCursor(apos, 1);
+ * String sql = Pagina.sql("SELECT * FROM aula", cursor != null, limite, "id_aula");
+ * ps = getConnection().prepareStatement(sql);
+ * Pagina.vincular(ps, cursor, limite);
+ * // ... leitura do ResultSet ...
+ * return Pagina.criar(listaAulas, limite, aula -&gt; new Object[] { aula.getId_aula() });
+ *
+ * @param <T> O tipo dos itens da página.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.Paginacao
+ *
+ * @author Stockwave
+ */
+public class Pagina<T> {
+
+	private static final char SEPARADOR = '\u001F';
+
+	private final ArrayList<T> itens;
+	private final String proximoCursor;
+
+	/**
+	 * Construtor da classe Pagina.
+	 *
+	 * @param itens         Os itens da página.
+	 * @param proximoCursor O cursor da próxima página, ou null se esta for a última.
+	 */
+	public Pagina(ArrayList<T> itens, String proximoCursor) {
+		super();
+		this.itens = itens;
+		this.proximoCursor = proximoCursor;
+	}
+
+	/**
+	 * Obtém os itens da página.
+	 *
+	 * @return os itens da página.
+	 */
+	public ArrayList<T> getItens() {
+		return itens;
+	}
+
+	/**
+	 * Obtém o cursor da próxima página.
+	 *
+	 * @return o cursor da próxima página, ou null se esta for a última.
+	 */
+	public String getProximoCursor() {
+		return proximoCursor;
+	}
+
+	/**
+	 * Monta o SQL de uma página a partir do SQL base da listagem.
+	 *
+	 * O SQL base não deve conter WHERE nem ORDER BY. A condição de continuação compara as colunas em ordem
+	 * lexicográfica, por exemplo: (c1 &gt; ? OR (c1 = ? AND c2 &gt; ?)). Quando há limite, uma linha a mais
+	 * é buscada para saber se existe próxima página.
+	 *
+	 * @param sqlBase   O SELECT da listagem.
+	 * @param comCursor true se a página continua a partir de um cursor.
+	 * @param limite    A quantidade máxima de itens da página; 0 para todos.
+	 * @param colunas   As colunas de ordenação, que juntas devem ser únicas.
+	 * @return O SQL da página.
+	 */
+	public static String sql(String sqlBase, boolean comCursor, int limite, String... colunas) {
+		return sql(sqlBase, null, comCursor, limite, colunas);
+	}
+
+	/**
+	 * Monta o SQL de uma página filtrada a partir do SQL base da listagem.
+	 *
+	 * O filtro é combinado com a condição de continuação do cursor por AND. Seus parâmetros devem ser vinculados
+	 * antes dos parâmetros da página, com {@link #vincular(PreparedStatement, int, Object[], int)}.
+	 *
+	 * @param sqlBase   O SELECT da listagem, sem WHERE nem ORDER BY.
+	 * @param filtro    A condição de filtro, ou null para nenhum filtro.
+	 * @param comCursor true se a página continua a partir de um cursor.
+	 * @param limite    A quantidade máxima de itens da página; 0 para todos.
+	 * @param colunas   As colunas de ordenação, que juntas devem ser únicas.
+	 * @return O SQL da página.
+	 */
+	public static String sql(String sqlBase, String filtro, boolean comCursor, int limite, String... colunas) {
+		StringBuilder sql = new StringBuilder(sqlBase);
+
+		if (filtro != null) {
+			sql.append(" WHERE (").append(filtro).append(")");
+		}
+
+		if (comCursor) {
+			sql.append(filtro != null ? " AND (" : " WHERE (");
+			for (int i = 0; i < colunas.length; i++) {
+				if (i > 0) {
+					sql.append(" OR (");
+				}
+				for (int j = 0; j < i; j++) {
+					sql.append(colunas[j]).append(" = ? AND ");
+				}
+				sql.append(colunas[i]).append(" > ?");
+			}
+			for (int i = 1; i < colunas.length; i++) {
+				sql.append(")");
+			}
+			sql.append(")");
+		}
+
+		sql.append(" ORDER BY ").append(String.join(", ", colunas));
+
+		if (limite > 0) {
+			sql.append(" FETCH FIRST ? ROWS ONLY");
+		}
+
+		return sql.toString();
+	}
+
+	/**
+	 * Vincula os parâmetros do cursor e do limite ao statement criado com o SQL de {@link #sql}.
+	 *
+	 * @param ps     O statement da página.
+	 * @param cursor As chaves lidas com {@link #lerCursor(String, int)}, ou null.
+	 * @param limite A quantidade máxima de itens da página; 0 para todos.
+	 * @throws SQLException se não for possível vincular os parâmetros.
+	 */
+	public static void vincular(PreparedStatement ps, Object[] cursor, int limite) throws SQLException {
+		vincular(ps, 1, cursor, limite);
+	}
+
+	/**
+	 * Vincula os parâmetros do cursor e do limite a partir de um índice, após os parâmetros do filtro.
+	 *
+	 * @param ps     O statement da página.
+	 * @param indice O índice do primeiro parâmetro da página.
+	 * @param cursor As chaves lidas com {@link #lerCursor(String, int)}, ou null.
+	 * @param limite A quantidade máxima de itens da página; 0 para todos.
+	 * @throws SQLException se não for possível vincular os parâmetros.
+	 */
+	public static void vincular(PreparedStatement ps, int indice, Object[] cursor, int limite) throws SQLException {
+		if (cursor != null) {
+			for (int i = 0; i < cursor.length; i++) {
+				for (int j = 0; j <= i; j++) {
+					ps.setObject(indice++, cursor[j]);
+				}
+			}
+		}
+
+		if (limite > 0) {
+			ps.setInt(indice, limite + 1);
+		}
+	}
+
+	/**
+	 * Cria a página a partir dos registros lidos, calculando o cursor da próxima página.
+	 *
+	 * @param <T>    O tipo dos itens.
+	 * @param itens  Os registros lidos, incluindo a linha extra buscada além do limite.
+	 * @param limite A quantidade máxima de itens da página; 0 para todos.
+	 * @param chaves Função que retorna as chaves de ordenação de um item, na ordem das colunas.
+	 * @return A página.
+	 */
+	public static <T> Pagina<T> criar(ArrayList<T> itens, int limite, Function<T, Object[]> chaves) {
+		if (limite <= 0 || itens.size() <= limite) {
+			return new Pagina<>(itens, null);
+		}
+
+		while (itens.size() > limite) {
+			itens.remove(itens.size() - 1);
+		}
+
+		return new Pagina<>(itens, cursor(chaves.apply(itens.get(itens.size() - 1))));
+	}
+
+	/**
+	 * Codifica as chaves de ordenação de um registro em um cursor.
+	 *
+	 * @param chaves As chaves (Integer ou String).
+	 * @return O cursor.
+	 */
+	public static String cursor(Object... chaves) {
+		StringBuilder texto = new StringBuilder();
+
+		for (int i = 0; i < chaves.length; i++) {
+			if (i > 0) {
+				texto.append(SEPARADOR);
+			}
+			texto.append(chaves[i] instanceof Integer ? 'i' : 's').append(chaves[i]);
+		}
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodifica um cursor.
+	 *
+	 * @param cursor     O cursor informado pelo cliente, ou null.
+	 * @param quantidade A quantidade de chaves esperada.
+	 * @return As chaves do cursor, ou null se nenhum cursor foi informado.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public static Object[] lerCursor(String cursor, int quantidade) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+
+		try {
+			String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] partes = texto.split(String.valueOf(SEPARADOR), -1);
+
+			if (partes.length != quantidade) {
+				throw new IllegalArgumentException("Cursor inválido: " + cursor);
+			}
+
+			Object[] chaves = new Object[quantidade];
+			for (int i = 0; i < quantidade; i++) {
+				String valor = partes[i].substring(1);
+				switch (partes[i].charAt(0)) {
+				case 'i':
+					chaves[i] = Integer.valueOf(valor);
+					break;
+				case 's':
+					chaves[i] = valor;
+					break;
+				default:
+					throw new IllegalArgumentException("Cursor inválido: " + cursor);
+				}
+			}
+			return chaves;
+
+		} catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Cursor inválido: " + cursor);
+		}
+	}
+}
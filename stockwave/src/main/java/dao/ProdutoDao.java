@@ -4,8 +4,10 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 
+import connection.ConnectionFactory;
 import jakarta.validation.Valid;
 import model.Produto;
 
@@ -51,14 +53,51 @@ import model.Produto;
  * 
  */
 public class ProdutoDao extends Repository {
+
+	/**
+	 * Quantidade de contadores particionados (slots) de estoque por produto, definida pela propriedade
+	 * "estoque.slots".
+	 *
+	 * Com valor maior que 1, as movimentações de estoque alteram as linhas de produto_estoque_slot em vez da linha de
+	 * produto, e o estoque de um produto é qtd_produto somado aos seus slots. O CompactadorEstoque incorpora os slots
+	 * a qtd_produto periodicamente. Com 0 ou 1, o estoque é mantido apenas em qtd_produto.
+	 */
+	public static final int SLOTS_ESTOQUE = ConnectionFactory.getInstance().getPropriedadeInt("estoque.slots", 0);
+
+	/**
+	 * SELECT das colunas de PRODUTO, com qtd_produto incluindo os slots ainda não compactados no modo de contadores
+	 * particionados. Pode ser seguido de WHERE e ORDER BY sobre as colunas de PRODUTO.
+	 */
+	private static final String SQL_PRODUTO = SLOTS_ESTOQUE > 1
+			? "SELECT * FROM (SELECT p.id_produto, p.nome_produto, p.valor_produto,"
+					+ " p.qtd_produto + NVL(s.qtd, 0) AS qtd_produto, p.imagem_produto, p.nivel_reposicao FROM produto p"
+					+ " LEFT JOIN (SELECT id_produto, SUM(qtd) AS qtd FROM produto_estoque_slot GROUP BY id_produto) s"
+					+ " ON s.id_produto = p.id_produto) produto"
+			: "SELECT * FROM produto";
 	
 	/**
 	 * Lista todos os produtos cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarProdutos(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de objetos Produto
 	 */
 	public ArrayList<Produto> listarProdutos() {
-		String sql = "SELECT * FROM produto ORDER BY nome_produto";
+		return listarProdutos(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela PRODUTO, ordenada por nome_produto, id_produto. No modo de contadores
+	 * particionados, qtd_produto inclui os slots ainda não compactados.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Produto> listarProdutos(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		String sql = Pagina.sql(SQL_PRODUTO, cursor != null, limite, "nome_produto", "id_produto");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Produto> listaProdutos = new ArrayList<>();
@@ -66,6 +105,7 @@ public class ProdutoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -76,6 +116,7 @@ public class ProdutoDao extends Repository {
 					produto.setValor_produto(rs.getDouble("valor_produto"));
 					produto.setQtd_produto(rs.getInt("qtd_produto"));
 					produto.setImagem_produto(rs.getString("imagem_produto"));
+					produto.setNivel_reposicao(rs.getInt("nivel_reposicao"));
 					System.out.println(produto.getId_produto());
 					listaProdutos.add(produto);
 				}
@@ -86,19 +127,47 @@ public class ProdutoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela PRODUTO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaProdutos;
+		return Pagina.criar(listaProdutos, limite,
+				produto -> new Object[] { produto.getNome_produto(), produto.getId_produto() });
 	}
 	
 	/**
 	 * Busca um produto pelo ID.
 	 *
+	 * O produto é buscado primeiro no {@link CacheProduto} e, se não estiver lá, é lido do banco de dados e guardado.
+	 * No modo de contadores particionados, qtd_produto inclui os slots ainda não compactados.
+	 *
 	 * @param id_produto o ID do produto a ser buscado
 	 * @return o objeto Produto correspondente ao ID fornecido, ou null se não encontrado
 	 */
 	public static Produto buscarProdutoPorId(int id_produto) {
-		String sql = "SELECT * FROM produto WHERE id_produto = ?";
+		Produto em_cache = CacheProduto.buscar(id_produto);
+		if (em_cache != null) {
+			return em_cache;
+		}
+
+		long marcador = CacheProduto.marcador();
+		String sql = SQL_PRODUTO + " WHERE id_produto = ?";
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 
@@ -115,8 +184,10 @@ public class ProdutoDao extends Repository {
 					produto.setValor_produto(rs.getDouble("valor_produto"));
 					produto.setQtd_produto(rs.getInt("qtd_produto"));
 					produto.setImagem_produto(rs.getString("imagem_produto"));
+					produto.setNivel_reposicao(rs.getInt("nivel_reposicao"));
 				}
 
+				CacheProduto.guardar(produto, marcador);
 				return produto;
 
 			} else {
@@ -142,6 +213,7 @@ public class ProdutoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -154,7 +226,7 @@ public class ProdutoDao extends Repository {
 	 * @return o objeto Produto atualizado, ou null se a atualização não foi bem-sucedida
 	 */
 	public static Produto atualizarProduto(@Valid Produto produto) {
-		String sql = "UPDATE produto SET nome_produto = ?, valor_produto = ?, qtd_produto = ?, imagem_produto = ? WHERE id_produto = ?";
+		String sql = "UPDATE produto SET nome_produto = ?, valor_produto = ?, qtd_produto = ?, imagem_produto = ?, nivel_reposicao = ? WHERE id_produto = ?";
 		CallableStatement cs = null;
 
 		try {
@@ -163,8 +235,13 @@ public class ProdutoDao extends Repository {
 			cs.setDouble(2, produto.getValor_produto());
 			cs.setInt(3, produto.getQtd_produto());
 			cs.setString(4, produto.getImagem_produto()); 
-			cs.setInt(5, produto.getId_produto());
-			cs.executeUpdate();
+			cs.setInt(5, produto.getNivel_reposicao());
+			cs.setInt(6, produto.getId_produto());
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.PRODUTO);
+			CacheProduto.invalidar(produto.getId_produto());
 
 			return produto;
 
@@ -178,6 +255,7 @@ public class ProdutoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -197,12 +275,14 @@ public class ProdutoDao extends Repository {
 		        + "    nome_produto,"
 		        + "    valor_produto,"
 		        + "    qtd_produto,"
-		        + "    imagem_produto"
+		        + "    imagem_produto,"
+		        + "    nivel_reposicao"
 		        + ") VALUES ("
 		        + "    SQ_PRODUTO.nextval,"
 		        + "    ?,"
 		        + "    ?,"
 		        + "    ?,"
+		        + "    ?,"
 		        + "    ?"
 		        + ")";
 		// @formatter:on
@@ -216,7 +296,9 @@ public class ProdutoDao extends Repository {
 		    ps.setDouble(2, produto_novo.getValor_produto());
 		    ps.setInt(3, produto_novo.getQtd_produto());
 		    ps.setString(4, produto_novo.getImagem_produto());
+		    ps.setInt(5, produto_novo.getNivel_reposicao());
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.PRODUTO);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		        produto_novo.setId_produto(rs.getInt(1));
@@ -240,6 +322,7 @@ public class ProdutoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -253,15 +336,325 @@ public class ProdutoDao extends Repository {
 	 */
 	public static boolean deletarProduto(int id_produto) {
 
-		Produto produto_deletar = null;
 		String sql = "DELETE FROM produto WHERE id_produto = ?";
 		PreparedStatement ps = null;
-		produto_deletar = buscarProdutoPorId(id_produto);
 
-		if (produto_deletar == null) {
-			return false;
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setInt(1, id_produto);
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.PRODUTO);
+			CacheProduto.invalidar(id_produto);
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível deletar o PRODUTO no banco de dados: " + e.getMessage());
+		} finally {
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
 		}
 
+		return false;
+	}
+	
+	/**
+	 * Recebe, um a um, o estoque dos produtos lidos por {@link ProdutoDao#percorrerEstoques(LeitorEstoque)}.
+	 */
+	public interface LeitorEstoque {
+
+		/**
+		 * Recebe o estoque de um produto.
+		 *
+		 * @param id_produto  o ID do produto.
+		 * @param qtd_produto a quantidade em estoque do produto.
+		 */
+		void ler(int id_produto, int qtd_produto);
+	}
+	
+	/**
+	 * Percorre o estoque de todos os produtos, entregando cada par id_produto/qtd_produto ao leitor sem criar objetos
+	 * Produto. No modo de contadores particionados, a quantidade inclui os slots ainda não compactados.
+	 *
+	 * @param leitor o leitor que recebe cada produto.
+	 * @return true se todos os produtos foram lidos, false se a consulta falhou.
+	 */
+	public static boolean percorrerEstoques(LeitorEstoque leitor) {
+		String sql = SLOTS_ESTOQUE > 1 ? "SELECT p.id_produto, p.qtd_produto + NVL(s.qtd, 0) FROM produto p"
+				+ " LEFT JOIN (SELECT id_produto, SUM(qtd) AS qtd FROM produto_estoque_slot GROUP BY id_produto) s"
+				+ " ON s.id_produto = p.id_produto" : "SELECT id_produto, qtd_produto FROM produto";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setFetchSize(1000);
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				leitor.ler(rs.getInt(1), rs.getInt(2));
+			}
+
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar o estoque da tabela PRODUTO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return false;
+	}
+	
+	/**
+	 * Recebe, um a um, os produtos lidos por {@link ProdutoDao#percorrerProdutos(int, LeitorProduto)}.
+	 */
+	public interface LeitorProduto {
+
+		/**
+		 * Recebe um produto.
+		 *
+		 * @param produto o produto lido.
+		 */
+		void ler(Produto produto);
+	}
+	
+	/**
+	 * Percorre os produtos, entregando cada um ao leitor sem montar uma lista. No modo de contadores particionados,
+	 * qtd_produto inclui os slots ainda não compactados.
+	 *
+	 * Com "apos" maior ou igual a zero, percorre apenas os produtos que têm movimentações com ID maior que "apos".
+	 *
+	 * @param apos   o ID de movimentação a partir do qual ler (exclusive), ou -1 para todos os produtos.
+	 * @param leitor o leitor que recebe cada produto.
+	 * @return true se todos os produtos foram lidos, false se a consulta falhou.
+	 */
+	public static boolean percorrerProdutos(int apos, LeitorProduto leitor) {
+		String sql = SLOTS_ESTOQUE > 1
+				? "SELECT p.id_produto, p.nome_produto, p.valor_produto, p.qtd_produto + NVL(s.qtd, 0) AS qtd_produto,"
+						+ " p.imagem_produto, p.nivel_reposicao FROM produto p"
+						+ " LEFT JOIN (SELECT id_produto, SUM(qtd) AS qtd FROM produto_estoque_slot GROUP BY id_produto) s"
+						+ " ON s.id_produto = p.id_produto"
+				: "SELECT p.id_produto, p.nome_produto, p.valor_produto, p.qtd_produto, p.imagem_produto,"
+						+ " p.nivel_reposicao FROM produto p";
+		if (apos >= 0) {
+			sql += " WHERE p.id_produto IN (SELECT produto_movimentacao FROM movimentacao WHERE id_movimentacao > ?)";
+		}
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setFetchSize(1000);
+			if (apos >= 0) {
+				ps.setInt(1, apos);
+			}
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				Produto produto = new Produto();
+				produto.setId_produto(rs.getInt("id_produto"));
+				produto.setNome_produto(rs.getString("nome_produto"));
+				produto.setValor_produto(rs.getDouble("valor_produto"));
+				produto.setQtd_produto(rs.getInt("qtd_produto"));
+				produto.setImagem_produto(rs.getString("imagem_produto"));
+				produto.setNivel_reposicao(rs.getInt("nivel_reposicao"));
+				leitor.ler(produto);
+			}
+
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível percorrer a tabela PRODUTO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return false;
+	}
+	
+	/**
+	 * Recebe, um a um, os produtos com nível de reposição lidos por
+	 * {@link ProdutoDao#percorrerNiveisReposicao(LeitorReposicao)}.
+	 */
+	public interface LeitorReposicao {
+
+		/**
+		 * Recebe o estoque e o nível de reposição de um produto.
+		 *
+		 * @param id_produto      o ID do produto.
+		 * @param qtd_produto     a quantidade em estoque do produto.
+		 * @param nivel_reposicao o nível de reposição do produto, maior que zero.
+		 */
+		void ler(int id_produto, int qtd_produto, int nivel_reposicao);
+	}
+	
+	/**
+	 * Percorre os produtos com nível de reposição definido (maior que zero), entregando o estoque e o nível de cada um
+	 * ao leitor. No modo de contadores particionados, a quantidade inclui os slots ainda não compactados.
+	 *
+	 * @param leitor o leitor que recebe cada produto.
+	 * @return true se todos os produtos foram lidos, false se a consulta falhou.
+	 */
+	public static boolean percorrerNiveisReposicao(LeitorReposicao leitor) {
+		String sql = SLOTS_ESTOQUE > 1
+				? "SELECT p.id_produto, p.qtd_produto + NVL(s.qtd, 0), p.nivel_reposicao FROM produto p"
+						+ " LEFT JOIN (SELECT id_produto, SUM(qtd) AS qtd FROM produto_estoque_slot GROUP BY id_produto) s"
+						+ " ON s.id_produto = p.id_produto WHERE p.nivel_reposicao > 0"
+				: "SELECT id_produto, qtd_produto, nivel_reposicao FROM produto WHERE nivel_reposicao > 0";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setFetchSize(1000);
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				leitor.ler(rs.getInt(1), rs.getInt(2), rs.getInt(3));
+			}
+
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar os níveis de reposição da tabela PRODUTO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return false;
+	}
+	
+	/**
+	 * Escolhe o slot de estoque de um chamador.
+	 *
+	 * @param chave o identificador do chamador (o ID do usuário da movimentação).
+	 * @return o número do slot, entre 0 e {@link #SLOTS_ESTOQUE} - 1.
+	 */
+	public static int slotEstoque(int chave) {
+		int h = chave * 0x9E3779B9;
+		return Math.floorMod(h ^ (h >>> 16), Math.max(1, SLOTS_ESTOQUE));
+	}
+	
+	/**
+	 * Busca o estoque atual de um produto, incluindo os slots ainda não compactados.
+	 *
+	 * @param id_produto o ID do produto.
+	 * @return a quantidade em estoque, ou null se o produto não existir ou a consulta falhar.
+	 */
+	public static Integer buscarEstoqueProduto(int id_produto) {
+		String sql = SLOTS_ESTOQUE > 1 ? "SELECT p.qtd_produto + NVL((SELECT SUM(s.qtd) FROM produto_estoque_slot s"
+				+ " WHERE s.id_produto = p.id_produto), 0) FROM produto p WHERE p.id_produto = ?"
+				: "SELECT qtd_produto FROM produto WHERE id_produto = ?";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			ps.setInt(1, id_produto);
+			rs = ps.executeQuery();
+
+			if (rs.next()) {
+				return rs.getInt(1);
+			}
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar o estoque do PRODUTO no banco de dados: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return null;
+	}
+	
+	/**
+	 * Descarta os slots de estoque de um produto.
+	 *
+	 * Usado antes de definir qtd_produto com um valor absoluto (atualização) ou de deletar o produto. Os slots são
+	 * alterados antes da linha de produto, na mesma ordem de travamento do CompactadorEstoque.
+	 *
+	 * @param id_produto o ID do produto.
+	 * @return true se os slots foram descartados ou o modo de contadores particionados está desativado.
+	 */
+	public static boolean descartarSlotsEstoque(int id_produto) {
+		if (SLOTS_ESTOQUE <= 1) {
+			return true;
+		}
+
+		String sql = "DELETE FROM produto_estoque_slot WHERE id_produto = ?";
+		PreparedStatement ps = null;
+
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_produto);
@@ -269,7 +662,7 @@ public class ProdutoDao extends Repository {
 			return true;
 
 		} catch (SQLException e) {
-			System.out.println("Não foi possível deletar o PRODUTO no banco de dados: " + e.getMessage());
+			System.out.println("Não foi possível descartar os slots de estoque do PRODUTO: " + e.getMessage());
 		} finally {
 			if (ps != null) {
 				try {
@@ -278,8 +671,61 @@ public class ProdutoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
 	}
+	
+	/**
+	 * Incorpora a qtd_produto o saldo de todos os slots de estoque diferentes de zero.
+	 *
+	 * Slots travados por movimentações em andamento são ignorados (SKIP LOCKED) e ficam para a próxima compactação.
+	 *
+	 * @return a quantidade de slots compactados, ou -1 se a compactação falhou.
+	 */
+	public static int compactarSlotsEstoque() {
+		
+		// @formatter:off
+		String sql = "DECLARE"
+				+ "    CURSOR c IS SELECT id_produto, qtd FROM produto_estoque_slot WHERE qtd <> 0 FOR UPDATE SKIP LOCKED;"
+				+ "    v_total NUMBER := 0;"
+				+ "BEGIN"
+				+ "    FOR r IN c LOOP"
+				+ "        UPDATE produto SET qtd_produto = qtd_produto + r.qtd WHERE id_produto = r.id_produto;"
+				+ "        UPDATE produto_estoque_slot SET qtd = 0 WHERE CURRENT OF c;"
+				+ "        v_total := v_total + 1;"
+				+ "    END LOOP;"
+				+ "    ? := v_total;"
+				+ "END;";
+		// @formatter:on
+
+		CallableStatement cs = null;
+
+		try {
+			cs = getConnection().prepareCall(sql);
+			cs.registerOutParameter(1, Types.INTEGER);
+			cs.execute();
+			int compactados = cs.getInt(1);
+			if (compactados > 0) {
+				CacheProduto.invalidarTodos();
+				VersaoTabela.incrementar(VersaoTabela.PRODUTO);
+			}
+			return compactados;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível compactar os slots de estoque da tabela PRODUTO: " + e.getMessage());
+		} finally {
+			if (cs != null) {
+				try {
+					cs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return -1;
+	}
 }
\ No newline at end of file
@@ -55,10 +55,26 @@ public class ProfessorDao extends Repository {
 	/**
 	 * Lista todos os professores cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarProfessores(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de objetos Professor com as informações dos professores cadastrados
 	 */
 	public ArrayList<Professor> listarProfessores() {
-		String sql = "SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario FROM usuario INNER JOIN professor ON usuario.id_usuario = professor.id_usuario";
+		return listarProfessores(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela PROFESSOR, ordenada por usuario.id_usuario.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Professor> listarProfessores(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT usuario.id_usuario, usuario.cpf_usuario, usuario.nome_usuario, usuario.email_usuario FROM usuario INNER JOIN professor ON usuario.id_usuario = professor.id_usuario", cursor != null, limite,
+				"usuario.id_usuario");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Professor> listaProfessores = new ArrayList<>();
@@ -66,6 +82,7 @@ public class ProfessorDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -83,9 +100,28 @@ public class ProfessorDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela PROFESSOR: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaProfessores;
+		return Pagina.criar(listaProfessores, limite,
+				professor -> new Object[] { professor.getId_usuario() });
 	}
 	
 	/**
@@ -140,6 +176,7 @@ public class ProfessorDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -152,7 +189,8 @@ public class ProfessorDao extends Repository {
 	 * @return o objeto Professor atualizado, ou null se a atualização não foi bem-sucedida
 	 */
 	public static Professor atualizarProfessor(@Valid Professor professor) {
-		String sql = "UPDATE usuario SET cpf_usuario = ?, nome_usuario = ?, email_usuario = ? WHERE id_usuario = ?";
+		String sql = "UPDATE usuario SET cpf_usuario = ?, nome_usuario = ?, email_usuario = ? WHERE id_usuario = ?"
+				+ " AND id_usuario IN (SELECT id_usuario FROM professor)";
 		CallableStatement cs = null;
 
 		try {
@@ -161,7 +199,9 @@ public class ProfessorDao extends Repository {
 			cs.setString(2, professor.getNome_usuario());
 			cs.setString(3, professor.getEmail_usuario());
 			cs.setInt(4, professor.getId_usuario());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return professor;
 
@@ -175,6 +215,7 @@ public class ProfessorDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -224,6 +265,7 @@ public class ProfessorDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 	// @formatter:off
@@ -251,6 +293,7 @@ public class ProfessorDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return professor_novo;
@@ -270,8 +313,7 @@ public class ProfessorDao extends Repository {
 		try {
 			ps_professor = getConnection().prepareStatement(sql_professor);
 			ps_professor.setInt(1, id_usuario);
-			ps_professor.executeUpdate();
-			professorDeletado = true;
+			professorDeletado = ps_professor.executeUpdate() > 0;
 		} catch (SQLException e) {
 			System.out.println("Não foi possível deletar o PROFESSOR no banco de dados: " + e.getMessage());
 		} finally {
@@ -282,6 +324,7 @@ public class ProfessorDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		if (professorDeletado) {
@@ -303,6 +346,7 @@ public class ProfessorDao extends Repository {
 						System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 					}
 				}
+				closeConnection();
 			}
 		}
 
@@ -57,10 +57,25 @@ public class QuestaoDao extends Repository {
 	/**
 	 * Lista todas as questões cadastradas no banco de dados.
 	 *
+	 * Equivale a {@link #listarQuestoes(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de objetos Questao com as informações das questões
 	 */
 	public ArrayList<Questao> listarQuestoes() {
-		String sql = "SELECT * FROM questao ORDER BY id_questao";
+		return listarQuestoes(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela QUESTAO, ordenada por id_questao.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Questao> listarQuestoes(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM questao", cursor != null, limite, "id_questao");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Questao> listaQuestoes = new ArrayList<>();
@@ -68,6 +83,7 @@ public class QuestaoDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -92,9 +108,28 @@ public class QuestaoDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela USUARIO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaQuestoes;
+		return Pagina.criar(listaQuestoes, limite,
+				questao -> new Object[] { questao.getId_questao() });
 	}
 	
 	/**
@@ -153,6 +188,7 @@ public class QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -180,7 +216,10 @@ public class QuestaoDao extends Repository {
 			resposta_questao = questao.getResposta_questao();
 			cs.setString(7, resposta_questao.getResposta()); 
 			cs.setInt(8, questao.getId_questao());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
+			VersaoTabela.incrementar(VersaoTabela.QUESTAO);
 
 			return questao;
 
@@ -194,6 +233,7 @@ public class QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -242,6 +282,7 @@ public class QuestaoDao extends Repository {
 		    ps.setString(6, questao_nova.getAlt_e_questao());
 		    ps.setString(7, questao_nova.getResposta_questao().getResposta());
 		    ps.executeUpdate();
+		    VersaoTabela.incrementar(VersaoTabela.QUESTAO);
 		    rs = ps.getGeneratedKeys();
 		    if (rs.next()) {
 		        questao_nova.setId_questao(rs.getInt(1));
@@ -265,6 +306,7 @@ public class QuestaoDao extends Repository {
 		            System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 		        }
 		    }
+		    closeConnection();
 		}
 
 		return null;
@@ -278,19 +320,16 @@ public class QuestaoDao extends Repository {
 	 */
 	public static boolean deletarQuestao(int id_questao) {
 
-		Questao questao_deletar = null;
 		String sql = "DELETE FROM questao WHERE id_questao = ?";
 		PreparedStatement ps = null;
-		questao_deletar = buscarQuestaoPorId(id_questao);
-
-		if (questao_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_questao);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
+			VersaoTabela.incrementar(VersaoTabela.QUESTAO);
 			return true;
 
 		} catch (SQLException e) {
@@ -303,6 +342,7 @@ public class QuestaoDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
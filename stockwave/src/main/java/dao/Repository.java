@@ -2,42 +2,85 @@ package dao;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 
 import connection.ConnectionFactory;
 
 /**
  * Classe repository.
- * 
+ *
  * Todo repositório deve estender esta classe, pois é responsável por estabelecer
  * a conexão com o banco de dados com base nos parâmetros do arquivo
  * application.properties.
- * 
+ *
+ * Cada operação dos repositórios empresta uma conexão do pool com {@link #getConnection()}
+ * e a devolve com {@link #closeConnection()} no bloco finally. Enquanto a operação não
+ * termina, chamadas repetidas de {@link #getConnection()} na mesma thread retornam a mesma conexão.
+ *
+ * Quando uma transação é iniciada com {@link #beginTransaction(boolean)}, a conexão fica presa à
+ * thread até {@link #endTransaction(boolean)}: todas as operações compartilham a mesma conexão,
+ * {@link #closeConnection()} não a devolve ao pool e o commit acontece uma única vez ao final.
+ * Ações registradas com {@link #aposConfirmar(Runnable)} só são executadas depois desse commit.
+ *
+ * @see controller.TransactionFilter
+ *
  * @author Francis
  *
  */
 public class Repository {
 
-	protected static Connection connection;
+	private static final ThreadLocal<Connection> connection = new ThreadLocal<>();
+
+	/**
+	 * Indica se a thread atual possui uma transação aberta e se ela é somente leitura.
+	 */
+	private static final ThreadLocal<Boolean> transaction = new ThreadLocal<>();
+
+	/**
+	 * Ações a executar depois do commit da transação aberta na thread atual.
+	 */
+	private static final ThreadLocal<ArrayList<Runnable>> aposConfirmar = new ThreadLocal<>();
+
+	/**
+	 * Ações a executar depois do commit e de todas as ações de {@link #aposConfirmar}.
+	 */
+	private static final ThreadLocal<ArrayList<Runnable>> aposConfirmarPorUltimo = new ThreadLocal<>();
+
+	/**
+	 * Primeira falha de banco de dados registrada na última transação iniciada na thread atual.
+	 */
+	private static final ThreadLocal<SQLException> falha = new ThreadLocal<>();
 
 	/**
 	 * Construtor padrão.
 	 */
 	public Repository() {
 		super();
-		getConnection();
 	}
 
 	/**
 	 * Obtém uma conexão com o banco de dados.
-	 * 
+	 *
+	 * Empresta uma conexão do pool caso a thread atual ainda não possua uma.
+	 *
 	 * @see ConnectionFactory#getInstance()
-	 * 
+	 *
 	 * @return A conexão com o banco de dados
 	 */
 	public static Connection getConnection() {
 		try {
-			connection = ConnectionFactory.getInstance().getConnection();
-			return connection;
+			Connection conexao = connection.get();
+			if (conexao == null) {
+				conexao = ConnectionFactory.getInstance().getConnection();
+				connection.set(conexao);
+
+				Boolean somenteLeitura = transaction.get();
+				if (somenteLeitura != null) {
+					conexao.setAutoCommit(false);
+					conexao.setReadOnly(somenteLeitura);
+				}
+			}
+			return conexao;
 		} catch (Exception e) {
 			System.out.println("Erro nos parâmetros da conexão com o banco de dados: " + e.getMessage());
 		}
@@ -45,17 +88,175 @@ public class Repository {
 	}
 
 	/**
-	 * Fecha a conexão com o banco de dados.
+	 * Devolve ao pool a conexão emprestada pela thread atual.
+	 *
+	 * Não faz nada enquanto houver uma transação aberta na thread.
 	 */
 	public static void closeConnection() {
+		Connection conexao = connection.get();
 
-		try {
-			// Se a conexão não estiver fechada, feche-a
-			if (!connection.isClosed()) {
-				connection.close();
+		if (conexao != null && transaction.get() == null) {
+			connection.remove();
+			ConnectionFactory.getInstance().releaseConnection(conexao);
+		}
+	}
+
+	/**
+	 * Inicia uma transação na thread atual.
+	 *
+	 * A conexão só é emprestada do pool na primeira operação executada dentro da transação.
+	 * Uma transação esquecida anteriormente na mesma thread é desfeita antes de iniciar a nova.
+	 *
+	 * @param somenteLeitura true se a transação não executará escritas.
+	 */
+	public static void beginTransaction(boolean somenteLeitura) {
+		if (transaction.get() != null) {
+			endTransaction(false);
+		}
+		falha.remove();
+		transaction.set(somenteLeitura);
+	}
+
+	/**
+	 * Finaliza a transação da thread atual e devolve a conexão ao pool.
+	 *
+	 * Transações somente leitura nunca são confirmadas.
+	 *
+	 * @param confirmar true para confirmar (commit) a transação, false para desfazê-la (rollback).
+	 * @return true se a transação foi finalizada conforme solicitado, false se o commit falhou.
+	 */
+	public static boolean endTransaction(boolean confirmar) {
+		Boolean somenteLeitura = transaction.get();
+		Connection conexao = connection.get();
+		ArrayList<Runnable> acoes = aposConfirmar.get();
+		ArrayList<Runnable> ultimas = aposConfirmarPorUltimo.get();
+		boolean sucesso = true;
+		boolean confirmada = false;
+
+		transaction.remove();
+		aposConfirmar.remove();
+		aposConfirmarPorUltimo.remove();
+
+		if (conexao != null) {
+			try {
+				if (confirmar && somenteLeitura != null && !somenteLeitura) {
+					conexao.commit();
+					confirmada = true;
+				} else {
+					conexao.rollback();
+				}
+			} catch (SQLException e) {
+				System.out.println("Não foi possível finalizar a transação no banco de dados: " + e.getMessage());
+				if (falha.get() == null) {
+					falha.set(e);
+				}
+				sucesso = !confirmar;
+			} finally {
+				closeConnection();
+			}
+		}
+
+		if (confirmada && acoes != null) {
+			for (Runnable acao : acoes) {
+				executar(acao);
+			}
+		}
+		if (confirmada && ultimas != null) {
+			for (Runnable acao : ultimas) {
+				executar(acao);
 			}
-		} catch (SQLException ex) {
-			System.out.println("Erro ao encerrar conexão: " + ex.getMessage());
 		}
+
+		return sucesso;
+	}
+
+	/**
+	 * Registra uma ação a ser executada depois que a transação da thread atual for confirmada.
+	 *
+	 * Usado para manter estruturas em memória coerentes com o banco de dados: se a transação for desfeita, a ação
+	 * é descartada. Fora de uma transação, a ação é executada imediatamente.
+	 *
+	 * @param acao A ação a executar após o commit.
+	 */
+	public static void aposConfirmar(Runnable acao) {
+		registrar(aposConfirmar, acao);
+	}
+
+	/**
+	 * Registra uma ação a ser executada depois do commit, após todas as ações de {@link #aposConfirmar(Runnable)}.
+	 *
+	 * Usado para sinalizar a alteração somente quando as estruturas em memória já refletem o commit. Fora de uma
+	 * transação, a ação é executada imediatamente.
+	 *
+	 * @param acao A ação a executar após o commit.
+	 */
+	public static void aposConfirmarPorUltimo(Runnable acao) {
+		registrar(aposConfirmarPorUltimo, acao);
+	}
+
+	private static void registrar(ThreadLocal<ArrayList<Runnable>> lista, Runnable acao) {
+		if (transaction.get() == null) {
+			executar(acao);
+			return;
+		}
+
+		ArrayList<Runnable> acoes = lista.get();
+		if (acoes == null) {
+			acoes = new ArrayList<>();
+			lista.set(acoes);
+		}
+		acoes.add(acao);
+	}
+
+	private static void executar(Runnable acao) {
+		try {
+			acao.run();
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível executar a ação após o commit: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Registra a falha de uma operação executada dentro da transação da thread atual.
+	 *
+	 * Os repositórios continuam informando a falha pelo retorno (null, false ou -1); o registro permite que quem
+	 * iniciou a transação decida, depois de desfazê-la, se vale a pena repeti-la. Somente a primeira falha da
+	 * transação é mantida, pois as seguintes costumam ser consequência dela.
+	 *
+	 * @param e A exceção lançada pelo driver.
+	 */
+	protected static void registrarFalha(SQLException e) {
+		if (transaction.get() != null && falha.get() == null) {
+			falha.set(e);
+		}
+	}
+
+	/**
+	 * Obtém a primeira falha registrada na última transação iniciada na thread atual.
+	 *
+	 * Continua disponível depois de {@link #endTransaction(boolean)} e é descartada ao iniciar a próxima transação.
+	 *
+	 * @return A exceção registrada ou null se a transação não falhou.
+	 */
+	public static SQLException getFalha() {
+		return falha.get();
+	}
+
+	/**
+	 * Verifica se a thread atual possui uma transação aberta.
+	 *
+	 * @return true se houver uma transação aberta.
+	 */
+	public static boolean inTransaction() {
+		return transaction.get() != null;
+	}
+
+	/**
+	 * Verifica se a thread atual possui uma transação somente leitura aberta.
+	 *
+	 * @return true se houver uma transação aberta com {@code beginTransaction(true)}.
+	 */
+	public static boolean inReadOnlyTransaction() {
+		return Boolean.TRUE.equals(transaction.get());
 	}
 }
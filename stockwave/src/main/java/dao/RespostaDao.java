@@ -55,10 +55,25 @@ public class RespostaDao extends Repository {
 	/**
 	 * Lista todas as respostas cadastradas no banco de dados.
 	 *
+	 * Equivale a {@link #listarRespostas(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de objetos Resposta com as respostas cadastradas
 	 */
 	public ArrayList<Resposta> listarRespostas() {
-		String sql = "SELECT * FROM resposta ORDER BY resposta";
+		return listarRespostas(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela RESPOSTA, ordenada por resposta.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Resposta> listarRespostas(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM resposta", cursor != null, limite, "resposta");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Resposta> listaRespostas = new ArrayList<>();
@@ -66,6 +81,7 @@ public class RespostaDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -80,9 +96,28 @@ public class RespostaDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela RESPOSTA: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaRespostas;
+		return Pagina.criar(listaRespostas, limite,
+				resposta -> new Object[] { resposta.getResposta() });
 	}
 	
 	/**
@@ -131,6 +166,7 @@ public class RespostaDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -171,6 +207,7 @@ public class RespostaDao extends Repository {
 					System.out.println("Não foi possível fechar o PreparedStatement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 	}
 	
@@ -210,6 +247,7 @@ public class RespostaDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -224,19 +262,15 @@ public class RespostaDao extends Repository {
 	 */
 	public static boolean deletarResposta(String resposta) {
 
-		Resposta resposta_deletar = null;
 		String sql = "DELETE FROM resposta WHERE resposta = ?";
 		PreparedStatement ps = null;
-		resposta_deletar = buscarRespostaPorNome(resposta);
-
-		if (resposta_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setString(1, resposta);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
 			return true;
 
 		} catch (SQLException e) {
@@ -249,6 +283,7 @@ public class RespostaDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
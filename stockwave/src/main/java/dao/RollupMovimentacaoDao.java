@@ -0,0 +1,351 @@
+package dao;
+
+import java.sql.CallableStatement;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.Movimentacao;
+import model.RollupMovimentacao;
+
+/**
+ * Classe de acesso a dados para os totais diários de movimentação (tabela movimentacao_rollup).
+ *
+ * Cada linha de movimentacao_rollup guarda, para um produto, um dia e um slot, a soma das entradas, a soma das saídas
+ * e a quantidade de movimentações. As linhas são mantidas incrementalmente pelo MovimentacaoService, na mesma
+ * transação que grava a movimentação, e podem ser reconstruídas a partir da tabela MOVIMENTACAO com
+ * {@link #reconstruir()}; as consultas somam os slots de cada dia.
+ *
+ * Como a linha do rollup fica bloqueada até o commit, ela é particionada pelo mesmo slot dos contadores de estoque
+ * ({@link ProdutoDao#slotEstoque(int)}, a partir do usuário da movimentação): com "estoque.slots" maior que 1, as
+ * gravações concorrentes de um mesmo produto no mesmo dia não disputam uma única linha. Com 0 ou 1, todas usam o
+ * slot 0.
+ *
+ * As movimentações do tipo "saida" contam como saída; as do tipo "entrada" e "registro" contam como entrada.
+ *
+ * Exemplo de uso:
+ *
+ * // Somar uma movimentação nova aos totais do seu dia
+ * boolean aplicado = RollupMovimentacaoDao.aplicar(movimentacao, 1);
+ *
+ * // Consultar os totais semanais de um produto
+ * ArrayList&lt;RollupMovimentacao&gt; semanas = RollupMovimentacaoDao.consultar(1, "IW", null, null);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see model.RollupMovimentacao
+ * @see services.RollupMovimentacaoService
+ * @see dao.Repository
+ *
+ * @author Stockwave
+ */
+public class RollupMovimentacaoDao extends Repository {
+
+	/**
+	 * Soma os totais a uma linha do rollup, criando-a se necessário.
+	 *
+	 * Se duas transações criarem a mesma linha ao mesmo tempo, ambas seguem pelo ramo NOT MATCHED e a segunda recebe
+	 * ORA-00001 ao inserir; nesse caso a soma é refeita com UPDATE sobre a linha criada pela primeira.
+	 */
+	// @formatter:off
+	private static final String SQL_APLICAR = "DECLARE"
+			+ "    v_produto       NUMBER := ?;"
+			+ "    v_dia           DATE := TRUNC(?);"
+			+ "    v_slot          NUMBER := ?;"
+			+ "    v_entrada       NUMBER := ?;"
+			+ "    v_saida         NUMBER := ?;"
+			+ "    v_movimentacoes NUMBER := ?;"
+			+ "BEGIN"
+			+ "    MERGE INTO movimentacao_rollup r"
+			+ "    USING (SELECT v_produto AS id_produto, v_dia AS dia, v_slot AS slot FROM dual) n"
+			+ "       ON (r.id_produto = n.id_produto AND r.dia = n.dia AND r.slot = n.slot)"
+			+ "     WHEN MATCHED THEN UPDATE SET"
+			+ "          r.qtd_entrada = r.qtd_entrada + v_entrada,"
+			+ "          r.qtd_saida = r.qtd_saida + v_saida,"
+			+ "          r.qtd_movimentacoes = r.qtd_movimentacoes + v_movimentacoes"
+			+ "     WHEN NOT MATCHED THEN INSERT (id_produto, dia, slot, qtd_entrada, qtd_saida, qtd_movimentacoes)"
+			+ "          VALUES (n.id_produto, n.dia, n.slot, v_entrada, v_saida, v_movimentacoes);"
+			+ "EXCEPTION WHEN DUP_VAL_ON_INDEX THEN"
+			+ "    UPDATE movimentacao_rollup"
+			+ "       SET qtd_entrada = qtd_entrada + v_entrada,"
+			+ "           qtd_saida = qtd_saida + v_saida,"
+			+ "           qtd_movimentacoes = qtd_movimentacoes + v_movimentacoes"
+			+ "     WHERE id_produto = v_produto AND dia = v_dia AND slot = v_slot;"
+			+ "END;";
+	// @formatter:on
+
+	/**
+	 * Soma (sinal 1) ou subtrai (sinal -1) uma movimentação dos totais do seu produto e dia.
+	 *
+	 * @param movimentacao a movimentação, com produto, data e quantidade.
+	 * @param sinal        1 para uma movimentação gravada, -1 para uma movimentação removida.
+	 * @return true se os totais foram atualizados, false caso contrário.
+	 */
+	public static boolean aplicar(Movimentacao movimentacao, int sinal) {
+		ArrayList<Movimentacao> movimentacoes = new ArrayList<>();
+		movimentacoes.add(movimentacao);
+		return aplicar(movimentacoes, sinal);
+	}
+
+	/**
+	 * Soma (sinal 1) ou subtrai (sinal -1) várias movimentações dos totais dos seus produtos e dias.
+	 *
+	 * As movimentações são agregadas por produto, dia e slot antes do envio, e os MERGEs resultantes são enviados em
+	 * um único lote JDBC, ordenados pela chave da linha: duas transações que alteram as mesmas linhas as bloqueiam na
+	 * mesma ordem e não entram em deadlock.
+	 *
+	 * @param movimentacoes as movimentações, com produto, data e quantidade.
+	 * @param sinal         1 para movimentações gravadas, -1 para movimentações removidas.
+	 * @return true se os totais foram atualizados, false caso contrário.
+	 */
+	public static boolean aplicar(List<Movimentacao> movimentacoes, int sinal) {
+		Map<String, long[]> totais = new TreeMap<>();
+		Map<String, Movimentacao> exemplos = new TreeMap<>();
+
+		for (Movimentacao movimentacao : movimentacoes) {
+			// Chave de tamanho fixo, para que a ordem do TreeMap seja a de (produto, dia, slot)
+			String chave = String.format("%010d:%s:%05d", movimentacao.getProduto_movimentacao().getId_produto(),
+					movimentacao.getDt_movimentacao(), slot(movimentacao));
+			long[] total = totais.computeIfAbsent(chave, c -> new long[3]);
+			int qtd = movimentacao.getQtd_movimentacao();
+			boolean saida = MovimentacaoDao.TIPO_SAIDA.equals(movimentacao.getTipo_movimentacao());
+			total[0] += sinal * (saida ? 0 : qtd);
+			total[1] += sinal * (saida ? qtd : 0);
+			total[2] += sinal;
+			exemplos.putIfAbsent(chave, movimentacao);
+		}
+
+		CallableStatement cs = null;
+
+		try {
+			cs = getConnection().prepareCall(SQL_APLICAR);
+
+			for (Map.Entry<String, long[]> entrada : totais.entrySet()) {
+				Movimentacao movimentacao = exemplos.get(entrada.getKey());
+				long[] total = entrada.getValue();
+				cs.setInt(1, movimentacao.getProduto_movimentacao().getId_produto());
+				cs.setDate(2, movimentacao.getDt_movimentacao());
+				cs.setInt(3, slot(movimentacao));
+				cs.setLong(4, total[0]);
+				cs.setLong(5, total[1]);
+				cs.setLong(6, total[2]);
+				cs.addBatch();
+			}
+			cs.executeBatch();
+			return true;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível atualizar a tabela MOVIMENTACAO_ROLLUP: " + e.getMessage());
+			registrarFalha(e);
+		} finally {
+			if (cs != null) {
+				try {
+					cs.clearBatch();
+					cs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return false;
+	}
+
+	private static int slot(Movimentacao movimentacao) {
+		return ProdutoDao.slotEstoque(movimentacao.getUsuario_movimentacao().getId_usuario());
+	}
+
+	/**
+	 * Consulta os totais de um produto agrupados por período.
+	 *
+	 * O fluxo acumulado é a soma de (entradas - saídas) de todos os dias do produto até o último dia do período,
+	 * calculada sobre as linhas diárias, sem ler a tabela MOVIMENTACAO. Não é o saldo de estoque do produto: o
+	 * estoque anterior à primeira movimentação não é considerado e as movimentações do tipo "registro", que não
+	 * alteram o estoque, contam como entrada.
+	 *
+	 * @param id_produto   o ID do produto.
+	 * @param granularidade o formato de TRUNC do Oracle: "DD" (dia), "IW" (semana ISO) ou "MM" (mês).
+	 * @param de           a data inicial (inclusive), ou null.
+	 * @param ate          a data final (inclusive), ou null.
+	 * @return os totais de cada período com movimentações, em ordem cronológica, ou null se a consulta falhar.
+	 */
+	public static ArrayList<RollupMovimentacao> consultar(int id_produto, String granularidade, Date de, Date ate) {
+		
+		// @formatter:off
+		String sql = "SELECT periodo,"
+				+ "       SUM(qtd_entrada) AS qtd_entrada,"
+				+ "       SUM(qtd_saida) AS qtd_saida,"
+				+ "       SUM(qtd_movimentacoes) AS qtd_movimentacoes,"
+				+ "       MAX(fluxo) KEEP (DENSE_RANK LAST ORDER BY dia) AS fluxo_acumulado"
+				+ "  FROM (SELECT TRUNC(dia, ?) AS periodo, dia, qtd_entrada, qtd_saida, qtd_movimentacoes,"
+				+ "               SUM(qtd_entrada - qtd_saida) OVER (ORDER BY dia) AS fluxo"
+				+ "          FROM (SELECT dia,"
+				+ "                       SUM(qtd_entrada) AS qtd_entrada,"
+				+ "                       SUM(qtd_saida) AS qtd_saida,"
+				+ "                       SUM(qtd_movimentacoes) AS qtd_movimentacoes"
+				+ "                  FROM movimentacao_rollup"
+				+ "                 WHERE id_produto = ?"
+				+ "                 GROUP BY dia))"
+				+ " WHERE qtd_movimentacoes <> 0"
+				+ (de != null ? " AND dia >= ?" : "")
+				+ (ate != null ? " AND dia < ? + 1" : "")
+				+ " GROUP BY periodo"
+				+ " ORDER BY periodo";
+		// @formatter:on
+
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		ArrayList<RollupMovimentacao> periodos = new ArrayList<>();
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			int indice = 1;
+			ps.setString(indice++, granularidade);
+			ps.setInt(indice++, id_produto);
+			if (de != null) {
+				ps.setDate(indice++, de);
+			}
+			if (ate != null) {
+				ps.setDate(indice++, ate);
+			}
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				RollupMovimentacao rollup = new RollupMovimentacao();
+				rollup.setId_produto(id_produto);
+				rollup.setPeriodo(rs.getDate("periodo"));
+				rollup.setQtd_entrada(rs.getLong("qtd_entrada"));
+				rollup.setQtd_saida(rs.getLong("qtd_saida"));
+				rollup.setQtd_movimentacoes(rs.getLong("qtd_movimentacoes"));
+				rollup.setFluxo_acumulado(rs.getLong("fluxo_acumulado"));
+				periodos.add(rollup);
+			}
+
+			return periodos;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar a tabela MOVIMENTACAO_ROLLUP: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reconstrói todos os totais diários a partir da tabela MOVIMENTACAO.
+	 *
+	 * A tabela movimentacao_rollup é travada em modo EXCLUSIVE durante a reconstrução: transações que já
+	 * atualizaram os totais são aguardadas, e as que ainda vão atualizá-los esperam o fim da reconstrução, de modo
+	 * que nenhuma movimentação é contada duas vezes ou perdida. A trava é liberada no commit.
+	 *
+	 * @return a quantidade de linhas diárias geradas, ou -1 se a reconstrução falhou.
+	 */
+	public static int reconstruir() {
+		
+		// @formatter:off
+		String sql = "BEGIN"
+				+ "    LOCK TABLE movimentacao_rollup IN EXCLUSIVE MODE;"
+				+ "    DELETE FROM movimentacao_rollup;"
+				+ "    INSERT INTO movimentacao_rollup (id_produto, dia, qtd_entrada, qtd_saida, qtd_movimentacoes)"
+				+ "    SELECT produto_movimentacao,"
+				+ "           TRUNC(dt_movimentacao),"
+				+ "           SUM(CASE WHEN tipo_movimentacao = '" + MovimentacaoDao.TIPO_SAIDA + "' THEN 0 ELSE qtd_movimentacao END),"
+				+ "           SUM(CASE WHEN tipo_movimentacao = '" + MovimentacaoDao.TIPO_SAIDA + "' THEN qtd_movimentacao ELSE 0 END),"
+				+ "           COUNT(*)"
+				+ "      FROM movimentacao"
+				+ "     GROUP BY produto_movimentacao, TRUNC(dt_movimentacao);"
+				+ "    ? := SQL%ROWCOUNT;"
+				+ "END;";
+		// @formatter:on
+
+		CallableStatement cs = null;
+
+		try {
+			cs = getConnection().prepareCall(sql);
+			cs.registerOutParameter(1, Types.INTEGER);
+			cs.execute();
+			return cs.getInt(1);
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível reconstruir a tabela MOVIMENTACAO_ROLLUP: " + e.getMessage());
+		} finally {
+			if (cs != null) {
+				try {
+					cs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
+				}
+			}
+			closeConnection();
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Verifica se a tabela movimentacao_rollup precisa ser reconstruída, ou seja, se está vazia enquanto a tabela
+	 * MOVIMENTACAO possui registros.
+	 *
+	 * @return true se a reconstrução é necessária, false caso contrário ou se a consulta falhar.
+	 */
+	public static boolean precisaReconstruir() {
+		String sql = "SELECT (SELECT COUNT(*) FROM movimentacao_rollup WHERE ROWNUM = 1),"
+				+ " (SELECT COUNT(*) FROM movimentacao WHERE ROWNUM = 1) FROM dual";
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			rs = ps.executeQuery();
+			return rs.next() && rs.getInt(1) == 0 && rs.getInt(2) == 1;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível consultar a tabela MOVIMENTACAO_ROLLUP: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return false;
+	}
+}
@@ -55,10 +55,25 @@ public class UsuarioDao extends Repository {
 	/**
 	 * Lista todos os usuários cadastrados no banco de dados.
 	 *
+	 * Equivale a {@link #listarUsuarios(int, String)} sem limite e sem cursor.
+	 *
 	 * @return uma lista de objetos Usuario com os usuários cadastrados
 	 */
 	public ArrayList<Usuario> listarUsuarios() {
-		String sql = "SELECT * FROM usuario ORDER BY id_usuario";
+		return listarUsuarios(0, null).getItens();
+	}
+	
+	/**
+	 * Lista uma página da tabela USUARIO, ordenada por id_usuario.
+	 *
+	 * @param limite a quantidade máxima de registros da página; 0 para todos.
+	 * @param apos   o cursor retornado pela página anterior, ou null para a primeira página.
+	 * @return a página com os registros e o cursor da próxima página.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public Pagina<Usuario> listarUsuarios(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 1);
+		String sql = Pagina.sql("SELECT * FROM usuario", cursor != null, limite, "id_usuario");
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		ArrayList<Usuario> listaUsuarios = new ArrayList<>();
@@ -66,6 +81,7 @@ public class UsuarioDao extends Repository {
 		try {
 
 			ps = getConnection().prepareStatement(sql);
+			Pagina.vincular(ps, cursor, limite);
 			rs = ps.executeQuery();
 
 			if (rs.isBeforeFirst()) {
@@ -83,9 +99,28 @@ public class UsuarioDao extends Repository {
 
 		} catch (SQLException e) {
 			System.out.println("Não foi possível consultar a listagem da tabela USUARIO: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
 		}
 
-		return listaUsuarios;
+		return Pagina.criar(listaUsuarios, limite,
+				usuario -> new Object[] { usuario.getId_usuario() });
 	}
 	
 	/**
@@ -138,6 +173,7 @@ public class UsuarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -159,7 +195,9 @@ public class UsuarioDao extends Repository {
 			cs.setString(2, usuario.getNome_usuario());
 			cs.setString(3, usuario.getEmail_usuario());
 			cs.setInt(4, usuario.getId_usuario());
-			cs.executeUpdate();
+			if (cs.executeUpdate() == 0) {
+				return null;
+			}
 
 			return usuario;
 
@@ -173,6 +211,7 @@ public class UsuarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -224,6 +263,7 @@ public class UsuarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Callable Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return null;
@@ -238,19 +278,15 @@ public class UsuarioDao extends Repository {
 	 */
 	public static boolean deletarUsuario(int id_usuario) {
 
-		Usuario usuario_deletar = null;
 		String sql = "DELETE FROM usuario WHERE id_usuario = ?";
 		PreparedStatement ps = null;
-		usuario_deletar = buscarUsuarioPorId(id_usuario);
-
-		if (usuario_deletar == null) {
-			return false;
-		}
 
 		try {
 			ps = getConnection().prepareStatement(sql);
 			ps.setInt(1, id_usuario);
-			ps.executeUpdate();
+			if (ps.executeUpdate() == 0) {
+				return false;
+			}
 			return true;
 
 		} catch (SQLException e) {
@@ -263,6 +299,7 @@ public class UsuarioDao extends Repository {
 					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
 				}
 			}
+			closeConnection();
 		}
 
 		return false;
@@ -0,0 +1,152 @@
+package dao;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import model.ValorizacaoEstoque;
+
+/**
+ * Classe de acesso a dados para a valorização do estoque.
+ *
+ * A soma de qtd_produto * valor_produto é feita no banco de dados em uma única consulta, agrupada por faixa de preço
+ * com GROUPING SETS, de modo que apenas as linhas agregadas (o total e uma linha por faixa) são transferidas, qualquer
+ * que seja o tamanho do catálogo.
+ *
+ * O estoque atual inclui os slots ainda não compactados quando os contadores particionados estão ativos. O estoque em
+ * uma data passada é reconstruído desfazendo sobre o estoque atual as entradas e saídas do livro-razão posteriores a
+ * essa data; as movimentações do tipo "registro" são ignoradas, pois nunca alteraram o estoque. Alterações de
+ * qtd_produto feitas diretamente por PUT /produto/{id} não são registradas e por isso não são desfeitas. O preço
+ * usado é sempre o valor_produto atual, pois o histórico de preços não é registrado.
+ *
+ * Exemplo de uso:
+ *
+ * // Valor atual do estoque, com faixas abaixo de 10, de 10 a 100 e a partir de 100
+ * ArrayList&lt;ValorizacaoEstoque&gt; valores = ValorizacaoDao.valorizar(new double[] { 10, 100 }, null);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see model.ValorizacaoEstoque
+ * @see services.ValorizacaoService
+ * @see dao.Repository
+ *
+ * @author Stockwave
+ */
+public class ValorizacaoDao extends Repository {
+
+	/**
+	 * Calcula o valor do estoque, no total e por faixa de preço.
+	 *
+	 * @param limites os limites das faixas de preço, em ordem crescente; vazio para apenas o total.
+	 * @param data    a data de referência (estoque ao fim do dia), ou null para o estoque atual.
+	 * @return o total seguido das faixas em ordem de preço, ou null se a consulta falhar.
+	 */
+	public static ArrayList<ValorizacaoEstoque> valorizar(double[] limites, Date data) {
+		StringBuilder faixa = new StringBuilder();
+		if (limites.length > 0) {
+			faixa.append("CASE");
+			for (int i = 0; i < limites.length; i++) {
+				faixa.append(" WHEN p.valor_produto < ? THEN ").append(i);
+			}
+			faixa.append(" ELSE ").append(limites.length).append(" END");
+		} else {
+			faixa.append("0");
+		}
+
+		// @formatter:off
+		String sql = "SELECT " + (limites.length > 0 ? "CASE WHEN GROUPING(faixa) = 1 THEN -1 ELSE faixa END" : "-1")
+				+ "       AS faixa,"
+				+ "       COUNT(*) AS qtd_produtos,"
+				+ "       NVL(SUM(qtd), 0) AS qtd_unidades,"
+				+ "       NVL(SUM(qtd * valor_produto), 0) AS valor_total"
+				+ "  FROM (SELECT p.valor_produto, " + faixa + " AS faixa,"
+				+ "               p.qtd_produto"
+				+ (ProdutoDao.SLOTS_ESTOQUE > 1 ? " + NVL(s.qtd, 0)" : "")
+				+ (data != null ? " - NVL(m.qtd, 0)" : "") + " AS qtd"
+				+ "          FROM produto p"
+				+ (ProdutoDao.SLOTS_ESTOQUE > 1
+						? " LEFT JOIN (SELECT id_produto, SUM(qtd) AS qtd FROM produto_estoque_slot"
+						+ "             GROUP BY id_produto) s ON s.id_produto = p.id_produto"
+						: "")
+				+ (data != null
+						? " LEFT JOIN (SELECT produto_movimentacao,"
+						+ "                   SUM(CASE WHEN tipo_movimentacao = '" + MovimentacaoDao.TIPO_SAIDA + "'"
+						+ "                            THEN -qtd_movimentacao ELSE qtd_movimentacao END) AS qtd"
+						+ "              FROM movimentacao"
+						+ "             WHERE tipo_movimentacao IN ('" + MovimentacaoDao.TIPO_ENTRADA + "', '"
+						+ MovimentacaoDao.TIPO_SAIDA + "')"
+						+ "               AND dt_movimentacao >= ? + 1"
+						+ "             GROUP BY produto_movimentacao) m ON m.produto_movimentacao = p.id_produto"
+						: "")
+				+ "       )"
+				+ (limites.length > 0 ? " GROUP BY GROUPING SETS ((faixa), ()) ORDER BY GROUPING(faixa) DESC, faixa" : "");
+		// @formatter:on
+
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		ArrayList<ValorizacaoEstoque> valores = new ArrayList<>();
+
+		try {
+			ps = getConnection().prepareStatement(sql);
+			int indice = 1;
+			for (double limite : limites) {
+				ps.setDouble(indice++, limite);
+			}
+			if (data != null) {
+				ps.setDate(indice++, data);
+			}
+			rs = ps.executeQuery();
+
+			while (rs.next()) {
+				int numero = rs.getInt("faixa");
+				ValorizacaoEstoque valor = new ValorizacaoEstoque();
+				if (numero < 0) {
+					valor.setFaixa("total");
+				} else {
+					Double minimo = numero > 0 ? limites[numero - 1] : null;
+					Double maximo = numero < limites.length ? limites[numero] : null;
+					valor.setFaixa("[" + texto(minimo) + ", " + texto(maximo) + ")");
+					valor.setValor_minimo(minimo);
+					valor.setValor_maximo(maximo);
+				}
+				valor.setQtd_produtos(rs.getLong("qtd_produtos"));
+				valor.setQtd_unidades(rs.getLong("qtd_unidades"));
+				valor.setValor_total(rs.getDouble("valor_total"));
+				valores.add(valor);
+			}
+
+			return valores;
+
+		} catch (SQLException e) {
+			System.out.println("Não foi possível calcular o valor do estoque no banco de dados: " + e.getMessage());
+		} finally {
+			if (rs != null) {
+				try {
+					rs.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Result Set: " + e.getMessage());
+				}
+			}
+
+			if (ps != null) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					System.out.println("Não foi possível fechar o Prepared Statement: " + e.getMessage());
+				}
+			}
+
+			closeConnection();
+		}
+
+		return null;
+	}
+
+	private static String texto(Double valor) {
+		return valor == null ? "" : BigDecimal.valueOf(valor).stripTrailingZeros().toPlainString();
+	}
+}
@@ -0,0 +1,140 @@
+package dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import connection.ConnectionFactory;
+
+/**
+ * Contadores de versão por tabela, usados nas ETags das listagens e consultas por ID.
+ *
+ * Cada método de escrita dos DAOs de MODULO, AULA, QUESTAO, MODULO_AULA, MODULO_QUESTAO e PRODUTO chama
+ * {@link #incrementar(String)} após alterar a tabela. O contador é incrementado imediatamente e novamente após o
+ * commit, depois das ações de {@link Repository#aposConfirmar(Runnable)} que atualizam o catálogo e os demais dados
+ * em memória: uma leitura feita antes disso, que ainda pode enxergar os dados anteriores, nunca recebe a versão
+ * final.
+ *
+ * Como os contadores ficam em memória, alterações feitas por outros nós ou fora da aplicação não são percebidas.
+ * Por isso, uma versão com mais de "versao.validade-ms" (padrão 300000) milissegundos é renovada na próxima
+ * consulta, limitando o tempo em que uma resposta desatualizada pode ser confirmada com 304.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.VersaoFilter
+ * @see services.LeituraUnica
+ *
+ * @author Stockwave
+ */
+public final class VersaoTabela {
+
+	/**
+	 * Tabela MODULO.
+	 */
+	public static final String MODULO = "modulo";
+
+	/**
+	 * Tabela AULA.
+	 */
+	public static final String AULA = "aula";
+
+	/**
+	 * Tabela QUESTAO.
+	 */
+	public static final String QUESTAO = "questao";
+
+	/**
+	 * Tabela MODULO_AULA.
+	 */
+	public static final String MODULO_AULA = "modulo_aula";
+
+	/**
+	 * Tabela MODULO_QUESTAO.
+	 */
+	public static final String MODULO_QUESTAO = "modulo_questao";
+
+	/**
+	 * Tabela PRODUTO, incluindo o estoque alterado por movimentações.
+	 */
+	public static final String PRODUTO = "produto";
+
+	/**
+	 * Versão de uma tabela e o instante em que ela foi criada.
+	 */
+	public static final class Versao {
+		private final long numero;
+		private final String etag;
+		private final long modificadaEm;
+
+		private Versao(String tabela, long numero, long modificadaEm) {
+			this.numero = numero;
+			this.etag = tabela + "-" + INICIO + "-" + numero;
+			this.modificadaEm = modificadaEm;
+		}
+
+		/**
+		 * Retorna o valor da ETag, único entre tabelas, versões e execuções da aplicação.
+		 *
+		 * @return O valor da ETag, sem aspas.
+		 */
+		public String getEtag() {
+			return etag;
+		}
+
+		/**
+		 * Retorna o instante da última alteração conhecida da tabela.
+		 *
+		 * @return O instante em milissegundos.
+		 */
+		public long getModificadaEm() {
+			return modificadaEm;
+		}
+	}
+
+	private static final String INICIO = Long.toString(System.currentTimeMillis(), 36);
+
+	private static final ConcurrentHashMap<String, AtomicReference<Versao>> versoes = new ConcurrentHashMap<>();
+
+	private VersaoTabela() {
+		super();
+	}
+
+	/**
+	 * Retorna a versão atual de uma tabela, renovando-a se estiver vencida.
+	 *
+	 * @param tabela O nome da tabela, por exemplo {@link #PRODUTO}.
+	 * @return A versão atual.
+	 */
+	public static Versao atual(String tabela) {
+		AtomicReference<Versao> referencia = referencia(tabela);
+		long validade = ConnectionFactory.getInstance().getPropriedadeInt("versao.validade-ms", 300000);
+		long agora = System.currentTimeMillis();
+
+		Versao versao = referencia.get();
+		if (validade > 0 && agora - versao.modificadaEm >= validade) {
+			Versao renovada = new Versao(tabela, versao.numero + 1, agora);
+			versao = referencia.compareAndSet(versao, renovada) ? renovada : referencia.get();
+		}
+		return versao;
+	}
+
+	/**
+	 * Registra uma alteração na tabela, agora e após o commit da transação atual.
+	 *
+	 * @param tabela O nome da tabela, por exemplo {@link #PRODUTO}.
+	 */
+	public static void incrementar(String tabela) {
+		AtomicReference<Versao> referencia = referencia(tabela);
+		avancar(tabela, referencia);
+		Repository.aposConfirmarPorUltimo(() -> avancar(tabela, referencia));
+	}
+
+	private static void avancar(String tabela, AtomicReference<Versao> referencia) {
+		referencia.updateAndGet(v -> new Versao(tabela, v.numero + 1, System.currentTimeMillis()));
+	}
+
+	private static AtomicReference<Versao> referencia(String tabela) {
+		return versoes.computeIfAbsent(tabela,
+				t -> new AtomicReference<>(new Versao(t, 0, System.currentTimeMillis())));
+	}
+}
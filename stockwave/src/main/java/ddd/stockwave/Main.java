@@ -7,7 +7,9 @@ import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
+import controller.CicloDeVida;
 import controller.CorsFilter;
+import controller.TransactionFilter;
 
 /**
  * Classe principal da aplicação Stockwave.
@@ -39,6 +41,12 @@ public class Main {
         // Registra o CorsFilter
         rc.register(CorsFilter.class);
 
+        // Registra o TransactionFilter (uma transação por requisição)
+        rc.register(TransactionFilter.class);
+
+        // Registra o CicloDeVida (projeção de estoque e tarefas em segundo plano)
+        rc.register(CicloDeVida.class);
+
         // Cria e inicia uma nova instância do servidor Grizzly HTTP
         // expondo a aplicação Jersey em BASE_URI
         return GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), rc);
@@ -0,0 +1,234 @@
+package model;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Classe responsável por representar uma alteração de movimentação registrada no outbox (tabela
+ * movimentacao_outbox).
+ *
+ * Cada inclusão, atualização ou exclusão de movimentação gera uma alteração, gravada na mesma transação. As
+ * alterações são lidas em ordem de id_alteracao pelo feed GET /changes.
+ *
+ * Atributos:
+ * - id_alteracao: posição da alteração no feed, usada como offset pelos consumidores.
+ * - operacao: "insert", "update" ou "delete".
+ * - id_movimentacao: ID da movimentação alterada.
+ * - id_produto: produto da movimentação.
+ * - id_usuario: usuário da movimentação.
+ * - qtd_movimentacao: quantidade da movimentação, sempre positiva.
+ * - tipo_movimentacao: "entrada", "saida" ou "registro".
+ * - dt_movimentacao: data da movimentação.
+ * - dt_alteracao: data e hora da gravação da alteração.
+ *
+ * Nas exclusões, os dados são os da movimentação removida.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.OutboxMovimentacaoDao
+ * @see services.OutboxMovimentacaoService
+ * @see controller.AlteracaoResource
+ *
+ * @author Stockwave
+ */
+public class AlteracaoMovimentacao {
+
+    /**
+     * Posição da alteração no feed.
+     */
+    private long id_alteracao;
+
+    /**
+     * Operação: "insert", "update" ou "delete".
+     */
+    private String operacao;
+
+    /**
+     * ID da movimentação alterada.
+     */
+    private int id_movimentacao;
+
+    /**
+     * ID do produto da movimentação.
+     */
+    private int id_produto;
+
+    /**
+     * ID do usuário da movimentação.
+     */
+    private int id_usuario;
+
+    /**
+     * Quantidade da movimentação.
+     */
+    private int qtd_movimentacao;
+
+    /**
+     * Tipo da movimentação: "entrada", "saida" ou "registro".
+     */
+    private String tipo_movimentacao;
+
+    /**
+     * Data da movimentação.
+     */
+    private Date dt_movimentacao;
+
+    /**
+     * Data e hora da gravação da alteração.
+     */
+    private Timestamp dt_alteracao;
+
+    /**
+     * Obtém a posição da alteração no feed.
+     * @return a posição da alteração.
+     */
+    public long getId_alteracao() {
+        return id_alteracao;
+    }
+
+    /**
+     * Define a posição da alteração no feed.
+     * @param id_alteracao a posição da alteração.
+     */
+    public void setId_alteracao(long id_alteracao) {
+        this.id_alteracao = id_alteracao;
+    }
+
+    /**
+     * Obtém a operação.
+     * @return "insert", "update" ou "delete".
+     */
+    public String getOperacao() {
+        return operacao;
+    }
+
+    /**
+     * Define a operação.
+     * @param operacao "insert", "update" ou "delete".
+     */
+    public void setOperacao(String operacao) {
+        this.operacao = operacao;
+    }
+
+    /**
+     * Obtém o ID da movimentação alterada.
+     * @return o ID da movimentação.
+     */
+    public int getId_movimentacao() {
+        return id_movimentacao;
+    }
+
+    /**
+     * Define o ID da movimentação alterada.
+     * @param id_movimentacao o ID da movimentação.
+     */
+    public void setId_movimentacao(int id_movimentacao) {
+        this.id_movimentacao = id_movimentacao;
+    }
+
+    /**
+     * Obtém o ID do produto.
+     * @return o ID do produto.
+     */
+    public int getId_produto() {
+        return id_produto;
+    }
+
+    /**
+     * Define o ID do produto.
+     * @param id_produto o ID do produto.
+     */
+    public void setId_produto(int id_produto) {
+        this.id_produto = id_produto;
+    }
+
+    /**
+     * Obtém o ID do usuário.
+     * @return o ID do usuário.
+     */
+    public int getId_usuario() {
+        return id_usuario;
+    }
+
+    /**
+     * Define o ID do usuário.
+     * @param id_usuario o ID do usuário.
+     */
+    public void setId_usuario(int id_usuario) {
+        this.id_usuario = id_usuario;
+    }
+
+    /**
+     * Obtém a quantidade da movimentação.
+     * @return a quantidade da movimentação.
+     */
+    public int getQtd_movimentacao() {
+        return qtd_movimentacao;
+    }
+
+    /**
+     * Define a quantidade da movimentação.
+     * @param qtd_movimentacao a quantidade da movimentação.
+     */
+    public void setQtd_movimentacao(int qtd_movimentacao) {
+        this.qtd_movimentacao = qtd_movimentacao;
+    }
+
+    /**
+     * Obtém o tipo da movimentação.
+     * @return "entrada", "saida" ou "registro".
+     */
+    public String getTipo_movimentacao() {
+        return tipo_movimentacao;
+    }
+
+    /**
+     * Define o tipo da movimentação.
+     * @param tipo_movimentacao "entrada", "saida" ou "registro".
+     */
+    public void setTipo_movimentacao(String tipo_movimentacao) {
+        this.tipo_movimentacao = tipo_movimentacao;
+    }
+
+    /**
+     * Obtém a data da movimentação.
+     * @return a data da movimentação.
+     */
+    public Date getDt_movimentacao() {
+        return dt_movimentacao;
+    }
+
+    /**
+     * Define a data da movimentação.
+     * @param dt_movimentacao a data da movimentação.
+     */
+    public void setDt_movimentacao(Date dt_movimentacao) {
+        this.dt_movimentacao = dt_movimentacao;
+    }
+
+    /**
+     * Obtém a data e hora da alteração.
+     * @return a data e hora da alteração.
+     */
+    public Timestamp getDt_alteracao() {
+        return dt_alteracao;
+    }
+
+    /**
+     * Define a data e hora da alteração.
+     * @param dt_alteracao a data e hora da alteração.
+     */
+    public void setDt_alteracao(Timestamp dt_alteracao) {
+        this.dt_alteracao = dt_alteracao;
+    }
+
+    @Override
+    public String toString() {
+        return "AlteracaoMovimentacao [id_alteracao=" + id_alteracao + ", operacao=" + operacao + ", id_movimentacao="
+                + id_movimentacao + ", id_produto=" + id_produto + ", id_usuario=" + id_usuario
+                + ", qtd_movimentacao=" + qtd_movimentacao + ", tipo_movimentacao=" + tipo_movimentacao
+                + ", dt_movimentacao=" + dt_movimentacao
+                + ", dt_alteracao=" + dt_alteracao + "]";
+    }
+}
@@ -53,6 +53,12 @@ public class Movimentacao {
     @Positive(message = "A quantidade da movimentação deve ser maior que zero.")
     private int qtd_movimentacao;
 
+    /**
+     * Tipo da movimentação: "entrada" ou "saida" no livro-razão de estoque, ou "registro" para as movimentações que
+     * não alteram o estoque do produto. Definido pelo sistema ao gravar a movimentação.
+     */
+    private String tipo_movimentacao;
+
     /**
      * Obtém o identificador da movimentação.
      * @return o identificador da movimentação.
@@ -133,6 +139,22 @@ public class Movimentacao {
         this.qtd_movimentacao = qtd_movimentacao;
     }
 
+    /**
+     * Obtém o tipo da movimentação.
+     * @return "entrada", "saida" ou "registro".
+     */
+    public String getTipo_movimentacao() {
+        return tipo_movimentacao;
+    }
+
+    /**
+     * Define o tipo da movimentação.
+     * @param tipo_movimentacao "entrada", "saida" ou "registro".
+     */
+    public void setTipo_movimentacao(String tipo_movimentacao) {
+        this.tipo_movimentacao = tipo_movimentacao;
+    }
+
     /**
      * Construtor padrão da classe Movimentacao.
      */
@@ -169,7 +191,7 @@ public class Movimentacao {
     @Override
     public int hashCode() {
         return Objects.hash(dt_movimentacao, id_movimentacao, produto_movimentacao, qtd_movimentacao,
-                usuario_movimentacao);
+                tipo_movimentacao, usuario_movimentacao);
     }
 
     /**
@@ -186,6 +208,7 @@ public class Movimentacao {
         Movimentacao other = (Movimentacao) obj;
         return id_movimentacao == other.id_movimentacao && qtd_movimentacao == other.qtd_movimentacao
                 && Objects.equals(dt_movimentacao, other.dt_movimentacao)
+                && Objects.equals(tipo_movimentacao, other.tipo_movimentacao)
                 && Objects.equals(usuario_movimentacao, other.usuario_movimentacao)
                 && Objects.equals(produto_movimentacao, other.produto_movimentacao);
     }
@@ -198,6 +221,6 @@ public class Movimentacao {
     public String toString() {
         return "Movimentacao [id_movimentacao=" + id_movimentacao + ", dt_movimentacao=" + dt_movimentacao
                 + ", usuario_movimentacao=" + usuario_movimentacao + ", produto_movimentacao=" + produto_movimentacao
-                + ", qtd_movimentacao=" + qtd_movimentacao + "]";
+                + ", qtd_movimentacao=" + qtd_movimentacao + ", tipo_movimentacao=" + tipo_movimentacao + "]";
     }
 }
@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 /**
  * Classe responsável por representar um produto.
@@ -16,6 +17,7 @@ import jakarta.validation.constraints.Positive;
  * - valor_produto: valor do produto.
  * - qtd_produto: quantidade disponível do produto.
  * - imagem_produto: URL da imagem do produto.
+ * - nivel_reposicao: quantidade a partir da qual o produto gera alerta de estoque baixo (0 desativa o alerta).
  * 
  * Métodos:
  * - getters e setters: permitem acessar e modificar os atributos da classe.
@@ -78,6 +80,12 @@ public class Produto {
 	@NotNull(message = "A imagem do produto não pode ser nula.")
 	private String imagem_produto;
 	
+	/**
+	 * Nível de reposição do Produto: o estoque igual ou abaixo dele gera alerta (0 desativa o alerta)
+	 */
+	@PositiveOrZero(message = "O nível de reposição do produto não pode ser negativo.")
+	private int nivel_reposicao;
+	
 	/**
 	 * Obtém o ID do Produto.
 	 * 
@@ -168,6 +176,24 @@ public class Produto {
 		this.imagem_produto = imagem_produto;
 	}
 	
+	/**
+	 * Obtém o nível de reposição do Produto.
+	 * 
+	 * @return o nível de reposição do Produto, ou 0 se o alerta estiver desativado.
+	 */
+	public int getNivel_reposicao() {
+		return nivel_reposicao;
+	}
+
+	/**
+	 * Define o nível de reposição do Produto.
+	 * 
+	 * @param nivel_reposicao o nível de reposição do Produto, ou 0 para desativar o alerta.
+	 */
+	public void setNivel_reposicao(int nivel_reposicao) {
+		this.nivel_reposicao = nivel_reposicao;
+	}
+	
 	/**
 	 * Construtor padrão da classe Produto.
 	 */
@@ -202,7 +228,7 @@ public class Produto {
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(id_produto, imagem_produto, nome_produto, qtd_produto, valor_produto);
+		return Objects.hash(id_produto, imagem_produto, nivel_reposicao, nome_produto, qtd_produto, valor_produto);
 	}
 	
 	/**
@@ -220,7 +246,7 @@ public class Produto {
 		Produto other = (Produto) obj;
 		return id_produto == other.id_produto && Objects.equals(imagem_produto, other.imagem_produto)
 				&& Objects.equals(nome_produto, other.nome_produto) && qtd_produto == other.qtd_produto
-				&& Double.compare(valor_produto, other.valor_produto) == 0;
+				&& Double.compare(valor_produto, other.valor_produto) == 0 && nivel_reposicao == other.nivel_reposicao;
 	}
 	
 	/**
@@ -231,6 +257,7 @@ public class Produto {
 	@Override
 	public String toString() {
 		return "Produto [id_produto=" + id_produto + ", nome_produto=" + nome_produto + ", valor_produto="
-				+ valor_produto + ", qtd_produto=" + qtd_produto + ", imagem_produto=" + imagem_produto + "]";
+				+ valor_produto + ", qtd_produto=" + qtd_produto + ", imagem_produto=" + imagem_produto
+				+ ", nivel_reposicao=" + nivel_reposicao + "]";
 	}
 }
@@ -0,0 +1,163 @@
+package model;
+
+import java.sql.Date;
+
+/**
+ * Classe responsável por representar os totais de movimentação de um produto em um período.
+ *
+ * Cada instância corresponde a um dia, uma semana ou um mês, conforme a granularidade consultada, e é calculada a
+ * partir das linhas diárias pré-agregadas da tabela movimentacao_rollup.
+ *
+ * Atributos:
+ * - id_produto: ID do produto.
+ * - periodo: primeiro dia do período (dia, semana ISO ou mês).
+ * - qtd_entrada: soma das quantidades de entrada no período.
+ * - qtd_saida: soma das quantidades de saída no período, em valor absoluto.
+ * - qtd_movimentacoes: quantidade de movimentações no período.
+ * - fluxo_acumulado: soma de (qtd_entrada - qtd_saida) de todos os dias do produto até o fim do período; não é o
+ *   saldo de estoque do produto, pois não inclui o estoque anterior às movimentações.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.RollupMovimentacaoDao
+ * @see services.RollupMovimentacaoService
+ * @see controller.MovimentacaoResource
+ *
+ * @author Stockwave
+ */
+public class RollupMovimentacao {
+
+    /**
+     * ID do produto.
+     */
+    private int id_produto;
+
+    /**
+     * Primeiro dia do período.
+     */
+    private Date periodo;
+
+    /**
+     * Soma das quantidades de entrada no período.
+     */
+    private long qtd_entrada;
+
+    /**
+     * Soma das quantidades de saída no período, em valor absoluto.
+     */
+    private long qtd_saida;
+
+    /**
+     * Quantidade de movimentações no período.
+     */
+    private long qtd_movimentacoes;
+
+    /**
+     * Soma de (qtd_entrada - qtd_saida) de todos os dias do produto até o fim do período.
+     */
+    private long fluxo_acumulado;
+
+    /**
+     * Obtém o ID do produto.
+     * @return o ID do produto.
+     */
+    public int getId_produto() {
+        return id_produto;
+    }
+
+    /**
+     * Define o ID do produto.
+     * @param id_produto o ID do produto.
+     */
+    public void setId_produto(int id_produto) {
+        this.id_produto = id_produto;
+    }
+
+    /**
+     * Obtém o primeiro dia do período.
+     * @return o primeiro dia do período.
+     */
+    public Date getPeriodo() {
+        return periodo;
+    }
+
+    /**
+     * Define o primeiro dia do período.
+     * @param periodo o primeiro dia do período.
+     */
+    public void setPeriodo(Date periodo) {
+        this.periodo = periodo;
+    }
+
+    /**
+     * Obtém a soma das quantidades de entrada.
+     * @return a soma das quantidades de entrada.
+     */
+    public long getQtd_entrada() {
+        return qtd_entrada;
+    }
+
+    /**
+     * Define a soma das quantidades de entrada.
+     * @param qtd_entrada a soma das quantidades de entrada.
+     */
+    public void setQtd_entrada(long qtd_entrada) {
+        this.qtd_entrada = qtd_entrada;
+    }
+
+    /**
+     * Obtém a soma das quantidades de saída.
+     * @return a soma das quantidades de saída, em valor absoluto.
+     */
+    public long getQtd_saida() {
+        return qtd_saida;
+    }
+
+    /**
+     * Define a soma das quantidades de saída.
+     * @param qtd_saida a soma das quantidades de saída, em valor absoluto.
+     */
+    public void setQtd_saida(long qtd_saida) {
+        this.qtd_saida = qtd_saida;
+    }
+
+    /**
+     * Obtém a quantidade de movimentações.
+     * @return a quantidade de movimentações.
+     */
+    public long getQtd_movimentacoes() {
+        return qtd_movimentacoes;
+    }
+
+    /**
+     * Define a quantidade de movimentações.
+     * @param qtd_movimentacoes a quantidade de movimentações.
+     */
+    public void setQtd_movimentacoes(long qtd_movimentacoes) {
+        this.qtd_movimentacoes = qtd_movimentacoes;
+    }
+
+    /**
+     * Obtém o fluxo acumulado até o fim do período.
+     * @return a soma de (entradas - saídas) até o fim do período.
+     */
+    public long getFluxo_acumulado() {
+        return fluxo_acumulado;
+    }
+
+    /**
+     * Define o fluxo acumulado até o fim do período.
+     * @param fluxo_acumulado a soma de (entradas - saídas) até o fim do período.
+     */
+    public void setFluxo_acumulado(long fluxo_acumulado) {
+        this.fluxo_acumulado = fluxo_acumulado;
+    }
+
+    @Override
+    public String toString() {
+        return "RollupMovimentacao [id_produto=" + id_produto + ", periodo=" + periodo + ", qtd_entrada=" + qtd_entrada
+                + ", qtd_saida=" + qtd_saida + ", qtd_movimentacoes=" + qtd_movimentacoes + ", fluxo_acumulado="
+                + fluxo_acumulado + "]";
+    }
+}
@@ -0,0 +1,160 @@
+package model;
+
+/**
+ * Classe responsável por representar o valor do estoque de um conjunto de produtos.
+ *
+ * Cada instância corresponde ao total geral do catálogo ou a uma faixa de preço, e é calculada no banco de dados
+ * como a soma de qtd_produto * valor_produto dos produtos do conjunto.
+ *
+ * Atributos:
+ * - faixa: "total" para o total geral, ou a faixa de preço no formato "[minimo, maximo)".
+ * - valor_minimo: menor preço da faixa (inclusive), ausente na primeira faixa e no total.
+ * - valor_maximo: maior preço da faixa (exclusive), ausente na última faixa e no total.
+ * - qtd_produtos: quantidade de produtos no conjunto.
+ * - qtd_unidades: soma das quantidades em estoque.
+ * - valor_total: soma de quantidade * preço.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ValorizacaoDao
+ * @see services.ValorizacaoService
+ * @see controller.ProdutoResource
+ *
+ * @author Stockwave
+ */
+public class ValorizacaoEstoque {
+
+    /**
+     * Nome do conjunto: "total" ou a faixa de preço.
+     */
+    private String faixa;
+
+    /**
+     * Menor preço da faixa (inclusive).
+     */
+    private Double valor_minimo;
+
+    /**
+     * Maior preço da faixa (exclusive).
+     */
+    private Double valor_maximo;
+
+    /**
+     * Quantidade de produtos no conjunto.
+     */
+    private long qtd_produtos;
+
+    /**
+     * Soma das quantidades em estoque.
+     */
+    private long qtd_unidades;
+
+    /**
+     * Soma de quantidade * preço.
+     */
+    private double valor_total;
+
+    /**
+     * Obtém o nome do conjunto.
+     * @return "total" ou a faixa de preço.
+     */
+    public String getFaixa() {
+        return faixa;
+    }
+
+    /**
+     * Define o nome do conjunto.
+     * @param faixa "total" ou a faixa de preço.
+     */
+    public void setFaixa(String faixa) {
+        this.faixa = faixa;
+    }
+
+    /**
+     * Obtém o menor preço da faixa.
+     * @return o menor preço da faixa, ou null se a faixa não tiver limite inferior.
+     */
+    public Double getValor_minimo() {
+        return valor_minimo;
+    }
+
+    /**
+     * Define o menor preço da faixa.
+     * @param valor_minimo o menor preço da faixa, ou null.
+     */
+    public void setValor_minimo(Double valor_minimo) {
+        this.valor_minimo = valor_minimo;
+    }
+
+    /**
+     * Obtém o maior preço da faixa.
+     * @return o maior preço da faixa, ou null se a faixa não tiver limite superior.
+     */
+    public Double getValor_maximo() {
+        return valor_maximo;
+    }
+
+    /**
+     * Define o maior preço da faixa.
+     * @param valor_maximo o maior preço da faixa, ou null.
+     */
+    public void setValor_maximo(Double valor_maximo) {
+        this.valor_maximo = valor_maximo;
+    }
+
+    /**
+     * Obtém a quantidade de produtos.
+     * @return a quantidade de produtos no conjunto.
+     */
+    public long getQtd_produtos() {
+        return qtd_produtos;
+    }
+
+    /**
+     * Define a quantidade de produtos.
+     * @param qtd_produtos a quantidade de produtos no conjunto.
+     */
+    public void setQtd_produtos(long qtd_produtos) {
+        this.qtd_produtos = qtd_produtos;
+    }
+
+    /**
+     * Obtém a soma das quantidades em estoque.
+     * @return a soma das quantidades em estoque.
+     */
+    public long getQtd_unidades() {
+        return qtd_unidades;
+    }
+
+    /**
+     * Define a soma das quantidades em estoque.
+     * @param qtd_unidades a soma das quantidades em estoque.
+     */
+    public void setQtd_unidades(long qtd_unidades) {
+        this.qtd_unidades = qtd_unidades;
+    }
+
+    /**
+     * Obtém o valor total do estoque.
+     * @return a soma de quantidade * preço.
+     */
+    public double getValor_total() {
+        return valor_total;
+    }
+
+    /**
+     * Define o valor total do estoque.
+     * @param valor_total a soma de quantidade * preço.
+     */
+    public void setValor_total(double valor_total) {
+        this.valor_total = valor_total;
+    }
+
+    @Override
+    public String toString() {
+        return "ValorizacaoEstoque [faixa=" + faixa + ", valor_minimo=" + valor_minimo + ", valor_maximo="
+                + valor_maximo + ", qtd_produtos=" + qtd_produtos + ", qtd_unidades=" + qtd_unidades
+                + ", valor_total=" + valor_total + "]";
+    }
+}
@@ -0,0 +1,176 @@
+package services;
+
+import java.util.Arrays;
+
+/**
+ * Tabela hash de endereçamento aberto de chave int para soma, volume e contagem, usada nas agregações do
+ * {@link AnaliseMovimentacao} e do {@link RelatorioVelocidade}.
+ *
+ * Cada parte de uma varredura paralela preenche seu próprio AgregadoInt, sem sincronização; as partes são
+ * combinadas ao final com {@link #combinar(AgregadoInt, AgregadoInt)}. Os valores ficam em vetores primitivos
+ * paralelos, sem objetos por grupo.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.AnaliseMovimentacao
+ * @see services.RelatorioVelocidade
+ *
+ * @author Stockwave
+ */
+final class AgregadoInt {
+
+	private int[] chaves = new int[64];
+	private boolean[] ocupadas = new boolean[64];
+	private long[] somas = new long[64];
+	private long[] volumes = new long[64];
+	private long[] contagens = new long[64];
+	private int tamanho;
+
+	/**
+	 * Soma uma quantidade ao grupo da chave.
+	 *
+	 * @param chave      A chave do grupo.
+	 * @param quantidade A quantidade, com sinal.
+	 */
+	void somar(int chave, int quantidade) {
+		int posicao = posicao(chave);
+		somas[posicao] += quantidade;
+		volumes[posicao] += Math.abs((long) quantidade);
+		contagens[posicao]++;
+	}
+
+	/**
+	 * Combina dois agregados, reaproveitando o maior.
+	 *
+	 * @param a Um agregado.
+	 * @param b Outro agregado.
+	 * @return O agregado com os grupos de ambos.
+	 */
+	static AgregadoInt combinar(AgregadoInt a, AgregadoInt b) {
+		AgregadoInt destino = a.tamanho >= b.tamanho ? a : b;
+		AgregadoInt origem = destino == a ? b : a;
+
+		for (int i = 0; i < origem.chaves.length; i++) {
+			if (origem.ocupadas[i]) {
+				int posicao = destino.posicao(origem.chaves[i]);
+				destino.somas[posicao] += origem.somas[i];
+				destino.volumes[posicao] += origem.volumes[i];
+				destino.contagens[posicao] += origem.contagens[i];
+			}
+		}
+		return destino;
+	}
+
+	/**
+	 * Retorna as posições dos maiores grupos, em ordem decrescente da métrica.
+	 *
+	 * @param metrica 0 para soma, 1 para volume, 2 para contagem.
+	 * @param top     A quantidade máxima de grupos; 0 para todos.
+	 * @return As posições dos grupos, para uso em {@link #chave(int)}, {@link #soma(int)}, {@link #volume(int)}
+	 *         e {@link #contagem(int)}.
+	 */
+	int[] ordenar(int metrica, int top) {
+		long[] valores = metrica == 0 ? somas : metrica == 1 ? volumes : contagens;
+		int[] posicoes = new int[tamanho];
+		int n = 0;
+		for (int i = 0; i < chaves.length; i++) {
+			if (ocupadas[i]) {
+				posicoes[n++] = i;
+			}
+		}
+
+		// Desempata pela chave para que grupos com o mesmo valor apareçam sempre na mesma ordem
+		Integer[] ordem = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			ordem[i] = posicoes[i];
+		}
+		Arrays.sort(ordem, (x, y) -> valores[x] != valores[y] ? Long.compare(valores[y], valores[x])
+				: Integer.compare(chaves[x], chaves[y]));
+
+		int quantidade = top > 0 ? Math.min(top, n) : n;
+		int[] resultado = new int[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			resultado[i] = ordem[i];
+		}
+		return resultado;
+	}
+
+	/**
+	 * Retorna a quantidade de posições da tabela, ocupadas ou não.
+	 *
+	 * @return A capacidade atual; as posições válidas vão de 0 a capacidade - 1.
+	 */
+	int capacidade() {
+		return chaves.length;
+	}
+
+	boolean ocupada(int posicao) {
+		return ocupadas[posicao];
+	}
+
+	int chave(int posicao) {
+		return chaves[posicao];
+	}
+
+	long soma(int posicao) {
+		return somas[posicao];
+	}
+
+	long volume(int posicao) {
+		return volumes[posicao];
+	}
+
+	long contagem(int posicao) {
+		return contagens[posicao];
+	}
+
+	/**
+	 * Retorna a posição da chave, inserindo-a se necessário.
+	 */
+	private int posicao(int chave) {
+		if ((tamanho + 1) * 4 > chaves.length * 3) {
+			redimensionar();
+		}
+
+		int mascara = chaves.length - 1;
+		int h = chave * 0x9E3779B9;
+		int posicao = (h ^ (h >>> 16)) & mascara;
+		while (ocupadas[posicao]) {
+			if (chaves[posicao] == chave) {
+				return posicao;
+			}
+			posicao = (posicao + 1) & mascara;
+		}
+
+		ocupadas[posicao] = true;
+		chaves[posicao] = chave;
+		tamanho++;
+		return posicao;
+	}
+
+	private void redimensionar() {
+		int[] chavesAntigas = chaves;
+		boolean[] ocupadasAntigas = ocupadas;
+		long[] somasAntigas = somas;
+		long[] volumesAntigos = volumes;
+		long[] contagensAntigas = contagens;
+		int capacidade = chaves.length * 2;
+
+		chaves = new int[capacidade];
+		ocupadas = new boolean[capacidade];
+		somas = new long[capacidade];
+		volumes = new long[capacidade];
+		contagens = new long[capacidade];
+		tamanho = 0;
+
+		for (int i = 0; i < chavesAntigas.length; i++) {
+			if (ocupadasAntigas[i]) {
+				int posicao = posicao(chavesAntigas[i]);
+				somas[posicao] = somasAntigas[i];
+				volumes[posicao] = volumesAntigos[i];
+				contagens[posicao] = contagensAntigas[i];
+			}
+		}
+	}
+}
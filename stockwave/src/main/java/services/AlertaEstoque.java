@@ -0,0 +1,239 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import connection.ConnectionFactory;
+import dao.ProdutoDao;
+
+/**
+ * Motor de alertas de estoque baixo.
+ *
+ * Guarda em memória o nível de reposição dos produtos que o definiram e o conjunto dos produtos que estão no nível
+ * ou abaixo dele. Cada gravação que altera o estoque de um produto reavalia apenas esse produto; quando ele cruza
+ * o nível, os ouvintes recebem um alerta:
+ * - "estoque-baixo": o estoque ficou igual ou abaixo do nível de reposição;
+ * - "estoque-normalizado": o estoque voltou a ficar acima do nível.
+ *
+ * Cada alerta é um mapa com tipo, id_produto, qtd_produto e nivel_reposicao. Os ouvintes são chamados na thread que
+ * confirmou a gravação e não devem bloquear.
+ *
+ * Os níveis são carregados do banco de dados ao iniciar a aplicação (com novas tentativas a cada
+ * "estoque.alertas.carga-ms", padrão 30000, em caso de falha) e mantidos pelo ProdutoService a partir daí.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ProdutoDao#percorrerNiveisReposicao(ProdutoDao.LeitorReposicao)
+ * @see services.ProdutoService
+ * @see services.MovimentacaoService
+ * @see controller.TransmissaoAlertas
+ *
+ * @author Stockwave
+ */
+public final class AlertaEstoque {
+
+	/**
+	 * Tipo do alerta emitido quando o estoque fica igual ou abaixo do nível de reposição.
+	 */
+	public static final String ABAIXO = "estoque-baixo";
+
+	/**
+	 * Tipo do alerta emitido quando o estoque volta a ficar acima do nível de reposição.
+	 */
+	public static final String NORMALIZADO = "estoque-normalizado";
+
+	private static final ConcurrentHashMap<Integer, Integer> niveis = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Integer, Integer> abaixo = new ConcurrentHashMap<>();
+	private static final CopyOnWriteArrayList<Consumer<Map<String, Object>>> ouvintes = new CopyOnWriteArrayList<>();
+	private static ScheduledExecutorService carregador;
+
+	private static final AtomicLong avaliacoes = new AtomicLong();
+	private static final AtomicLong alertas = new AtomicLong();
+
+	private AlertaEstoque() {
+		super();
+	}
+
+	/**
+	 * Agenda a carga dos níveis de reposição. Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (carregador != null) {
+			return;
+		}
+
+		long intervalo = ConnectionFactory.getInstance().getPropriedadeInt("estoque.alertas.carga-ms", 30000);
+		carregador = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-alertas-estoque");
+			t.setDaemon(true);
+			return t;
+		});
+		carregador.scheduleWithFixedDelay(AlertaEstoque::carregar, 0, intervalo, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe a carga dos níveis de reposição, se ainda estiver em andamento.
+	 */
+	public static synchronized void encerrar() {
+		if (carregador != null) {
+			carregador.shutdownNow();
+			carregador = null;
+		}
+	}
+
+	/**
+	 * Registra um ouvinte de alertas.
+	 *
+	 * @param ouvinte O ouvinte que recebe cada alerta.
+	 */
+	public static void assinar(Consumer<Map<String, Object>> ouvinte) {
+		ouvintes.add(ouvinte);
+	}
+
+	/**
+	 * Remove um ouvinte de alertas.
+	 *
+	 * @param ouvinte O ouvinte registrado com {@link #assinar(Consumer)}.
+	 */
+	public static void cancelar(Consumer<Map<String, Object>> ouvinte) {
+		ouvintes.remove(ouvinte);
+	}
+
+	/**
+	 * Define o nível de reposição de um produto cadastrado ou atualizado e reavalia seu estoque.
+	 *
+	 * @param id_produto      O ID do produto.
+	 * @param nivel_reposicao O nível de reposição, ou 0 para desativar o alerta.
+	 * @param qtd_produto     A quantidade em estoque do produto.
+	 */
+	public static void definirNivel(int id_produto, int nivel_reposicao, int qtd_produto) {
+		if (nivel_reposicao > 0) {
+			niveis.put(id_produto, nivel_reposicao);
+		} else {
+			niveis.remove(id_produto);
+		}
+		avaliar(id_produto, qtd_produto);
+	}
+
+	/**
+	 * Esquece um produto deletado, sem emitir alerta.
+	 *
+	 * @param id_produto O ID do produto.
+	 */
+	public static void remover(int id_produto) {
+		niveis.remove(id_produto);
+		abaixo.remove(id_produto);
+	}
+
+	/**
+	 * Reavalia o estoque de um produto após uma gravação, emitindo um alerta se ele cruzou o nível de reposição.
+	 *
+	 * @param id_produto  O ID do produto.
+	 * @param qtd_produto A nova quantidade em estoque do produto.
+	 */
+	public static void avaliar(int id_produto, int qtd_produto) {
+		avaliacoes.incrementAndGet();
+		Integer nivel = niveis.get(id_produto);
+
+		if (nivel != null && qtd_produto <= nivel) {
+			if (abaixo.put(id_produto, qtd_produto) == null) {
+				emitir(ABAIXO, id_produto, qtd_produto, nivel);
+			}
+		} else if (abaixo.remove(id_produto) != null) {
+			emitir(NORMALIZADO, id_produto, qtd_produto, nivel != null ? nivel : 0);
+		}
+	}
+
+	/**
+	 * Retorna um alerta "estoque-baixo" para cada produto que está no nível de reposição ou abaixo dele, com a última
+	 * quantidade avaliada.
+	 *
+	 * @return Os alertas dos produtos abaixo do nível.
+	 */
+	public static ArrayList<Map<String, Object>> listarAbaixo() {
+		ArrayList<Map<String, Object>> produtos = new ArrayList<>();
+		abaixo.forEach((id_produto, qtd_produto) -> produtos
+				.add(alerta(ABAIXO, id_produto, qtd_produto, niveis.getOrDefault(id_produto, 0))));
+		return produtos;
+	}
+
+	/**
+	 * Retorna a quantidade de produtos com nível de reposição definido.
+	 *
+	 * @return A quantidade de produtos monitorados.
+	 */
+	public static int getProdutosMonitorados() {
+		return niveis.size();
+	}
+
+	/**
+	 * Retorna a quantidade de produtos no nível de reposição ou abaixo dele.
+	 *
+	 * @return A quantidade de produtos abaixo do nível.
+	 */
+	public static int getProdutosAbaixo() {
+		return abaixo.size();
+	}
+
+	/**
+	 * Retorna a quantidade de reavaliações de estoque.
+	 *
+	 * @return A quantidade de reavaliações desde o início da aplicação.
+	 */
+	public static long getAvaliacoes() {
+		return avaliacoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de alertas emitidos.
+	 *
+	 * @return A quantidade de alertas desde o início da aplicação.
+	 */
+	public static long getAlertas() {
+		return alertas.get();
+	}
+
+	private static void carregar() {
+		// Os níveis já definidos pelo ProdutoService durante a carga prevalecem sobre os lidos do banco
+		boolean carregados = ProdutoDao.percorrerNiveisReposicao((id_produto, qtd_produto, nivel_reposicao) -> {
+			if (niveis.putIfAbsent(id_produto, nivel_reposicao) == null && qtd_produto <= nivel_reposicao) {
+				abaixo.putIfAbsent(id_produto, qtd_produto);
+			}
+		});
+
+		if (carregados) {
+			encerrar();
+		}
+	}
+
+	private static void emitir(String tipo, int id_produto, int qtd_produto, int nivel_reposicao) {
+		alertas.incrementAndGet();
+		Map<String, Object> alerta = alerta(tipo, id_produto, qtd_produto, nivel_reposicao);
+
+		for (Consumer<Map<String, Object>> ouvinte : ouvintes) {
+			try {
+				ouvinte.accept(alerta);
+			} catch (RuntimeException e) {
+				System.out.println("Não foi possível entregar o alerta de estoque: " + e.getMessage());
+			}
+		}
+	}
+
+	private static Map<String, Object> alerta(String tipo, int id_produto, int qtd_produto, int nivel_reposicao) {
+		Map<String, Object> alerta = new LinkedHashMap<>();
+		alerta.put("tipo", tipo);
+		alerta.put("id_produto", id_produto);
+		alerta.put("qtd_produto", qtd_produto);
+		alerta.put("nivel_reposicao", nivel_reposicao);
+		return alerta;
+	}
+}
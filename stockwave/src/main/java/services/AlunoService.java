@@ -79,9 +79,7 @@ public class AlunoService {
 	 * @return o Aluno atualizado, ou null se o Aluno não existir ou não pertencer ao usuário especificado
 	 */
 	public static Aluno atualizarAluno(int id_usuario, Aluno aluno) {
-		Aluno aluno_atualizar = AlunoService.exibirAlunoPorId(id_usuario);
-
-		if (aluno_atualizar == null || aluno_atualizar.getId_usuario() != aluno.getId_usuario()) {
+		if (id_usuario != aluno.getId_usuario()) {
 			return null;
 		} else {
 			 Aluno aluno_novo = AlunoDao.atualizarAluno(aluno);
@@ -107,11 +105,7 @@ public class AlunoService {
 	 * @return true se o Aluno foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarAluno(int id_usuario) {
-		if (validarIdAluno(id_usuario)) {
-			return AlunoDao.deletarAluno(id_usuario);
-		} else {
-			return false;
-		}
+		return AlunoDao.deletarAluno(id_usuario);
 	}
 
 	/**
@@ -78,9 +78,7 @@ public class Aluno_CertificadoService {
 	 * @return o Aluno_Certificado atualizado, ou null se o Aluno_Certificado não existir ou não pertencer ao aluno especificado
 	 */
 	public static Aluno_Certificado atualizarAluno_Certificado(int id_usuario, int id_certificado, Aluno_Certificado modulo_Aula) {
-		Aluno_Certificado modulo_Aula_atualizar = Aluno_CertificadoService.exibirAluno_CertificadoPorId(id_usuario, id_certificado);
-
-		if (modulo_Aula_atualizar == null || modulo_Aula_atualizar.getAluno().getId_usuario() != modulo_Aula.getAluno().getId_usuario()) {
+		if (id_usuario != modulo_Aula.getAluno().getId_usuario()) {
 			return null;
 		} else {
 			Aluno_Certificado modulo_Aula_novo = Aluno_CertificadoDao.atualizarAluno_Certificado(modulo_Aula, id_certificado);
@@ -107,10 +105,6 @@ public class Aluno_CertificadoService {
 	 * @return true se o Aluno_Certificado foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarAluno_Certificado(int id_usuario, int id_certificado) {
-		if (validarIdAluno_Certificado(id_usuario)) {
-			return Aluno_CertificadoDao.deletarAluno_Certificado(id_usuario, id_certificado);
-		} else {
-			return false;
-		}
+		return Aluno_CertificadoDao.deletarAluno_Certificado(id_usuario, id_certificado);
 	}
 }
\ No newline at end of file
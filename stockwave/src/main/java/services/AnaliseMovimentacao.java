@@ -0,0 +1,338 @@
+package services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import connection.ConnectionFactory;
+import dao.MovimentacaoDao;
+
+/**
+ * Motor de análise em memória do histórico de movimentações, em formato colunar.
+ *
+ * Em vez de objetos Movimentacao, cada coluna é um vetor primitivo: int[] produto, int[] usuario, int[] quantidade
+ * e long[] dia (dias desde 1970-01-01). As consultas de agrupamento, soma e top-N percorrem esses vetores em
+ * paralelo, dividindo as linhas em partes agregadas separadamente e combinadas no final.
+ *
+ * Atualização:
+ * - a cada "analytics.atualizacao-ms" (padrão 5000) são lidas as movimentações com ID maior que o último carregado,
+ *   menos uma margem de "analytics.margem-ids" (padrão 10000) para alcançar transações confirmadas fora de ordem;
+ *   os IDs já carregados são ignorados;
+ * - atualizações e exclusões de movimentações chamam {@link #invalidar()}, e a próxima atualização recarrega
+ *   todo o histórico.
+ *
+ * As consultas leem um {@link Instantaneo} imutável: as novas linhas são gravadas além do tamanho publicado e só
+ * ficam visíveis quando um novo instantâneo é publicado.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.MovimentacaoDao#percorrerColunasMovimentacoes(int, MovimentacaoDao.LeitorMovimentacao)
+ * @see controller.AnaliseResource
+ *
+ * @author Stockwave
+ */
+public final class AnaliseMovimentacao {
+
+	/**
+	 * Dimensões de agrupamento.
+	 */
+	public enum Dimensao {
+		/** Agrupa por produto_movimentacao. */
+		PRODUTO,
+		/** Agrupa por usuario_movimentacao. */
+		USUARIO,
+		/** Agrupa por dia da movimentação. */
+		DIA,
+		/** Agrupa por dia da semana (MONDAY a SUNDAY). */
+		DIA_SEMANA
+	}
+
+	/**
+	 * Métricas de ordenação dos grupos.
+	 */
+	public enum Metrica {
+		/** Soma das quantidades, com as saídas do livro-razão negativas. */
+		SOMA,
+		/** Soma dos valores absolutos das quantidades. */
+		VOLUME,
+		/** Quantidade de movimentações. */
+		CONTAGEM
+	}
+
+	/**
+	 * Colunas e quantidade de linhas visíveis para as consultas.
+	 */
+	private static final class Instantaneo {
+		private final int[] produto;
+		private final int[] usuario;
+		private final int[] quantidade;
+		private final long[] dia;
+		private final int linhas;
+		private final long versao;
+
+		private Instantaneo(int[] produto, int[] usuario, int[] quantidade, long[] dia, int linhas, long versao) {
+			this.produto = produto;
+			this.usuario = usuario;
+			this.quantidade = quantidade;
+			this.dia = dia;
+			this.linhas = linhas;
+			this.versao = versao;
+		}
+	}
+
+	private static final int LINHAS_POR_PARTE = 65536;
+
+	private static volatile Instantaneo instantaneo = new Instantaneo(new int[0], new int[0], new int[0], new long[0], 0, 0);
+	private static volatile boolean invalidado = true;
+	private static ScheduledExecutorService executor;
+
+	private static final AtomicLong atualizacoes = new AtomicLong();
+	private static final AtomicLong recargas = new AtomicLong();
+
+	// Estado de carga, acessado apenas pela thread de atualização
+	private static int[] produto = new int[0];
+	private static int[] usuario = new int[0];
+	private static int[] quantidade = new int[0];
+	private static long[] dia = new long[0];
+	private static int linhas;
+	private static int ultimoId;
+	private static BitSet carregados = new BitSet();
+
+	private AnaliseMovimentacao() {
+		super();
+	}
+
+	/**
+	 * Agenda a carga inicial e as atualizações incrementais.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (executor != null) {
+			return;
+		}
+
+		long intervalo = ConnectionFactory.getInstance().getPropriedadeInt("analytics.atualizacao-ms", 5000);
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-analytics");
+			t.setDaemon(true);
+			return t;
+		});
+		executor.scheduleWithFixedDelay(AnaliseMovimentacao::atualizar, 0, intervalo, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Encerra as atualizações agendadas.
+	 */
+	public static synchronized void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Solicita a recarga completa do histórico na próxima atualização, após a alteração ou exclusão de
+	 * movimentações já carregadas.
+	 */
+	public static void invalidar() {
+		invalidado = true;
+	}
+
+	/**
+	 * Agrupa as movimentações e retorna os maiores grupos pela métrica escolhida.
+	 *
+	 * @param dimensao   A dimensão de agrupamento.
+	 * @param metrica    A métrica usada para ordenar os grupos (decrescente).
+	 * @param id_produto Filtra por produto, ou null para todos.
+	 * @param id_usuario Filtra por usuário, ou null para todos.
+	 * @param de         A data inicial (inclusive), ou null.
+	 * @param ate        A data final (inclusive), ou null.
+	 * @param top        A quantidade máxima de grupos retornados; 0 para todos.
+	 * @return Os grupos, cada um com chave, soma, volume e contagem.
+	 */
+	public static ArrayList<Map<String, Object>> agrupar(Dimensao dimensao, Metrica metrica, Integer id_produto,
+			Integer id_usuario, LocalDate de, LocalDate ate, int top) {
+		AgregadoInt total = agregar(dimensao, id_produto, id_usuario, de, ate);
+		int[] ordem = total.ordenar(metrica == Metrica.SOMA ? 0 : metrica == Metrica.VOLUME ? 1 : 2, top);
+		ArrayList<Map<String, Object>> grupos = new ArrayList<>(ordem.length);
+
+		for (int posicao : ordem) {
+			Map<String, Object> grupo = new LinkedHashMap<>();
+			int chave = total.chave(posicao);
+			if (dimensao == Dimensao.DIA) {
+				grupo.put("chave", LocalDate.ofEpochDay(chave).toString());
+			} else if (dimensao == Dimensao.DIA_SEMANA) {
+				grupo.put("chave", DayOfWeek.of(chave).toString());
+			} else {
+				grupo.put("chave", chave);
+			}
+			grupo.put("soma", total.soma(posicao));
+			grupo.put("volume", total.volume(posicao));
+			grupo.put("contagem", total.contagem(posicao));
+			grupos.add(grupo);
+		}
+
+		return grupos;
+	}
+
+	/**
+	 * Agrupa as movimentações do instantâneo atual em uma varredura paralela.
+	 *
+	 * @param dimensao   A dimensão de agrupamento.
+	 * @param id_produto Filtra por produto, ou null para todos.
+	 * @param id_usuario Filtra por usuário, ou null para todos.
+	 * @param de         A data inicial (inclusive), ou null.
+	 * @param ate        A data final (inclusive), ou null.
+	 * @return Os grupos agregados.
+	 */
+	static AgregadoInt agregar(Dimensao dimensao, Integer id_produto, Integer id_usuario, LocalDate de,
+			LocalDate ate) {
+		Instantaneo dados = instantaneo;
+		int partes = Math.max(1, Math.min((dados.linhas + LINHAS_POR_PARTE - 1) / LINHAS_POR_PARTE,
+				ForkJoinPool.getCommonPoolParallelism() * 4));
+		long diaDe = de == null ? Long.MIN_VALUE : de.toEpochDay();
+		long diaAte = ate == null ? Long.MAX_VALUE : ate.toEpochDay();
+		int produtoFiltro = id_produto == null ? 0 : id_produto;
+		int usuarioFiltro = id_usuario == null ? 0 : id_usuario;
+
+		return IntStream.range(0, partes).parallel().mapToObj(parte -> {
+			int inicio = (int) ((long) dados.linhas * parte / partes);
+			int fim = (int) ((long) dados.linhas * (parte + 1) / partes);
+			AgregadoInt agregado = new AgregadoInt();
+
+			for (int i = inicio; i < fim; i++) {
+				long d = dados.dia[i];
+				if (d < diaDe || d > diaAte || (produtoFiltro != 0 && dados.produto[i] != produtoFiltro)
+						|| (usuarioFiltro != 0 && dados.usuario[i] != usuarioFiltro)) {
+					continue;
+				}
+
+				int chave;
+				switch (dimensao) {
+				case PRODUTO:
+					chave = dados.produto[i];
+					break;
+				case USUARIO:
+					chave = dados.usuario[i];
+					break;
+				case DIA:
+					chave = (int) d;
+					break;
+				default:
+					chave = (int) Math.floorMod(d + 3, 7L) + 1;
+				}
+				agregado.somar(chave, dados.quantidade[i]);
+			}
+			return agregado;
+		}).reduce(AgregadoInt::combinar).orElseGet(AgregadoInt::new);
+	}
+
+	/**
+	 * Retorna a versão do instantâneo atual, incrementada sempre que novas linhas ficam visíveis ou o histórico
+	 * é recarregado.
+	 *
+	 * @return A versão do instantâneo.
+	 */
+	static long versao() {
+		return instantaneo.versao;
+	}
+
+	/**
+	 * Retorna a quantidade de movimentações carregadas.
+	 *
+	 * @return A quantidade de linhas visíveis para as consultas.
+	 */
+	public static int getLinhas() {
+		return instantaneo.linhas;
+	}
+
+	/**
+	 * Retorna a quantidade de atualizações incrementais concluídas.
+	 *
+	 * @return A quantidade de atualizações desde o início da aplicação.
+	 */
+	public static long getAtualizacoes() {
+		return atualizacoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de recargas completas do histórico.
+	 *
+	 * @return A quantidade de recargas desde o início da aplicação.
+	 */
+	public static long getRecargas() {
+		return recargas.get();
+	}
+
+	private static void atualizar() {
+		try {
+			boolean recarregar = invalidado;
+			if (recarregar) {
+				invalidado = false;
+				produto = new int[1024];
+				usuario = new int[1024];
+				quantidade = new int[1024];
+				dia = new long[1024];
+				linhas = 0;
+				ultimoId = 0;
+				carregados = new BitSet();
+			}
+
+			int margem = ConnectionFactory.getInstance().getPropriedadeInt("analytics.margem-ids", 10000);
+			boolean lidas = MovimentacaoDao.percorrerColunasMovimentacoes(Math.max(0, ultimoId - margem),
+					AnaliseMovimentacao::adicionar);
+
+			if (!lidas) {
+				invalidado = invalidado || recarregar;
+				return;
+			}
+
+			Instantaneo atual = instantaneo;
+			if (recarregar || linhas != atual.linhas) {
+				instantaneo = new Instantaneo(produto, usuario, quantidade, dia, linhas, atual.versao + 1);
+			}
+			atualizacoes.incrementAndGet();
+			if (recarregar) {
+				recargas.incrementAndGet();
+			}
+
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível atualizar a análise de movimentações: " + e.getMessage());
+		}
+	}
+
+	private static void adicionar(int id_movimentacao, int id_produto, int id_usuario, int qtd, long d) {
+		if (carregados.get(id_movimentacao)) {
+			return;
+		}
+
+		if (linhas == produto.length) {
+			// Vetores novos: o instantâneo publicado continua lendo os vetores anteriores
+			int capacidade = produto.length + (produto.length >> 1) + 16;
+			produto = Arrays.copyOf(produto, capacidade);
+			usuario = Arrays.copyOf(usuario, capacidade);
+			quantidade = Arrays.copyOf(quantidade, capacidade);
+			dia = Arrays.copyOf(dia, capacidade);
+		}
+
+		produto[linhas] = id_produto;
+		usuario[linhas] = id_usuario;
+		quantidade[linhas] = qtd;
+		dia[linhas] = d;
+		linhas++;
+		carregados.set(id_movimentacao);
+		ultimoId = Math.max(ultimoId, id_movimentacao);
+	}
+}
@@ -1,6 +1,7 @@
 package services;
 
 import dao.AulaDao;
+import dao.VersaoTabela;
 import model.Aula;
 
 /**
@@ -46,6 +47,8 @@ import model.Aula;
  */
 public class AulaService {
 
+	private static final LeituraUnica<Aula> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se uma Aula com o ID especificado existe.
 	 *
@@ -59,11 +62,13 @@ public class AulaService {
 	/**
 	 * Busca e retorna uma Aula pelo ID.
 	 *
+	 * Leituras simultâneas da mesma Aula são agrupadas em uma única consulta ({@link LeituraUnica}).
+	 *
 	 * @param id_aula o ID da Aula
 	 * @return a Aula correspondente ao ID, ou null se não encontrada
 	 */
 	public static Aula exibirAulaPorId(int id_aula) {
-		return AulaDao.buscarAulaPorId(id_aula);
+		return leituras.ler(() -> AulaDao.buscarAulaPorId(id_aula), id_aula, VersaoTabela.AULA);
 	}
 
 	/**
@@ -74,9 +79,7 @@ public class AulaService {
 	 * @return a Aula atualizada, ou null se a Aula não existir ou não pertencer ao ID especificado
 	 */
 	public static Aula atualizarAula(int id_aula, Aula aula) {
-		Aula aula_atualizar = AulaService.exibirAulaPorId(id_aula);
-
-		if (aula_atualizar == null || aula_atualizar.getId_aula() != aula.getId_aula()) {
+		if (id_aula != aula.getId_aula()) {
 			return null;
 		} else {
 			Aula aula_nova = AulaDao.atualizarAula(aula);
@@ -102,10 +105,6 @@ public class AulaService {
 	 * @return true se a Aula foi excluída com sucesso, caso contrário, false
 	 */
 	public static boolean deletarAula(int id_aula) {
-		if (validarIdAula(id_aula)) {
-			return AulaDao.deletarAula(id_aula);
-		} else {
-			return false;
-		}
+		return AulaDao.deletarAula(id_aula);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * Buffer limitado de eventos de estoque de um assinante do {@link FluxoEstoque}.
+ *
+ * Os eventos entram em uma fila de até "capacidade" posições. Quando a fila está cheia (o assinante ficou para
+ * trás), os eventos seguintes passam a ser combinados por produto, mantendo apenas o saldo mais recente de cada um,
+ * até que o assinante retire o que está pendente. Se a quantidade de produtos pendentes ultrapassar o limite, o
+ * buffer é encerrado e o assinante deve ser desconectado.
+ *
+ * Quem publica nunca espera: {@link #oferecer(EventoEstoque)} apenas guarda o evento e acorda o assinante, que
+ * retira os eventos em lotes com {@link #retirar(long)}.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.FluxoEstoque
+ * @see services.EventoEstoque
+ *
+ * @author Stockwave
+ */
+public final class BufferEstoque {
+
+	private final int capacidade;
+	private final int maximoPendentes;
+	private final ArrayDeque<EventoEstoque> fila;
+	private LinkedHashMap<Integer, EventoEstoque> pendentes = new LinkedHashMap<>();
+	private boolean encerrado;
+	private long coalescidos;
+
+	/**
+	 * Construtor da classe BufferEstoque.
+	 *
+	 * @param capacidade      A quantidade máxima de eventos na fila antes de combinar por produto.
+	 * @param maximoPendentes A quantidade máxima de produtos com eventos combinados pendentes.
+	 */
+	BufferEstoque(int capacidade, int maximoPendentes) {
+		this.capacidade = capacidade;
+		this.maximoPendentes = maximoPendentes;
+		this.fila = new ArrayDeque<>(capacidade);
+	}
+
+	/**
+	 * Guarda um evento, sem bloquear.
+	 *
+	 * @param evento O evento.
+	 * @return false se o buffer foi encerrado, por ter estourado o limite de produtos pendentes ou pelo assinante.
+	 */
+	synchronized boolean oferecer(EventoEstoque evento) {
+		if (encerrado) {
+			return false;
+		}
+
+		// Depois que a fila enche, tudo vai para os pendentes até a próxima retirada, preservando a ordem por produto
+		if (pendentes.isEmpty() && fila.size() < capacidade) {
+			fila.addLast(evento);
+		} else {
+			EventoEstoque anterior = pendentes.get(evento.getId_produto());
+			if (anterior != null) {
+				pendentes.put(evento.getId_produto(), anterior.combinar(evento));
+				coalescidos++;
+			} else if (pendentes.size() < maximoPendentes) {
+				pendentes.put(evento.getId_produto(), evento);
+			} else {
+				encerrado = true;
+			}
+		}
+
+		notifyAll();
+		return !encerrado;
+	}
+
+	/**
+	 * Retira todos os eventos disponíveis, esperando até que haja algum.
+	 *
+	 * @param esperaMs O tempo máximo de espera, em milissegundos.
+	 * @return Os eventos em ordem de chegada, seguidos dos eventos combinados; vazio se o tempo de espera acabou ou
+	 *         o buffer foi encerrado.
+	 * @throws InterruptedException se a thread for interrompida durante a espera.
+	 */
+	public synchronized ArrayList<EventoEstoque> retirar(long esperaMs) throws InterruptedException {
+		long limite = System.currentTimeMillis() + esperaMs;
+
+		while (fila.isEmpty() && pendentes.isEmpty() && !encerrado) {
+			long restante = limite - System.currentTimeMillis();
+			if (restante <= 0) {
+				break;
+			}
+			wait(restante);
+		}
+
+		ArrayList<EventoEstoque> lote = new ArrayList<>(fila.size() + pendentes.size());
+		if (encerrado) {
+			return lote;
+		}
+
+		lote.addAll(fila);
+		fila.clear();
+		if (!pendentes.isEmpty()) {
+			lote.addAll(pendentes.values());
+			pendentes = new LinkedHashMap<>();
+		}
+		return lote;
+	}
+
+	/**
+	 * Encerra o buffer, descartando os eventos pendentes e acordando o assinante.
+	 */
+	public synchronized void encerrar() {
+		encerrado = true;
+		fila.clear();
+		pendentes = new LinkedHashMap<>();
+		notifyAll();
+	}
+
+	/**
+	 * Verifica se o buffer foi encerrado.
+	 *
+	 * @return true se o buffer não aceita mais eventos.
+	 */
+	public synchronized boolean isEncerrado() {
+		return encerrado;
+	}
+
+	/**
+	 * Retorna a quantidade de eventos combinados a outro do mesmo produto.
+	 *
+	 * @return A quantidade de eventos combinados neste buffer.
+	 */
+	synchronized long getCoalescidos() {
+		return coalescidos;
+	}
+}
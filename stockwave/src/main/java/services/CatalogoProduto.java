@@ -0,0 +1,551 @@
+package services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import connection.ConnectionFactory;
+import dao.MovimentacaoDao;
+import dao.Pagina;
+import dao.ProdutoDao;
+import model.Produto;
+
+/**
+ * Catálogo de produtos em memória, com instantâneo (snapshot) em disco para reinícios rápidos.
+ *
+ * O catálogo atende GET /produto e GET /produto/{id} sem consultar o banco de dados. Ele é mantido pelas escritas
+ * do ProdutoService e do livro-razão de estoque (após o commit) e guarda o maior id_movimentacao já considerado.
+ *
+ * Ciclo de vida:
+ * - ao iniciar, o instantâneo do arquivo "catalogo.snapshot.arquivo" é lido por mapeamento em memória; em seguida,
+ *   os produtos com movimentações posteriores ao instantâneo (menos uma margem de "catalogo.margem-ids", padrão
+ *   1000, para transações confirmadas fora de ordem) são relidos em uma única consulta, e o catálogo passa a
+ *   atender as leituras; sem instantâneo válido, a tabela PRODUTO é lida por completo;
+ * - a cada "catalogo.snapshot-ms" (padrão 60000) o instantâneo é regravado, se o catálogo mudou;
+ * - a cada "catalogo.recarga-ms" (padrão 300000) a tabela PRODUTO é relida por completo, corrigindo alterações
+ *   feitas por outros nós ou fora da aplicação; as escritas feitas durante a leitura prevalecem.
+ *
+ * Formato do instantâneo: [int marca][int versão][int último id_movimentacao][int produtos], seguido de cada
+ * produto como [int id][double valor][int qtd][int nível][nome e imagem em UTF-8, precedidos do tamanho], e de
+ * um CRC32 de todo o conteúdo anterior. O arquivo é gravado em um temporário e movido sobre o anterior.
+ *
+ * Os produtos são copiados na entrada e na saída, de modo que alterações nos objetos retornados não afetam o
+ * catálogo.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ProdutoDao#percorrerProdutos(int, ProdutoDao.LeitorProduto)
+ * @see services.ProdutoService
+ * @see controller.ProdutoResource
+ *
+ * @author Stockwave
+ */
+public final class CatalogoProduto {
+
+	/**
+	 * Produtos indexados por ID e por nome_produto, id_produto (a ordem da listagem).
+	 */
+	private static final class Indice {
+		private final ConcurrentHashMap<Integer, Produto> porId = new ConcurrentHashMap<>();
+		private final ConcurrentSkipListSet<Produto> porNome = new ConcurrentSkipListSet<>(ORDEM);
+		private final ConcurrentHashMap<Integer, Integer> movimentacaoPorId = new ConcurrentHashMap<>();
+		private volatile int ultimoIdMovimentacao;
+
+		private void definir(Produto produto) {
+			Produto anterior = porId.put(produto.getId_produto(), produto);
+			if (anterior != null) {
+				porNome.remove(anterior);
+			}
+			porNome.add(produto);
+		}
+
+		private void remover(int id_produto) {
+			movimentacaoPorId.remove(id_produto);
+			Produto anterior = porId.remove(id_produto);
+			if (anterior != null) {
+				porNome.remove(anterior);
+			}
+		}
+	}
+
+	private static final Comparator<Produto> ORDEM = Comparator
+			.comparing(Produto::getNome_produto, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparingInt(Produto::getId_produto);
+
+	private static final int MARCA = 0x53574354;
+	private static final int VERSAO_FORMATO = 1;
+	private static final long NOVA_TENTATIVA_MS = 5000;
+
+	private static final Object trava = new Object();
+	private static volatile Indice indice = new Indice();
+	private static volatile boolean carregado;
+	private static ArrayList<Consumer<Indice>> escritasNaRecarga;
+	private static ScheduledExecutorService executor;
+	private static long versaoGravada = -1;
+
+	private static final AtomicLong versao = new AtomicLong();
+	private static final AtomicLong acertos = new AtomicLong();
+	private static final AtomicLong recargas = new AtomicLong();
+	private static final AtomicLong snapshots = new AtomicLong();
+	private static volatile long inicioMs;
+	private static volatile long prontoEmMs = -1;
+
+	private CatalogoProduto() {
+		super();
+	}
+
+	/**
+	 * Agenda a carga do catálogo, a gravação do instantâneo e a recarga periódica.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (executor != null) {
+			return;
+		}
+
+		ConnectionFactory configuracao = ConnectionFactory.getInstance();
+		long intervaloSnapshot = configuracao.getPropriedadeInt("catalogo.snapshot-ms", 60000);
+		long intervaloRecarga = configuracao.getPropriedadeInt("catalogo.recarga-ms", 300000);
+
+		inicioMs = System.currentTimeMillis();
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-catalogo");
+			t.setDaemon(true);
+			return t;
+		});
+		executor.execute(CatalogoProduto::carregar);
+		executor.scheduleWithFixedDelay(CatalogoProduto::gravarSnapshot, intervaloSnapshot, intervaloSnapshot,
+				TimeUnit.MILLISECONDS);
+		executor.scheduleWithFixedDelay(() -> {
+			if (carregado) {
+				recarregar();
+			}
+		}, intervaloRecarga, intervaloRecarga, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe as tarefas agendadas e grava o instantâneo final.
+	 */
+	public static synchronized void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executor = null;
+			gravarSnapshot();
+		}
+	}
+
+	/**
+	 * Busca um produto no catálogo.
+	 *
+	 * @param id_produto O ID do produto.
+	 * @return Uma cópia do produto, ou null se o catálogo não foi carregado ou não contém o produto.
+	 */
+	public static Produto buscar(int id_produto) {
+		if (!carregado) {
+			return null;
+		}
+
+		Produto produto = indice.porId.get(id_produto);
+		if (produto == null) {
+			return null;
+		}
+		acertos.incrementAndGet();
+		return copiar(produto);
+	}
+
+	/**
+	 * Lista uma página do catálogo, na mesma ordem e com os mesmos cursores de
+	 * {@link ProdutoDao#listarProdutos(int, String)}.
+	 *
+	 * @param limite A quantidade máxima de produtos; 0 para todos.
+	 * @param apos   O cursor da página anterior, ou null para a primeira página.
+	 * @return A página, ou null se o catálogo não foi carregado.
+	 * @throws IllegalArgumentException se o cursor for inválido.
+	 */
+	public static Pagina<Produto> listar(int limite, String apos) {
+		Object[] cursor = Pagina.lerCursor(apos, 2);
+		Indice atual = indice;
+		if (!carregado) {
+			return null;
+		}
+
+		Iterator<Produto> produtos;
+		if (cursor == null) {
+			produtos = atual.porNome.iterator();
+		} else {
+			Produto chave = new Produto();
+			chave.setNome_produto(String.valueOf(cursor[0]));
+			chave.setId_produto(cursor[1] instanceof Integer ? (Integer) cursor[1] : 0);
+			produtos = atual.porNome.tailSet(chave, false).iterator();
+		}
+
+		ArrayList<Produto> itens = new ArrayList<>();
+		while (produtos.hasNext() && (limite <= 0 || itens.size() <= limite)) {
+			itens.add(copiar(produtos.next()));
+		}
+		acertos.incrementAndGet();
+		return Pagina.criar(itens, limite,
+				produto -> new Object[] { produto.getNome_produto(), produto.getId_produto() });
+	}
+
+	/**
+	 * Inclui ou substitui um produto gravado no banco de dados.
+	 *
+	 * @param produto O produto confirmado.
+	 */
+	public static void definir(Produto produto) {
+		Produto copia = copiar(produto);
+		escrever(catalogo -> catalogo.definir(copia));
+	}
+
+	/**
+	 * Atualiza o estoque de um produto após uma movimentação do livro-razão.
+	 *
+	 * Como as atualizações são feitas após o commit, e podem chegar fora da ordem das movimentações, um saldo de
+	 * id_movimentacao menor que o último aplicado ao produto é ignorado.
+	 *
+	 * @param id_produto      O ID do produto.
+	 * @param qtd_produto     O novo saldo confirmado.
+	 * @param id_movimentacao O ID da movimentação que alterou o estoque.
+	 */
+	public static void definirEstoque(int id_produto, int qtd_produto, int id_movimentacao) {
+		escrever(catalogo -> {
+			Produto produto = catalogo.porId.get(id_produto);
+			Integer aplicada = catalogo.movimentacaoPorId.get(id_produto);
+			if (produto != null && (aplicada == null || aplicada <= id_movimentacao)) {
+				catalogo.movimentacaoPorId.put(id_produto, id_movimentacao);
+				Produto novo = copiar(produto);
+				novo.setQtd_produto(qtd_produto);
+				catalogo.definir(novo);
+			}
+			catalogo.ultimoIdMovimentacao = Math.max(catalogo.ultimoIdMovimentacao, id_movimentacao);
+		});
+	}
+
+	/**
+	 * Remove um produto deletado.
+	 *
+	 * @param id_produto O ID do produto.
+	 */
+	public static void remover(int id_produto) {
+		escrever(catalogo -> catalogo.remover(id_produto));
+	}
+
+	/**
+	 * Indica se o catálogo está atendendo as leituras.
+	 *
+	 * @return true se a carga inicial foi concluída.
+	 */
+	public static boolean isCarregado() {
+		return carregado;
+	}
+
+	/**
+	 * Retorna a quantidade de produtos no catálogo.
+	 *
+	 * @return A quantidade de produtos, ou 0 se o catálogo não foi carregado.
+	 */
+	public static int getProdutos() {
+		return indice.porId.size();
+	}
+
+	/**
+	 * Retorna a quantidade de leituras atendidas pelo catálogo.
+	 *
+	 * @return A quantidade de leituras desde o início da aplicação.
+	 */
+	public static long getAcertos() {
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna a quantidade de leituras completas da tabela PRODUTO.
+	 *
+	 * @return A quantidade de recargas desde o início da aplicação.
+	 */
+	public static long getRecargas() {
+		return recargas.get();
+	}
+
+	/**
+	 * Retorna a quantidade de instantâneos gravados.
+	 *
+	 * @return A quantidade de instantâneos desde o início da aplicação.
+	 */
+	public static long getSnapshots() {
+		return snapshots.get();
+	}
+
+	/**
+	 * Retorna o tempo entre o início da aplicação e o momento em que o catálogo passou a atender as leituras.
+	 *
+	 * @return O tempo em milissegundos, ou -1 se a carga ainda não foi concluída.
+	 */
+	public static long getProntoEmMs() {
+		return prontoEmMs;
+	}
+
+	/**
+	 * Carga inicial: instantâneo e movimentações posteriores, ou leitura completa. Em caso de falha, é repetida.
+	 */
+	private static void carregar() {
+		try {
+			Indice lido = lerSnapshot();
+			boolean pronto = lido != null ? alcancar(lido) : recarregar();
+
+			if (!pronto) {
+				ScheduledExecutorService atual = executor;
+				if (atual != null) {
+					atual.schedule(CatalogoProduto::carregar, NOVA_TENTATIVA_MS, TimeUnit.MILLISECONDS);
+				}
+				return;
+			}
+			prontoEmMs = System.currentTimeMillis() - inicioMs;
+
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível carregar o catálogo de produtos: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Relê os produtos movimentados após o instantâneo e publica o catálogo.
+	 */
+	private static boolean alcancar(Indice lido) {
+		int margem = ConnectionFactory.getInstance().getPropriedadeInt("catalogo.margem-ids", 1000);
+		int ultimo = MovimentacaoDao.buscarUltimoIdMovimentacao();
+		if (ultimo < 0) {
+			return false;
+		}
+
+		synchronized (trava) {
+			escritasNaRecarga = new ArrayList<>();
+		}
+
+		boolean lidos = ProdutoDao.percorrerProdutos(Math.max(0, lido.ultimoIdMovimentacao - margem), lido::definir);
+		if (lidos) {
+			lido.ultimoIdMovimentacao = Math.max(lido.ultimoIdMovimentacao, ultimo);
+		}
+		return publicar(lidos ? lido : null);
+	}
+
+	/**
+	 * Lê a tabela PRODUTO por completo e publica o catálogo.
+	 */
+	private static boolean recarregar() {
+		synchronized (trava) {
+			escritasNaRecarga = new ArrayList<>();
+		}
+
+		Indice lido = new Indice();
+		int ultimo = MovimentacaoDao.buscarUltimoIdMovimentacao();
+		boolean lidos = ultimo >= 0 && ProdutoDao.percorrerProdutos(-1, lido::definir);
+		lido.ultimoIdMovimentacao = ultimo;
+
+		if (lidos) {
+			recargas.incrementAndGet();
+		}
+		return publicar(lidos ? lido : null);
+	}
+
+	/**
+	 * Substitui o catálogo pelo lido, reaplicando sobre ele as escritas feitas durante a leitura.
+	 */
+	private static boolean publicar(Indice lido) {
+		synchronized (trava) {
+			ArrayList<Consumer<Indice>> escritas = escritasNaRecarga;
+			escritasNaRecarga = null;
+			if (lido == null) {
+				return false;
+			}
+
+			for (Consumer<Indice> escrita : escritas) {
+				escrita.accept(lido);
+			}
+			lido.ultimoIdMovimentacao = Math.max(lido.ultimoIdMovimentacao, indice.ultimoIdMovimentacao);
+
+			indice = lido;
+			carregado = true;
+			versao.incrementAndGet();
+			return true;
+		}
+	}
+
+	/**
+	 * Aplica uma escrita ao catálogo atual e a guarda para o catálogo em leitura, se houver.
+	 */
+	private static void escrever(Consumer<Indice> escrita) {
+		synchronized (trava) {
+			escrita.accept(indice);
+			if (escritasNaRecarga != null) {
+				escritasNaRecarga.add(escrita);
+			}
+			versao.incrementAndGet();
+		}
+	}
+
+	private static Path arquivo() {
+		return Paths.get(ConnectionFactory.getInstance().getPropriedade("catalogo.snapshot.arquivo",
+				"./catalogo.snapshot"));
+	}
+
+	/**
+	 * Grava o instantâneo do catálogo, se ele mudou desde a última gravação.
+	 */
+	private static void gravarSnapshot() {
+		Indice atual = indice;
+		long versaoAtual = versao.get();
+		if (!carregado || versaoAtual == versaoGravada) {
+			return;
+		}
+
+		Path destino = arquivo();
+		Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + atual.porId.size() * 96);
+			DataOutputStream saida = new DataOutputStream(bytes);
+			ArrayList<Produto> produtos = new ArrayList<>(atual.porId.values());
+
+			saida.writeInt(MARCA);
+			saida.writeInt(VERSAO_FORMATO);
+			saida.writeInt(atual.ultimoIdMovimentacao);
+			saida.writeInt(produtos.size());
+			for (Produto produto : produtos) {
+				saida.writeInt(produto.getId_produto());
+				saida.writeDouble(produto.getValor_produto());
+				saida.writeInt(produto.getQtd_produto());
+				saida.writeInt(produto.getNivel_reposicao());
+				escreverTexto(saida, produto.getNome_produto());
+				escreverTexto(saida, produto.getImagem_produto());
+			}
+			CRC32 crc = new CRC32();
+			crc.update(bytes.toByteArray());
+			saida.writeInt((int) crc.getValue());
+			saida.flush();
+
+			try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer conteudo = ByteBuffer.wrap(bytes.toByteArray());
+				while (conteudo.hasRemaining()) {
+					canal.write(conteudo);
+				}
+				canal.force(true);
+			}
+			Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			versaoGravada = versaoAtual;
+			snapshots.incrementAndGet();
+
+		} catch (IOException | RuntimeException e) {
+			System.out.println("Não foi possível gravar o instantâneo do catálogo de produtos: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Lê o instantâneo por mapeamento em memória.
+	 *
+	 * @return O catálogo lido, ou null se o arquivo não existe ou é inválido.
+	 */
+	private static Indice lerSnapshot() {
+		Path origem = arquivo();
+		if (!Files.isRegularFile(origem)) {
+			return null;
+		}
+
+		try (FileChannel canal = FileChannel.open(origem, StandardOpenOption.READ)) {
+			long tamanho = canal.size();
+			if (tamanho < 20 || tamanho > Integer.MAX_VALUE) {
+				return null;
+			}
+			MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+
+			ByteBuffer conteudo = mapa.duplicate();
+			conteudo.limit((int) tamanho - 4);
+			CRC32 crc = new CRC32();
+			crc.update(conteudo);
+			if (mapa.getInt(0) != MARCA || mapa.getInt(4) != VERSAO_FORMATO
+					|| mapa.getInt((int) tamanho - 4) != (int) crc.getValue()) {
+				System.out.println("Instantâneo do catálogo de produtos inválido: " + origem);
+				return null;
+			}
+
+			mapa.position(8);
+			Indice lido = new Indice();
+			lido.ultimoIdMovimentacao = mapa.getInt();
+			int quantidade = mapa.getInt();
+			for (int i = 0; i < quantidade; i++) {
+				Produto produto = new Produto();
+				produto.setId_produto(mapa.getInt());
+				produto.setValor_produto(mapa.getDouble());
+				produto.setQtd_produto(mapa.getInt());
+				produto.setNivel_reposicao(mapa.getInt());
+				produto.setNome_produto(lerTexto(mapa));
+				produto.setImagem_produto(lerTexto(mapa));
+				lido.definir(produto);
+			}
+			return lido;
+
+		} catch (IOException | RuntimeException e) {
+			System.out.println("Não foi possível ler o instantâneo do catálogo de produtos: " + e.getMessage());
+		}
+		return null;
+	}
+
+	private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+		if (texto == null) {
+			saida.writeInt(-1);
+			return;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		saida.writeInt(bytes.length);
+		saida.write(bytes);
+	}
+
+	private static String lerTexto(ByteBuffer origem) {
+		int tamanho = origem.getInt();
+		if (tamanho < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[tamanho];
+		origem.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static Produto copiar(Produto produto) {
+		Produto copia = new Produto();
+		copia.setId_produto(produto.getId_produto());
+		copia.setNome_produto(produto.getNome_produto());
+		copia.setValor_produto(produto.getValor_produto());
+		copia.setQtd_produto(produto.getQtd_produto());
+		copia.setImagem_produto(produto.getImagem_produto());
+		copia.setNivel_reposicao(produto.getNivel_reposicao());
+		return copia;
+	}
+}
@@ -74,9 +74,7 @@ public class CertificadoService {
 	 * @return o Certificado atualizado, ou null se o Certificado não existir ou não pertencer ao ID especificado
 	 */
 	public static Certificado atualizarCertificado(int id_certificado, Certificado certificado) {
-		Certificado certificado_atualizar = CertificadoService.exibirCertificadoPorId(id_certificado);
-
-		if (certificado_atualizar == null || certificado_atualizar.getId_certificado() != certificado.getId_certificado()) {
+		if (id_certificado != certificado.getId_certificado()) {
 			return null;
 		} else {
 			Certificado certificado_novo = CertificadoDao.atualizarCertificado(certificado);
@@ -102,10 +100,6 @@ public class CertificadoService {
 	 * @return true se o Certificado foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarCertificado(int id_certificado) {
-		if (validarIdCertificado(id_certificado)) {
-			return CertificadoDao.deletarCertificado(id_certificado);
-		} else {
-			return false;
-		}
+		return CertificadoDao.deletarCertificado(id_certificado);
 	}
 }
\ No newline at end of file
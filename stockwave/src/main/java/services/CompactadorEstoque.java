@@ -0,0 +1,93 @@
+package services;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+import dao.ProdutoDao;
+
+/**
+ * Tarefa em segundo plano que incorpora os contadores particionados de estoque (produto_estoque_slot) a
+ * produto.qtd_produto.
+ *
+ * Só é iniciada quando a propriedade "estoque.slots" é maior que 1. O intervalo entre compactações é definido pela
+ * propriedade "estoque.slots.compactacao-ms" (padrão 5000). Cada compactação é um único bloco PL/SQL em auto-commit,
+ * de modo que as travas das linhas de produto são mantidas apenas durante a própria compactação.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ProdutoDao#SLOTS_ESTOQUE
+ * @see dao.ProdutoDao#compactarSlotsEstoque()
+ *
+ * @author Stockwave
+ */
+public final class CompactadorEstoque {
+
+	private static ScheduledExecutorService executor;
+
+	private static final AtomicLong compactacoes = new AtomicLong();
+	private static final AtomicLong slotsCompactados = new AtomicLong();
+
+	private CompactadorEstoque() {
+		super();
+	}
+
+	/**
+	 * Agenda as compactações, se o modo de contadores particionados estiver ativo.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (executor != null || ProdutoDao.SLOTS_ESTOQUE <= 1) {
+			return;
+		}
+
+		long intervalo = ConnectionFactory.getInstance().getPropriedadeInt("estoque.slots.compactacao-ms", 5000);
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-estoque-compactador");
+			t.setDaemon(true);
+			return t;
+		});
+		executor.scheduleWithFixedDelay(CompactadorEstoque::compactar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Encerra as compactações agendadas.
+	 */
+	public static synchronized void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private static void compactar() {
+		int slots = ProdutoDao.compactarSlotsEstoque();
+
+		if (slots >= 0) {
+			compactacoes.incrementAndGet();
+			slotsCompactados.addAndGet(slots);
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de compactações concluídas.
+	 *
+	 * @return A quantidade de compactações desde o início da aplicação.
+	 */
+	public static long getCompactacoes() {
+		return compactacoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de slots incorporados a qtd_produto.
+	 *
+	 * @return A quantidade de slots compactados desde o início da aplicação.
+	 */
+	public static long getSlotsCompactados() {
+		return slotsCompactados.get();
+	}
+}
@@ -0,0 +1,307 @@
+package services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import connection.ConnectionFactory;
+import dao.ModuloDao;
+import dao.NivelDao;
+import dao.Repository;
+import dao.RespostaDao;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import model.Resposta;
+
+/**
+ * Registro em memória dos dados de referência: níveis, respostas e subgrupos de módulos.
+ *
+ * Essas tabelas quase nunca mudam, mas são lidas em toda abertura da tela inicial e do questionário. O registro
+ * as carrega ao iniciar a aplicação e guarda, para cada uma, uma estrutura imutável já serializada em JSON, de modo
+ * que GET /nivel, GET /resposta e GET /modulo/subgrupos (sem paginação) não consultam o banco de dados nem
+ * serializam a resposta.
+ *
+ * Atualização:
+ * - as escritas do NivelService, RespostaService e ModuloService chamam os métodos invalidar, que descartam o
+ *   conjunto após o commit e agendam uma nova carga; até o commit, as listagens continuam vendo os dados
+ *   confirmados, como veriam no banco de dados;
+ * - uma carga só é publicada se nenhuma invalidação aconteceu desde o seu início, de modo que uma leitura anterior
+ *   ao commit não substitui o conjunto descartado;
+ * - a cada "referencia.recarga-ms" (padrão 3600000) todos os conjuntos são relidos, corrigindo alterações feitas
+ *   por outros nós ou fora da aplicação.
+ *
+ * Enquanto um conjunto não está carregado, os recursos consultam o banco de dados como antes. Uma tabela vazia
+ * ou uma falha de leitura não é publicada, e a carga é repetida em 5 segundos.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see controller.NivelResource
+ * @see controller.RespostaResource
+ * @see controller.ModuloResource
+ *
+ * @author Stockwave
+ */
+public final class DadosReferencia {
+
+	/**
+	 * Um conjunto de dados de referência, com o JSON da última carga publicada.
+	 */
+	private static final class Conjunto {
+		private final String nome;
+		private final Supplier<Object> leitor;
+		private final AtomicLong versao = new AtomicLong();
+		private volatile byte[] json;
+
+		private Conjunto(String nome, Supplier<Object> leitor) {
+			this.nome = nome;
+			this.leitor = leitor;
+		}
+
+		/**
+		 * Lê a tabela e publica o JSON, se nenhuma invalidação aconteceu durante a leitura.
+		 *
+		 * @return false se a leitura falhou ou não retornou registros.
+		 */
+		private boolean carregar() {
+			long inicio = versao.get();
+			Object dados = leitor.get();
+			if (dados == null) {
+				return false;
+			}
+
+			byte[] serializado = JSONB.toJson(dados).getBytes(StandardCharsets.UTF_8);
+			synchronized (this) {
+				if (versao.get() == inicio) {
+					json = serializado;
+				}
+			}
+			return true;
+		}
+
+		private synchronized void descartar() {
+			versao.incrementAndGet();
+			json = null;
+		}
+	}
+
+	private static final long NOVA_TENTATIVA_MS = 5000;
+
+	private static final Jsonb JSONB = JsonbBuilder.create();
+
+	private static final Conjunto niveis = new Conjunto("níveis", DadosReferencia::lerNiveis);
+	private static final Conjunto respostas = new Conjunto("respostas", DadosReferencia::lerRespostas);
+	private static final Conjunto subgrupos = new Conjunto("subgrupos de módulos", DadosReferencia::lerSubgrupos);
+	private static final Conjunto[] conjuntos = { niveis, respostas, subgrupos };
+
+	private static ScheduledExecutorService executor;
+
+	private static final AtomicLong acertos = new AtomicLong();
+	private static final AtomicLong cargas = new AtomicLong();
+
+	private DadosReferencia() {
+		super();
+	}
+
+	/**
+	 * Agenda a carga dos conjuntos e a recarga periódica.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (executor != null) {
+			return;
+		}
+
+		long intervalo = ConnectionFactory.getInstance().getPropriedadeInt("referencia.recarga-ms", 3600000);
+
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-referencia");
+			t.setDaemon(true);
+			return t;
+		});
+		for (Conjunto conjunto : conjuntos) {
+			executor.execute(() -> carregar(conjunto));
+		}
+		executor.scheduleWithFixedDelay(() -> {
+			for (Conjunto conjunto : conjuntos) {
+				carregar(conjunto);
+			}
+		}, intervalo, intervalo, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe as cargas agendadas.
+	 */
+	public static synchronized void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executor = null;
+		}
+	}
+
+	/**
+	 * Retorna o JSON da listagem completa de níveis, igual ao de {@link NivelDao#listarNiveis()}.
+	 *
+	 * O array retornado é compartilhado e não deve ser alterado.
+	 *
+	 * @return O JSON em UTF-8, ou null se os níveis não estão carregados.
+	 */
+	public static byte[] getNiveisJson() {
+		return json(niveis);
+	}
+
+	/**
+	 * Retorna o JSON da listagem completa de respostas, igual ao de {@link RespostaDao#listarRespostas()}.
+	 *
+	 * O array retornado é compartilhado e não deve ser alterado.
+	 *
+	 * @return O JSON em UTF-8, ou null se as respostas não estão carregadas.
+	 */
+	public static byte[] getRespostasJson() {
+		return json(respostas);
+	}
+
+	/**
+	 * Retorna o JSON dos subgrupos de módulos, igual ao de {@link ModuloDao#listarModulosSubgrupos()}.
+	 *
+	 * O array retornado é compartilhado e não deve ser alterado.
+	 *
+	 * @return O JSON em UTF-8, ou null se os subgrupos não estão carregados.
+	 */
+	public static byte[] getSubgruposJson() {
+		return json(subgrupos);
+	}
+
+	/**
+	 * Descarta os níveis após o commit de uma escrita na tabela NIVEL e agenda uma nova carga.
+	 */
+	public static void invalidarNiveis() {
+		invalidar(niveis);
+	}
+
+	/**
+	 * Descarta as respostas após o commit de uma escrita na tabela RESPOSTA e agenda uma nova carga.
+	 */
+	public static void invalidarRespostas() {
+		invalidar(respostas);
+	}
+
+	/**
+	 * Descarta os subgrupos após o commit de uma escrita na tabela MODULO e agenda uma nova carga.
+	 */
+	public static void invalidarSubgrupos() {
+		invalidar(subgrupos);
+	}
+
+	/**
+	 * Retorna a quantidade de conjuntos carregados.
+	 *
+	 * @return A quantidade de conjuntos, de 0 a 3.
+	 */
+	public static int getCarregados() {
+		int carregados = 0;
+		for (Conjunto conjunto : conjuntos) {
+			if (conjunto.json != null) {
+				carregados++;
+			}
+		}
+		return carregados;
+	}
+
+	/**
+	 * Retorna a quantidade de listagens atendidas sem consultar o banco de dados.
+	 *
+	 * @return A quantidade de acertos desde o início da aplicação.
+	 */
+	public static long getAcertos() {
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna a quantidade de cargas de conjuntos concluídas.
+	 *
+	 * @return A quantidade de cargas desde o início da aplicação.
+	 */
+	public static long getCargas() {
+		return cargas.get();
+	}
+
+	private static byte[] json(Conjunto conjunto) {
+		byte[] json = conjunto.json;
+		if (json != null) {
+			acertos.incrementAndGet();
+		}
+		return json;
+	}
+
+	private static void invalidar(Conjunto conjunto) {
+		Repository.aposConfirmar(() -> {
+			conjunto.descartar();
+			ScheduledExecutorService atual = executor;
+			if (atual != null) {
+				atual.execute(() -> carregar(conjunto));
+			}
+		});
+	}
+
+	/**
+	 * Carrega um conjunto; em caso de falha, a carga é repetida.
+	 */
+	private static void carregar(Conjunto conjunto) {
+		try {
+			if (conjunto.carregar()) {
+				cargas.incrementAndGet();
+				return;
+			}
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível carregar os " + conjunto.nome + ": " + e.getMessage());
+		}
+
+		ScheduledExecutorService atual = executor;
+		if (atual != null && !atual.isShutdown()) {
+			atual.schedule(() -> carregar(conjunto), NOVA_TENTATIVA_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static Object lerNiveis() {
+		ArrayList<String> lidos = new NivelDao().listarNiveis();
+		return lidos.isEmpty() ? null : Collections.unmodifiableList(lidos);
+	}
+
+	private static Object lerRespostas() {
+		ArrayList<Resposta> lidas = new RespostaDao().listarRespostas();
+		return lidas.isEmpty() ? null : Collections.unmodifiableList(lidas);
+	}
+
+	private static Object lerSubgrupos() {
+		Map<String, List<Map<String, Object>>> lidos = new ModuloDao().listarModulosSubgrupos();
+		// Sem as chaves, a consulta falhou (o DAO as inclui mesmo sem módulos)
+		if (!lidos.containsKey("first")) {
+			return null;
+		}
+
+		Map<String, List<Map<String, Object>>> imutavel = new LinkedHashMap<>();
+		for (Map.Entry<String, List<Map<String, Object>>> grupo : lidos.entrySet()) {
+			List<Map<String, Object>> modulos = new ArrayList<>();
+			for (Map<String, Object> modulo : grupo.getValue()) {
+				modulos.add(Collections.unmodifiableMap(modulo));
+			}
+			imutavel.put(grupo.getKey(), Collections.unmodifiableList(modulos));
+		}
+		return Collections.unmodifiableMap(imutavel);
+	}
+}
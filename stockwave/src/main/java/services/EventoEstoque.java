@@ -0,0 +1,96 @@
+package services;
+
+/**
+ * Evento de alteração de estoque, emitido pelo {@link FluxoEstoque} para cada movimentação de estoque confirmada.
+ *
+ * Quando um assinante fica para trás, os eventos de um mesmo produto são combinados com
+ * {@link #combinar(EventoEstoque)}: o saldo e a movimentação passam a ser os do evento de maior id_movimentacao, e as
+ * variações e as quantidades de movimentações são somadas. O id_movimentacao funciona como versão do saldo, pois os
+ * eventos são publicados após o commit e podem chegar fora da ordem em que as movimentações foram gravadas.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.FluxoEstoque
+ * @see services.BufferEstoque
+ *
+ * @author Stockwave
+ */
+public final class EventoEstoque {
+
+	private final int id_produto;
+	private final long delta;
+	private final int qtd_produto;
+	private final int id_movimentacao;
+	private final int movimentacoes;
+
+	/**
+	 * Construtor da classe EventoEstoque, para uma única movimentação.
+	 *
+	 * @param id_produto      O ID do produto.
+	 * @param delta           A variação do estoque, com sinal.
+	 * @param qtd_produto     O saldo do produto após a movimentação.
+	 * @param id_movimentacao O ID da movimentação.
+	 */
+	public EventoEstoque(int id_produto, long delta, int qtd_produto, int id_movimentacao) {
+		this(id_produto, delta, qtd_produto, id_movimentacao, 1);
+	}
+
+	private EventoEstoque(int id_produto, long delta, int qtd_produto, int id_movimentacao, int movimentacoes) {
+		this.id_produto = id_produto;
+		this.delta = delta;
+		this.qtd_produto = qtd_produto;
+		this.id_movimentacao = id_movimentacao;
+		this.movimentacoes = movimentacoes;
+	}
+
+	/**
+	 * Combina este evento com um evento publicado depois dele para o mesmo produto.
+	 *
+	 * O saldo mantido é o do evento de maior id_movimentacao, mesmo que ele tenha sido publicado antes.
+	 *
+	 * @param novo O evento publicado depois.
+	 * @return O evento combinado.
+	 */
+	public EventoEstoque combinar(EventoEstoque novo) {
+		EventoEstoque recente = novo.id_movimentacao >= id_movimentacao ? novo : this;
+		return new EventoEstoque(id_produto, delta + novo.delta, recente.qtd_produto, recente.id_movimentacao,
+				movimentacoes + novo.movimentacoes);
+	}
+
+	/**
+	 * Retorna o evento em JSON compacto, por exemplo:
+	 * {"id_produto":7,"delta":-3,"qtd_produto":17,"id_movimentacao":120,"movimentacoes":1}.
+	 *
+	 * @return O JSON do evento.
+	 */
+	public String toJson() {
+		return "{\"id_produto\":" + id_produto + ",\"delta\":" + delta + ",\"qtd_produto\":" + qtd_produto
+				+ ",\"id_movimentacao\":" + id_movimentacao + ",\"movimentacoes\":" + movimentacoes + "}";
+	}
+
+	public int getId_produto() {
+		return id_produto;
+	}
+
+	public long getDelta() {
+		return delta;
+	}
+
+	public int getQtd_produto() {
+		return qtd_produto;
+	}
+
+	public int getId_movimentacao() {
+		return id_movimentacao;
+	}
+
+	public int getMovimentacoes() {
+		return movimentacoes;
+	}
+
+	@Override
+	public String toString() {
+		return "EventoEstoque " + toJson();
+	}
+}
@@ -0,0 +1,129 @@
+package services;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+
+/**
+ * Fluxo de alterações de estoque: um evento por movimentação de estoque confirmada.
+ *
+ * Cada assinante tem o seu próprio {@link BufferEstoque}, de "estoque.fluxo.buffer" eventos (padrão 256), com
+ * até "estoque.fluxo.produtos-pendentes" produtos combinados (padrão 10000) quando fica para trás. Publicar apenas
+ * guarda o evento em cada buffer, sem esperar pelos assinantes; um assinante cujo buffer estoura é removido.
+ * No máximo "estoque.fluxo.assinantes" (padrão 64) assinantes são aceitos ao mesmo tempo.
+ *
+ * Exemplo de uso:
+ *
+ * BufferEstoque buffer = FluxoEstoque.assinar();
+ * ArrayList&lt;EventoEstoque&gt; eventos = buffer.retirar(15000);
+ * // ... envio dos eventos ...
+ * FluxoEstoque.cancelar(buffer);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.BufferEstoque
+ * @see services.MovimentacaoService
+ * @see controller.TransmissaoEstoque
+ *
+ * @author Stockwave
+ */
+public final class FluxoEstoque {
+
+	private static final CopyOnWriteArrayList<BufferEstoque> assinantes = new CopyOnWriteArrayList<>();
+
+	private static final AtomicLong publicados = new AtomicLong();
+	private static final AtomicLong coalescidos = new AtomicLong();
+	private static final AtomicLong descartados = new AtomicLong();
+
+	private FluxoEstoque() {
+		super();
+	}
+
+	/**
+	 * Cria o buffer de um novo assinante.
+	 *
+	 * @return O buffer do assinante, ou null se o limite de assinantes foi atingido.
+	 */
+	public static synchronized BufferEstoque assinar() {
+		ConnectionFactory configuracao = ConnectionFactory.getInstance();
+
+		if (assinantes.size() >= configuracao.getPropriedadeInt("estoque.fluxo.assinantes", 64)) {
+			return null;
+		}
+
+		BufferEstoque buffer = new BufferEstoque(configuracao.getPropriedadeInt("estoque.fluxo.buffer", 256),
+				configuracao.getPropriedadeInt("estoque.fluxo.produtos-pendentes", 10000));
+		assinantes.add(buffer);
+		return buffer;
+	}
+
+	/**
+	 * Remove um assinante e encerra o seu buffer.
+	 *
+	 * @param buffer O buffer criado com {@link #assinar()}.
+	 */
+	public static void cancelar(BufferEstoque buffer) {
+		if (assinantes.remove(buffer)) {
+			coalescidos.addAndGet(buffer.getCoalescidos());
+		}
+		buffer.encerrar();
+	}
+
+	/**
+	 * Entrega um evento a todos os assinantes, sem bloquear.
+	 *
+	 * @param evento O evento da movimentação confirmada.
+	 */
+	public static void publicar(EventoEstoque evento) {
+		publicados.incrementAndGet();
+
+		for (BufferEstoque buffer : assinantes) {
+			if (!buffer.oferecer(evento)) {
+				descartados.incrementAndGet();
+				cancelar(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de assinantes conectados.
+	 *
+	 * @return A quantidade de assinantes.
+	 */
+	public static int getAssinantes() {
+		return assinantes.size();
+	}
+
+	/**
+	 * Retorna a quantidade de eventos publicados.
+	 *
+	 * @return A quantidade de eventos desde o início da aplicação.
+	 */
+	public static long getPublicados() {
+		return publicados.get();
+	}
+
+	/**
+	 * Retorna a quantidade de eventos combinados nos buffers dos assinantes, incluindo os já desconectados.
+	 *
+	 * @return A quantidade de eventos combinados desde o início da aplicação.
+	 */
+	public static long getCoalescidos() {
+		long total = coalescidos.get();
+		for (BufferEstoque buffer : assinantes) {
+			total += buffer.getCoalescidos();
+		}
+		return total;
+	}
+
+	/**
+	 * Retorna a quantidade de assinantes desconectados por estourarem o buffer.
+	 *
+	 * @return A quantidade de assinantes descartados desde o início da aplicação.
+	 */
+	public static long getDescartados() {
+		return descartados.get();
+	}
+}
@@ -75,9 +75,7 @@ public class FuncionarioService {
 	 * @return o Funcionário atualizado, ou null se o Funcionário não existir ou não pertencer ao ID especificado
 	 */
 	public static Funcionario atualizarFuncionario(int id_usuario, Funcionario funcionario) {
-		Funcionario funcionario_atualizar = FuncionarioService.exibirFuncionarioPorId(id_usuario);
-
-		if (funcionario_atualizar == null || funcionario_atualizar.getId_usuario() != funcionario.getId_usuario()) {
+		if (id_usuario != funcionario.getId_usuario()) {
 			return null;
 		} else {
 			Funcionario funcionario_novo = FuncionarioDao.atualizarFuncionario(funcionario);
@@ -103,10 +101,6 @@ public class FuncionarioService {
 	 * @return true se o Funcionário foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarFuncionario(int id_usuario) {
-		if (validarIdFuncionario(id_usuario)) {
-			return FuncionarioDao.deletarFuncionario(id_usuario);
-		} else {
-			return false;
-		}
+		return FuncionarioDao.deletarFuncionario(id_usuario);
 	}
 }
\ No newline at end of file
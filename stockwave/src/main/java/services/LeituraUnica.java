@@ -0,0 +1,117 @@
+package services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import dao.Repository;
+import dao.VersaoTabela;
+
+/**
+ * Agrupa leituras concorrentes da mesma chave em uma única consulta (single-flight).
+ *
+ * A primeira requisição a pedir uma chave executa a leitura; as que pedirem a mesma chave enquanto ela está em
+ * andamento aguardam e recebem o mesmo resultado (ou a mesma exceção), sem consultar o banco de dados. Assim que a
+ * leitura termina, a chave é liberada: não há cache, apenas o compartilhamento de leituras simultâneas.
+ *
+ * Coerência:
+ * - a chave inclui a versão das tabelas lidas ({@link VersaoTabela}); uma requisição que chega depois de uma
+ *   escrita confirmada não aproveita uma leitura iniciada antes dela;
+ * - dentro de uma transação de escrita a leitura é sempre executada diretamente, pois pode depender de alterações
+ *   ainda não confirmadas.
+ *
+ * O resultado é compartilhado entre as requisições e não deve ser alterado por quem o recebe.
+ *
+ * Exemplo de uso:
+ *
+ * private static final LeituraUnica&lt;Modulo&gt; leituras = new LeituraUnica&lt;&gt;();
+ *
+ * Modulo modulo = leituras.ler(() -&gt; ModuloDao.buscarModuloPorId(id_modulo), id_modulo, VersaoTabela.MODULO);
+ *
+ * @param <V> O tipo do resultado da leitura.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.VersaoTabela
+ * @see controller.MetricasResource
+ *
+ * @author Stockwave
+ */
+public final class LeituraUnica<V> {
+
+	private static final AtomicLong executadas = new AtomicLong();
+	private static final AtomicLong compartilhadas = new AtomicLong();
+
+	private final ConcurrentHashMap<String, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+	/**
+	 * Executa a leitura ou aguarda a leitura em andamento da mesma chave.
+	 *
+	 * @param leitura A leitura no banco de dados.
+	 * @param id      O identificador lido.
+	 * @param tabelas As tabelas consultadas pela leitura.
+	 * @return O resultado da leitura, possivelmente compartilhado com outras requisições.
+	 */
+	public V ler(Supplier<V> leitura, Object id, String... tabelas) {
+		if (Repository.inTransaction() && !Repository.inReadOnlyTransaction()) {
+			return leitura.get();
+		}
+
+		StringBuilder versoes = new StringBuilder().append(id);
+		for (String tabela : tabelas) {
+			versoes.append('/').append(VersaoTabela.atual(tabela).getEtag());
+		}
+		String chave = versoes.toString();
+
+		CompletableFuture<V> nova = new CompletableFuture<>();
+		CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+		if (existente != null) {
+			compartilhadas.incrementAndGet();
+			return aguardar(existente);
+		}
+
+		executadas.incrementAndGet();
+		try {
+			V resultado = leitura.get();
+			nova.complete(resultado);
+			return resultado;
+		} catch (RuntimeException | Error e) {
+			nova.completeExceptionally(e);
+			throw e;
+		} finally {
+			emAndamento.remove(chave, nova);
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de leituras executadas no banco de dados.
+	 *
+	 * @return A quantidade de leituras desde o início da aplicação.
+	 */
+	public static long getExecutadas() {
+		return executadas.get();
+	}
+
+	/**
+	 * Retorna a quantidade de requisições atendidas por uma leitura em andamento de outra requisição.
+	 *
+	 * @return A quantidade de leituras compartilhadas desde o início da aplicação.
+	 */
+	public static long getCompartilhadas() {
+		return compartilhadas.get();
+	}
+
+	private static <V> V aguardar(CompletableFuture<V> leitura) {
+		try {
+			return leitura.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,587 @@
+package services;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+import dao.LogMovimentacaoDao;
+import dao.Repository;
+import model.Movimentacao;
+import model.Produto;
+import model.Usuario;
+
+/**
+ * Log local de escrita antecipada (write-ahead log) para o cadastro de movimentações.
+ *
+ * Quando "wal.ativo" é true, POST /movimentacao não espera o commit no banco de dados: a movimentação é acrescentada
+ * a um segmento mapeado em memória no diretório "wal.diretorio" e a requisição é confirmada assim que o registro
+ * estiver gravado em disco. Uma tarefa em segundo plano aplica depois os registros à tabela MOVIMENTACAO.
+ *
+ * Gravação:
+ * - os registros recebem uma sequência crescente e são gravados com CRC32 (ver {@link SegmentoLog}); cada segmento
+ *   tem "wal.segmento-bytes" (padrão 16777216) bytes e o arquivo é nomeado pela sequência do seu primeiro registro;
+ * - uma única thread de sincronização força os segmentos alterados para o disco (group commit): ela espera
+ *   "wal.group-commit-ms" (padrão 1) milissegundos após o primeiro registro pendente, para que os registros que
+ *   chegarem nesse intervalo sejam sincronizados juntos, e então libera todas as requisições que os aguardavam;
+ * - uma requisição aguarda a sincronização por no máximo "wal.espera-ms" (padrão 5000) milissegundos; se a
+ *   sincronização falhar, o log é desativado, as requisições em espera recebem -1 (503) e as próximas voltam a
+ *   cadastrar diretamente no banco de dados. Um registro recusado dessa forma pode ainda ter chegado ao disco e ser
+ *   aplicado no próximo início.
+ *
+ * Aplicação:
+ * - a cada "wal.drenagem-ms" (padrão 200) os registros já sincronizados são inseridos em lotes de até "wal.lote"
+ *   (padrão 500) com o MovimentacaoService, na mesma transação que grava o ponto de aplicação em movimentacao_wal;
+ * - se um lote falhar, os registros são aplicados um a um; um registro recusado por violar uma restrição (SQLState
+ *   da classe 23, como ORA-02291 para produto inexistente ou ORA-02290) é descartado e contado em
+ *   {@link #getDescartados()}; qualquer outra falha interrompe a aplicação, que é retomada a partir do mesmo
+ *   registro na próxima execução;
+ * - os segmentos cujos registros foram todos aplicados são removidos.
+ *
+ * Ao reiniciar, os segmentos existentes são reabertos, o final de um registro interrompido é descartado e os
+ * registros posteriores ao ponto de aplicação são aplicados novamente, sem duplicação.
+ *
+ * As movimentações recebem id_movimentacao apenas ao serem aplicadas, e a existência do produto e do usuário só é
+ * verificada nesse momento.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.SegmentoLog
+ * @see dao.LogMovimentacaoDao
+ * @see services.MovimentacaoService#cadastrarMovimentacoes(java.util.List)
+ * @see controller.MovimentacaoResource
+ *
+ * @author Stockwave
+ */
+public final class LogMovimentacao {
+
+	/**
+	 * Registro lido do log, com a posição logo após ele.
+	 */
+	private static final class Registro {
+		private final long sequencia;
+		private final Movimentacao movimentacao;
+		private final long segmento;
+		private final int fim;
+
+		private Registro(long sequencia, Movimentacao movimentacao, long segmento, int fim) {
+			this.sequencia = sequencia;
+			this.movimentacao = movimentacao;
+			this.segmento = segmento;
+			this.fim = fim;
+		}
+	}
+
+	private static final String EXTENSAO = ".log";
+
+	private static final Object trava = new Object();
+	private static final ConcurrentSkipListMap<Long, SegmentoLog> segmentos = new ConcurrentSkipListMap<>();
+	private static final LinkedHashSet<SegmentoLog> alterados = new LinkedHashSet<>();
+	private static volatile boolean ativo;
+	private static Path diretorio;
+	private static int tamanhoSegmento;
+	private static long limiteEspera;
+	private static SegmentoLog atual;
+	private static long proximaSequencia;
+	private static long gravada;
+	private static volatile long duravel;
+	private static Thread sincronizador;
+	private static ScheduledExecutorService drenador;
+
+	// Estado de aplicação, acessado apenas pela thread de drenagem
+	private static volatile long aplicada = -1;
+	private static long segmentoLeitura;
+	private static int posicaoLeitura;
+
+	private static final AtomicLong acrescentados = new AtomicLong();
+	private static final AtomicLong sincronizacoes = new AtomicLong();
+	private static final AtomicLong aplicados = new AtomicLong();
+	private static final AtomicLong descartados = new AtomicLong();
+
+	private LogMovimentacao() {
+		super();
+	}
+
+	/**
+	 * Reabre os segmentos existentes e inicia a sincronização e a aplicação, se "wal.ativo" for true.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static void iniciar() {
+		ConnectionFactory configuracao = ConnectionFactory.getInstance();
+		if (!Boolean.parseBoolean(configuracao.getPropriedade("wal.ativo", "false"))) {
+			return;
+		}
+
+		synchronized (trava) {
+			if (ativo) {
+				return;
+			}
+
+			try {
+				diretorio = Paths.get(configuracao.getPropriedade("wal.diretorio", "./wal"));
+				tamanhoSegmento = Math.max(SegmentoLog.REGISTRO * 64,
+						configuracao.getPropriedadeInt("wal.segmento-bytes", 16777216));
+				limiteEspera = Math.max(1, configuracao.getPropriedadeInt("wal.espera-ms", 5000));
+				Files.createDirectories(diretorio);
+				recuperar();
+			} catch (IOException e) {
+				System.out.println("Não foi possível abrir o log de movimentações: " + e.getMessage());
+				segmentos.clear();
+				return;
+			}
+			ativo = true;
+		}
+
+		long espera = configuracao.getPropriedadeInt("wal.group-commit-ms", 1);
+		sincronizador = new Thread(() -> sincronizar(espera), "stockwave-wal-sincronizacao");
+		sincronizador.setDaemon(true);
+		sincronizador.start();
+
+		long intervalo = configuracao.getPropriedadeInt("wal.drenagem-ms", 200);
+		int lote = Math.max(1, configuracao.getPropriedadeInt("wal.lote", 500));
+		drenador = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-wal-drenagem");
+			t.setDaemon(true);
+			return t;
+		});
+		drenador.scheduleWithFixedDelay(() -> drenar(lote), 0, intervalo, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe a aplicação e sincroniza os registros pendentes. Os registros ainda não aplicados são aplicados no
+	 * próximo início.
+	 */
+	public static void encerrar() {
+		ScheduledExecutorService executor = drenador;
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			drenador = null;
+		}
+
+		synchronized (trava) {
+			if (!ativo) {
+				return;
+			}
+			ativo = false;
+			for (SegmentoLog segmento : alterados) {
+				segmento.sincronizar();
+			}
+			alterados.clear();
+			duravel = gravada;
+			trava.notifyAll();
+		}
+	}
+
+	/**
+	 * Verifica se o log está ativo, isto é, se POST /movimentacao deve usar {@link #registrar(Movimentacao)}.
+	 *
+	 * @return true se o log foi iniciado com "wal.ativo" = true.
+	 */
+	public static boolean isAtivo() {
+		return ativo;
+	}
+
+	/**
+	 * Acrescenta uma movimentação ao log e aguarda sua gravação em disco por até "wal.espera-ms" milissegundos.
+	 *
+	 * @param movimentacao A movimentação, com produto, usuário, data e quantidade.
+	 * @return A sequência do registro, ou -1 se o log não está ativo, não foi possível gravar ou a sincronização
+	 *         falhou ou não terminou a tempo.
+	 */
+	public static long registrar(Movimentacao movimentacao) {
+		long sequencia;
+
+		synchronized (trava) {
+			if (!ativo) {
+				return -1;
+			}
+
+			try {
+				if (!atual.cabe()) {
+					SegmentoLog anterior = atual;
+					atual = abrir(proximaSequencia);
+					// O próximo segmento é publicado antes da marca, para que a drenagem sempre o encontre
+					segmentos.put(atual.getNumero(), atual);
+					anterior.encerrar();
+					alterados.add(anterior);
+				}
+			} catch (IOException e) {
+				System.out.println("Não foi possível criar um segmento do log de movimentações: " + e.getMessage());
+				return -1;
+			}
+
+			sequencia = proximaSequencia++;
+			atual.gravar(sequencia, movimentacao.getProduto_movimentacao().getId_produto(),
+					movimentacao.getUsuario_movimentacao().getId_usuario(), movimentacao.getQtd_movimentacao(),
+					movimentacao.getDt_movimentacao().toLocalDate().toEpochDay());
+			alterados.add(atual);
+			gravada = sequencia;
+			acrescentados.incrementAndGet();
+			trava.notifyAll();
+
+			long limite = System.currentTimeMillis() + limiteEspera;
+			try {
+				while (duravel < sequencia) {
+					long restante = limite - System.currentTimeMillis();
+					if (!ativo || restante <= 0) {
+						System.out.println("Movimentação não confirmada pelo log, sequência " + sequencia);
+						return -1;
+					}
+					trava.wait(restante);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return -1;
+			}
+		}
+
+		return sequencia;
+	}
+
+	/**
+	 * Retorna a quantidade de registros acrescentados ao log.
+	 *
+	 * @return A quantidade de registros desde o início da aplicação.
+	 */
+	public static long getAcrescentados() {
+		return acrescentados.get();
+	}
+
+	/**
+	 * Retorna a quantidade de sincronizações com o disco; cada uma confirma um grupo de registros.
+	 *
+	 * @return A quantidade de sincronizações desde o início da aplicação.
+	 */
+	public static long getSincronizacoes() {
+		return sincronizacoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de registros aplicados à tabela MOVIMENTACAO.
+	 *
+	 * @return A quantidade de registros aplicados desde o início da aplicação.
+	 */
+	public static long getAplicados() {
+		return aplicados.get();
+	}
+
+	/**
+	 * Retorna a quantidade de registros recusados pelo banco de dados e descartados.
+	 *
+	 * @return A quantidade de registros descartados desde o início da aplicação.
+	 */
+	public static long getDescartados() {
+		return descartados.get();
+	}
+
+	/**
+	 * Retorna a quantidade de registros gravados em disco e ainda não aplicados.
+	 *
+	 * @return A quantidade de registros pendentes, ou -1 se o ponto de aplicação ainda não foi lido.
+	 */
+	public static long getPendentes() {
+		long ponto = aplicada;
+		return ponto < 0 ? -1 : Math.max(0, duravel - ponto);
+	}
+
+	/**
+	 * Reabre os segmentos do diretório e posiciona a gravação após o último registro íntegro.
+	 */
+	private static void recuperar() throws IOException {
+		segmentos.clear();
+		alterados.clear();
+
+		try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+			for (Path arquivo : arquivos) {
+				String nome = arquivo.getFileName().toString();
+				try {
+					long numero = Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length()));
+					segmentos.put(numero, SegmentoLog.abrir(numero, arquivo, tamanhoSegmento));
+				} catch (NumberFormatException e) {
+					System.out.println("Arquivo ignorado no diretório do log de movimentações: " + nome);
+				}
+			}
+		}
+
+		long ultima = 0;
+		long[] dados = new long[5];
+		for (SegmentoLog segmento : segmentos.values()) {
+			ultima = Math.max(ultima, segmento.getNumero() - 1);
+			for (int posicao = 0; segmento.ler(posicao, dados); posicao += SegmentoLog.REGISTRO) {
+				ultima = Math.max(ultima, dados[0]);
+			}
+		}
+		proximaSequencia = ultima + 1;
+		gravada = ultima;
+		duravel = ultima;
+
+		Map.Entry<Long, SegmentoLog> ultimo = segmentos.lastEntry();
+		if (ultimo == null || ultimo.getValue().isEncerrado()) {
+			atual = abrir(proximaSequencia);
+			segmentos.put(atual.getNumero(), atual);
+		} else {
+			atual = ultimo.getValue();
+		}
+
+		aplicada = -1;
+		segmentoLeitura = segmentos.firstKey();
+		posicaoLeitura = 0;
+	}
+
+	private static SegmentoLog abrir(long numero) throws IOException {
+		return SegmentoLog.abrir(numero, diretorio.resolve(String.format("%020d", numero) + EXTENSAO),
+				tamanhoSegmento);
+	}
+
+	/**
+	 * Laço da thread de sincronização.
+	 */
+	private static void sincronizar(long espera) {
+		while (true) {
+			long alvo;
+			ArrayList<SegmentoLog> pendentes;
+
+			try {
+				synchronized (trava) {
+					while (ativo && gravada == duravel) {
+						trava.wait();
+					}
+					if (!ativo) {
+						return;
+					}
+				}
+				if (espera > 0) {
+					Thread.sleep(espera);
+				}
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			synchronized (trava) {
+				alvo = gravada;
+				pendentes = new ArrayList<>(alterados);
+				alterados.clear();
+			}
+
+			// Fora da trava: novos registros continuam sendo acrescentados durante a sincronização
+			try {
+				for (SegmentoLog segmento : pendentes) {
+					segmento.sincronizar();
+				}
+			} catch (RuntimeException e) {
+				System.out.println("Não foi possível sincronizar o log de movimentações; o log foi desativado: "
+						+ e.getMessage());
+				synchronized (trava) {
+					ativo = false;
+					trava.notifyAll();
+				}
+				return;
+			}
+
+			synchronized (trava) {
+				duravel = Math.max(duravel, alvo);
+				sincronizacoes.incrementAndGet();
+				trava.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Aplica os registros sincronizados em lotes e remove os segmentos já aplicados.
+	 */
+	private static void drenar(int lote) {
+		try {
+			if (aplicada < 0) {
+				aplicada = LogMovimentacaoDao.lerCheckpoint();
+				if (aplicada < 0) {
+					return;
+				}
+			}
+
+			ArrayList<Registro> registros = ler(lote);
+			while (!registros.isEmpty() && aplicar(registros)) {
+				registros = ler(lote);
+			}
+			removerAplicados();
+
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível aplicar o log de movimentações: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Lê até "lote" registros sincronizados e ainda não aplicados, a partir da posição de leitura.
+	 */
+	private static ArrayList<Registro> ler(int lote) {
+		ArrayList<Registro> registros = new ArrayList<>();
+		long limite = duravel;
+		long[] dados = new long[5];
+		SegmentoLog segmento = segmentos.get(segmentoLeitura);
+		int posicao = posicaoLeitura;
+
+		while (segmento != null && registros.size() < lote) {
+			if (!segmento.ler(posicao, dados)) {
+				// Sem marca de fim, o segmento foi interrompido antes de ser encerrado; os registros seguem no próximo
+				Map.Entry<Long, SegmentoLog> proximo = segmentos.higherEntry(segmento.getNumero());
+				if (proximo == null) {
+					break;
+				}
+				segmento = proximo.getValue();
+				posicao = 0;
+				continue;
+			}
+			if (dados[0] > limite) {
+				break;
+			}
+
+			posicao += SegmentoLog.REGISTRO;
+			if (dados[0] > aplicada) {
+				registros.add(new Registro(dados[0], movimentacao(dados), segmento.getNumero(), posicao));
+			}
+		}
+
+		return registros;
+	}
+
+	/**
+	 * Aplica os registros em uma única transação; se ela falhar, aplica-os um a um.
+	 *
+	 * Um registro só é descartado quando o banco de dados o recusa por violar uma restrição; falhas transitórias
+	 * (conexão, bloqueio, espaço) interrompem a aplicação para que o registro seja tentado novamente.
+	 *
+	 * @return true se todos os registros foram aplicados ou descartados.
+	 */
+	private static boolean aplicar(ArrayList<Registro> registros) {
+		ArrayList<Movimentacao> movimentacoes = new ArrayList<>(registros.size());
+		for (Registro registro : registros) {
+			movimentacoes.add(registro.movimentacao);
+		}
+
+		Registro ultimo = registros.get(registros.size() - 1);
+		if (transacao(movimentacoes, ultimo.sequencia)) {
+			avancar(ultimo);
+			aplicados.addAndGet(registros.size());
+			return true;
+		}
+
+		for (Registro registro : registros) {
+			ArrayList<Movimentacao> movimentacao = new ArrayList<>(1);
+			movimentacao.add(registro.movimentacao);
+
+			if (transacao(movimentacao, registro.sequencia)) {
+				aplicados.incrementAndGet();
+			} else if (recusado() && transacao(null, registro.sequencia)) {
+				System.out.println("Movimentação descartada do log, sequência " + registro.sequencia + ": "
+						+ registro.movimentacao);
+				descartados.incrementAndGet();
+			} else {
+				return false;
+			}
+			avancar(registro);
+		}
+		return true;
+	}
+
+	/**
+	 * Cadastra as movimentações (se houver) e grava o ponto de aplicação na mesma transação.
+	 */
+	private static boolean transacao(ArrayList<Movimentacao> movimentacoes, long sequencia) {
+		Repository.beginTransaction(false);
+		boolean sucesso = false;
+
+		try {
+			sucesso = (movimentacoes == null || MovimentacaoService.cadastrarMovimentacoes(movimentacoes) != null)
+					&& LogMovimentacaoDao.gravarCheckpoint(sequencia);
+		} finally {
+			sucesso = Repository.endTransaction(sucesso) && sucesso;
+		}
+		return sucesso;
+	}
+
+	/**
+	 * Verifica se a última transação falhou por violar uma restrição do banco de dados (SQLState da classe 23,
+	 * ORA-02290 ou ORA-02291), falha que se repetiria a cada nova tentativa.
+	 */
+	private static boolean recusado() {
+		SQLException falha = Repository.getFalha();
+		if (falha == null) {
+			return false;
+		}
+
+		for (Throwable causa : falha) {
+			if (causa instanceof SQLException) {
+				SQLException e = (SQLException) causa;
+				String estado = e.getSQLState();
+				if ((estado != null && estado.startsWith("23")) || e.getErrorCode() == 2290
+						|| e.getErrorCode() == 2291) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static void avancar(Registro registro) {
+		aplicada = registro.sequencia;
+		segmentoLeitura = registro.segmento;
+		posicaoLeitura = registro.fim;
+	}
+
+	/**
+	 * Remove os segmentos anteriores ao da posição de leitura, cujos registros já foram todos aplicados.
+	 */
+	private static void removerAplicados() {
+		Map.Entry<Long, SegmentoLog> anterior = segmentos.lowerEntry(segmentoLeitura);
+
+		while (anterior != null) {
+			SegmentoLog segmento = anterior.getValue();
+			segmentos.remove(anterior.getKey());
+			// Todos os registros do segmento já foram sincronizados e aplicados, e ele foi encerrado antes disso:
+			// nenhuma gravação ou sincronização o usa mais, e o mapeamento pode ser liberado antes da remoção
+			synchronized (trava) {
+				alterados.remove(segmento);
+			}
+			segmento.fechar();
+			try {
+				Files.deleteIfExists(segmento.getArquivo());
+			} catch (IOException e) {
+				System.out.println("Não foi possível remover o segmento do log de movimentações: " + e.getMessage());
+			}
+			anterior = segmentos.lowerEntry(segmentoLeitura);
+		}
+	}
+
+	private static Movimentacao movimentacao(long[] dados) {
+		Produto produto = new Produto();
+		produto.setId_produto((int) dados[1]);
+		Usuario usuario = new Usuario();
+		usuario.setId_usuario((int) dados[2]);
+
+		Movimentacao movimentacao = new Movimentacao();
+		movimentacao.setProduto_movimentacao(produto);
+		movimentacao.setUsuario_movimentacao(usuario);
+		movimentacao.setQtd_movimentacao((int) dados[3]);
+		movimentacao.setDt_movimentacao(Date.valueOf(LocalDate.ofEpochDay(dados[4])));
+		return movimentacao;
+	}
+}
@@ -1,6 +1,7 @@
 package services;
 
 import dao.ModuloDao;
+import dao.VersaoTabela;
 import model.Modulo;
 
 /**
@@ -48,6 +49,8 @@ import model.Modulo;
  */
 public class ModuloService {
 
+	private static final LeituraUnica<Modulo> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se um Modulo com o ID especificado existe.
 	 *
@@ -61,11 +64,13 @@ public class ModuloService {
 	/**
 	 * Busca e retorna um Modulo pelo ID.
 	 *
+	 * Leituras simultâneas do mesmo Modulo são agrupadas em uma única consulta ({@link LeituraUnica}).
+	 *
 	 * @param id_modulo o ID do Modulo
 	 * @return o Modulo correspondente ao ID, ou null se não encontrado
 	 */
 	public static Modulo exibirModuloPorId(int id_modulo) {
-		return ModuloDao.buscarModuloPorId(id_modulo);
+		return leituras.ler(() -> ModuloDao.buscarModuloPorId(id_modulo), id_modulo, VersaoTabela.MODULO);
 	}
 
 	/**
@@ -76,12 +81,13 @@ public class ModuloService {
 	 * @return o Modulo atualizado, ou null se o Modulo não existir ou os IDs não coincidirem
 	 */
 	public static Modulo atualizarModulo(int id_modulo, Modulo modulo) {
-		Modulo modulo_atualizar = exibirModuloPorId(id_modulo);
-
-		if (modulo_atualizar == null || modulo_atualizar.getId_modulo() != modulo.getId_modulo()) {
+		if (id_modulo != modulo.getId_modulo()) {
 			return null;
 		} else {
 			Modulo modulo_novo = ModuloDao.atualizarModulo(modulo);
+			if (modulo_novo != null) {
+				DadosReferencia.invalidarSubgrupos();
+			}
 			return modulo_novo;
 		}
 	}
@@ -93,7 +99,11 @@ public class ModuloService {
 	 * @return o Modulo cadastrado
 	 */
 	public static Modulo cadastrarModulo(Modulo modulo_novo) {
-		return ModuloDao.cadastrarModulo(modulo_novo);
+		Modulo modulo = ModuloDao.cadastrarModulo(modulo_novo);
+		if (modulo != null) {
+			DadosReferencia.invalidarSubgrupos();
+		}
+		return modulo;
 	}
 
 	/**
@@ -103,10 +113,10 @@ public class ModuloService {
 	 * @return true se o Modulo foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarModulo(int id_modulo) {
-		if (validarIdModulo(id_modulo)) {
-			return ModuloDao.deletarModulo(id_modulo);
-		} else {
-			return false;
+		if (ModuloDao.deletarModulo(id_modulo)) {
+			DadosReferencia.invalidarSubgrupos();
+			return true;
 		}
+		return false;
 	}
 }
\ No newline at end of file
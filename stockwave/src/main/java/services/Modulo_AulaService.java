@@ -1,6 +1,9 @@
 package services;
 
+import java.util.ArrayList;
+
 import dao.Modulo_AulaDao;
+import dao.VersaoTabela;
 import model.Modulo_Aula;
 
 /**
@@ -9,6 +12,7 @@ import model.Modulo_Aula;
  * Métodos:
  * - validarIdModulo_Aula: verifica se um Módulo_Aula com o ID especificado existe.
  * - exibirModulo_AulaPorId: busca e retorna um Módulo_Aula pelo ID do módulo e ID da aula.
+ * - exibirModulo_AulasPorId: busca e retorna as aulas de um módulo.
  * - atualizarModulo_Aula: atualiza um Módulo_Aula com as informações fornecidas.
  * - cadastrarModulo_Aula: cadastra um novo Módulo_Aula.
  * - deletarModulo_Aula: exclui um Módulo_Aula com o ID do módulo e ID da aula especificados.
@@ -48,6 +52,8 @@ import model.Modulo_Aula;
  */
 public class Modulo_AulaService {
 
+	private static final LeituraUnica<ArrayList<Modulo_Aula>> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se um Módulo_Aula com o ID especificado existe.
 	 *
@@ -69,6 +75,19 @@ public class Modulo_AulaService {
 		return Modulo_AulaDao.buscarModulo_AulaPorId(id_modulo, id_aula);
 	}
 
+	/**
+	 * Busca e retorna as aulas de um módulo.
+	 *
+	 * Leituras simultâneas do mesmo módulo são agrupadas em uma única consulta ({@link LeituraUnica}).
+	 *
+	 * @param id_modulo o ID do módulo
+	 * @return a lista de Módulo_Aula do módulo, ou null se a consulta falhar
+	 */
+	public static ArrayList<Modulo_Aula> exibirModulo_AulasPorId(int id_modulo) {
+		return leituras.ler(() -> Modulo_AulaDao.buscarModulo_AulasPorId(id_modulo), id_modulo, VersaoTabela.MODULO,
+				VersaoTabela.AULA, VersaoTabela.MODULO_AULA);
+	}
+
 	/**
 	 * Atualiza um Módulo_Aula com as informações fornecidas.
 	 *
@@ -78,9 +97,7 @@ public class Modulo_AulaService {
 	 * @return o Módulo_Aula atualizado, ou null se o Módulo_Aula não existir ou os IDs não coincidirem
 	 */
 	public static Modulo_Aula atualizarModulo_Aula(int id_modulo, int id_aula, Modulo_Aula modulo_Aula) {
-		Modulo_Aula modulo_Aula_atualizar = exibirModulo_AulaPorId(id_modulo, id_aula);
-
-		if (modulo_Aula_atualizar == null || modulo_Aula_atualizar.getModulo().getId_modulo() != modulo_Aula.getModulo().getId_modulo()) {
+		if (id_modulo != modulo_Aula.getModulo().getId_modulo()) {
 			return null;
 		} else {
 			Modulo_Aula modulo_Aula_novo = Modulo_AulaDao.atualizarModulo_Aula(modulo_Aula, id_aula);
@@ -106,10 +123,6 @@ public class Modulo_AulaService {
 	 * @return true se o Módulo_Aula foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarModulo_Aula(int id_modulo, int id_aula) {
-		if (validarIdModulo_Aula(id_modulo)) {
-			return Modulo_AulaDao.deletarModulo_Aula(id_modulo, id_aula);
-		} else {
-			return false;
-		}
+		return Modulo_AulaDao.deletarModulo_Aula(id_modulo, id_aula);
 	}
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package services;
 
+import java.util.ArrayList;
+
 import dao.Modulo_QuestaoDao;
+import dao.VersaoTabela;
 import model.Modulo_Questao;
 
 /**
@@ -9,6 +12,7 @@ import model.Modulo_Questao;
  * Métodos:
  * - validarIdModulo_Questao: verifica se um Modulo_Questao com o ID especificado existe.
  * - exibirModulo_QuestaoPorId: busca e retorna um Modulo_Questao pelo ID do módulo e ID da questão.
+ * - exibirModulo_QuestoesPorId: busca e retorna as questões de um módulo.
  * - atualizarModulo_Questao: atualiza um Modulo_Questao com as informações fornecidas.
  * - cadastrarModulo_Questao: cadastra um novo Modulo_Questao.
  * - deletarModulo_Questao: exclui um Modulo_Questao com o ID do módulo e ID da questão especificados.
@@ -48,6 +52,8 @@ import model.Modulo_Questao;
  */
 public class Modulo_QuestaoService {
 
+	private static final LeituraUnica<ArrayList<Modulo_Questao>> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se um Modulo_Questao com o ID especificado existe.
 	 *
@@ -69,6 +75,19 @@ public class Modulo_QuestaoService {
 		return Modulo_QuestaoDao.buscarModulo_QuestaoPorId(id_modulo, id_questao);
 	}
 
+	/**
+	 * Busca e retorna as questões de um módulo.
+	 *
+	 * Leituras simultâneas do mesmo módulo são agrupadas em uma única consulta ({@link LeituraUnica}).
+	 *
+	 * @param id_modulo o ID do módulo
+	 * @return a lista de Modulo_Questao do módulo, ou null se a consulta falhar
+	 */
+	public static ArrayList<Modulo_Questao> exibirModulo_QuestoesPorId(int id_modulo) {
+		return leituras.ler(() -> Modulo_QuestaoDao.buscarModulo_QuestoesPorId(id_modulo), id_modulo,
+				VersaoTabela.MODULO, VersaoTabela.QUESTAO, VersaoTabela.MODULO_QUESTAO);
+	}
+
 	/**
 	 * Atualiza um Modulo_Questao com as informações fornecidas.
 	 *
@@ -78,9 +97,7 @@ public class Modulo_QuestaoService {
 	 * @return o Modulo_Questao atualizado, ou null se o Modulo_Questao não existir ou os IDs não coincidirem
 	 */
 	public static Modulo_Questao atualizarModulo_Questao(int id_modulo, int id_questao, Modulo_Questao modulo_questao) {
-		Modulo_Questao modulo_questao_atualizar = exibirModulo_QuestaoPorId(id_modulo, id_questao);
-
-		if (modulo_questao_atualizar == null || modulo_questao_atualizar.getModulo().getId_modulo() != modulo_questao.getModulo().getId_modulo()) {
+		if (id_modulo != modulo_questao.getModulo().getId_modulo()) {
 			return null;
 		} else {
 			Modulo_Questao modulo_questao_novo = Modulo_QuestaoDao.atualizarModulo_Questao(modulo_questao, id_questao);
@@ -106,10 +123,6 @@ public class Modulo_QuestaoService {
 	 * @return true se o Modulo_Questao foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarModulo_Questao(int id_modulo, int id_questao) {
-		if (validarIdModulo_Questao(id_modulo)) {
-			return Modulo_QuestaoDao.deletarModulo_Questao(id_modulo, id_questao);
-		} else {
-			return false;
-		}
+		return Modulo_QuestaoDao.deletarModulo_Questao(id_modulo, id_questao);
 	}
 }
\ No newline at end of file
@@ -1,16 +1,31 @@
 package services;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import dao.MovimentacaoDao;
+import dao.OutboxMovimentacaoDao;
+import dao.Repository;
+import dao.RollupMovimentacaoDao;
 import model.Movimentacao;
+import model.Produto;
 
 /**
  * Classe de serviços para Movimentacao.
  * 
+ * Toda gravação, atualização e exclusão de Movimentacao também atualiza os totais diários de
+ * movimentacao_rollup e registra a alteração no outbox de movimentações, na mesma transação.
+ * 
+ * As movimentações do livro-razão de estoque (tipo "entrada" ou "saida") não podem ser atualizadas nem excluídas,
+ * pois já alteraram o estoque do produto: uma correção deve ser registrada como uma nova movimentação de estorno.
+ * 
  * Métodos:
  * - validarIdMovimentacao: verifica se uma Movimentacao com o ID especificado existe.
  * - exibirMovimentacaoPorId: busca e retorna uma Movimentacao pelo ID.
  * - atualizarMovimentacao: atualiza uma Movimentacao com as informações fornecidas.
  * - cadastrarMovimentacao: cadastra uma nova Movimentacao.
+ * - cadastrarMovimentacoes: cadastra várias Movimentacoes em lote.
+ * - registrarMovimentacaoEstoque: registra uma Movimentacao atualizando o estoque do Produto.
  * - deletarMovimentacao: exclui uma Movimentacao com o ID especificado.
  * 
  * Exemplo de uso:
@@ -74,15 +89,22 @@ public class MovimentacaoService {
 	 * @param id_movimentacao o ID da Movimentacao
 	 * @param movimentacao o objeto Movimentacao com as novas informações
 	 * @return a Movimentacao atualizada, ou null se a Movimentacao não existir ou os IDs não coincidirem
+	 * @throws IllegalStateException se a Movimentacao pertencer ao livro-razão de estoque
 	 */
 	public static Movimentacao atualizarMovimentacao(int id_movimentacao, Movimentacao movimentacao) {
-		Movimentacao movimentacao_atualizar = exibirMovimentacaoPorId(id_movimentacao);
-
-		if (movimentacao_atualizar == null || movimentacao_atualizar.getId_movimentacao() != movimentacao.getId_movimentacao()) {
+		if (id_movimentacao != movimentacao.getId_movimentacao()) {
 			return null;
 		} else {
-			Movimentacao movimentacao_nova = MovimentacaoDao.atualizarMovimentacao(movimentacao);
-			return movimentacao_nova;
+			Movimentacao movimentacao_anterior = MovimentacaoDao.atualizarMovimentacao(movimentacao);
+			validarTipo(movimentacao_anterior);
+
+			if (movimentacao_anterior == null || !RollupMovimentacaoDao.aplicar(movimentacao_anterior, -1)
+					|| !RollupMovimentacaoDao.aplicar(movimentacao, 1)
+					|| !OutboxMovimentacaoDao.registrar(movimentacao, OutboxMovimentacaoDao.UPDATE)) {
+				return null;
+			}
+			Repository.aposConfirmar(AnaliseMovimentacao::invalidar);
+			return movimentacao;
 		}
 	}
 
@@ -93,7 +115,61 @@ public class MovimentacaoService {
 	 * @return a Movimentacao cadastrada
 	 */
 	public static Movimentacao cadastrarMovimentacao(Movimentacao movimentacao_nova) {
-		return MovimentacaoDao.cadastrarMovimentacao(movimentacao_nova);
+		Movimentacao movimentacao = MovimentacaoDao.cadastrarMovimentacao(movimentacao_nova);
+
+		if (movimentacao == null || !RollupMovimentacaoDao.aplicar(movimentacao, 1)
+				|| !OutboxMovimentacaoDao.registrar(movimentacao, OutboxMovimentacaoDao.INSERT)) {
+			return null;
+		}
+		return movimentacao;
+	}
+
+	/**
+	 * Registra uma Movimentacao aplicando sua quantidade ao estoque do Produto.
+	 *
+	 * @param movimentacao_nova o objeto Movimentacao a ser registrado, com quantidade positiva
+	 * @param saida true para retirar a quantidade do estoque, false para adicioná-la
+	 * @return a situação do registro, conforme as constantes ESTOQUE_* de MovimentacaoDao
+	 */
+	public static int registrarMovimentacaoEstoque(Movimentacao movimentacao_nova, boolean saida) {
+		int situacao = MovimentacaoDao.registrarMovimentacaoEstoque(movimentacao_nova, saida);
+
+		if (situacao == MovimentacaoDao.ESTOQUE_REGISTRADO) {
+			if (!RollupMovimentacaoDao.aplicar(movimentacao_nova, 1)
+					|| !OutboxMovimentacaoDao.registrar(movimentacao_nova, OutboxMovimentacaoDao.INSERT)) {
+				return MovimentacaoDao.ESTOQUE_ERRO;
+			}
+
+			Produto produto = movimentacao_nova.getProduto_movimentacao();
+			int id_produto = produto.getId_produto();
+			int saldo = produto.getQtd_produto();
+			int id_movimentacao = movimentacao_nova.getId_movimentacao();
+			int delta = saida ? -movimentacao_nova.getQtd_movimentacao() : movimentacao_nova.getQtd_movimentacao();
+			EventoEstoque evento = new EventoEstoque(id_produto, delta, saldo, id_movimentacao);
+			Repository.aposConfirmar(() -> {
+				ProjecaoEstoque.definir(id_produto, saldo, id_movimentacao);
+				CatalogoProduto.definirEstoque(id_produto, saldo, id_movimentacao);
+				AlertaEstoque.avaliar(id_produto, saldo);
+				FluxoEstoque.publicar(evento);
+			});
+		}
+		return situacao;
+	}
+
+	/**
+	 * Cadastra várias Movimentacoes em lote.
+	 *
+	 * @param movimentacoes as Movimentacoes a serem cadastradas
+	 * @return os IDs gerados, na mesma ordem das Movimentacoes, ou null se não foi possível cadastrar
+	 */
+	public static ArrayList<Integer> cadastrarMovimentacoes(List<Movimentacao> movimentacoes) {
+		ArrayList<Integer> ids = MovimentacaoDao.cadastrarMovimentacoes(movimentacoes);
+
+		if (ids == null || !RollupMovimentacaoDao.aplicar(movimentacoes, 1)
+				|| !OutboxMovimentacaoDao.registrar(movimentacoes, OutboxMovimentacaoDao.INSERT)) {
+			return null;
+		}
+		return ids;
 	}
 
 	/**
@@ -101,12 +177,28 @@ public class MovimentacaoService {
 	 *
 	 * @param id_movimentacao o ID da Movimentacao
 	 * @return true se a Movimentacao foi excluída com sucesso, caso contrário, false
+	 * @throws IllegalStateException se a Movimentacao pertencer ao livro-razão de estoque
 	 */
 	public static boolean deletarMovimentacao(int id_movimentacao) {
-		if (validarIdMovimentacao(id_movimentacao)) {
-			return MovimentacaoDao.deletarMovimentacao(id_movimentacao);
-		} else {
-			return false;
+		Movimentacao movimentacao_deletada = MovimentacaoDao.deletarMovimentacao(id_movimentacao);
+		validarTipo(movimentacao_deletada);
+
+		if (movimentacao_deletada != null && RollupMovimentacaoDao.aplicar(movimentacao_deletada, -1)
+				&& OutboxMovimentacaoDao.registrar(movimentacao_deletada, OutboxMovimentacaoDao.DELETE)) {
+			Repository.aposConfirmar(AnaliseMovimentacao::invalidar);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Recusa a alteração de uma Movimentacao do livro-razão de estoque, que o DAO retorna sem alterá-la.
+	 */
+	private static void validarTipo(Movimentacao movimentacao) {
+		if (movimentacao != null && !MovimentacaoDao.TIPO_REGISTRO.equals(movimentacao.getTipo_movimentacao())) {
+			throw new IllegalStateException("A MOVIMENTACAO de id_movimentacao: " + movimentacao.getId_movimentacao()
+					+ " é uma " + movimentacao.getTipo_movimentacao() + " do livro-razão de estoque e não pode ser"
+					+ " alterada. Registre uma movimentação de estorno em POST /movimentacao/estoque.");
 		}
 	}
 }
\ No newline at end of file
@@ -76,14 +76,10 @@ public class NivelService {
 	 * @return o Nível atualizado, ou null se o Nível não existir
 	 */
 	public static Nivel atualizarNivel(String nome_nivel, Nivel nivel) {
-		Nivel nivel_atualizar = exibirNivelPorNome(nome_nivel);
-		Nivel nivel_novo = null;
+		Nivel nivel_novo = NivelDao.atualizarNivel(nivel, nome_nivel);
 
-		if (nivel_atualizar != null) {
-			nivel_novo = NivelDao.atualizarNivel(nivel, nome_nivel);
-			if (nivel_novo == null) {
-				return null;
-			}
+		if (nivel_novo != null) {
+			DadosReferencia.invalidarNiveis();
 		}
 
 		return nivel_novo;
@@ -96,7 +92,11 @@ public class NivelService {
 	 * @return o Nível cadastrado
 	 */
 	public static Nivel cadastrarNivel(Nivel nivel_novo) {
-		return NivelDao.cadastrarNivel(nivel_novo);
+		Nivel nivel = NivelDao.cadastrarNivel(nivel_novo);
+		if (nivel != null) {
+			DadosReferencia.invalidarNiveis();
+		}
+		return nivel;
 	}
 
 	/**
@@ -106,10 +106,10 @@ public class NivelService {
 	 * @return true se o Nível foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarNivel(String nome_nivel) {
-		if (validarNomeNivel(nome_nivel)) {
-			return NivelDao.deletarNivel(nome_nivel);
-		} else {
-			return false;
+		if (NivelDao.deletarNivel(nome_nivel)) {
+			DadosReferencia.invalidarNiveis();
+			return true;
 		}
+		return false;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import connection.ConnectionFactory;
+import dao.OutboxMovimentacaoDao;
+import model.AlteracaoMovimentacao;
+
+/**
+ * Classe de serviços para o outbox de movimentações.
+ *
+ * As alterações são gravadas pelo MovimentacaoService; esta classe lê o feed e remove periodicamente as alterações
+ * mais antigas que "outbox.retencao-dias" (padrão 7), a cada "outbox.expurgo-ms" (padrão 3600000).
+ *
+ * Métodos:
+ * - listarAlteracoes: retorna as alterações posteriores a um offset.
+ * - iniciar: agenda a remoção das alterações fora da retenção.
+ * - encerrar: interrompe a remoção agendada.
+ *
+ * Exemplo de uso:
+ *
+ * // Ler as próximas 100 alterações após o offset 500
+ * ArrayList&lt;AlteracaoMovimentacao&gt; alteracoes = OutboxMovimentacaoService.listarAlteracoes(500, 100);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.OutboxMovimentacaoDao
+ * @see model.AlteracaoMovimentacao
+ * @see services.MovimentacaoService
+ *
+ * @author Stockwave
+ */
+public class OutboxMovimentacaoService {
+
+	private static ScheduledExecutorService executor;
+
+	/**
+	 * Retorna as alterações posteriores a um offset, em ordem.
+	 *
+	 * Só são retornadas alterações gravadas há pelo menos "outbox.visibilidade-ms" (padrão 2000) milissegundos.
+	 *
+	 * @param apos   o offset da última alteração processada pelo consumidor; 0 para o início
+	 * @param limite a quantidade máxima de alterações
+	 * @return as alterações, ou null se a consulta falhar
+	 */
+	public static ArrayList<AlteracaoMovimentacao> listarAlteracoes(long apos, int limite) {
+		int visibilidade = ConnectionFactory.getInstance().getPropriedadeInt("outbox.visibilidade-ms", 2000);
+		return OutboxMovimentacaoDao.listar(apos, limite, visibilidade);
+	}
+
+	/**
+	 * Agenda a remoção das alterações fora da retenção. Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (executor != null) {
+			return;
+		}
+
+		ConnectionFactory configuracao = ConnectionFactory.getInstance();
+		int dias = configuracao.getPropriedadeInt("outbox.retencao-dias", 7);
+		long intervalo = configuracao.getPropriedadeInt("outbox.expurgo-ms", 3600000);
+
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-outbox-expurgo");
+			t.setDaemon(true);
+			return t;
+		});
+		executor.scheduleWithFixedDelay(() -> OutboxMovimentacaoDao.expurgar(dias), intervalo, intervalo,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe a remoção agendada.
+	 */
+	public static synchronized void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package services;
 
+import dao.Pagina;
 import dao.ProdutoDao;
+import dao.Repository;
+import dao.VersaoTabela;
 import model.Produto;
 
 /**
@@ -8,10 +11,12 @@ import model.Produto;
  * 
  * Métodos:
  * - validarIdProduto: verifica se um Produto com o ID especificado existe.
- * - exibirProdutoPorId: busca e retorna um Produto pelo ID.
+ * - listarProdutos: retorna uma página dos Produtos, a partir do catálogo em memória quando carregado.
+ * - exibirProdutoPorId: busca e retorna um Produto pelo ID, a partir do catálogo em memória quando possível.
  * - atualizarProduto: atualiza um Produto com as informações fornecidas.
  * - cadastrarProduto: cadastra um novo Produto.
  * - deletarProduto: exclui um Produto pelo ID.
+ * - consultarEstoque: retorna a quantidade em estoque de um Produto a partir da projeção em memória.
  * 
  * Exemplo de uso:
  * 
@@ -40,12 +45,15 @@ import model.Produto;
  * @see model.Produto
  * @see dao.ProdutoDao
  * @see controller.ProdutoResource
+ * @see services.CatalogoProduto
  * 
  * @author Stockwave
  * 
  */
 public class ProdutoService {
 
+	private static final LeituraUnica<Produto> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se um Produto com o ID especificado existe.
 	 *
@@ -56,6 +64,19 @@ public class ProdutoService {
 		return ProdutoDao.buscarProdutoPorId(id_produto) != null;
 	}
 
+	/**
+	 * Retorna uma página dos Produtos, ordenada por nome_produto, id_produto.
+	 *
+	 * @param limite a quantidade máxima de Produtos; 0 para todos
+	 * @param apos o cursor da página anterior, ou null para a primeira página
+	 * @return a página de Produtos
+	 * @throws IllegalArgumentException se o cursor for inválido
+	 */
+	public static Pagina<Produto> listarProdutos(int limite, String apos) {
+		Pagina<Produto> pagina = CatalogoProduto.listar(limite, apos);
+		return pagina != null ? pagina : new ProdutoDao().listarProdutos(limite, apos);
+	}
+
 	/**
 	 * Busca e retorna um Produto pelo ID.
 	 *
@@ -63,7 +84,9 @@ public class ProdutoService {
 	 * @return o Produto correspondente ao ID, ou null se não encontrado
 	 */
 	public static Produto exibirProdutoPorId(int id_produto) {
-		return ProdutoDao.buscarProdutoPorId(id_produto);
+		Produto produto = CatalogoProduto.buscar(id_produto);
+		return produto != null ? produto
+				: leituras.ler(() -> ProdutoDao.buscarProdutoPorId(id_produto), id_produto, VersaoTabela.PRODUTO);
 	}
 
 	/**
@@ -74,13 +97,23 @@ public class ProdutoService {
 	 * @return o Produto atualizado, ou null se o Produto não existir
 	 */
 	public static Produto atualizarProduto(int id_produto, Produto produto) {
-		Produto produto_atualizar = exibirProdutoPorId(id_produto);
-
-		if (produto_atualizar == null || produto_atualizar.getId_produto() != produto.getId_produto()) {
+		if (id_produto != produto.getId_produto()) {
 			return null;
 		} else {
+			// qtd_produto passa a ser o estoque total: os slots ainda não compactados são descartados
+			if (!ProdutoDao.descartarSlotsEstoque(id_produto)) {
+				return null;
+			}
 			Produto produto_novo = ProdutoDao.atualizarProduto(produto);
 
+			if (produto_novo != null) {
+				Repository.aposConfirmar(() -> {
+					CatalogoProduto.definir(produto_novo);
+					ProjecaoEstoque.definir(id_produto, produto_novo.getQtd_produto());
+					AlertaEstoque.definirNivel(id_produto, produto_novo.getNivel_reposicao(),
+							produto_novo.getQtd_produto());
+				});
+			}
 			return produto_novo;
 		}
 	}
@@ -92,7 +125,17 @@ public class ProdutoService {
 	 * @return o Produto cadastrado
 	 */
 	public static Produto cadastrarProduto(Produto produto_novo) {
-		return ProdutoDao.cadastrarProduto(produto_novo);
+		Produto produto = ProdutoDao.cadastrarProduto(produto_novo);
+
+		if (produto != null) {
+			Repository.aposConfirmar(() -> {
+				CatalogoProduto.definir(produto);
+				ProjecaoEstoque.definir(produto.getId_produto(), produto.getQtd_produto());
+				AlertaEstoque.definirNivel(produto.getId_produto(), produto.getNivel_reposicao(),
+						produto.getQtd_produto());
+			});
+		}
+		return produto;
 	}
 
 	/**
@@ -102,10 +145,39 @@ public class ProdutoService {
 	 * @return true se o Produto foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarProduto(int id_produto) {
-		if (validarIdProduto(id_produto)) {
-			return ProdutoDao.deletarProduto(id_produto);
-		} else {
-			return false;
+		if (ProdutoDao.descartarSlotsEstoque(id_produto) && ProdutoDao.deletarProduto(id_produto)) {
+			Repository.aposConfirmar(() -> {
+				CatalogoProduto.remover(id_produto);
+				ProjecaoEstoque.remover(id_produto);
+				AlertaEstoque.remover(id_produto);
+			});
+			return true;
 		}
+		return false;
+	}
+
+	/**
+	 * Retorna a quantidade em estoque de um Produto.
+	 *
+	 * A consulta é atendida pela projeção em memória; o banco de dados só é consultado quando o Produto ainda não
+	 * está na projeção, e o valor lido passa a ser servido da memória.
+	 *
+	 * @param id_produto o ID do Produto
+	 * @return a quantidade em estoque, ou null se o Produto não existir
+	 */
+	public static Integer consultarEstoque(int id_produto) {
+		int qtd_produto = ProjecaoEstoque.consultar(id_produto);
+
+		if (qtd_produto != ProjecaoEstoque.DESCONHECIDO) {
+			return qtd_produto;
+		}
+
+		Integer estoque = ProdutoDao.buscarEstoqueProduto(id_produto);
+		if (estoque == null) {
+			return null;
+		}
+
+		ProjecaoEstoque.definirSeAusente(id_produto, estoque);
+		return estoque;
 	}
 }
\ No newline at end of file
@@ -75,9 +75,7 @@ public class ProfessorService {
 	 * @return o Professor atualizado, ou null se o Professor não existir
 	 */
 	public static Professor atualizarProfessor(int id_usuario, Professor professor) {
-		Professor professor_atualizar = exibirProfessorPorId(id_usuario);
-
-		if (professor_atualizar == null || professor_atualizar.getId_usuario() != professor.getId_usuario()) {
+		if (id_usuario != professor.getId_usuario()) {
 			return null;
 		} else {
 			Professor professor_novo = ProfessorDao.atualizarProfessor(professor);
@@ -103,10 +101,6 @@ public class ProfessorService {
 	 * @return true se o Professor foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarProfessor(int id_usuario) {
-		if (validarIdProfessor(id_usuario)) {
-			return ProfessorDao.deletarProfessor(id_usuario);
-		} else {
-			return false;
-		}
+		return ProfessorDao.deletarProfessor(id_usuario);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,484 @@
+package services;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+import connection.ConnectionFactory;
+import dao.ProdutoDao;
+
+/**
+ * Projeção em memória do estoque dos produtos (id_produto -&gt; qtd_produto).
+ *
+ * Os pares são guardados em tabelas de int primitivos, sem objetos Integer, divididas em listras: cada produto
+ * pertence a uma listra, e cada listra tem seu próprio StampedLock. Atualizações de produtos em listras diferentes
+ * nunca disputam a mesma trava, e as leituras usam leitura otimista, sem bloquear.
+ *
+ * Ciclo de vida:
+ * - {@link #iniciar()} carrega a tabela PRODUTO em segundo plano e agenda a reconciliação periódica;
+ * - as escritas de estoque atualizam a projeção com {@link #definir(int, int)} depois do commit, e as do livro-razão
+ *   com {@link #definir(int, int, int)}, que ignora saldos de movimentações mais antigas que a última aplicada;
+ * - a reconciliação relê a tabela PRODUTO e corrige divergências, ignorando listras alteradas durante a leitura.
+ *
+ * Propriedades do arquivo application.properties:
+ * - estoque.projecao.listras: quantidade de listras, arredondada para potência de 2 (padrão 64);
+ * - estoque.projecao.reconciliacao-ms: intervalo entre reconciliações, em milissegundos (padrão 60000).
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.ProdutoService#consultarEstoque(int)
+ * @see dao.ProdutoDao#percorrerEstoques(ProdutoDao.LeitorEstoque)
+ *
+ * @author Stockwave
+ */
+public final class ProjecaoEstoque {
+
+	/**
+	 * Valor retornado por {@link #consultar(int)} quando o produto não está na projeção.
+	 */
+	public static final int DESCONHECIDO = Integer.MIN_VALUE;
+
+	/**
+	 * Versão das escritas que não vêm de uma movimentação: sempre aplicadas, sem alterar a versão guardada.
+	 */
+	static final int SEM_VERSAO = -1;
+
+	private static volatile ProjecaoEstoque instancia;
+
+	private final Listra[] listras;
+	private final int deslocamento;
+	private final ScheduledExecutorService reconciliador;
+
+	private volatile boolean carregada;
+	private final AtomicLong reconciliacoes = new AtomicLong();
+	private final AtomicLong divergencias = new AtomicLong();
+
+	private ProjecaoEstoque(int quantidadeListras, long intervaloReconciliacaoMs) {
+		int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, quantidadeListras) - 1);
+		this.listras = new Listra[1 << bits];
+		this.deslocamento = 32 - bits;
+		for (int i = 0; i < listras.length; i++) {
+			listras[i] = new Listra();
+		}
+
+		this.reconciliador = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "stockwave-estoque-reconciliador");
+			t.setDaemon(true);
+			return t;
+		});
+		this.reconciliador.scheduleWithFixedDelay(this::reconciliar, 0, intervaloReconciliacaoMs,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Cria a projeção e agenda a carga inicial e as reconciliações.
+	 *
+	 * Chamadas repetidas não têm efeito.
+	 */
+	public static synchronized void iniciar() {
+		if (instancia == null) {
+			ConnectionFactory propriedades = ConnectionFactory.getInstance();
+			instancia = new ProjecaoEstoque(propriedades.getPropriedadeInt("estoque.projecao.listras", 64),
+					propriedades.getPropriedadeInt("estoque.projecao.reconciliacao-ms", 60000));
+		}
+	}
+
+	/**
+	 * Encerra as reconciliações e descarta a projeção.
+	 */
+	public static synchronized void encerrar() {
+		if (instancia != null) {
+			instancia.reconciliador.shutdownNow();
+			instancia = null;
+		}
+	}
+
+	/**
+	 * Consulta o estoque de um produto na projeção.
+	 *
+	 * @param id_produto O ID do produto.
+	 * @return A quantidade em estoque, ou {@link #DESCONHECIDO} se a projeção não foi carregada ou não contém
+	 *         o produto.
+	 */
+	public static int consultar(int id_produto) {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao == null || !projecao.carregada) {
+			return DESCONHECIDO;
+		}
+		return projecao.listra(id_produto).consultar(id_produto);
+	}
+
+	/**
+	 * Define o estoque de um produto na projeção.
+	 *
+	 * Deve receber o saldo confirmado no banco de dados, e não um delta, para que aplicações repetidas ou fora
+	 * de ordem entre produtos diferentes não acumulem erro.
+	 *
+	 * @param id_produto  O ID do produto.
+	 * @param qtd_produto A nova quantidade em estoque.
+	 */
+	public static void definir(int id_produto, int qtd_produto) {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao != null) {
+			projecao.listra(id_produto).definir(id_produto, qtd_produto, SEM_VERSAO, true);
+		}
+	}
+
+	/**
+	 * Define o estoque de um produto após uma movimentação do livro-razão.
+	 *
+	 * Os saldos são aplicados após o commit e podem chegar fora da ordem das movimentações: o id_movimentacao é
+	 * usado como versão, e um saldo de movimentação anterior à última aplicada ao produto é ignorado.
+	 *
+	 * @param id_produto      O ID do produto.
+	 * @param qtd_produto     O saldo confirmado após a movimentação.
+	 * @param id_movimentacao O ID da movimentação que gerou o saldo.
+	 */
+	public static void definir(int id_produto, int qtd_produto, int id_movimentacao) {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao != null) {
+			projecao.listra(id_produto).definir(id_produto, qtd_produto, id_movimentacao, true);
+		}
+	}
+
+	/**
+	 * Define o estoque de um produto lido do banco de dados, somente se ele ainda não estiver na projeção.
+	 *
+	 * Uma leitura não sobrescreve um valor gravado por uma escrita concorrente.
+	 *
+	 * @param id_produto  O ID do produto.
+	 * @param qtd_produto A quantidade em estoque lida.
+	 */
+	public static void definirSeAusente(int id_produto, int qtd_produto) {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao != null) {
+			projecao.listra(id_produto).definir(id_produto, qtd_produto, SEM_VERSAO, false);
+		}
+	}
+
+	/**
+	 * Remove um produto da projeção.
+	 *
+	 * @param id_produto O ID do produto removido.
+	 */
+	public static void remover(int id_produto) {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao != null) {
+			projecao.listra(id_produto).remover(id_produto);
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de produtos na projeção.
+	 *
+	 * @return A quantidade de produtos, ou 0 se a projeção não foi iniciada.
+	 */
+	public static int getProdutos() {
+		ProjecaoEstoque projecao = instancia;
+		if (projecao == null) {
+			return 0;
+		}
+
+		int total = 0;
+		for (Listra listra : projecao.listras) {
+			total += listra.tamanho();
+		}
+		return total;
+	}
+
+	/**
+	 * Indica se a carga inicial da projeção foi concluída.
+	 *
+	 * @return true se as consultas estão sendo atendidas pela projeção.
+	 */
+	public static boolean isCarregada() {
+		ProjecaoEstoque projecao = instancia;
+		return projecao != null && projecao.carregada;
+	}
+
+	/**
+	 * Retorna a quantidade de reconciliações concluídas.
+	 *
+	 * @return A quantidade de reconciliações desde o início da projeção.
+	 */
+	public static long getReconciliacoes() {
+		ProjecaoEstoque projecao = instancia;
+		return projecao == null ? 0 : projecao.reconciliacoes.get();
+	}
+
+	/**
+	 * Retorna a quantidade de produtos corrigidos pelas reconciliações após a carga inicial.
+	 *
+	 * @return A quantidade de divergências encontradas.
+	 */
+	public static long getDivergencias() {
+		ProjecaoEstoque projecao = instancia;
+		return projecao == null ? 0 : projecao.divergencias.get();
+	}
+
+	/**
+	 * Relê a tabela PRODUTO e substitui o conteúdo das listras que não foram alteradas durante a leitura.
+	 */
+	private void reconciliar() {
+		try {
+			long[] versoes = new long[listras.length];
+			Listra[] lidas = new Listra[listras.length];
+			for (int i = 0; i < listras.length; i++) {
+				versoes[i] = listras[i].versao();
+				lidas[i] = new Listra();
+			}
+
+			if (!ProdutoDao.percorrerEstoques((id, qtd) -> lidas[indiceListra(id)].definir(id, qtd, SEM_VERSAO, true))) {
+				return;
+			}
+
+			long corrigidos = 0;
+			for (int i = 0; i < listras.length; i++) {
+				corrigidos += listras[i].substituir(lidas[i], versoes[i]);
+			}
+
+			if (carregada) {
+				divergencias.addAndGet(corrigidos);
+			}
+			carregada = true;
+			reconciliacoes.incrementAndGet();
+
+		} catch (RuntimeException e) {
+			System.out.println("Não foi possível reconciliar a projeção de estoque: " + e.getMessage());
+		}
+	}
+
+	private Listra listra(int id_produto) {
+		return listras[indiceListra(id_produto)];
+	}
+
+	private int indiceListra(int id_produto) {
+		return deslocamento == 32 ? 0 : (id_produto * 0x9E3779B9) >>> deslocamento;
+	}
+
+	/**
+	 * Tabela hash de endereçamento aberto (sondagem linear) de int para int, protegida por um StampedLock.
+	 *
+	 * Chaves e valores ficam intercalados no mesmo vetor (tabela[2i] = chave, tabela[2i + 1] = valor), de modo que
+	 * uma leitura otimista sempre enxerga um vetor consistente. A chave 0 marca uma posição livre, pois os IDs
+	 * gerados pelas sequências são positivos.
+	 *
+	 * O último id_movimentacao aplicado a cada produto fica em um vetor paralelo (movimentacoes[i / 2] para a posição
+	 * i da tabela), lido apenas sob a trava de escrita.
+	 */
+	static final class Listra {
+
+		private final StampedLock trava = new StampedLock();
+		private int[] tabela = new int[32];
+		private int[] movimentacoes = new int[16];
+		private int tamanho;
+		private long versao;
+
+		int consultar(int chave) {
+			long carimbo = trava.tryOptimisticRead();
+			int valor = buscar(tabela, chave);
+			if (!trava.validate(carimbo)) {
+				carimbo = trava.readLock();
+				try {
+					valor = buscar(tabela, chave);
+				} finally {
+					trava.unlockRead(carimbo);
+				}
+			}
+			return valor;
+		}
+
+		void definir(int chave, int valor, int movimentacao, boolean sobrescrever) {
+			if (chave <= 0) {
+				return;
+			}
+
+			long carimbo = trava.writeLock();
+			try {
+				int posicao = posicao(tabela, chave);
+				if (tabela[posicao] == chave) {
+					int aplicada = movimentacoes[posicao >> 1];
+					if (sobrescrever && (movimentacao == SEM_VERSAO || movimentacao >= aplicada)) {
+						tabela[posicao + 1] = valor;
+						movimentacoes[posicao >> 1] = Math.max(aplicada, movimentacao);
+						versao++;
+					}
+					return;
+				}
+
+				tabela[posicao] = chave;
+				tabela[posicao + 1] = valor;
+				movimentacoes[posicao >> 1] = Math.max(0, movimentacao);
+				tamanho++;
+				versao++;
+
+				if (tamanho * 8 > tabela.length * 3) {
+					redimensionar();
+				}
+			} finally {
+				trava.unlockWrite(carimbo);
+			}
+		}
+
+		void remover(int chave) {
+			if (chave <= 0) {
+				return;
+			}
+
+			long carimbo = trava.writeLock();
+			try {
+				int[] t = tabela;
+				int mascara = t.length - 2;
+				int posicao = posicao(t, chave);
+				if (t[posicao] != chave) {
+					return;
+				}
+
+				// Remoção com deslocamento para trás: nenhuma sequência de sondagem fica interrompida
+				int livre = posicao;
+				int atual = (livre + 2) & mascara;
+				while (t[atual] != 0) {
+					int ideal = inicio(t, t[atual]);
+					if (((atual - ideal) & mascara) >= ((atual - livre) & mascara)) {
+						t[livre] = t[atual];
+						t[livre + 1] = t[atual + 1];
+						movimentacoes[livre >> 1] = movimentacoes[atual >> 1];
+						livre = atual;
+					}
+					atual = (atual + 2) & mascara;
+				}
+				t[livre] = 0;
+				t[livre + 1] = 0;
+				movimentacoes[livre >> 1] = 0;
+				tamanho--;
+				versao++;
+			} finally {
+				trava.unlockWrite(carimbo);
+			}
+		}
+
+		/**
+		 * Substitui o conteúdo pelo da listra lida do banco, se não houve escrita desde a versão informada.
+		 *
+		 * @return A quantidade de produtos cujo estoque mudou, ou 0 se a listra foi alterada durante a leitura.
+		 */
+		long substituir(Listra lida, long versaoEsperada) {
+			long carimbo = trava.writeLock();
+			try {
+				if (versao != versaoEsperada) {
+					return 0;
+				}
+
+				long iguais = 0;
+				long presentes = 0;
+				int[] t = lida.tabela;
+				for (int i = 0; i < t.length; i += 2) {
+					if (t[i] != 0) {
+						int valor = buscar(tabela, t[i]);
+						if (valor != DESCONHECIDO) {
+							presentes++;
+							if (valor == t[i + 1]) {
+								iguais++;
+							}
+						}
+					}
+				}
+				// Produtos alterados ou novos no banco, mais os presentes apenas na projeção (removidos do banco)
+				long diferentes = (lida.tamanho - iguais) + (tamanho - presentes);
+
+				if (diferentes > 0) {
+					// As movimentações já aplicadas continuam valendo para os saldos que chegarem depois da leitura
+					for (int i = 0; i < t.length; i += 2) {
+						if (t[i] != 0) {
+							int posicao = posicao(tabela, t[i]);
+							if (tabela[posicao] == t[i]) {
+								lida.movimentacoes[i >> 1] = movimentacoes[posicao >> 1];
+							}
+						}
+					}
+					tabela = lida.tabela;
+					movimentacoes = lida.movimentacoes;
+					tamanho = lida.tamanho;
+					versao++;
+				}
+				return diferentes;
+			} finally {
+				trava.unlockWrite(carimbo);
+			}
+		}
+
+		long versao() {
+			long carimbo = trava.readLock();
+			try {
+				return versao;
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		}
+
+		int tamanho() {
+			long carimbo = trava.readLock();
+			try {
+				return tamanho;
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		}
+
+		private void redimensionar() {
+			int[] antiga = tabela;
+			int[] nova = new int[antiga.length * 2];
+			int[] novasMovimentacoes = new int[antiga.length];
+			for (int i = 0; i < antiga.length; i += 2) {
+				if (antiga[i] != 0) {
+					int posicao = posicao(nova, antiga[i]);
+					nova[posicao] = antiga[i];
+					nova[posicao + 1] = antiga[i + 1];
+					novasMovimentacoes[posicao >> 1] = movimentacoes[i >> 1];
+				}
+			}
+			tabela = nova;
+			movimentacoes = novasMovimentacoes;
+		}
+
+		private static int buscar(int[] t, int chave) {
+			if (chave <= 0) {
+				return DESCONHECIDO;
+			}
+
+			int mascara = t.length - 2;
+			int posicao = inicio(t, chave);
+			for (int passos = 0; passos < t.length; passos += 2) {
+				int atual = t[posicao];
+				if (atual == chave) {
+					return t[posicao + 1];
+				}
+				if (atual == 0) {
+					return DESCONHECIDO;
+				}
+				posicao = (posicao + 2) & mascara;
+			}
+			return DESCONHECIDO;
+		}
+
+		/**
+		 * Retorna a posição da chave, ou a posição livre em que ela deve ser inserida.
+		 */
+		private static int posicao(int[] t, int chave) {
+			int mascara = t.length - 2;
+			int posicao = inicio(t, chave);
+			while (t[posicao] != 0 && t[posicao] != chave) {
+				posicao = (posicao + 2) & mascara;
+			}
+			return posicao;
+		}
+
+		private static int inicio(int[] t, int chave) {
+			int h = chave * 0x85EBCA6B;
+			return ((h ^ (h >>> 15)) << 1) & (t.length - 2);
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package services;
 
 import dao.QuestaoDao;
+import dao.VersaoTabela;
 import model.Questao;
 import model.Resposta;
 
@@ -55,6 +56,8 @@ import model.Resposta;
  */
 public class QuestaoService {
 
+	private static final LeituraUnica<Questao> leituras = new LeituraUnica<>();
+
 	/**
 	 * Verifica se uma Questão com o ID especificado existe.
 	 *
@@ -68,11 +71,13 @@ public class QuestaoService {
 	/**
 	 * Busca e retorna uma Questão pelo ID.
 	 *
+	 * Leituras simultâneas da mesma Questão são agrupadas em uma única consulta ({@link LeituraUnica}).
+	 *
 	 * @param id_questao o ID da Questão
 	 * @return a Questão correspondente ao ID, ou null se não encontrada
 	 */
 	public static Questao exibirQuestaoPorId(int id_questao) {
-		return QuestaoDao.buscarQuestaoPorId(id_questao);
+		return leituras.ler(() -> QuestaoDao.buscarQuestaoPorId(id_questao), id_questao, VersaoTabela.QUESTAO);
 	}
 
 	/**
@@ -83,9 +88,7 @@ public class QuestaoService {
 	 * @return a Questão atualizada, ou null se a Questão não existir
 	 */
 	public static Questao atualizarQuestao(int id_questao, Questao questao) {
-		Questao questao_atualizar = exibirQuestaoPorId(id_questao);
-
-		if (questao_atualizar == null || questao_atualizar.getId_questao() != questao.getId_questao()) {
+		if (id_questao != questao.getId_questao()) {
 			return null;
 		} else {
 			Questao questao_nova = QuestaoDao.atualizarQuestao(questao);
@@ -111,11 +114,7 @@ public class QuestaoService {
 	 * @return true se a Questão foi excluída com sucesso, caso contrário, false
 	 */
 	public static boolean deletarQuestao(int id_questao) {
-		if (validarIdQuestao(id_questao)) {
-			return QuestaoDao.deletarQuestao(id_questao);
-		} else {
-			return false;
-		}
+		return QuestaoDao.deletarQuestao(id_questao);
 	}
 	
 	/**
@@ -0,0 +1,187 @@
+package services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import connection.ConnectionFactory;
+
+/**
+ * Relatório dos produtos com maior giro (unidades movimentadas por dia) em uma janela de datas.
+ *
+ * O cálculo parte do instantâneo colunar do {@link AnaliseMovimentacao}:
+ * - as movimentações da janela são somadas por produto em uma varredura paralela;
+ * - a tabela de produtos resultante é dividida em faixas de posições, e cada faixa é um conjunto disjunto de
+ *   produtos; tarefas fork/join mantêm um heap limitado aos N maiores de cada faixa e os heaps são combinados
+ *   até restar o top-N geral.
+ *
+ * Os resultados ficam em cache por janela e N, até que o instantâneo receba novas movimentações. O cache guarda
+ * no máximo "relatorio.velocidade.janelas" (padrão 128) janelas; ao ultrapassar, as entradas são descartadas.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.AnaliseMovimentacao
+ * @see controller.AnaliseResource
+ *
+ * @author Stockwave
+ */
+public final class RelatorioVelocidade {
+
+	/**
+	 * Resultado calculado para uma janela, com a versão do instantâneo usada no cálculo.
+	 */
+	private static final class Resultado {
+		private final long versao;
+		private final List<Map<String, Object>> produtos;
+
+		private Resultado(long versao, List<Map<String, Object>> produtos) {
+			this.versao = versao;
+			this.produtos = produtos;
+		}
+	}
+
+	/**
+	 * Seleciona os N maiores produtos de uma faixa de posições do agregado.
+	 */
+	private static final class SelecaoTopN extends RecursiveTask<PriorityQueue<Integer>> {
+		private static final long serialVersionUID = 1L;
+
+		private final AgregadoInt agregado;
+		private final Comparator<Integer> ordem;
+		private final int inicio;
+		private final int fim;
+		private final int top;
+
+		private SelecaoTopN(AgregadoInt agregado, Comparator<Integer> ordem, int inicio, int fim, int top) {
+			this.agregado = agregado;
+			this.ordem = ordem;
+			this.inicio = inicio;
+			this.fim = fim;
+			this.top = top;
+		}
+
+		@Override
+		protected PriorityQueue<Integer> compute() {
+			if (fim - inicio <= POSICOES_POR_TAREFA) {
+				PriorityQueue<Integer> heap = new PriorityQueue<>(top + 1, ordem);
+				for (int posicao = inicio; posicao < fim; posicao++) {
+					if (agregado.ocupada(posicao)) {
+						oferecer(heap, posicao);
+					}
+				}
+				return heap;
+			}
+
+			int meio = (inicio + fim) >>> 1;
+			SelecaoTopN esquerda = new SelecaoTopN(agregado, ordem, inicio, meio, top);
+			esquerda.fork();
+			PriorityQueue<Integer> direita = new SelecaoTopN(agregado, ordem, meio, fim, top).compute();
+			PriorityQueue<Integer> heap = esquerda.join();
+
+			for (Integer posicao : direita) {
+				oferecer(heap, posicao);
+			}
+			return heap;
+		}
+
+		/**
+		 * Adiciona a posição ao heap, descartando o menor elemento quando o limite é ultrapassado.
+		 */
+		private void oferecer(PriorityQueue<Integer> heap, Integer posicao) {
+			if (heap.size() < top) {
+				heap.offer(posicao);
+			} else if (ordem.compare(posicao, heap.peek()) > 0) {
+				heap.poll();
+				heap.offer(posicao);
+			}
+		}
+	}
+
+	private static final int POSICOES_POR_TAREFA = 4096;
+
+	private static final ConcurrentHashMap<String, Resultado> cache = new ConcurrentHashMap<>();
+	private static final AtomicLong acertos = new AtomicLong();
+	private static final AtomicLong calculos = new AtomicLong();
+
+	private RelatorioVelocidade() {
+		super();
+	}
+
+	/**
+	 * Retorna os produtos com mais unidades movimentadas na janela, em ordem decrescente.
+	 *
+	 * @param de  A data inicial (inclusive).
+	 * @param ate A data final (inclusive).
+	 * @param top A quantidade de produtos, maior que zero.
+	 * @return Os produtos, cada um com id_produto, unidades, movimentacoes e velocidade (unidades por dia).
+	 */
+	public static List<Map<String, Object>> calcular(LocalDate de, LocalDate ate, int top) {
+		String chave = de + "/" + ate + "/" + top;
+		long versao = AnaliseMovimentacao.versao();
+
+		Resultado resultado = cache.get(chave);
+		if (resultado != null && resultado.versao == versao) {
+			acertos.incrementAndGet();
+			return resultado.produtos;
+		}
+
+		AgregadoInt agregado = AnaliseMovimentacao.agregar(AnaliseMovimentacao.Dimensao.PRODUTO, null, null, de, ate);
+
+		// Menor primeiro: o topo do heap é o candidato a ser descartado
+		Comparator<Integer> ordem = (x, y) -> agregado.volume(x) != agregado.volume(y)
+				? Long.compare(agregado.volume(x), agregado.volume(y))
+				: Integer.compare(agregado.chave(y), agregado.chave(x));
+		PriorityQueue<Integer> heap = ForkJoinPool.commonPool()
+				.invoke(new SelecaoTopN(agregado, ordem, 0, agregado.capacidade(), top));
+
+		ArrayList<Integer> posicoes = new ArrayList<>(heap);
+		posicoes.sort(ordem.reversed());
+
+		double dias = ate.toEpochDay() - de.toEpochDay() + 1;
+		ArrayList<Map<String, Object>> produtos = new ArrayList<>(posicoes.size());
+		for (int posicao : posicoes) {
+			Map<String, Object> produto = new LinkedHashMap<>();
+			produto.put("id_produto", agregado.chave(posicao));
+			produto.put("unidades", agregado.volume(posicao));
+			produto.put("movimentacoes", agregado.contagem(posicao));
+			produto.put("velocidade", Math.round(agregado.volume(posicao) / dias * 100) / 100.0);
+			produtos.add(produto);
+		}
+
+		if (cache.size() >= ConnectionFactory.getInstance().getPropriedadeInt("relatorio.velocidade.janelas", 128)) {
+			cache.clear();
+		}
+		List<Map<String, Object>> imutavel = Collections.unmodifiableList(produtos);
+		cache.put(chave, new Resultado(versao, imutavel));
+		calculos.incrementAndGet();
+		return imutavel;
+	}
+
+	/**
+	 * Retorna a quantidade de relatórios servidos pelo cache.
+	 *
+	 * @return A quantidade de acertos desde o início da aplicação.
+	 */
+	public static long getAcertos() {
+		return acertos.get();
+	}
+
+	/**
+	 * Retorna a quantidade de relatórios calculados.
+	 *
+	 * @return A quantidade de cálculos desde o início da aplicação.
+	 */
+	public static long getCalculos() {
+		return calculos.get();
+	}
+}
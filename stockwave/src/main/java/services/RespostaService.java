@@ -75,14 +75,10 @@ public class RespostaService {
 	 * @return a Resposta atualizada, ou null se a Resposta não existir
 	 */
 	public static Resposta atualizarResposta(String str_resposta, Resposta resposta) {
-		Resposta resposta_atualizar = exibirRespostaPorNome(str_resposta);
-		Resposta resposta_nova = null;
+		Resposta resposta_nova = RespostaDao.atualizarResposta(resposta, str_resposta);
 
-		if (resposta_atualizar != null) {
-			resposta_nova = RespostaDao.atualizarResposta(resposta, str_resposta);
-			if (resposta_nova == null) {
-				return null;
-			}
+		if (resposta_nova != null) {
+			DadosReferencia.invalidarRespostas();
 		}
 
 		return resposta_nova;
@@ -95,7 +91,11 @@ public class RespostaService {
 	 * @return a Resposta cadastrada
 	 */
 	public static Resposta cadastrarResposta(Resposta resposta_novo) {
-		return RespostaDao.cadastrarResposta(resposta_novo);
+		Resposta resposta = RespostaDao.cadastrarResposta(resposta_novo);
+		if (resposta != null) {
+			DadosReferencia.invalidarRespostas();
+		}
+		return resposta;
 	}
 
 	/**
@@ -105,10 +105,10 @@ public class RespostaService {
 	 * @return true se a Resposta foi excluída com sucesso, caso contrário, false
 	 */
 	public static boolean deletarResposta(String str_resposta) {
-		if (validarNomeResposta(str_resposta)) {
-			return RespostaDao.deletarResposta(str_resposta);
-		} else {
-			return false;
+		if (RespostaDao.deletarResposta(str_resposta)) {
+			DadosReferencia.invalidarRespostas();
+			return true;
 		}
+		return false;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package services;
+
+import java.sql.Date;
+import java.util.ArrayList;
+
+import dao.RollupMovimentacaoDao;
+import model.RollupMovimentacao;
+
+/**
+ * Classe de serviços para os totais pré-agregados de movimentação.
+ *
+ * Métodos:
+ * - consultarRollup: retorna os totais de um produto por dia, semana ou mês.
+ * - reconstruir: reconstrói os totais diários a partir de toda a tabela MOVIMENTACAO.
+ * - iniciar: agenda a reconstrução em segundo plano se os totais ainda não foram gerados.
+ *
+ * Exemplo de uso:
+ *
+ * // Totais mensais do produto 1
+ * ArrayList&lt;RollupMovimentacao&gt; meses = RollupMovimentacaoService.consultarRollup(1, "month", null, null);
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.RollupMovimentacaoDao
+ * @see model.RollupMovimentacao
+ * @see services.MovimentacaoService
+ *
+ * @author Stockwave
+ */
+public class RollupMovimentacaoService {
+
+	/**
+	 * Retorna os totais de um produto agrupados por período.
+	 *
+	 * @param id_produto    o ID do produto
+	 * @param granularidade "day", "week" ou "month"
+	 * @param de            a data inicial (inclusive), ou null
+	 * @param ate           a data final (inclusive), ou null
+	 * @return os totais de cada período, ou null se a consulta falhar
+	 * @throws IllegalArgumentException se a granularidade for inválida
+	 */
+	public static ArrayList<RollupMovimentacao> consultarRollup(int id_produto, String granularidade, Date de,
+			Date ate) {
+		String formato;
+
+		switch (granularidade.toLowerCase()) {
+		case "day":
+			formato = "DD";
+			break;
+		case "week":
+			formato = "IW";
+			break;
+		case "month":
+			formato = "MM";
+			break;
+		default:
+			throw new IllegalArgumentException(
+					"Granularidade inválida: " + granularidade + ". Use day, week ou month.");
+		}
+
+		return RollupMovimentacaoDao.consultar(id_produto, formato, de, ate);
+	}
+
+	/**
+	 * Reconstrói os totais diários a partir de toda a tabela MOVIMENTACAO.
+	 *
+	 * @return a quantidade de linhas diárias geradas, ou -1 se a reconstrução falhou
+	 */
+	public static int reconstruir() {
+		return RollupMovimentacaoDao.reconstruir();
+	}
+
+	/**
+	 * Reconstrói os totais em segundo plano se a tabela de totais estiver vazia e houver movimentações, como na
+	 * primeira inicialização após a criação da tabela.
+	 */
+	public static void iniciar() {
+		Thread t = new Thread(() -> {
+			if (RollupMovimentacaoDao.precisaReconstruir()) {
+				System.out.println("Reconstruindo a tabela MOVIMENTACAO_ROLLUP: " + reconstruir() + " linhas geradas");
+			}
+		}, "stockwave-rollup-backfill");
+		t.setDaemon(true);
+		t.start();
+	}
+}
@@ -0,0 +1,234 @@
+package services;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo de segmento do {@link LogMovimentacao}, mapeado em memória.
+ *
+ * Cada registro é gravado como [tamanho int][crc32 int][sequencia long][produto int][usuario int][qtd int][dia long],
+ * com o CRC calculado sobre os bytes após o cabeçalho. Um tamanho 0 indica o fim dos registros gravados (o arquivo é
+ * criado preenchido com zeros) e um tamanho {@link #FIM_SEGMENTO} indica que os registros seguintes estão no próximo
+ * segmento. Um registro com tamanho ou CRC inválido (gravação interrompida) também é tratado como o fim do segmento.
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see services.LogMovimentacao
+ *
+ * @author Stockwave
+ */
+final class SegmentoLog {
+
+	/**
+	 * Tamanho dos dados de um registro, sem o cabeçalho.
+	 */
+	static final int DADOS = 8 + 4 + 4 + 4 + 8;
+
+	/**
+	 * Tamanho de um registro, com o cabeçalho.
+	 */
+	static final int REGISTRO = 4 + 4 + DADOS;
+
+	/**
+	 * Marca de continuação no próximo segmento.
+	 */
+	static final int FIM_SEGMENTO = -1;
+
+	private final long numero;
+	private final Path arquivo;
+	private MappedByteBuffer buffer;
+	private int posicao;
+
+	private SegmentoLog(long numero, Path arquivo, MappedByteBuffer buffer) {
+		this.numero = numero;
+		this.arquivo = arquivo;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Abre (ou cria) e mapeia um segmento, posicionando a gravação após o último registro válido.
+	 *
+	 * Bytes após o último registro válido, deixados por uma gravação interrompida, são zerados.
+	 *
+	 * @param numero  O número do segmento.
+	 * @param arquivo O arquivo do segmento.
+	 * @param tamanho O tamanho do arquivo, em bytes.
+	 * @return O segmento.
+	 * @throws IOException se não for possível abrir ou mapear o arquivo.
+	 */
+	static SegmentoLog abrir(long numero, Path arquivo, int tamanho) throws IOException {
+		boolean existia = Files.exists(arquivo);
+
+		try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+			int capacidade = existia ? (int) Math.max(raf.length(), REGISTRO) : tamanho;
+			MappedByteBuffer mapa = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+			SegmentoLog segmento = new SegmentoLog(numero, arquivo, mapa);
+
+			if (existia) {
+				int fim = 0;
+				while (segmento.tamanhoEm(fim) == DADOS) {
+					fim += REGISTRO;
+				}
+				segmento.posicao = fim;
+				if (segmento.tamanhoEm(fim) != FIM_SEGMENTO) {
+					for (int i = fim; i < capacidade; i++) {
+						mapa.put(i, (byte) 0);
+					}
+				}
+			}
+			return segmento;
+		}
+	}
+
+	long getNumero() {
+		return numero;
+	}
+
+	Path getArquivo() {
+		return arquivo;
+	}
+
+	/**
+	 * Verifica se o segmento foi encerrado com a marca de continuação no próximo segmento.
+	 *
+	 * @return true se não cabem mais registros neste segmento.
+	 */
+	boolean isEncerrado() {
+		return tamanhoEm(posicao) == FIM_SEGMENTO;
+	}
+
+	/**
+	 * Verifica se um registro cabe no segmento, reservando espaço para a marca de continuação.
+	 *
+	 * @return true se há espaço para mais um registro.
+	 */
+	boolean cabe() {
+		return posicao + REGISTRO + 4 <= buffer.capacity();
+	}
+
+	/**
+	 * Grava um registro na posição atual. Deve ser chamado por uma única thread por vez.
+	 */
+	void gravar(long sequencia, int id_produto, int id_usuario, int qtd, long dia) {
+		int inicio = posicao + 8;
+		buffer.putLong(inicio, sequencia);
+		buffer.putInt(inicio + 8, id_produto);
+		buffer.putInt(inicio + 12, id_usuario);
+		buffer.putInt(inicio + 16, qtd);
+		buffer.putLong(inicio + 20, dia);
+		buffer.putInt(posicao + 4, crc(inicio));
+		// O tamanho é gravado por último: até aqui, o registro ainda é lido como fim dos registros
+		buffer.putInt(posicao, DADOS);
+		posicao += REGISTRO;
+	}
+
+	/**
+	 * Grava a marca de continuação no próximo segmento.
+	 */
+	void encerrar() {
+		buffer.putInt(posicao, FIM_SEGMENTO);
+	}
+
+	/**
+	 * Força a gravação do conteúdo do segmento no disco.
+	 */
+	void sincronizar() {
+		buffer.force();
+	}
+
+	/**
+	 * Libera o mapeamento do arquivo, antes de removê-lo. O segmento não pode mais ser usado.
+	 *
+	 * Sem a liberação explícita, o mapeamento só é desfeito quando o buffer é coletado, e até lá a memória e o
+	 * espaço em disco do arquivo removido continuam ocupados. A liberação usa a API interna da JVM
+	 * (Unsafe.invokeCleaner a partir do Java 9, o Cleaner do buffer no Java 8); se ela não estiver disponível, o
+	 * mapeamento fica a cargo do coletor de lixo. Um acesso posterior ao segmento lança NullPointerException em vez
+	 * de ler a memória já liberada.
+	 */
+	void fechar() {
+		MappedByteBuffer mapa = buffer;
+		buffer = null;
+		if (mapa == null) {
+			return;
+		}
+
+		try {
+			Class<?> classe = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = classe.getMethod("invokeCleaner", ByteBuffer.class);
+			Field instancia = classe.getDeclaredField("theUnsafe");
+			instancia.setAccessible(true);
+			invokeCleaner.invoke(instancia.get(null), mapa);
+		} catch (NoSuchMethodException e) {
+			try {
+				Method cleaner = mapa.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				Object limpador = cleaner.invoke(mapa);
+				if (limpador != null) {
+					limpador.getClass().getMethod("clean").invoke(limpador);
+				}
+			} catch (ReflectiveOperationException | RuntimeException e8) {
+				System.out.println("Não foi possível liberar o mapeamento do segmento " + numero + ": " + e8);
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			System.out.println("Não foi possível liberar o mapeamento do segmento " + numero + ": " + e);
+		}
+	}
+
+	/**
+	 * Lê o registro de uma posição.
+	 *
+	 * @param posicao A posição do registro.
+	 * @param destino Recebe sequencia, produto, usuario, qtd e dia.
+	 * @return true se há um registro válido na posição.
+	 */
+	boolean ler(int posicao, long[] destino) {
+		if (tamanhoEm(posicao) != DADOS) {
+			return false;
+		}
+
+		int inicio = posicao + 8;
+		destino[0] = buffer.getLong(inicio);
+		destino[1] = buffer.getInt(inicio + 8);
+		destino[2] = buffer.getInt(inicio + 12);
+		destino[3] = buffer.getInt(inicio + 16);
+		destino[4] = buffer.getLong(inicio + 20);
+		return true;
+	}
+
+	/**
+	 * Retorna o tamanho gravado em uma posição: {@link #DADOS} para um registro íntegro, {@link #FIM_SEGMENTO} para a
+	 * marca de continuação e 0 para o fim dos registros ou um registro inválido.
+	 */
+	int tamanhoEm(int posicao) {
+		if (posicao + 4 > buffer.capacity()) {
+			return 0;
+		}
+
+		int tamanho = buffer.getInt(posicao);
+		if (tamanho == FIM_SEGMENTO) {
+			return FIM_SEGMENTO;
+		}
+		if (tamanho != DADOS || posicao + REGISTRO > buffer.capacity() || buffer.getInt(posicao + 4) != crc(posicao + 8)) {
+			return 0;
+		}
+		return DADOS;
+	}
+
+	private int crc(int inicio) {
+		CRC32 crc = new CRC32();
+		ByteBuffer dados = buffer.duplicate();
+		dados.position(inicio);
+		dados.limit(inicio + DADOS);
+		crc.update(dados);
+		return (int) crc.getValue();
+	}
+}
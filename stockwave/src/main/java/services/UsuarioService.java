@@ -77,9 +77,7 @@ public class UsuarioService {
 	 * @return o Usuário atualizado, ou null se o Usuário não existir
 	 */
 	public static Usuario atualizarUsuario(int id_usuario, Usuario usuario) {
-		Usuario usuario_atualizar = exibirUsuarioPorId(id_usuario);
-
-		if (usuario_atualizar == null || usuario_atualizar.getId_usuario() != usuario.getId_usuario()) {
+		if (id_usuario != usuario.getId_usuario()) {
 			return null;
 		} else {
 			Usuario usuario_novo = UsuarioDao.atualizarUsuario(usuario);
@@ -105,10 +103,6 @@ public class UsuarioService {
 	 * @return true se o Usuário foi excluído com sucesso, caso contrário, false
 	 */
 	public static boolean deletarUsuario(int id_usuario) {
-		if (validarIdUsuario(id_usuario)) {
-			return UsuarioDao.deletarUsuario(id_usuario);
-		} else {
-			return false;
-		}
+		return UsuarioDao.deletarUsuario(id_usuario);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package services;
+
+import java.sql.Date;
+import java.util.ArrayList;
+
+import dao.ValorizacaoDao;
+import model.ValorizacaoEstoque;
+
+/**
+ * Classe de serviços para a valorização do estoque.
+ *
+ * Métodos:
+ * - valorizar: retorna o valor do estoque, no total e por faixa de preço, atual ou em uma data passada.
+ *
+ * Exemplo de uso:
+ *
+ * // Valor do estoque ao fim de 31/01/2026, com faixas abaixo de 10, de 10 a 100 e a partir de 100
+ * ArrayList&lt;ValorizacaoEstoque&gt; valores = ValorizacaoService.valorizar("10,100", Date.valueOf("2026-01-31"));
+ *
+ * @since 1.1
+ * @version 1.0
+ *
+ * @see dao.ValorizacaoDao
+ * @see model.ValorizacaoEstoque
+ *
+ * @author Stockwave
+ */
+public class ValorizacaoService {
+
+	private static final int MAXIMO_FAIXAS = 50;
+
+	/**
+	 * Retorna o valor do estoque, no total e por faixa de preço.
+	 *
+	 * @param faixas os limites das faixas separados por vírgula, em ordem crescente, ou null para apenas o total
+	 * @param data   a data de referência, ou null para o estoque atual
+	 * @return o total seguido das faixas, ou null se a consulta falhar
+	 * @throws IllegalArgumentException se os limites forem inválidos
+	 */
+	public static ArrayList<ValorizacaoEstoque> valorizar(String faixas, Date data) {
+		String[] partes = faixas == null || faixas.trim().isEmpty() ? new String[0] : faixas.split(",");
+
+		if (partes.length > MAXIMO_FAIXAS) {
+			throw new IllegalArgumentException("Informe no máximo " + MAXIMO_FAIXAS + " limites de faixa.");
+		}
+
+		double[] limites = new double[partes.length];
+		for (int i = 0; i < partes.length; i++) {
+			try {
+				limites[i] = Double.parseDouble(partes[i].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Limite de faixa inválido: " + partes[i]);
+			}
+
+			if (Double.isNaN(limites[i]) || Double.isInfinite(limites[i]) || (i > 0 && limites[i] <= limites[i - 1])) {
+				throw new IllegalArgumentException("Os limites de faixa devem ser números em ordem crescente.");
+			}
+		}
+
+		return ValorizacaoDao.valorizar(limites, data);
+	}
+}
@@ -0,0 +1,15 @@
+-- Índices compostos das consultas filtradas de movimentação
+-- (GET /movimentacao?produto=&usuario=&from=&to=).
+--
+-- A igualdade no produto ou no usuário seguida do intervalo de datas é resolvida com um
+-- INDEX RANGE SCAN, lendo apenas as entradas do período em vez da tabela inteira.
+
+CREATE INDEX ix_movimentacao_produto_dt ON movimentacao (produto_movimentacao, dt_movimentacao);
+
+CREATE INDEX ix_movimentacao_usuario_dt ON movimentacao (usuario_movimentacao, dt_movimentacao);
+
+-- Filtro apenas por período (GET /movimentacao?from=&to= e GET /movimentacao/export): sem produto
+-- nem usuário, os índices acima não têm coluna inicial utilizável. id_movimentacao completa o
+-- índice para que a condição de continuação do cursor seja avaliada sem acessar a tabela.
+
+CREATE INDEX ix_movimentacao_dt ON movimentacao (dt_movimentacao, id_movimentacao);
@@ -0,0 +1,21 @@
+-- Outbox de movimentações: uma linha por inclusão, atualização ou exclusão, gravada pelo
+-- MovimentacaoService na mesma transação da alteração e lida por GET /changes.
+--
+-- As linhas mais antigas que outbox.retencao-dias são removidas periodicamente.
+
+CREATE SEQUENCE SQ_MOVIMENTACAO_OUTBOX START WITH 1 INCREMENT BY 1 NOCYCLE;
+
+CREATE TABLE movimentacao_outbox (
+    id_alteracao     NUMBER NOT NULL,
+    operacao         VARCHAR2(6) NOT NULL,
+    id_movimentacao  NUMBER NOT NULL,
+    id_produto       NUMBER NOT NULL,
+    id_usuario       NUMBER NOT NULL,
+    qtd_movimentacao NUMBER NOT NULL,
+    dt_movimentacao  DATE NOT NULL,
+    dt_alteracao     TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT pk_movimentacao_outbox PRIMARY KEY (id_alteracao),
+    CONSTRAINT ck_movimentacao_outbox_operacao CHECK (operacao IN ('insert', 'update', 'delete'))
+);
+
+CREATE INDEX ix_movimentacao_outbox_dt ON movimentacao_outbox (dt_alteracao);
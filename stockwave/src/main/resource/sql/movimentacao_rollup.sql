@@ -0,0 +1,13 @@
+-- Totais diários de movimentação por produto, mantidos pelo MovimentacaoService
+-- e reconstruídos por POST /movimentacao/rollup/backfill.
+
+CREATE TABLE movimentacao_rollup (
+    id_produto        NUMBER NOT NULL,
+    dia               DATE NOT NULL,
+    qtd_entrada       NUMBER DEFAULT 0 NOT NULL,
+    qtd_saida         NUMBER DEFAULT 0 NOT NULL,
+    qtd_movimentacoes NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_movimentacao_rollup PRIMARY KEY (id_produto, dia),
+    CONSTRAINT fk_movimentacao_rollup FOREIGN KEY (id_produto)
+        REFERENCES produto (id_produto) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Particiona as linhas de movimentacao_rollup pelo slot de estoque (estoque.slots), para que gravações
+-- concorrentes do mesmo produto no mesmo dia não disputem uma única linha. As linhas existentes ficam no slot 0.
+
+ALTER TABLE movimentacao_rollup ADD slot NUMBER(4) DEFAULT 0 NOT NULL;
+
+ALTER TABLE movimentacao_rollup DROP CONSTRAINT pk_movimentacao_rollup;
+
+ALTER TABLE movimentacao_rollup ADD CONSTRAINT pk_movimentacao_rollup PRIMARY KEY (id_produto, dia, slot);
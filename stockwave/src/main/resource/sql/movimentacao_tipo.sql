@@ -0,0 +1,24 @@
+-- Tipo da movimentação: 'entrada' e 'saida' são as movimentações do livro-razão de estoque
+-- (POST /movimentacao/estoque), que alteram o estoque do produto; 'registro' são as demais
+-- (POST /movimentacao, /movimentacao/batch e log local), que não o alteram.
+--
+-- qtd_movimentacao passa a ser sempre positiva. As saídas gravadas antes desta alteração,
+-- com quantidade negativa, são convertidas; as entradas antigas do livro-razão não podem ser
+-- distinguidas dos registros e permanecem como 'registro'.
+
+ALTER TABLE movimentacao ADD tipo_movimentacao VARCHAR2(8) DEFAULT 'registro' NOT NULL;
+
+UPDATE movimentacao
+   SET tipo_movimentacao = 'saida',
+       qtd_movimentacao = -qtd_movimentacao
+ WHERE qtd_movimentacao < 0;
+
+ALTER TABLE movimentacao ADD CONSTRAINT ck_movimentacao_tipo
+    CHECK (tipo_movimentacao IN ('entrada', 'saida', 'registro'));
+
+ALTER TABLE movimentacao_outbox ADD tipo_movimentacao VARCHAR2(8) DEFAULT 'registro' NOT NULL;
+
+UPDATE movimentacao_outbox
+   SET tipo_movimentacao = 'saida',
+       qtd_movimentacao = -qtd_movimentacao
+ WHERE qtd_movimentacao < 0;
@@ -0,0 +1,11 @@
+-- Ponto de aplicação do log local de movimentações (wal.ativo = true): a maior sequência
+-- do log já gravada em MOVIMENTACAO. Atualizado pelo LogMovimentacao na mesma transação
+-- que aplica cada lote, para que nenhum registro seja aplicado duas vezes após um reinício.
+
+CREATE TABLE movimentacao_wal (
+    id_log           NUMBER NOT NULL,
+    ultima_sequencia NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_movimentacao_wal PRIMARY KEY (id_log)
+);
+
+INSERT INTO movimentacao_wal (id_log, ultima_sequencia) VALUES (1, 0);
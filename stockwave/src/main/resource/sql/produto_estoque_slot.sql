@@ -0,0 +1,15 @@
+-- Contadores particionados de estoque (propriedade estoque.slots maior que 1).
+--
+-- Cada produto pode ter até estoque.slots linhas nesta tabela. O estoque de um produto é
+-- produto.qtd_produto somado às quantidades dos seus slots; o CompactadorEstoque incorpora
+-- periodicamente os slots a qtd_produto.
+
+CREATE TABLE produto_estoque_slot (
+    id_produto NUMBER NOT NULL,
+    slot       NUMBER(4) NOT NULL,
+    qtd        NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_produto_estoque_slot PRIMARY KEY (id_produto, slot),
+    CONSTRAINT fk_produto_estoque_slot FOREIGN KEY (id_produto)
+        REFERENCES produto (id_produto) ON DELETE CASCADE,
+    CONSTRAINT ck_produto_estoque_slot_qtd CHECK (qtd >= 0)
+);
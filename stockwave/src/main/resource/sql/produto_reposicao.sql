@@ -0,0 +1,7 @@
+-- Nível de reposição por produto, usado nos alertas de estoque baixo (GET /produto/alerts/stream).
+--
+-- Um produto com estoque igual ou abaixo de nivel_reposicao é considerado abaixo do nível;
+-- 0 desativa o alerta do produto.
+
+ALTER TABLE produto ADD nivel_reposicao NUMBER DEFAULT 0 NOT NULL;
+ALTER TABLE produto ADD CONSTRAINT ck_produto_nivel_reposicao CHECK (nivel_reposicao >= 0);
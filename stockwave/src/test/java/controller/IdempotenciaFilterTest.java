@@ -0,0 +1,222 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Classe de teste para IdempotenciaFilter: repetição da resposta guardada, impressão da requisição (422),
+ * requisição em andamento (409) e respostas de erro.
+ *
+ * As requisições são processadas em memória pelo ApplicationHandler do Jersey, sem servidor HTTP nem banco de dados.
+ */
+public class IdempotenciaFilterTest {
+
+    private static final URI BASE = URI.create("http://localhost/");
+
+    private static final AtomicInteger execucoes = new AtomicInteger();
+    private static volatile CountDownLatch liberar = new CountDownLatch(0);
+    private static volatile CountDownLatch iniciada = new CountDownLatch(0);
+    private static volatile int statusErro;
+
+    private static ApplicationHandler aplicacao;
+    private static ExecutorService executor;
+
+    /**
+     * Recurso de teste que conta as execuções.
+     */
+    @Path("/teste")
+    public static class RecursoTeste {
+
+        /**
+         * Responde 201 com o corpo recebido, ou o status de erro configurado pelo teste.
+         *
+         * @param corpo O corpo da requisição.
+         * @param lote  Parâmetro de consulta incluído na impressão.
+         * @return A resposta.
+         * @throws InterruptedException se a espera do teste de andamento for interrompida.
+         */
+        @POST
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Produces(MediaType.TEXT_PLAIN)
+        public Response criar(String corpo, @QueryParam("lote") String lote) throws InterruptedException {
+            int execucao = execucoes.incrementAndGet();
+            iniciada.countDown();
+            liberar.await(10, TimeUnit.SECONDS);
+
+            if (statusErro != 0) {
+                return Response.status(statusErro).entity("erro").build();
+            }
+            return Response.created(URI.create("/teste/" + execucao)).entity(corpo + "#" + execucao).build();
+        }
+    }
+
+    /**
+     * Cria a aplicação com o recurso de teste e o filtro.
+     */
+    @BeforeAll
+    public static void iniciar() {
+        aplicacao = new ApplicationHandler(new ResourceConfig(RecursoTeste.class, IdempotenciaFilter.class));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Encerra a thread das requisições em andamento.
+     */
+    @AfterAll
+    public static void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Testa se a repetição com a mesma chave e a mesma requisição recebe a resposta guardada sem executar o recurso.
+     */
+    @Test
+    public void testRepeticao() throws Exception {
+        String chave = chave();
+
+        ContainerResponse primeira = post(chave, "/teste", "a");
+        int execucoesAntes = execucoes.get();
+        ContainerResponse repetida = post(chave, "/teste", "a");
+
+        assertEquals(201, primeira.getStatus());
+        assertNull(primeira.getHeaderString(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(201, repetida.getStatus());
+        assertEquals("true", repetida.getHeaderString(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(primeira.getEntity(), repetida.getEntity());
+        assertEquals(primeira.getLocation(), repetida.getLocation());
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, repetida.getMediaType());
+        assertEquals(execucoesAntes, execucoes.get());
+    }
+
+    /**
+     * Testa se reutilizar a chave com outro corpo resulta em 422.
+     */
+    @Test
+    public void testOutroCorpo() throws Exception {
+        String chave = chave();
+
+        assertEquals(201, post(chave, "/teste", "a").getStatus());
+        assertEquals(422, post(chave, "/teste", "b").getStatus());
+    }
+
+    /**
+     * Testa se reutilizar a chave com outros parâmetros de consulta resulta em 422.
+     */
+    @Test
+    public void testOutraConsulta() throws Exception {
+        String chave = chave();
+
+        assertEquals(201, post(chave, "/teste?lote=1", "a").getStatus());
+        assertEquals(422, post(chave, "/teste?lote=2", "a").getStatus());
+        assertEquals(201, post(chave, "/teste?lote=1", "a").getStatus());
+    }
+
+    /**
+     * Testa se a repetição enquanto a primeira requisição está em andamento resulta em 409, e se a repetição com
+     * outra requisição resulta em 422 mesmo em andamento.
+     */
+    @Test
+    public void testEmAndamento() throws Exception {
+        String chave = chave();
+        liberar = new CountDownLatch(1);
+        iniciada = new CountDownLatch(1);
+
+        try {
+            Future<ContainerResponse> primeira = executor.submit(() -> post(chave, "/teste", "a"));
+            iniciada.await(10, TimeUnit.SECONDS);
+
+            assertEquals(409, post(chave, "/teste", "a").getStatus());
+            assertEquals(422, post(chave, "/teste", "b").getStatus());
+
+            liberar.countDown();
+            assertEquals(201, primeira.get(10, TimeUnit.SECONDS).getStatus());
+        } finally {
+            liberar = new CountDownLatch(0);
+            iniciada = new CountDownLatch(0);
+        }
+        assertEquals(201, post(chave, "/teste", "a").getStatus());
+    }
+
+    /**
+     * Testa se uma resposta de erro não é guardada e a requisição pode ser repetida com a mesma chave.
+     */
+    @Test
+    public void testErroNaoGuardado() throws Exception {
+        String chave = chave();
+
+        statusErro = 500;
+        try {
+            assertEquals(500, post(chave, "/teste", "a").getStatus());
+        } finally {
+            statusErro = 0;
+        }
+
+        int execucoesAntes = execucoes.get();
+        ContainerResponse nova = post(chave, "/teste", "a");
+        assertEquals(201, nova.getStatus());
+        assertNull(nova.getHeaderString(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(execucoesAntes + 1, execucoes.get());
+    }
+
+    /**
+     * Testa se chaves vazias ou longas demais são recusadas com 400, e se sem chave o recurso sempre é executado.
+     */
+    @Test
+    public void testChaveInvalidaOuAusente() throws Exception {
+        StringBuilder longa = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            longa.append('x');
+        }
+
+        assertEquals(400, post(" ", "/teste", "a").getStatus());
+        assertEquals(400, post(longa.toString(), "/teste", "a").getStatus());
+
+        int execucoesAntes = execucoes.get();
+        assertEquals(201, post(null, "/teste", "a").getStatus());
+        assertEquals(201, post(null, "/teste", "a").getStatus());
+        assertEquals(execucoesAntes + 2, execucoes.get());
+    }
+
+    private static String chave() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static ContainerResponse post(String chave, String caminho, String corpo) throws Exception {
+        ContainerRequest requisicao = new ContainerRequest(BASE, BASE.resolve(caminho.substring(1)), "POST", null,
+                new MapPropertiesDelegate(), aplicacao.getConfiguration());
+        requisicao.getHeaders().putSingle("Content-Type", MediaType.TEXT_PLAIN);
+        if (chave != null) {
+            requisicao.getHeaders().putSingle(IdempotenciaFilter.CABECALHO_CHAVE, chave);
+        }
+        requisicao.setEntityStream(new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)));
+        return aplicacao.apply(requisicao).get(20, TimeUnit.SECONDS);
+    }
+}
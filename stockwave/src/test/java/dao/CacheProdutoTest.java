@@ -0,0 +1,157 @@
+package dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Produto;
+
+/**
+ * Classe de teste para CacheProduto: limite de bytes com remoção dos menos usados, expiração, marcador de
+ * invalidações e cópia dos produtos.
+ *
+ * Cada produto de teste, sem imagem e com nome de 2 caracteres, ocupa 164 bytes estimados.
+ */
+public class CacheProdutoTest {
+
+    private static final long VALIDADE = 60000;
+    private static final int BYTES_PRODUTO = 164;
+
+    /**
+     * Esvazia o cache antes de cada teste.
+     */
+    @BeforeEach
+    public void setUp() {
+        CacheProduto.invalidarTodos();
+    }
+
+    /**
+     * Testa se, ao ultrapassar o limite de bytes, o produto usado há mais tempo é removido.
+     */
+    @Test
+    public void testRemocaoPorBytes() {
+        long limite = BYTES_PRODUTO * 3;
+        long remocoes = CacheProduto.getRemocoes();
+
+        guardar(1, limite);
+        guardar(2, limite);
+        guardar(3, limite);
+        assertEquals(3 * BYTES_PRODUTO, CacheProduto.getBytes());
+
+        // O acesso ao produto 1 torna o produto 2 o menos usado recentemente
+        assertNotNull(CacheProduto.buscar(1));
+        guardar(4, limite);
+
+        assertEquals(3, CacheProduto.getProdutos());
+        assertEquals(3 * BYTES_PRODUTO, CacheProduto.getBytes());
+        assertEquals(remocoes + 1, CacheProduto.getRemocoes());
+        assertNull(CacheProduto.buscar(2));
+        assertNotNull(CacheProduto.buscar(1));
+        assertNotNull(CacheProduto.buscar(3));
+        assertNotNull(CacheProduto.buscar(4));
+    }
+
+    /**
+     * Testa se o tamanho estimado considera os textos e se um produto maior que o limite não fica no cache.
+     */
+    @Test
+    public void testProdutoMaiorQueOLimite() {
+        Produto produto = produto(1);
+        produto.setImagem_produto("imagens/produto-1.png");
+
+        CacheProduto.guardar(produto, CacheProduto.marcador(), VALIDADE, 10000);
+        assertEquals(BYTES_PRODUTO + 2 * "imagens/produto-1.png".length(), CacheProduto.getBytes());
+
+        CacheProduto.guardar(produto, CacheProduto.marcador(), VALIDADE, BYTES_PRODUTO);
+        assertEquals(0, CacheProduto.getProdutos());
+        assertEquals(0, CacheProduto.getBytes());
+    }
+
+    /**
+     * Testa se guardar novamente o mesmo produto substitui a entrada sem contar os bytes duas vezes.
+     */
+    @Test
+    public void testSubstituicao() {
+        guardar(1, 10000);
+        guardar(1, 10000);
+
+        assertEquals(1, CacheProduto.getProdutos());
+        assertEquals(BYTES_PRODUTO, CacheProduto.getBytes());
+    }
+
+    /**
+     * Testa se um produto expirado não é retornado e é removido do cache.
+     */
+    @Test
+    public void testExpiracao() throws InterruptedException {
+        long expiracoes = CacheProduto.getExpiracoes();
+
+        CacheProduto.guardar(produto(1), CacheProduto.marcador(), 50, 10000);
+        assertNotNull(CacheProduto.buscar(1));
+
+        Thread.sleep(120);
+
+        assertNull(CacheProduto.buscar(1));
+        assertEquals(expiracoes + 1, CacheProduto.getExpiracoes());
+        assertEquals(0, CacheProduto.getProdutos());
+        assertEquals(0, CacheProduto.getBytes());
+    }
+
+    /**
+     * Testa se um valor lido antes de uma invalidação não é guardado.
+     */
+    @Test
+    public void testInvalidacaoDuranteALeitura() {
+        long marcador = CacheProduto.marcador();
+        CacheProduto.invalidar(1);
+
+        CacheProduto.guardar(produto(1), marcador, VALIDADE, 10000);
+
+        assertNull(CacheProduto.buscar(1));
+    }
+
+    /**
+     * Testa se a invalidação descarta o produto e se validade ou limite 0 desativam o cache.
+     */
+    @Test
+    public void testInvalidarEDesativar() {
+        guardar(1, 10000);
+        CacheProduto.invalidar(1);
+        assertNull(CacheProduto.buscar(1));
+
+        CacheProduto.guardar(produto(2), CacheProduto.marcador(), 0, 10000);
+        CacheProduto.guardar(produto(3), CacheProduto.marcador(), VALIDADE, 0);
+        assertEquals(0, CacheProduto.getProdutos());
+    }
+
+    /**
+     * Testa se alterações no produto retornado não afetam o cache.
+     */
+    @Test
+    public void testCopia() {
+        Produto produto = produto(1);
+        CacheProduto.guardar(produto, CacheProduto.marcador(), VALIDADE, 10000);
+        produto.setQtd_produto(99);
+
+        Produto buscado = CacheProduto.buscar(1);
+        buscado.setQtd_produto(50);
+
+        assertEquals(10, CacheProduto.buscar(1).getQtd_produto());
+    }
+
+    private static void guardar(int id_produto, long limite) {
+        CacheProduto.guardar(produto(id_produto), CacheProduto.marcador(), VALIDADE, limite);
+    }
+
+    private static Produto produto(int id_produto) {
+        Produto produto = new Produto();
+        produto.setId_produto(id_produto);
+        produto.setNome_produto("p" + (id_produto % 10));
+        produto.setValor_produto(1.5);
+        produto.setQtd_produto(10);
+        return produto;
+    }
+}
@@ -0,0 +1,173 @@
+package dao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para Pagina: codificação dos cursores, montagem do SQL e vínculo dos parâmetros.
+ */
+public class PaginaTest {
+
+    /**
+     * Testa se as chaves inteiras e de texto voltam com o mesmo tipo e valor, inclusive texto vazio e acentuado.
+     */
+    @Test
+    public void testCursorIdaEVolta() {
+        String cursor = Pagina.cursor("Açúcar / 1kg", 42, "");
+
+        assertArrayEquals(new Object[] { "Açúcar / 1kg", 42, "" }, Pagina.lerCursor(cursor, 3));
+    }
+
+    /**
+     * Testa se o cursor é Base64 URL-safe, sem preenchimento, e pode ir na query string sem codificação.
+     */
+    @Test
+    public void testCursorSemCaracteresReservados() {
+        String cursor = Pagina.cursor("??>>~~", 1023);
+
+        assertEquals(-1, cursor.indexOf('+'));
+        assertEquals(-1, cursor.indexOf('/'));
+        assertEquals(-1, cursor.indexOf('='));
+    }
+
+    /**
+     * Testa se a ausência de cursor retorna null.
+     */
+    @Test
+    public void testLerCursorAusente() {
+        assertNull(Pagina.lerCursor(null, 1));
+        assertNull(Pagina.lerCursor("", 1));
+    }
+
+    /**
+     * Testa se cursores malformados são recusados com IllegalArgumentException.
+     */
+    @Test
+    public void testLerCursorInvalido() {
+        String doisCampos = Pagina.cursor("nome", 1);
+        String tipoDesconhecido = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("x1".getBytes(StandardCharsets.UTF_8));
+        String inteiroInvalido = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("iabc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> Pagina.lerCursor(doisCampos, 1));
+        assertThrows(IllegalArgumentException.class, () -> Pagina.lerCursor(tipoDesconhecido, 1));
+        assertThrows(IllegalArgumentException.class, () -> Pagina.lerCursor(inteiroInvalido, 1));
+        assertThrows(IllegalArgumentException.class, () -> Pagina.lerCursor("não é base64!", 1));
+    }
+
+    /**
+     * Testa o SQL da primeira página, sem cursor e sem limite.
+     */
+    @Test
+    public void testSqlSemCursor() {
+        assertEquals("SELECT * FROM produto ORDER BY nome_produto, id_produto",
+                Pagina.sql("SELECT * FROM produto", false, 0, "nome_produto", "id_produto"));
+    }
+
+    /**
+     * Testa a condição de continuação lexicográfica e a linha extra do limite.
+     */
+    @Test
+    public void testSqlComCursorELimite() {
+        assertEquals("SELECT * FROM produto WHERE (nome_produto > ? OR (nome_produto = ? AND id_produto > ?))"
+                + " ORDER BY nome_produto, id_produto FETCH FIRST ? ROWS ONLY",
+                Pagina.sql("SELECT * FROM produto", true, 10, "nome_produto", "id_produto"));
+
+        assertEquals("SELECT * FROM t WHERE (a > ? OR (a = ? AND b > ? OR (a = ? AND b = ? AND c > ?)))"
+                + " ORDER BY a, b, c", Pagina.sql("SELECT * FROM t", true, 0, "a", "b", "c"));
+    }
+
+    /**
+     * Testa se o filtro é combinado com a condição do cursor por AND.
+     */
+    @Test
+    public void testSqlComFiltro() {
+        assertEquals("SELECT * FROM movimentacao WHERE (produto_movimentacao = ?) AND (id_movimentacao > ?)"
+                + " ORDER BY id_movimentacao FETCH FIRST ? ROWS ONLY",
+                Pagina.sql("SELECT * FROM movimentacao", "produto_movimentacao = ?", true, 5, "id_movimentacao"));
+
+        assertEquals("SELECT * FROM movimentacao WHERE (produto_movimentacao = ?) ORDER BY id_movimentacao",
+                Pagina.sql("SELECT * FROM movimentacao", "produto_movimentacao = ?", false, 0, "id_movimentacao"));
+    }
+
+    /**
+     * Testa se as chaves do cursor são vinculadas na ordem dos marcadores do SQL, seguidas de limite + 1.
+     */
+    @Test
+    public void testVincular() throws Exception {
+        Map<Integer, Object> parametros = new TreeMap<>();
+
+        Pagina.vincular(statement(parametros), 3, new Object[] { "Caneta", 7 }, 20);
+
+        Map<Integer, Object> esperados = new TreeMap<>();
+        esperados.put(3, "Caneta");
+        esperados.put(4, "Caneta");
+        esperados.put(5, 7);
+        esperados.put(6, 21);
+        assertEquals(esperados, parametros);
+    }
+
+    /**
+     * Testa se nada é vinculado sem cursor e sem limite.
+     */
+    @Test
+    public void testVincularSemCursorESemLimite() throws Exception {
+        Map<Integer, Object> parametros = new TreeMap<>();
+
+        Pagina.vincular(statement(parametros), null, 0);
+
+        assertEquals(0, parametros.size());
+    }
+
+    /**
+     * Testa se a página descarta a linha extra e gera o cursor a partir do último item mantido.
+     */
+    @Test
+    public void testCriarComProximaPagina() {
+        ArrayList<Integer> itens = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+
+        Pagina<Integer> pagina = Pagina.criar(itens, 3, item -> new Object[] { item });
+
+        assertEquals(Arrays.asList(1, 2, 3), pagina.getItens());
+        assertArrayEquals(new Object[] { 3 }, Pagina.lerCursor(pagina.getProximoCursor(), 1));
+    }
+
+    /**
+     * Testa se a última página e a listagem sem limite não têm cursor.
+     */
+    @Test
+    public void testCriarUltimaPagina() {
+        assertNull(Pagina.criar(new ArrayList<>(Arrays.asList(1, 2, 3)), 3, item -> new Object[] { item })
+                .getProximoCursor());
+        assertNull(Pagina.criar(new ArrayList<>(Arrays.asList(1, 2, 3)), 0, item -> new Object[] { item })
+                .getProximoCursor());
+    }
+
+    /**
+     * Cria um PreparedStatement que apenas registra os parâmetros vinculados com setObject e setInt.
+     */
+    private static PreparedStatement statement(Map<Integer, Object> parametros) {
+        return (PreparedStatement) Proxy.newProxyInstance(PaginaTest.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("setObject") || metodo.getName().equals("setInt")) {
+                        parametros.put((Integer) argumentos[0], argumentos[1]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+}
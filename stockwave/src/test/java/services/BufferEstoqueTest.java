@@ -0,0 +1,156 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para BufferEstoque e a combinação de EventoEstoque: fila limitada, combinação por produto e
+ * encerramento por excesso de pendentes.
+ */
+public class BufferEstoqueTest {
+
+    /**
+     * Testa se, dentro da capacidade, os eventos são entregues um a um e na ordem de chegada.
+     */
+    @Test
+    public void testFilaDentroDaCapacidade() throws InterruptedException {
+        BufferEstoque buffer = new BufferEstoque(4, 4);
+
+        buffer.oferecer(new EventoEstoque(1, 5, 5, 10));
+        buffer.oferecer(new EventoEstoque(1, -2, 3, 11));
+        buffer.oferecer(new EventoEstoque(2, 7, 7, 12));
+
+        ArrayList<EventoEstoque> lote = buffer.retirar(0);
+        assertEquals(3, lote.size());
+        assertEquals(10, lote.get(0).getId_movimentacao());
+        assertEquals(11, lote.get(1).getId_movimentacao());
+        assertEquals(12, lote.get(2).getId_movimentacao());
+        assertEquals(0, buffer.getCoalescidos());
+    }
+
+    /**
+     * Testa se, com a fila cheia, os eventos de um mesmo produto são combinados, somando as variações e mantendo o
+     * saldo mais recente, e se são entregues depois dos eventos da fila.
+     */
+    @Test
+    public void testCombinacaoComFilaCheia() throws InterruptedException {
+        BufferEstoque buffer = new BufferEstoque(1, 4);
+
+        buffer.oferecer(new EventoEstoque(1, 5, 5, 10));
+        buffer.oferecer(new EventoEstoque(2, 3, 3, 11));
+        buffer.oferecer(new EventoEstoque(2, -1, 2, 12));
+        buffer.oferecer(new EventoEstoque(2, 4, 6, 13));
+
+        ArrayList<EventoEstoque> lote = buffer.retirar(0);
+        assertEquals(2, lote.size());
+        assertEquals(1, lote.get(0).getId_produto());
+
+        EventoEstoque combinado = lote.get(1);
+        assertEquals(2, combinado.getId_produto());
+        assertEquals(6, combinado.getDelta());
+        assertEquals(6, combinado.getQtd_produto());
+        assertEquals(13, combinado.getId_movimentacao());
+        assertEquals(3, combinado.getMovimentacoes());
+        assertEquals(2, buffer.getCoalescidos());
+    }
+
+    /**
+     * Testa se, depois que a fila enche, os eventos seguintes vão para os pendentes até a retirada, mesmo que a fila
+     * tenha espaço, preservando a ordem por produto.
+     */
+    @Test
+    public void testPendentesAteARetirada() throws InterruptedException {
+        BufferEstoque buffer = new BufferEstoque(1, 4);
+
+        buffer.oferecer(new EventoEstoque(1, 1, 1, 10));
+        buffer.oferecer(new EventoEstoque(1, 1, 2, 11));
+        assertEquals(2, buffer.retirar(0).size());
+
+        buffer.oferecer(new EventoEstoque(1, 1, 3, 12));
+        ArrayList<EventoEstoque> lote = buffer.retirar(0);
+        assertEquals(1, lote.size());
+        assertEquals(12, lote.get(0).getId_movimentacao());
+    }
+
+    /**
+     * Testa se o buffer é encerrado quando a quantidade de produtos pendentes passa do limite, e se não aceita nem
+     * entrega mais eventos.
+     */
+    @Test
+    public void testEncerramentoPorExcessoDePendentes() throws InterruptedException {
+        BufferEstoque buffer = new BufferEstoque(1, 2);
+
+        assertTrue(buffer.oferecer(new EventoEstoque(1, 1, 1, 10)));
+        assertTrue(buffer.oferecer(new EventoEstoque(2, 1, 1, 11)));
+        assertTrue(buffer.oferecer(new EventoEstoque(3, 1, 1, 12)));
+        assertTrue(buffer.oferecer(new EventoEstoque(3, 1, 2, 13)));
+        assertFalse(buffer.oferecer(new EventoEstoque(4, 1, 1, 14)));
+
+        assertTrue(buffer.isEncerrado());
+        assertFalse(buffer.oferecer(new EventoEstoque(1, 1, 2, 15)));
+        assertTrue(buffer.retirar(0).isEmpty());
+    }
+
+    /**
+     * Testa se o encerramento pelo assinante descarta os eventos e acorda uma retirada em espera.
+     */
+    @Test
+    public void testEncerrarAcordaRetirada() throws InterruptedException {
+        BufferEstoque buffer = new BufferEstoque(4, 4);
+        Thread encerrador = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.encerrar();
+        });
+
+        long inicio = System.currentTimeMillis();
+        encerrador.start();
+        ArrayList<EventoEstoque> lote = buffer.retirar(10000);
+        encerrador.join();
+
+        assertTrue(lote.isEmpty());
+        assertTrue(System.currentTimeMillis() - inicio < 5000);
+        assertFalse(buffer.oferecer(new EventoEstoque(1, 1, 1, 10)));
+    }
+
+    /**
+     * Testa se a retirada sem eventos retorna vazia ao fim do tempo de espera.
+     */
+    @Test
+    public void testRetiradaSemEventos() throws InterruptedException {
+        assertTrue(new BufferEstoque(4, 4).retirar(20).isEmpty());
+    }
+
+    /**
+     * Testa se a combinação mantém o saldo da movimentação de maior ID quando os eventos chegam fora de ordem.
+     */
+    @Test
+    public void testCombinarForaDeOrdem() {
+        EventoEstoque novo = new EventoEstoque(1, -2, 8, 21);
+        EventoEstoque antigo = new EventoEstoque(1, -1, 9, 20);
+
+        EventoEstoque combinado = novo.combinar(antigo);
+
+        assertEquals(8, combinado.getQtd_produto());
+        assertEquals(21, combinado.getId_movimentacao());
+        assertEquals(-3, combinado.getDelta());
+        assertEquals(2, combinado.getMovimentacoes());
+    }
+
+    /**
+     * Testa o JSON compacto do evento.
+     */
+    @Test
+    public void testJson() {
+        assertEquals("{\"id_produto\":7,\"delta\":-3,\"qtd_produto\":17,\"id_movimentacao\":120,\"movimentacoes\":1}",
+                new EventoEstoque(7, -3, 17, 120).toJson());
+    }
+}
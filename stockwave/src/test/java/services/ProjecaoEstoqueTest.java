@@ -0,0 +1,178 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para as listras do ProjecaoEstoque: sondagem linear, remoção, redimensionamento, versões por
+ * movimentação e substituição pela reconciliação.
+ */
+public class ProjecaoEstoqueTest {
+
+    /**
+     * Testa se todos os produtos continuam acessíveis depois de vários redimensionamentos.
+     */
+    @Test
+    public void testRedimensionamento() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+
+        for (int id = 1; id <= 5000; id++) {
+            listra.definir(id, id * 3, ProjecaoEstoque.SEM_VERSAO, true);
+        }
+
+        assertEquals(5000, listra.tamanho());
+        for (int id = 1; id <= 5000; id++) {
+            assertEquals(id * 3, listra.consultar(id));
+        }
+        assertEquals(ProjecaoEstoque.DESCONHECIDO, listra.consultar(5001));
+    }
+
+    /**
+     * Compara inclusões, substituições e remoções aleatórias com um HashMap. Com poucas chaves em uma faixa estreita,
+     * as colisões são frequentes e a remoção com deslocamento para trás é exercitada.
+     */
+    @Test
+    public void testSondagemERemocaoContraHashMap() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+        Map<Integer, Integer> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            int id = 1 + aleatorio.nextInt(200);
+            if (aleatorio.nextInt(3) == 0) {
+                listra.remover(id);
+                esperado.remove(id);
+            } else {
+                int qtd = aleatorio.nextInt(1000);
+                listra.definir(id, qtd, ProjecaoEstoque.SEM_VERSAO, true);
+                esperado.put(id, qtd);
+            }
+
+            if (i % 500 == 0) {
+                conferir(listra, esperado);
+            }
+        }
+        conferir(listra, esperado);
+    }
+
+    /**
+     * Testa se a escrita sem sobrescrever (leitura do banco) não altera um valor já presente.
+     */
+    @Test
+    public void testDefinirSeAusente() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+
+        listra.definir(7, 10, ProjecaoEstoque.SEM_VERSAO, false);
+        listra.definir(7, 99, ProjecaoEstoque.SEM_VERSAO, false);
+
+        assertEquals(10, listra.consultar(7));
+    }
+
+    /**
+     * Testa se IDs não positivos são ignorados, pois a chave 0 marca uma posição livre e não pode ser confundida
+     * com ela na consulta nem na remoção.
+     */
+    @Test
+    public void testChavesInvalidas() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+
+        listra.definir(0, 10, ProjecaoEstoque.SEM_VERSAO, true);
+        listra.definir(-1, 10, ProjecaoEstoque.SEM_VERSAO, true);
+
+        listra.remover(0);
+
+        assertEquals(0, listra.tamanho());
+        assertEquals(ProjecaoEstoque.DESCONHECIDO, listra.consultar(0));
+        assertEquals(ProjecaoEstoque.DESCONHECIDO, listra.consultar(-1));
+    }
+
+    /**
+     * Testa se um saldo de movimentação mais antiga que a última aplicada é ignorado, também após redimensionar.
+     */
+    @Test
+    public void testSaldoForaDeOrdem() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+
+        listra.definir(1, 50, 120, true);
+        listra.definir(1, 40, 110, true);
+        assertEquals(50, listra.consultar(1));
+
+        for (int id = 2; id <= 100; id++) {
+            listra.definir(id, id, ProjecaoEstoque.SEM_VERSAO, true);
+        }
+        listra.definir(1, 30, 115, true);
+        assertEquals(50, listra.consultar(1));
+
+        listra.definir(1, 45, 121, true);
+        assertEquals(45, listra.consultar(1));
+    }
+
+    /**
+     * Testa se uma escrita sem versão sempre é aplicada, e sem apagar a versão já guardada.
+     */
+    @Test
+    public void testEscritaSemVersao() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+
+        listra.definir(1, 50, 120, true);
+        listra.definir(1, 70, ProjecaoEstoque.SEM_VERSAO, true);
+        assertEquals(70, listra.consultar(1));
+
+        listra.definir(1, 40, 110, true);
+        assertEquals(70, listra.consultar(1));
+    }
+
+    /**
+     * Testa se a reconciliação substitui a listra quando não houve escrita durante a leitura, mantendo as versões.
+     */
+    @Test
+    public void testSubstituir() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+        listra.definir(1, 10, 100, true);
+        listra.definir(2, 20, ProjecaoEstoque.SEM_VERSAO, true);
+        long versao = listra.versao();
+
+        ProjecaoEstoque.Listra lida = new ProjecaoEstoque.Listra();
+        lida.definir(1, 11, ProjecaoEstoque.SEM_VERSAO, true);
+        lida.definir(3, 30, ProjecaoEstoque.SEM_VERSAO, true);
+
+        // Produto 1 alterado, 3 novo e 2 removido do banco
+        assertEquals(3, listra.substituir(lida, versao));
+        assertEquals(11, listra.consultar(1));
+        assertEquals(ProjecaoEstoque.DESCONHECIDO, listra.consultar(2));
+        assertEquals(30, listra.consultar(3));
+
+        listra.definir(1, 5, 99, true);
+        assertEquals(11, listra.consultar(1));
+    }
+
+    /**
+     * Testa se a reconciliação é descartada quando a listra foi alterada durante a leitura.
+     */
+    @Test
+    public void testSubstituirAposEscritaConcorrente() {
+        ProjecaoEstoque.Listra listra = new ProjecaoEstoque.Listra();
+        listra.definir(1, 10, ProjecaoEstoque.SEM_VERSAO, true);
+        long versao = listra.versao();
+        listra.definir(1, 12, ProjecaoEstoque.SEM_VERSAO, true);
+
+        ProjecaoEstoque.Listra lida = new ProjecaoEstoque.Listra();
+        lida.definir(1, 10, ProjecaoEstoque.SEM_VERSAO, true);
+
+        assertEquals(0, listra.substituir(lida, versao));
+        assertEquals(12, listra.consultar(1));
+    }
+
+    private static void conferir(ProjecaoEstoque.Listra listra, Map<Integer, Integer> esperado) {
+        assertEquals(esperado.size(), listra.tamanho());
+        for (int id = 1; id <= 200; id++) {
+            Integer qtd = esperado.get(id);
+            assertEquals(qtd == null ? ProjecaoEstoque.DESCONHECIDO : qtd.intValue(), listra.consultar(id));
+        }
+    }
+}
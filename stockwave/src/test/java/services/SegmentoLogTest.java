@@ -0,0 +1,182 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Classe de teste para SegmentoLog: gravação e leitura dos registros, CRC, recuperação após gravação interrompida,
+ * marca de continuação e liberação do mapeamento.
+ */
+public class SegmentoLogTest {
+
+    private static final int TAMANHO = SegmentoLog.REGISTRO * 8;
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Testa se os registros gravados são lidos de volta, também após reabrir o arquivo.
+     */
+    @Test
+    public void testGravarELer() throws IOException {
+        Path arquivo = diretorio.resolve("1.log");
+        SegmentoLog segmento = SegmentoLog.abrir(1, arquivo, TAMANHO);
+        segmento.gravar(1, 10, 20, 5, 19000);
+        segmento.gravar(2, 11, 21, 6, 19001);
+        segmento.sincronizar();
+        segmento.fechar();
+
+        SegmentoLog reaberto = SegmentoLog.abrir(1, arquivo, TAMANHO);
+        long[] dados = new long[5];
+        assertTrue(reaberto.ler(0, dados));
+        assertArrayEquals(new long[] { 1, 10, 20, 5, 19000 }, dados);
+        assertTrue(reaberto.ler(SegmentoLog.REGISTRO, dados));
+        assertArrayEquals(new long[] { 2, 11, 21, 6, 19001 }, dados);
+        assertFalse(reaberto.ler(2 * SegmentoLog.REGISTRO, dados));
+
+        // A gravação continua após o último registro
+        reaberto.gravar(3, 12, 22, 7, 19002);
+        assertTrue(reaberto.ler(2 * SegmentoLog.REGISTRO, dados));
+        assertEquals(3, dados[0]);
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa se um registro com os dados alterados é recusado pelo CRC e tratado como fim dos registros.
+     */
+    @Test
+    public void testCrcInvalido() throws IOException {
+        Path arquivo = diretorio.resolve("2.log");
+        SegmentoLog segmento = SegmentoLog.abrir(2, arquivo, TAMANHO);
+        segmento.gravar(1, 10, 20, 5, 19000);
+        segmento.gravar(2, 11, 21, 6, 19001);
+        segmento.gravar(3, 12, 22, 7, 19002);
+        segmento.sincronizar();
+        segmento.fechar();
+
+        // Altera a quantidade do segundo registro sem atualizar o CRC
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            raf.seek(SegmentoLog.REGISTRO + 8 + 16);
+            raf.writeInt(999);
+        }
+
+        SegmentoLog reaberto = SegmentoLog.abrir(2, arquivo, TAMANHO);
+        long[] dados = new long[5];
+        assertEquals(SegmentoLog.DADOS, reaberto.tamanhoEm(0));
+        assertEquals(0, reaberto.tamanhoEm(SegmentoLog.REGISTRO));
+        assertFalse(reaberto.ler(SegmentoLog.REGISTRO, dados));
+
+        // Os bytes após o último registro válido são zerados: o terceiro registro também é descartado
+        assertEquals(0, reaberto.tamanhoEm(2 * SegmentoLog.REGISTRO));
+        reaberto.gravar(4, 13, 23, 8, 19003);
+        assertTrue(reaberto.ler(SegmentoLog.REGISTRO, dados));
+        assertEquals(4, dados[0]);
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa a recuperação de uma gravação interrompida antes do cabeçalho: dados gravados, sem tamanho.
+     */
+    @Test
+    public void testGravacaoInterrompida() throws IOException {
+        Path arquivo = diretorio.resolve("3.log");
+        SegmentoLog segmento = SegmentoLog.abrir(3, arquivo, TAMANHO);
+        segmento.gravar(1, 10, 20, 5, 19000);
+        segmento.sincronizar();
+        segmento.fechar();
+
+        // Dados do segundo registro gravados, mas o tamanho e o CRC não
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            raf.seek(SegmentoLog.REGISTRO + 8);
+            raf.writeLong(2);
+            raf.writeInt(11);
+        }
+
+        SegmentoLog reaberto = SegmentoLog.abrir(3, arquivo, TAMANHO);
+        assertFalse(reaberto.ler(SegmentoLog.REGISTRO, new long[5]));
+        reaberto.fechar();
+
+        // A sobra da gravação interrompida foi zerada no arquivo
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "r")) {
+            raf.seek(SegmentoLog.REGISTRO + 8);
+            assertEquals(0, raf.readLong());
+        }
+    }
+
+    /**
+     * Testa a recuperação de um registro com tamanho gravado, mas CRC ausente.
+     */
+    @Test
+    public void testTamanhoSemCrc() throws IOException {
+        Path arquivo = diretorio.resolve("4.log");
+        SegmentoLog segmento = SegmentoLog.abrir(4, arquivo, TAMANHO);
+        segmento.gravar(1, 10, 20, 5, 19000);
+        segmento.sincronizar();
+        segmento.fechar();
+
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            raf.seek(SegmentoLog.REGISTRO);
+            raf.writeInt(SegmentoLog.DADOS);
+        }
+
+        SegmentoLog reaberto = SegmentoLog.abrir(4, arquivo, TAMANHO);
+        assertEquals(0, reaberto.tamanhoEm(SegmentoLog.REGISTRO));
+        assertTrue(reaberto.ler(0, new long[5]));
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa a marca de continuação e o limite de espaço do segmento.
+     */
+    @Test
+    public void testEncerrarECabe() throws IOException {
+        Path arquivo = diretorio.resolve("5.log");
+        SegmentoLog segmento = SegmentoLog.abrir(5, arquivo, SegmentoLog.REGISTRO * 2 + 4);
+
+        assertTrue(segmento.cabe());
+        segmento.gravar(1, 10, 20, 5, 19000);
+        assertTrue(segmento.cabe());
+        segmento.gravar(2, 11, 21, 6, 19001);
+        assertFalse(segmento.cabe());
+
+        assertFalse(segmento.isEncerrado());
+        segmento.encerrar();
+        assertTrue(segmento.isEncerrado());
+        segmento.sincronizar();
+        segmento.fechar();
+
+        // A marca sobrevive à reabertura e não é zerada como sobra
+        SegmentoLog reaberto = SegmentoLog.abrir(5, arquivo, TAMANHO);
+        assertTrue(reaberto.isEncerrado());
+        assertEquals(SegmentoLog.FIM_SEGMENTO, reaberto.tamanhoEm(2 * SegmentoLog.REGISTRO));
+        reaberto.fechar();
+    }
+
+    /**
+     * Testa se, após liberar o mapeamento, o arquivo pode ser removido e o segmento não pode mais ser lido.
+     */
+    @Test
+    public void testFechar() throws IOException {
+        Path arquivo = diretorio.resolve("6.log");
+        SegmentoLog segmento = SegmentoLog.abrir(6, arquivo, TAMANHO);
+        segmento.gravar(1, 10, 20, 5, 19000);
+
+        segmento.fechar();
+        segmento.fechar();
+        Files.delete(arquivo);
+
+        assertFalse(Files.exists(arquivo));
+        assertThrows(NullPointerException.class, () -> segmento.ler(0, new long[5]));
+    }
+}